@@ -10,8 +10,11 @@ async function authHeaders() {
   }
 }
 
-export const fetchAllAvis = async () => {
-  const res = await fetch(`${GATEWAY_URL}/avis`, { headers: await authHeaders() })
+// Une page d'avis : { content, size, nextCursor } ; nextCursor est null sur la dernière page
+export const fetchAvisPage = async (cursor = null, size = 20) => {
+  const params = new URLSearchParams({ size })
+  if (cursor) params.set('cursor', cursor)
+  const res = await fetch(`${GATEWAY_URL}/avis?${params}`, { headers: await authHeaders() })
   if (!res.ok) throw new Error(`Failed to fetch avis: ${res.status}`)
   return res.json()
 }
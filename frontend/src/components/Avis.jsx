@@ -1,5 +1,5 @@
 import { useEffect, useState } from 'react'
-import { fetchAllAvis, createAvis, updateAvis, deleteAvis } from '../api/avis'
+import { fetchAvisPage, createAvis, updateAvis, deleteAvis } from '../api/avis'
 
 const initialForm = {
   commentaire: '',
@@ -8,6 +8,7 @@ const initialForm = {
 
 export default function Avis() {
   const [avisList, setAvisList] = useState([])
+  const [nextCursor, setNextCursor] = useState(null)
   const [loading, setLoading] = useState(false)
   const [error, setError] = useState(null)
   const [success, setSuccess] = useState(null)
@@ -16,12 +17,14 @@ export default function Avis() {
   const [editTarget, setEditTarget] = useState(null)
   const [form, setForm] = useState(initialForm)
 
-  const load = async () => {
+  // Sans curseur : première page (rechargement) ; avec curseur : page suivante ajoutée à la liste
+  const load = async (cursor = null) => {
     setLoading(true)
     setError(null)
     try {
-      const data = await fetchAllAvis()
-      setAvisList(data)
+      const page = await fetchAvisPage(cursor)
+      setAvisList(list => (cursor ? [...list, ...page.content] : page.content))
+      setNextCursor(page.nextCursor)
     } catch (e) {
       setError(e.message)
     } finally {
@@ -83,9 +86,9 @@ export default function Avis() {
           <button onClick={openCreate}>+ Add Avis</button>
           <br /><br />
 
-          {loading && <p>Loading...</p>}
+          {loading && avisList.length === 0 && <p>Loading...</p>}
           {!loading && avisList.length === 0 && <p>No avis found.</p>}
-          {!loading && avisList.length > 0 && (
+          {avisList.length > 0 && (
             <table border="1" cellPadding="8" cellSpacing="0">
               <thead>
                 <tr>
@@ -110,6 +113,13 @@ export default function Avis() {
               </tbody>
             </table>
           )}
+          {nextCursor && (
+            <p>
+              <button onClick={() => load(nextCursor)} disabled={loading}>
+                {loading ? 'Loading...' : 'Load more'}
+              </button>
+            </p>
+          )}
         </div>
       )}
 
@@ -0,0 +1,47 @@
+package com.esprit.gateway.cache;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Réponse gardée par la passerelle : statut, en-têtes à rejouer, corps et fenêtre de fraîcheur
+ *
+ * @param storedAt   instant de réception de la réponse (ms), pour l'en-tête Age
+ * @param freshUntil au-delà (ms), la réponse doit être revalidée avant d'être servie
+ */
+public record CachedResponse(
+        String route,
+        String path,
+        int status,
+        String contentType,
+        Map<String, List<String>> headers,
+        byte[] body,
+        String etag,
+        long storedAt,
+        long freshUntil) {
+
+    public boolean isFresh(long now) {
+        return now < freshUntil;
+    }
+
+    /**
+     * Même réponse, confirmée par le backend (304) : la fraîcheur repart de {@code now}
+     */
+    public CachedResponse revalidated(long now, long freshnessMillis) {
+        return new CachedResponse(route, path, status, contentType, headers, body, etag, now, now + freshnessMillis);
+    }
+
+    /**
+     * Poids approché en octets, pour la borne de taille du cache
+     */
+    int weight() {
+        int weight = body.length + path.length() + 64;
+        for (Map.Entry<String, List<String>> header : headers.entrySet()) {
+            weight += header.getKey().length();
+            for (String value : header.getValue()) {
+                weight += value.length();
+            }
+        }
+        return weight;
+    }
+}
@@ -0,0 +1,176 @@
+package com.esprit.gateway.cache;
+
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.io.UncheckedIOException;
+import java.nio.charset.Charset;
+
+/**
+ * Garde en mémoire le corps écrit par le proxy tant qu'il ne dépasse pas {@code limit}.
+ * Rien n'est envoyé au client avant {@link #finish()} : la passerelle peut encore remplacer
+ * la réponse (304 du backend servi depuis le cache, 304 au client).
+ * Au-delà de la limite, le tampon est vidé vers le client et la suite passe directement :
+ * un export volumineux n'est ni gardé ni retenu en mémoire. Une écriture non bloquante (WriteListener)
+ * passe de même directement vers le client.
+ */
+class CapturingResponseWrapper extends HttpServletResponseWrapper {
+
+    private final long limit;
+    private final ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+    private ServletOutputStream output;
+    private PrintWriter writer;
+    private boolean overflowed;
+
+    CapturingResponseWrapper(HttpServletResponse response, long limit) {
+        super(response);
+        this.limit = limit;
+    }
+
+    boolean isOverflowed() {
+        return overflowed;
+    }
+
+    byte[] body() {
+        flushWriter();
+        return buffer.toByteArray();
+    }
+
+    /**
+     * Envoyer au client ce qui a été gardé en mémoire
+     */
+    void finish() throws IOException {
+        flushWriter();
+        if (!overflowed && buffer.size() > 0) {
+            getResponse().setContentLength(buffer.size());
+            ServletOutputStream out = getResponse().getOutputStream();
+            buffer.writeTo(out);
+            buffer.reset();
+        }
+    }
+
+    /**
+     * Abandonner le corps gardé : la passerelle écrit elle-même la réponse
+     */
+    void discard() {
+        flushWriter();
+        buffer.reset();
+    }
+
+    @Override
+    public ServletOutputStream getOutputStream() {
+        if (output == null) {
+            output = new CapturingOutputStream();
+        }
+        return output;
+    }
+
+    @Override
+    public PrintWriter getWriter() {
+        if (writer == null) {
+            writer = new PrintWriter(new OutputStreamWriter(getOutputStream(), Charset.forName(getCharacterEncoding())));
+        }
+        return writer;
+    }
+
+    @Override
+    public void flushBuffer() throws IOException {
+        flushWriter();
+        if (overflowed) {
+            super.flushBuffer();
+        }
+    }
+
+    @Override
+    public void setContentLength(int len) {
+        // La longueur est reposée par la passerelle quand elle remplace le corps
+        if (overflowed || len > limit) {
+            super.setContentLength(len);
+        }
+    }
+
+    @Override
+    public void setContentLengthLong(long len) {
+        if (overflowed || len > limit) {
+            super.setContentLengthLong(len);
+        }
+    }
+
+    private void flushWriter() {
+        if (writer != null) {
+            writer.flush();
+        }
+    }
+
+    private void overflow() throws IOException {
+        overflowed = true;
+        ServletOutputStream out = getResponse().getOutputStream();
+        buffer.writeTo(out);
+        buffer.reset();
+    }
+
+    private final class CapturingOutputStream extends ServletOutputStream {
+
+        @Override
+        public void write(int b) throws IOException {
+            if (!overflowed && buffer.size() + 1 > limit) {
+                overflow();
+            }
+            if (overflowed) {
+                getResponse().getOutputStream().write(b);
+            } else {
+                buffer.write(b);
+            }
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            if (!overflowed && buffer.size() + len > limit) {
+                overflow();
+            }
+            if (overflowed) {
+                getResponse().getOutputStream().write(b, off, len);
+            } else {
+                buffer.write(b, off, len);
+            }
+        }
+
+        @Override
+        public void flush() throws IOException {
+            if (overflowed) {
+                getResponse().getOutputStream().flush();
+            }
+        }
+
+        @Override
+        public boolean isReady() {
+            if (!overflowed) {
+                return true;
+            }
+            try {
+                return getResponse().getOutputStream().isReady();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        @Override
+        public void setWriteListener(WriteListener listener) {
+            try {
+                // Le tampon part en écriture bloquante, avant le passage en mode non bloquant du flux du client
+                if (!overflowed) {
+                    overflow();
+                }
+                getResponse().getOutputStream().setWriteListener(listener);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,338 @@
+package com.esprit.gateway.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.util.AntPathMatcher;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Stockage des réponses GET de la passerelle, borné en octets (gateway.cache.max-size).
+ * Une entrée est gardée jusqu'à la fin de sa fraîcheur, prolongée de stale-retention si elle porte
+ * un ETag (revalidation par If-None-Match). Compteurs par route : gateway.cache.requests{route, result}
+ * et gateway.cache.hit.ratio{route}.
+ */
+public class ResponseCache {
+
+    public enum Result { HIT, REVALIDATED, COALESCED, MISS, BYPASS }
+
+    private final ResponseCacheProperties properties;
+    private final LongSupplier clock;
+    private final AntPathMatcher matcher = new AntPathMatcher();
+    private final Map<String, RouteStats> statsByRoute = new LinkedHashMap<>();
+    // Incrémentée à chaque invalidation de la route : une réponse chargée avant une écriture n'est pas gardée
+    private final Map<String, AtomicLong> generations = new LinkedHashMap<>();
+    private final Cache<CacheKey, CachedResponse> cache;
+    // Appels au backend en cours sur les routes à regroupement : la première requête mène, les suivantes attendent
+    private final Map<CacheKey, CompletableFuture<CachedResponse>> inFlight = new ConcurrentHashMap<>();
+
+    public ResponseCache(ResponseCacheProperties properties, MeterRegistry meterRegistry) {
+        this(properties, meterRegistry, System::currentTimeMillis);
+    }
+
+    ResponseCache(ResponseCacheProperties properties, MeterRegistry meterRegistry, LongSupplier clock) {
+        this.properties = properties;
+        this.clock = clock;
+        long staleNanos = properties.staleRetention().toNanos();
+        // Caffeine évince par poids selon W-TinyLFU : proche du LRU, plus résistant aux balayages ponctuels
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(properties.maxSize().toBytes())
+                .weigher((CacheKey key, CachedResponse response) -> response.weight())
+                .expireAfter(new Expiry<CacheKey, CachedResponse>() {
+                    @Override
+                    public long expireAfterCreate(CacheKey key, CachedResponse response, long currentTime) {
+                        return retention(response, staleNanos);
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(CacheKey key, CachedResponse response, long currentTime, long currentDuration) {
+                        return retention(response, staleNanos);
+                    }
+
+                    @Override
+                    public long expireAfterRead(CacheKey key, CachedResponse response, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .removalListener((CacheKey key, CachedResponse response, RemovalCause cause) -> {
+                    if (key != null && cause == RemovalCause.SIZE) {
+                        stats(key.route()).evictions.increment();
+                    }
+                })
+                .build();
+
+        properties.routes().keySet().forEach(route -> {
+            RouteStats stats = new RouteStats();
+            statsByRoute.put(route, stats);
+            generations.put(route, new AtomicLong());
+            for (Result result : Result.values()) {
+                FunctionCounter.builder("gateway.cache.requests", stats.counter(result), LongAdder::sum)
+                        .tag("route", route)
+                        .tag("result", result.name().toLowerCase(Locale.ROOT))
+                        .description("GET requests on cached routes, by cache outcome")
+                        .register(meterRegistry);
+            }
+            Gauge.builder("gateway.cache.hit.ratio", stats, RouteStats::hitRatio)
+                    .tag("route", route)
+                    .register(meterRegistry);
+        });
+        Gauge.builder("gateway.cache.size.bytes", cache,
+                        c -> c.policy().eviction().map(e -> e.weightedSize().orElse(0)).orElse(0L))
+                .register(meterRegistry);
+    }
+
+    public boolean isEnabled() {
+        return properties.enabled() && !properties.routes().isEmpty();
+    }
+
+    public long maxEntryBytes() {
+        return properties.maxEntrySize().toBytes();
+    }
+
+    /**
+     * Route cachée qui couvre {@code path}, hors chemins exclus
+     */
+    public Optional<String> routeFor(String path) {
+        for (Map.Entry<String, ResponseCacheProperties.Route> entry : properties.routes().entrySet()) {
+            ResponseCacheProperties.Route route = entry.getValue();
+            if (matchesAny(route.paths(), path) && !matchesAny(route.exclude(), path)) {
+                return Optional.of(entry.getKey());
+            }
+        }
+        return Optional.empty();
+    }
+
+    public ResponseCacheProperties.Route route(String route) {
+        return properties.routes().get(route);
+    }
+
+    public CachedResponse get(CacheKey key) {
+        return cache.getIfPresent(key);
+    }
+
+    /**
+     * Génération courante de la route, à relever avant l'appel au backend
+     */
+    public long generation(String route) {
+        AtomicLong generation = generations.get(route);
+        return generation == null ? 0 : generation.get();
+    }
+
+    /**
+     * Garder {@code response}, sauf si sa route a été invalidée depuis {@code generation} :
+     * le backend a pu la produire avant l'écriture qui a provoqué l'invalidation
+     */
+    public void put(CacheKey key, CachedResponse response, long generation) {
+        if (response.weight() > maxEntryBytes() || generation(key.route()) != generation) {
+            return;
+        }
+        cache.put(key, response);
+        // Invalidation arrivée entre la vérification et l'insertion : son parcours a pu manquer l'entrée
+        if (generation(key.route()) != generation) {
+            cache.asMap().remove(key, response);
+        }
+    }
+
+    public void evict(CacheKey key) {
+        cache.invalidate(key);
+    }
+
+    public long coalesceTimeoutMillis() {
+        return properties.coalesceTimeout().toMillis();
+    }
+
+    /**
+     * Inscrire {@code flight} comme appel en cours pour {@code key}
+     *
+     * @return l'appel déjà en cours à attendre, ou null si {@code flight} mène
+     */
+    public CompletableFuture<CachedResponse> joinOrLead(CacheKey key, CompletableFuture<CachedResponse> flight) {
+        return inFlight.putIfAbsent(key, flight);
+    }
+
+    /**
+     * Terminer un appel mené : les requêtes en attente reçoivent {@code response}
+     * (null : réponse non partageable, elles appellent le backend elles-mêmes)
+     */
+    public void land(CacheKey key, CompletableFuture<CachedResponse> flight, CachedResponse response) {
+        inFlight.remove(key, flight);
+        flight.complete(response);
+    }
+
+    public void record(String route, Result result) {
+        stats(route).counter(result).increment();
+    }
+
+    public long now() {
+        return clock.getAsLong();
+    }
+
+    /**
+     * Invalider les réponses d'une route (toutes si {@code route} est nul)
+     * dont le chemin commence par {@code pathPrefix} (tous si nul)
+     *
+     * @return nombre d'entrées retirées
+     */
+    public int invalidate(String route, String pathPrefix) {
+        // Avant le parcours : une réponse en cours de chargement ne sera plus gardée
+        if (route == null) {
+            generations.values().forEach(AtomicLong::incrementAndGet);
+        } else if (generations.containsKey(route)) {
+            generations.get(route).incrementAndGet();
+        }
+        List<CacheKey> removed = new ArrayList<>();
+        cache.asMap().forEach((key, response) -> {
+            if ((route == null || route.equals(key.route()))
+                    && (pathPrefix == null || response.path().startsWith(pathPrefix))) {
+                removed.add(key);
+            }
+        });
+        cache.invalidateAll(removed);
+        return removed.size();
+    }
+
+    /**
+     * Compteurs, entrées et octets gardés par route
+     */
+    public Map<String, Map<String, Object>> stats() {
+        Map<String, long[]> usage = new TreeMap<>();
+        cache.asMap().forEach((key, response) -> {
+            long[] u = usage.computeIfAbsent(key.route(), k -> new long[2]);
+            u[0]++;
+            u[1] += response.weight();
+        });
+        Map<String, Map<String, Object>> result = new TreeMap<>();
+        statsByRoute.forEach((route, stats) -> {
+            long[] u = usage.getOrDefault(route, new long[2]);
+            Map<String, Object> values = new LinkedHashMap<>();
+            values.put("hits", stats.hits.sum());
+            values.put("revalidated", stats.revalidated.sum());
+            values.put("coalesced", stats.coalesced.sum());
+            values.put("misses", stats.misses.sum());
+            values.put("bypassed", stats.bypassed.sum());
+            values.put("hitRatio", stats.hitRatio());
+            values.put("evictions", stats.evictions.sum());
+            values.put("entries", u[0]);
+            values.put("bytes", u[1]);
+            result.put(route, values);
+        });
+        return result;
+    }
+
+    /**
+     * Fraîcheur (ms) accordée à une réponse selon son Cache-Control, ou -1 si elle ne doit pas être gardée
+     */
+    static long freshnessMillis(Map<String, String> directives, ResponseCacheProperties.Route route) {
+        if (directives.containsKey("no-store") || (directives.containsKey("private") && !route.perUser())) {
+            return -1;
+        }
+        if (directives.containsKey("no-cache")) {
+            return 0;
+        }
+        // s-maxage vise les caches partagés, dont la passerelle
+        String maxAge = directives.getOrDefault("s-maxage", directives.get("max-age"));
+        if (maxAge != null) {
+            try {
+                return Math.max(0, Long.parseLong(maxAge)) * 1000;
+            } catch (NumberFormatException e) {
+                return 0;
+            }
+        }
+        return route.ttl().toMillis();
+    }
+
+    /**
+     * Directives Cache-Control (noms en minuscules, valeurs sans guillemets) de une ou plusieurs valeurs d'en-tête
+     */
+    static Map<String, String> parseCacheControl(Iterable<String> headerValues) {
+        Map<String, String> directives = new LinkedHashMap<>();
+        for (String value : headerValues) {
+            if (value == null) {
+                continue;
+            }
+            for (String part : value.split(",")) {
+                String directive = part.trim();
+                if (directive.isEmpty()) {
+                    continue;
+                }
+                int eq = directive.indexOf('=');
+                String name = (eq < 0 ? directive : directive.substring(0, eq)).trim().toLowerCase(Locale.ROOT);
+                String arg = eq < 0 ? "" : directive.substring(eq + 1).trim().replace("\"", "");
+                directives.putIfAbsent(name, arg);
+            }
+        }
+        return directives;
+    }
+
+    private boolean matchesAny(List<String> patterns, String path) {
+        for (String pattern : patterns) {
+            if (matcher.match(pattern.trim(), path)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private long retention(CachedResponse response, long staleNanos) {
+        long fresh = TimeUnit.MILLISECONDS.toNanos(Math.max(0, response.freshUntil() - clock.getAsLong()));
+        return response.etag() == null ? fresh : fresh + staleNanos;
+    }
+
+    private RouteStats stats(String route) {
+        // Routes déclarées à la construction : les tables ne sont plus modifiées ensuite
+        RouteStats stats = statsByRoute.get(route);
+        return stats != null ? stats : RouteStats.DETACHED;
+    }
+
+    /**
+     * Clé d'une réponse : route, sujet du jeton (routes par utilisateur, sinon vide),
+     * chemin et paramètres triés, en-tête Accept
+     */
+    public record CacheKey(String route, String user, String uri, String accept) {
+    }
+
+    private static final class RouteStats {
+        static final RouteStats DETACHED = new RouteStats();
+
+        final LongAdder hits = new LongAdder();
+        final LongAdder revalidated = new LongAdder();
+        final LongAdder coalesced = new LongAdder();
+        final LongAdder misses = new LongAdder();
+        final LongAdder bypassed = new LongAdder();
+        final LongAdder evictions = new LongAdder();
+
+        LongAdder counter(Result result) {
+            return switch (result) {
+                case HIT -> hits;
+                case REVALIDATED -> revalidated;
+                case COALESCED -> coalesced;
+                case MISS -> misses;
+                case BYPASS -> bypassed;
+            };
+        }
+
+        // Revalidations et regroupements comptés comme succès : pas de transfert du corps depuis le backend
+        double hitRatio() {
+            long served = hits.sum() + revalidated.sum() + coalesced.sum();
+            long total = served + misses.sum();
+            return total == 0 ? 0 : (double) served / total;
+        }
+    }
+}
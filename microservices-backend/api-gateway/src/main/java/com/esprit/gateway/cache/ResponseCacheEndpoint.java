@@ -0,0 +1,36 @@
+package com.esprit.gateway.cache;
+
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * GET /actuator/gatewaycache : compteurs et occupation par route.
+ * DELETE /actuator/gatewaycache?route=hotel-service&path=/hotels/12 : invalidation
+ * (sans paramètre : tout le cache).
+ * Réservé au rôle gateway.security.admin-role (voir SecurityConfig).
+ */
+@Component
+@Endpoint(id = "gatewaycache")
+public class ResponseCacheEndpoint {
+
+    private final ResponseCache cache;
+
+    public ResponseCacheEndpoint(ResponseCache cache) {
+        this.cache = cache;
+    }
+
+    @ReadOperation
+    public Map<String, Map<String, Object>> stats() {
+        return cache.stats();
+    }
+
+    @DeleteOperation
+    public Map<String, Object> invalidate(@Nullable String route, @Nullable String path) {
+        return Map.of("removed", cache.invalidate(route, path));
+    }
+}
@@ -0,0 +1,332 @@
+package com.esprit.gateway.cache;
+
+import com.esprit.gateway.cache.ResponseCache.CacheKey;
+import com.esprit.gateway.cache.ResponseCache.Result;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Cache HTTP des GET sur les routes déclarées dans gateway.cache.routes.
+ * Placé après la chaîne Spring Security : chaque requête reste authentifiée, même servie depuis le cache.
+ * <ul>
+ *   <li>réponse fraîche : servie sans appel au backend (X-Cache: HIT) ;</li>
+ *   <li>réponse périmée avec ETag : revalidée par If-None-Match, un 304 du backend resservant le corps gardé ;</li>
+ *   <li>Cache-Control de la requête : no-store contourne le cache, no-cache / max-age=0 impose la revalidation ;</li>
+ *   <li>Cache-Control de la réponse : no-store, private (hors routes par utilisateur) et Vary non géré empêchent le stockage ;</li>
+ *   <li>If-None-Match du client : comparé à l'ETag gardé, réponse 304 sans corps ;</li>
+ *   <li>routes à regroupement (coalesce) : les GET identiques arrivant pendant un appel au backend
+ *   l'attendent et reçoivent sa réponse (X-Cache: COALESCED) au lieu de lancer le leur.</li>
+ * </ul>
+ * Une écriture réussie (POST, PUT, PATCH, DELETE) sur une route cachée invalide les réponses de cette route ;
+ * un GET dont l'appel au backend a chevauché l'invalidation n'est ni gardé ni partagé avec les requêtes regroupées.
+ */
+public class ResponseCacheFilter extends OncePerRequestFilter {
+
+    static final String X_CACHE = "X-Cache";
+
+    // En-têtes propres à l'échange ou reposés à chaque requête (CORS, sécurité) : jamais rejoués
+    private static final Set<String> UNSTORED_HEADERS = Set.of(
+            "content-length", "content-type", "transfer-encoding", "connection", "keep-alive",
+            "set-cookie", "date", "age", "vary", "x-cache");
+    // Valeurs de Vary compatibles avec la clé (Accept) ou sans effet sur le corps (CORS)
+    private static final Set<String> SUPPORTED_VARY = Set.of(
+            "accept", "origin", "access-control-request-method", "access-control-request-headers");
+
+    private final ResponseCache cache;
+
+    public ResponseCacheFilter(ResponseCache cache) {
+        this.cache = cache;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !cache.isEnabled();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String path = request.getRequestURI();
+        String route = cache.routeFor(path).orElse(null);
+        if (route == null) {
+            chain.doFilter(request, response);
+            return;
+        }
+        if (!HttpMethod.GET.matches(request.getMethod())) {
+            chain.doFilter(request, response);
+            if (!HttpMethod.HEAD.matches(request.getMethod()) && !HttpMethod.OPTIONS.matches(request.getMethod())
+                    && response.getStatus() < 400) {
+                cache.invalidate(route, null);
+            }
+            return;
+        }
+
+        ResponseCacheProperties.Route config = cache.route(route);
+        Map<String, String> requestDirectives = ResponseCache.parseCacheControl(
+                Collections.list(request.getHeaders(HttpHeaders.CACHE_CONTROL)));
+        String user = config.perUser() ? currentUser() : "";
+        if (requestDirectives.containsKey("no-store") || user == null) {
+            cache.record(route, Result.BYPASS);
+            chain.doFilter(request, response);
+            return;
+        }
+
+        CacheKey key = new CacheKey(route, user, uriWithSortedQuery(request), headerOrEmpty(request, HttpHeaders.ACCEPT));
+        CachedResponse cached = cache.get(key);
+        boolean mustRevalidate = requestDirectives.containsKey("no-cache") || "0".equals(requestDirectives.get("max-age"))
+                || "no-cache".equalsIgnoreCase(request.getHeader(HttpHeaders.PRAGMA));
+        if (cached != null && cached.isFresh(cache.now()) && !mustRevalidate) {
+            cache.record(route, Result.HIT);
+            write(cached, request, response, "HIT");
+            return;
+        }
+
+        if (!config.coalesce()) {
+            fetch(route, path, key, cached, config, request, response, chain);
+            return;
+        }
+        CompletableFuture<CachedResponse> flight = new CompletableFuture<>();
+        CompletableFuture<CachedResponse> leader = cache.joinOrLead(key, flight);
+        if (leader == null) {
+            CachedResponse shared = null;
+            try {
+                shared = fetch(route, path, key, cached, config, request, response, chain);
+            } finally {
+                cache.land(key, flight, shared);
+            }
+            return;
+        }
+        CachedResponse shared = await(leader);
+        if (shared != null) {
+            cache.record(route, Result.COALESCED);
+            write(shared, request, response, "COALESCED");
+            return;
+        }
+        // Réponse du meneur non partageable (volumineuse, cookie) ou attente trop longue : appel indépendant
+        fetch(route, path, key, cached, config, request, response, chain);
+    }
+
+    /**
+     * Appeler le backend, garder la réponse si elle s'y prête et la transmettre au client
+     *
+     * @return la réponse à partager avec les requêtes regroupées, ou null si elle ne peut pas l'être
+     * (non partageable, ou route invalidée pendant l'appel)
+     */
+    private CachedResponse fetch(String route, String path, CacheKey key, CachedResponse cached,
+                                 ResponseCacheProperties.Route config, HttpServletRequest request,
+                                 HttpServletResponse response, FilterChain chain) throws ServletException, IOException {
+        // Sans ETag, une entrée périmée ne peut être que rechargée
+        String revalidateTag = cached != null ? cached.etag() : null;
+        CapturingResponseWrapper capture = new CapturingResponseWrapper(response, cache.maxEntryBytes());
+        // Posé avant l'appel : une réponse volumineuse peut partir vers le client pendant la copie
+        response.setHeader(X_CACHE, "MISS");
+        long generation = cache.generation(route);
+        chain.doFilter(new ConditionalRequestWrapper(request, revalidateTag), capture);
+        long now = cache.now();
+
+        if (revalidateTag != null && capture.getStatus() == HttpServletResponse.SC_NOT_MODIFIED) {
+            long freshness = ResponseCache.freshnessMillis(ResponseCache.parseCacheControl(
+                    capture.getHeaders(HttpHeaders.CACHE_CONTROL)), config);
+            CachedResponse refreshed = cached.revalidated(now, Math.max(0, freshness));
+            cache.put(key, refreshed, generation);
+            cache.record(route, Result.REVALIDATED);
+            capture.discard();
+            write(refreshed, request, response, "REVALIDATED");
+            return cache.generation(route) == generation ? refreshed : null;
+        }
+
+        cache.record(route, Result.MISS);
+        CachedResponse snapshot = null;
+        boolean storable = false;
+        if (!capture.isOverflowed() && capture.getHeader(HttpHeaders.SET_COOKIE) == null) {
+            long freshness = ResponseCache.freshnessMillis(
+                    ResponseCache.parseCacheControl(capture.getHeaders(HttpHeaders.CACHE_CONTROL)), config);
+            String etag = capture.getHeader(HttpHeaders.ETAG);
+            snapshot = snapshot(route, path, capture, now, Math.max(0, freshness), etag);
+            storable = capture.getStatus() == HttpServletResponse.SC_OK && supportedVary(capture)
+                    && freshness >= 0 && (freshness > 0 || etag != null);
+            if (capture.getStatus() == HttpServletResponse.SC_OK && etag != null && matchesIfNoneMatch(request, etag)) {
+                capture.discard();
+                response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            }
+        }
+        if (storable) {
+            cache.put(key, snapshot, generation);
+        } else if (cached != null) {
+            // Ressource disparue ou devenue non cachable : l'ancienne réponse ne doit plus être servie
+            cache.evict(key);
+        }
+        capture.finish();
+        // Route invalidée pendant l'appel : les requêtes regroupées rappellent le backend
+        return cache.generation(route) == generation ? snapshot : null;
+    }
+
+    private CachedResponse await(CompletableFuture<CachedResponse> leader) throws IOException {
+        try {
+            return leader.get(cache.coalesceTimeoutMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for a coalesced response");
+        } catch (ExecutionException | TimeoutException e) {
+            return null;
+        }
+    }
+
+    private static boolean supportedVary(CapturingResponseWrapper capture) {
+        for (String vary : capture.getHeaders(HttpHeaders.VARY)) {
+            for (String name : vary.split(",")) {
+                if (!name.isBlank() && !SUPPORTED_VARY.contains(name.trim().toLowerCase(Locale.ROOT))) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    private static CachedResponse snapshot(String route, String path, CapturingResponseWrapper capture,
+                                           long now, long freshness, String etag) {
+        Map<String, List<String>> headers = new LinkedHashMap<>();
+        for (String name : capture.getHeaderNames()) {
+            String lower = name.toLowerCase(Locale.ROOT);
+            if (!UNSTORED_HEADERS.contains(lower) && !lower.startsWith("access-control-")) {
+                headers.putIfAbsent(name, List.copyOf(capture.getHeaders(name)));
+            }
+        }
+        return new CachedResponse(route, path, capture.getStatus(), capture.getContentType(), headers,
+                capture.body(), etag, now, now + freshness);
+    }
+
+    private void write(CachedResponse cached, HttpServletRequest request, HttpServletResponse response, String outcome)
+            throws IOException {
+        cached.headers().forEach((name, values) -> {
+            response.setHeader(name, values.get(0));
+            values.stream().skip(1).forEach(value -> response.addHeader(name, value));
+        });
+        response.setHeader(HttpHeaders.AGE, Long.toString(Math.max(0, (cache.now() - cached.storedAt()) / 1000)));
+        response.setHeader(X_CACHE, outcome);
+        if (cached.etag() != null && matchesIfNoneMatch(request, cached.etag())) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return;
+        }
+        response.setStatus(cached.status());
+        if (cached.contentType() != null) {
+            response.setContentType(cached.contentType());
+        }
+        response.setContentLength(cached.body().length);
+        response.getOutputStream().write(cached.body());
+    }
+
+    static boolean matchesIfNoneMatch(HttpServletRequest request, String etag) {
+        String opaque = stripWeak(etag);
+        for (String header : Collections.list(request.getHeaders(HttpHeaders.IF_NONE_MATCH))) {
+            for (String candidate : header.split(",")) {
+                String tag = candidate.trim();
+                if (tag.equals("*") || stripWeak(tag).equals(opaque)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Chemin suivi des paramètres triés : ?b=2&a=1 et ?a=1&b=2 partagent la même entrée
+     */
+    static String uriWithSortedQuery(HttpServletRequest request) {
+        String query = request.getQueryString();
+        if (query == null || query.isEmpty()) {
+            return request.getRequestURI();
+        }
+        String[] params = query.split("&");
+        Arrays.sort(params);
+        return request.getRequestURI() + "?" + String.join("&", params);
+    }
+
+    private static String currentUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication == null || !authentication.isAuthenticated() ? null : authentication.getName();
+    }
+
+    private static String headerOrEmpty(HttpServletRequest request, String name) {
+        String value = request.getHeader(name);
+        return value == null ? "" : value;
+    }
+
+    private static String stripWeak(String etag) {
+        return etag.startsWith("W/") ? etag.substring(2) : etag;
+    }
+
+    /**
+     * Requête transmise au backend : les conditions du client sont retirées pour obtenir un corps complet
+     * (gardé puis comparé ici), remplacées par l'ETag gardé lors d'une revalidation
+     */
+    private static final class ConditionalRequestWrapper extends HttpServletRequestWrapper {
+
+        private final String ifNoneMatch;
+
+        ConditionalRequestWrapper(HttpServletRequest request, String ifNoneMatch) {
+            super(request);
+            this.ifNoneMatch = ifNoneMatch;
+        }
+
+        @Override
+        public String getHeader(String name) {
+            if (HttpHeaders.IF_NONE_MATCH.equalsIgnoreCase(name)) {
+                return ifNoneMatch;
+            }
+            return HttpHeaders.IF_MODIFIED_SINCE.equalsIgnoreCase(name) ? null : super.getHeader(name);
+        }
+
+        @Override
+        public Enumeration<String> getHeaders(String name) {
+            if (HttpHeaders.IF_NONE_MATCH.equalsIgnoreCase(name)) {
+                return Collections.enumeration(ifNoneMatch == null ? List.of() : List.of(ifNoneMatch));
+            }
+            return HttpHeaders.IF_MODIFIED_SINCE.equalsIgnoreCase(name)
+                    ? Collections.emptyEnumeration() : super.getHeaders(name);
+        }
+
+        @Override
+        public Enumeration<String> getHeaderNames() {
+            List<String> names = new ArrayList<>();
+            for (String name : Collections.list(super.getHeaderNames())) {
+                if (!HttpHeaders.IF_NONE_MATCH.equalsIgnoreCase(name) && !HttpHeaders.IF_MODIFIED_SINCE.equalsIgnoreCase(name)) {
+                    names.add(name);
+                }
+            }
+            if (ifNoneMatch != null) {
+                names.add(HttpHeaders.IF_NONE_MATCH);
+            }
+            return Collections.enumeration(names);
+        }
+
+        @Override
+        public long getDateHeader(String name) {
+            return HttpHeaders.IF_MODIFIED_SINCE.equalsIgnoreCase(name) ? -1 : super.getDateHeader(name);
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.esprit.gateway.cache;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Cache des réponses GET de la passerelle (gateway.cache.*)
+ *
+ * @param enabled         désactive entièrement le cache
+ * @param maxSize         taille totale des réponses gardées (corps + en-têtes)
+ * @param maxEntrySize    au-delà, la réponse est transmise sans être gardée
+ * @param staleRetention  durée de conservation d'une réponse périmée munie d'un ETag, pour la revalider
+ *                        par If-None-Match plutôt que de la recharger
+ * @param coalesceTimeout attente maximale d'une requête regroupée derrière un appel identique en cours ;
+ *                        au-delà, elle appelle le backend elle-même
+ * @param routes          routes cachées, par id de route
+ */
+@ConfigurationProperties(prefix = "gateway.cache")
+public record ResponseCacheProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("64MB") DataSize maxSize,
+        @DefaultValue("1MB") DataSize maxEntrySize,
+        @DefaultValue("5m") Duration staleRetention,
+        @DefaultValue("10s") Duration coalesceTimeout,
+        Map<String, Route> routes) {
+
+    public ResponseCacheProperties {
+        routes = routes == null ? Map.of() : routes;
+    }
+
+    /**
+     * @param paths    chemins cachés (motifs Ant, ex. /hotels/**)
+     * @param exclude  chemins jamais cachés à l'intérieur de la route
+     * @param ttl      fraîcheur par défaut, si la réponse ne donne ni max-age ni s-maxage
+     * @param perUser  réponses propres à l'utilisateur : la clé inclut le sujet du jeton
+     *                 et les réponses Cache-Control: private sont acceptées
+     * @param coalesce regrouper les GET identiques simultanés derrière un seul appel au backend
+     *                 (single-flight), dont la réponse est servie à tous
+     */
+    public record Route(
+            List<String> paths,
+            List<String> exclude,
+            @DefaultValue("30s") Duration ttl,
+            @DefaultValue("false") boolean perUser,
+            @DefaultValue("false") boolean coalesce) {
+
+        public Route {
+            paths = paths == null ? List.of() : paths;
+            exclude = exclude == null ? List.of() : exclude;
+        }
+    }
+}
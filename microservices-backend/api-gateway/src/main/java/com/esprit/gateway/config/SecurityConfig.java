@@ -1,38 +1,72 @@
 package com.esprit.gateway.config;
 
+import com.esprit.gateway.security.CachingJwtDecoder;
+import com.esprit.gateway.security.RefreshingJwkSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.autoconfigure.security.servlet.EndpointRequest;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.oauth2.core.DelegatingOAuth2TokenValidator;
 import org.springframework.security.oauth2.core.OAuth2TokenValidator;
 import org.springframework.security.oauth2.jwt.*;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationConverter;
+import org.springframework.security.oauth2.server.resource.authentication.JwtGrantedAuthoritiesConverter;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 
 @Configuration
 @EnableWebSecurity
 public class SecurityConfig {
 
     @Bean
-    public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
+    public SecurityFilterChain securityFilterChain(
+            HttpSecurity http,
+            @Value("${gateway.security.admin-role:admin}") String adminRole) throws Exception {
         http
                 .cors(cors -> cors.configurationSource(corsConfigurationSource()))
                 .csrf(AbstractHttpConfigurer::disable)
                 .authorizeHttpRequests(auth -> auth
                         .requestMatchers("/public/**").permitAll()
+                        // Statistiques et invalidation du cache de la passerelle (DELETE sans paramètre : tout le cache)
+                        .requestMatchers(EndpointRequest.to("gatewaycache")).hasRole(adminRole)
                         .anyRequest().authenticated()
                 )
-                .oauth2ResourceServer(oauth2 -> oauth2.jwt(jwt -> {}));
+                .oauth2ResourceServer(oauth2 -> oauth2.jwt(jwt -> jwt.jwtAuthenticationConverter(keycloakRoles())));
 
         return http.build();
     }
 
+    /**
+     * Scopes du jeton (SCOPE_*) et rôles de royaume Keycloak (realm_access.roles, en ROLE_*)
+     */
+    private static JwtAuthenticationConverter keycloakRoles() {
+        JwtGrantedAuthoritiesConverter scopes = new JwtGrantedAuthoritiesConverter();
+        JwtAuthenticationConverter converter = new JwtAuthenticationConverter();
+        converter.setJwtGrantedAuthoritiesConverter(jwt -> {
+            Collection<GrantedAuthority> authorities = new ArrayList<>(scopes.convert(jwt));
+            Map<String, Object> realmAccess = jwt.getClaimAsMap("realm_access");
+            if (realmAccess != null && realmAccess.get("roles") instanceof Collection<?> roles) {
+                roles.forEach(role -> authorities.add(new SimpleGrantedAuthority("ROLE_" + role)));
+            }
+            return authorities;
+        });
+        return converter;
+    }
+
     @Bean
     public CorsConfigurationSource corsConfigurationSource() {
         CorsConfiguration config = new CorsConfiguration();
@@ -40,6 +74,8 @@ public class SecurityConfig {
         config.setAllowedOriginPatterns(List.of("http://localhost:*"));
         config.setAllowedMethods(List.of("GET", "POST", "PUT", "DELETE", "PATCH", "OPTIONS"));
         config.setAllowedHeaders(List.of("*"));
+        // Le frontend relit l'ETag pour ses requêtes conditionnelles (If-None-Match)
+        config.setExposedHeaders(List.of("ETag", "X-Cache", "Age"));
         config.setAllowCredentials(true);
         config.setMaxAge(3600L);
 
@@ -48,18 +84,24 @@ public class SecurityConfig {
         return source;
     }
 
-    @Bean
-    public JwtDecoder jwtDecoder() {
-        NimbusJwtDecoder decoder = NimbusJwtDecoder
-                .withJwkSetUri("http://localhost:8080/realms/microservices-realm/protocol/openid-connect/certs")
-                .build();
-
-        decoder.setJwtValidator(
-                JwtValidators.createDefaultWithIssuer(
-                        "http://localhost:8080/realms/microservices-realm"
-                )
-        );
+    /**
+     * Clés de Keycloak rechargées en tâche de fond : la vérification ne les attend pas
+     */
+    @Bean(destroyMethod = "close")
+    public RefreshingJwkSource jwkSource(
+            @Value("${spring.security.oauth2.resourceserver.jwt.jwk-set-uri:http://localhost:8080/realms/microservices-realm/protocol/openid-connect/certs}") String jwkSetUri,
+            @Value("${gateway.security.jwt.jwk-refresh-interval:5m}") Duration refreshInterval) {
+        return new RefreshingJwkSource(jwkSetUri, refreshInterval);
+    }
 
-        return decoder;
+    @Bean
+    public JwtDecoder jwtDecoder(
+            RefreshingJwkSource jwkSource,
+            MeterRegistry meterRegistry,
+            @Value("${spring.security.oauth2.resourceserver.jwt.issuer-uri:http://localhost:8080/realms/microservices-realm}") String issuerUri,
+            @Value("${gateway.security.jwt.cache-size:10000}") long cacheSize,
+            @Value("${gateway.security.jwt.cache-max-ttl:15m}") Duration cacheMaxTtl) {
+        NimbusJwtDecoder decoder = jwkSource.jwtDecoder(JwtValidators.createDefaultWithIssuer(issuerUri));
+        return new CachingJwtDecoder(decoder, cacheSize, cacheMaxTtl, meterRegistry);
     }
 }
\ No newline at end of file
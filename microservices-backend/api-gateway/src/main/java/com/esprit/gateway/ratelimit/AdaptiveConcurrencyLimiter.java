@@ -0,0 +1,117 @@
+package com.esprit.gateway.ratelimit;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Limite adaptative des appels simultanés vers un backend, sur le modèle du Gradient de Netflix concurrency-limits.
+ * <p>
+ * La latence moyenne de chaque fenêtre est comparée à la latence à vide, la plus basse observée (qui remonte de 0,2 %
+ * par fenêtre pour suivre un backend durablement plus lent) : le gradient {@code tolérance × à vide / fenêtre},
+ * borné à [0.5, 1], réduit la limite quand les appels font la queue dans le backend, et une marge de {@code √limite}
+ * la fait remonter tant qu'il tient. À l'équilibre, environ √limite appels attendent : la latence reste bornée.
+ * Un échec (5xx, exception) compte comme une saturation et divise la cible par deux. La limite n'augmente pas
+ * si la fenêtre n'a pas approché la limite en cours (pas de preuve que le backend en supporte davantage).
+ * <p>
+ * L'admission est sans verrou (compareAndSet sur les appels en cours) ; le recalcul, une fois par fenêtre,
+ * est fait par la seule requête qui ferme la fenêtre.
+ */
+final class AdaptiveConcurrencyLimiter {
+
+    private static final double TOLERANCE = 1.5;
+    private static final double SMOOTHING = 0.2;
+    private static final double NO_LOAD_AGING = 1.002;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final long windowNanos;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger peakInFlight = new AtomicInteger();
+    private final LongAdder windowLatency = new LongAdder();
+    private final LongAdder windowSamples = new LongAdder();
+    private final AtomicBoolean windowDropped = new AtomicBoolean();
+    private final AtomicBoolean updating = new AtomicBoolean();
+    private final AtomicLong windowStart;
+    private volatile double limit;
+    // Lu et écrit uniquement par la requête qui tient {@code updating}
+    private double noLoadLatency;
+
+    AdaptiveConcurrencyLimiter(RateLimitProperties.Concurrency config, long now) {
+        this.minLimit = Math.max(1, config.minLimit());
+        this.maxLimit = Math.max(minLimit, config.maxLimit());
+        this.windowNanos = config.window().toNanos();
+        this.limit = Math.min(maxLimit, Math.max(minLimit, config.initialLimit()));
+        this.windowStart = new AtomicLong(now);
+    }
+
+    /**
+     * Réserver une place pour un appel au backend
+     *
+     * @return false si la route est à sa limite : la requête doit être délestée
+     */
+    boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= (int) limit) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                peakInFlight.accumulateAndGet(current + 1, Math::max);
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Libérer la place d'un appel terminé et en compter la latence
+     *
+     * @param dropped le backend a échoué (5xx, exception) : signe de saturation
+     */
+    void release(long latencyNanos, boolean dropped, long now) {
+        inFlight.decrementAndGet();
+        windowLatency.add(latencyNanos);
+        windowSamples.increment();
+        if (dropped) {
+            windowDropped.set(true);
+        }
+        if (now - windowStart.get() >= windowNanos && updating.compareAndSet(false, true)) {
+            try {
+                update(now);
+            } finally {
+                updating.set(false);
+            }
+        }
+    }
+
+    int limit() {
+        return (int) limit;
+    }
+
+    int inFlight() {
+        return inFlight.get();
+    }
+
+    private void update(long now) {
+        windowStart.set(now);
+        long samples = windowSamples.sumThenReset();
+        long latency = windowLatency.sumThenReset();
+        boolean dropped = windowDropped.getAndSet(false);
+        int peak = peakInFlight.getAndSet(inFlight.get());
+        if (samples == 0) {
+            return;
+        }
+        double meanLatency = Math.max(1, (double) latency / samples);
+        noLoadLatency = noLoadLatency == 0 ? meanLatency : Math.min(meanLatency, noLoadLatency * NO_LOAD_AGING);
+
+        double current = limit;
+        if (!dropped && peak < current / 2) {
+            return;
+        }
+        double target = dropped ? current / 2
+                : current * Math.max(0.5, Math.min(1.0, TOLERANCE * noLoadLatency / meanLatency)) + Math.sqrt(current);
+        double next = current * (1 - SMOOTHING) + target * SMOOTHING;
+        limit = Math.min(maxLimit, Math.max(minLimit, next));
+    }
+}
@@ -0,0 +1,85 @@
+package com.esprit.gateway.ratelimit;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Limitation de débit et délestage sur les routes déclarées dans gateway.rate-limit.routes.
+ * Placé après le cache des réponses : seules les requêtes qui partent vers un backend sont comptées.
+ * <ul>
+ *   <li>seau du client (sujet du jeton, sinon adresse IP) ou seau de la route vide : 429 ;</li>
+ *   <li>route à sa limite de concurrence : 503, sans attente ni file, pour garder la latence des requêtes admises ;</li>
+ *   <li>dans les deux cas, Retry-After indique en secondes quand réessayer.</li>
+ * </ul>
+ * La latence et l'issue (5xx, exception) de chaque appel admis ajustent la limite de concurrence.
+ */
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private final RateLimiter limiter;
+
+    public RateLimitFilter(RateLimiter limiter) {
+        this.limiter = limiter;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !limiter.isEnabled();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String route = limiter.routeFor(request.getRequestURI()).orElse(null);
+        if (route == null) {
+            chain.doFilter(request, response);
+            return;
+        }
+        RateLimiter.Decision decision = limiter.acquire(route, client(request));
+        switch (decision.result()) {
+            case THROTTLED -> reject(response, HttpStatus.TOO_MANY_REQUESTS, decision.retryAfterNanos());
+            case SHED -> reject(response, HttpStatus.SERVICE_UNAVAILABLE, decision.retryAfterNanos());
+            case ALLOWED -> {
+                long start = limiter.now();
+                boolean failed = true;
+                try {
+                    chain.doFilter(request, response);
+                    failed = response.getStatus() >= 500;
+                } finally {
+                    limiter.release(decision, limiter.now() - start, failed);
+                }
+            }
+        }
+    }
+
+    private static void reject(HttpServletResponse response, HttpStatus status, long retryAfterNanos) throws IOException {
+        // Arrondi à la seconde supérieure : un client qui respecte Retry-After trouve un jeton
+        long seconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(retryAfterNanos + TimeUnit.SECONDS.toNanos(1) - 1));
+        byte[] body = ("{\"status\":" + status.value() + ",\"error\":\"" + status.getReasonPhrase() + "\"}")
+                .getBytes(StandardCharsets.UTF_8);
+        response.setStatus(status.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(seconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setContentLength(body.length);
+        response.getOutputStream().write(body);
+    }
+
+    private static String client(HttpServletRequest request) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.isAuthenticated()) {
+            return "user:" + authentication.getName();
+        }
+        return "ip:" + request.getRemoteAddr();
+    }
+}
@@ -0,0 +1,75 @@
+package com.esprit.gateway.ratelimit;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Limitation de débit et délestage de la passerelle (gateway.rate-limit.*)
+ *
+ * @param enabled           désactive entièrement la limitation
+ * @param maxClients        nombre de seaux par client gardés en mémoire, les moins utiles évincés au-delà
+ * @param clientIdleTimeout un seau client inutilisé depuis cette durée est oublié (il serait de nouveau plein)
+ * @param shedRetryAfter    Retry-After des requêtes délestées (503) quand la route est à sa limite de concurrence
+ * @param routes            routes limitées, par id de route
+ */
+@ConfigurationProperties(prefix = "gateway.rate-limit")
+public record RateLimitProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("100000") long maxClients,
+        @DefaultValue("10m") Duration clientIdleTimeout,
+        @DefaultValue("1s") Duration shedRetryAfter,
+        Map<String, Route> routes) {
+
+    public RateLimitProperties {
+        routes = routes == null ? Map.of() : routes;
+    }
+
+    /**
+     * @param paths       chemins limités (motifs Ant, ex. /api/bookings/**)
+     * @param exclude     chemins jamais limités à l'intérieur de la route
+     * @param client      seau propre à chaque client (sujet du jeton, sinon adresse IP) ; absent : pas de limite par client
+     * @param route       seau partagé par tous les clients de la route ; absent : pas de limite globale
+     * @param concurrency limite adaptative des appels simultanés au backend ; absente : pas de limite
+     */
+    public record Route(
+            List<String> paths,
+            List<String> exclude,
+            Bucket client,
+            Bucket route,
+            Concurrency concurrency) {
+
+        public Route {
+            paths = paths == null ? List.of() : paths;
+            exclude = exclude == null ? List.of() : exclude;
+        }
+    }
+
+    /**
+     * @param capacity         rafale admise, seau plein
+     * @param refillPerSecond  jetons rendus par seconde, débit soutenu
+     */
+    public record Bucket(
+            long capacity,
+            double refillPerSecond) {
+    }
+
+    /**
+     * Limite recalculée à chaque fenêtre d'après la latence du backend : elle baisse quand la latence récente
+     * s'éloigne de la latence de référence ou que le backend échoue (5xx), et remonte quand elle revient.
+     *
+     * @param initialLimit appels simultanés admis au démarrage
+     * @param minLimit     plancher, toujours admis
+     * @param maxLimit     plafond
+     * @param window       période de recalcul de la limite
+     */
+    public record Concurrency(
+            @DefaultValue("20") int initialLimit,
+            @DefaultValue("2") int minLimit,
+            @DefaultValue("200") int maxLimit,
+            @DefaultValue("200ms") Duration window) {
+    }
+}
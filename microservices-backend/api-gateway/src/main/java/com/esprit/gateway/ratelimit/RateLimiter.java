@@ -0,0 +1,188 @@
+package com.esprit.gateway.ratelimit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.util.AntPathMatcher;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Seaux à jetons et limites de concurrence des routes déclarées dans gateway.rate-limit.routes.
+ * Les seaux par client sont gardés en mémoire (Caffeine, lectures sans verrou), oubliés après
+ * client-idle-timeout sans requête. Compteurs par route : gateway.ratelimit.requests{route, result},
+ * et pour les routes à concurrence limitée gateway.concurrency.limit{route} et gateway.concurrency.inflight{route}.
+ */
+public class RateLimiter {
+
+    public enum Result { ALLOWED, THROTTLED, SHED }
+
+    /**
+     * Décision pour une requête
+     *
+     * @param result         issue
+     * @param retryAfterNanos attente conseillée avant de réessayer (THROTTLED, SHED)
+     * @param limiter        place réservée à libérer en fin d'appel (ALLOWED sur route à concurrence limitée), sinon null
+     */
+    record Decision(Result result, long retryAfterNanos, AdaptiveConcurrencyLimiter limiter) {
+    }
+
+    private final RateLimitProperties properties;
+    private final LongSupplier clock;
+    private final AntPathMatcher matcher = new AntPathMatcher();
+    private final Map<String, RouteLimits> limitsByRoute = new LinkedHashMap<>();
+    private final Cache<ClientKey, TokenBucket> clientBuckets;
+
+    public RateLimiter(RateLimitProperties properties, MeterRegistry meterRegistry) {
+        this(properties, meterRegistry, System::nanoTime);
+    }
+
+    RateLimiter(RateLimitProperties properties, MeterRegistry meterRegistry, LongSupplier clock) {
+        this.properties = properties;
+        this.clock = clock;
+        this.clientBuckets = Caffeine.newBuilder()
+                .maximumSize(properties.maxClients())
+                .expireAfterAccess(properties.clientIdleTimeout())
+                .build();
+
+        long now = clock.getAsLong();
+        properties.routes().forEach((route, config) -> {
+            RouteLimits limits = new RouteLimits(config,
+                    config.route() == null ? null : new TokenBucket(config.route(), now),
+                    config.concurrency() == null ? null : new AdaptiveConcurrencyLimiter(config.concurrency(), now));
+            limitsByRoute.put(route, limits);
+            for (Result result : Result.values()) {
+                FunctionCounter.builder("gateway.ratelimit.requests", limits.counter(result), LongAdder::sum)
+                        .tag("route", route)
+                        .tag("result", result.name().toLowerCase(Locale.ROOT))
+                        .description("Requests on rate-limited routes, by outcome")
+                        .register(meterRegistry);
+            }
+            if (limits.concurrency != null) {
+                Gauge.builder("gateway.concurrency.limit", limits.concurrency, AdaptiveConcurrencyLimiter::limit)
+                        .tag("route", route)
+                        .register(meterRegistry);
+                Gauge.builder("gateway.concurrency.inflight", limits.concurrency, AdaptiveConcurrencyLimiter::inFlight)
+                        .tag("route", route)
+                        .register(meterRegistry);
+            }
+        });
+    }
+
+    public boolean isEnabled() {
+        return properties.enabled() && !properties.routes().isEmpty();
+    }
+
+    /**
+     * Route limitée qui couvre {@code path}, hors chemins exclus
+     */
+    public Optional<String> routeFor(String path) {
+        for (Map.Entry<String, RateLimitProperties.Route> entry : properties.routes().entrySet()) {
+            RateLimitProperties.Route route = entry.getValue();
+            if (matchesAny(route.paths(), path) && !matchesAny(route.exclude(), path)) {
+                return Optional.of(entry.getKey());
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Admettre ou refuser une requête de {@code client} sur {@code route} : seau du client, seau de la route,
+     * puis place dans la limite de concurrence. Les jetons déjà pris sont rendus si une limite suivante
+     * refuse la requête : un client n'use pas son seau sur une route saturée par les autres.
+     */
+    Decision acquire(String route, String client) {
+        RouteLimits limits = limitsByRoute.get(route);
+        long now = clock.getAsLong();
+        TokenBucket clientBucket = null;
+        if (limits.config.client() != null) {
+            clientBucket = clientBuckets.get(new ClientKey(route, client),
+                    key -> new TokenBucket(limits.config.client(), now));
+            long wait = clientBucket.tryAcquire(now);
+            if (wait > 0) {
+                return limits.record(new Decision(Result.THROTTLED, wait, null));
+            }
+        }
+        if (limits.bucket != null) {
+            long wait = limits.bucket.tryAcquire(now);
+            if (wait > 0) {
+                refund(clientBucket, now);
+                return limits.record(new Decision(Result.THROTTLED, wait, null));
+            }
+        }
+        if (limits.concurrency != null && !limits.concurrency.tryAcquire()) {
+            refund(clientBucket, now);
+            refund(limits.bucket, now);
+            return limits.record(new Decision(Result.SHED, properties.shedRetryAfter().toNanos(), null));
+        }
+        return limits.record(new Decision(Result.ALLOWED, 0, limits.concurrency));
+    }
+
+    /**
+     * Fin d'un appel admis : libère sa place et nourrit la limite adaptative
+     */
+    void release(Decision decision, long latencyNanos, boolean failed) {
+        if (decision.limiter() != null) {
+            decision.limiter().release(latencyNanos, failed, clock.getAsLong());
+        }
+    }
+
+    public long now() {
+        return clock.getAsLong();
+    }
+
+    private static void refund(TokenBucket bucket, long now) {
+        if (bucket != null) {
+            bucket.refund(now);
+        }
+    }
+
+    private boolean matchesAny(List<String> patterns, String path) {
+        for (String pattern : patterns) {
+            if (matcher.match(pattern.trim(), path)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private record ClientKey(String route, String client) {
+    }
+
+    private static final class RouteLimits {
+
+        final RateLimitProperties.Route config;
+        final TokenBucket bucket;
+        final AdaptiveConcurrencyLimiter concurrency;
+        final LongAdder allowed = new LongAdder();
+        final LongAdder throttled = new LongAdder();
+        final LongAdder shed = new LongAdder();
+
+        RouteLimits(RateLimitProperties.Route config, TokenBucket bucket, AdaptiveConcurrencyLimiter concurrency) {
+            this.config = config;
+            this.bucket = bucket;
+            this.concurrency = concurrency;
+        }
+
+        LongAdder counter(Result result) {
+            return switch (result) {
+                case ALLOWED -> allowed;
+                case THROTTLED -> throttled;
+                case SHED -> shed;
+            };
+        }
+
+        Decision record(Decision decision) {
+            counter(decision.result()).increment();
+            return decision;
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.esprit.gateway.ratelimit;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Seau à jetons sans verrou. L'état tient dans un seul long, l'instant (ns) où le seau sera de nouveau plein
+ * (algorithme GCRA) : prendre un jeton repousse cet instant d'un intervalle de remplissage, et la prise est
+ * refusée si le seau devait alors dépasser sa capacité. Un compareAndSet suffit, sans tâche de remplissage.
+ */
+final class TokenBucket {
+
+    private final long interval;
+    private final long burst;
+    private final AtomicLong fullAt;
+
+    TokenBucket(RateLimitProperties.Bucket bucket, long now) {
+        this.interval = Math.max(1, Math.round(1_000_000_000d / bucket.refillPerSecond()));
+        this.burst = Math.max(1, bucket.capacity()) * interval;
+        this.fullAt = new AtomicLong(now);
+    }
+
+    /**
+     * Prendre un jeton
+     *
+     * @return 0 si le jeton est pris, sinon l'attente (ns) avant qu'un jeton soit disponible
+     */
+    long tryAcquire(long now) {
+        while (true) {
+            long current = fullAt.get();
+            long next = Math.max(current, now) + interval;
+            long excess = next - now - burst;
+            if (excess > 0) {
+                return excess;
+            }
+            if (fullAt.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * Rendre un jeton pris pour une requête finalement refusée par une autre limite (sans dépasser la capacité)
+     */
+    void refund(long now) {
+        while (true) {
+            long current = fullAt.get();
+            if (current <= now || fullAt.compareAndSet(current, Math.max(now, current - interval))) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Jetons disponibles à {@code now}
+     */
+    long available(long now) {
+        return (burst - Math.max(0, fullAt.get() - now)) / interval;
+    }
+}
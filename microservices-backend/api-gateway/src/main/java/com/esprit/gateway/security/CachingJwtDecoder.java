@@ -0,0 +1,96 @@
+package com.esprit.gateway.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtException;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+
+/**
+ * Jetons déjà validés, gardés par empreinte SHA-256 jusqu'à leur exp (au plus maxTtl) :
+ * un même jeton présenté à chaque requête n'est vérifié (signature, claims) qu'une fois.
+ * Les échecs ne sont pas gardés, et un jeton sans exp est toujours revérifié.
+ * Comme pour toute validation locale de JWT, une révocation côté Keycloak n'est vue qu'à l'expiration du jeton.
+ */
+public class CachingJwtDecoder implements JwtDecoder {
+
+    private final JwtDecoder delegate;
+    private final Clock clock;
+    private final Cache<String, Jwt> validated;
+
+    public CachingJwtDecoder(JwtDecoder delegate, long maxSize, Duration maxTtl, MeterRegistry meterRegistry) {
+        this(delegate, maxSize, maxTtl, Clock.systemUTC());
+        CaffeineCacheMetrics.monitor(meterRegistry, validated, "jwt.validated");
+    }
+
+    CachingJwtDecoder(JwtDecoder delegate, long maxSize, Duration maxTtl, Clock clock) {
+        this.delegate = delegate;
+        this.clock = clock;
+        long maxTtlNanos = maxTtl.toNanos();
+        this.validated = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new Expiry<String, Jwt>() {
+                    @Override
+                    public long expireAfterCreate(String key, Jwt jwt, long currentTime) {
+                        long untilExp = Duration.between(clock.instant(), jwt.getExpiresAt()).toNanos();
+                        return Math.max(0, Math.min(untilExp, maxTtlNanos));
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, Jwt jwt, long currentTime, long currentDuration) {
+                        return expireAfterCreate(key, jwt, currentTime);
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, Jwt jwt, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .recordStats()
+                .build();
+    }
+
+    @Override
+    public Jwt decode(String token) throws JwtException {
+        String key = fingerprint(token);
+        Jwt cached = validated.getIfPresent(key);
+        if (cached != null) {
+            // exp revérifié à la lecture : l'éviction par le cache peut survenir un peu après
+            if (cached.getTokenValue().equals(token) && clock.instant().isBefore(cached.getExpiresAt())) {
+                return cached;
+            }
+            validated.invalidate(key);
+        }
+        Jwt jwt = delegate.decode(token);
+        Instant expiresAt = jwt.getExpiresAt();
+        if (expiresAt != null && clock.instant().isBefore(expiresAt)) {
+            validated.put(key, jwt);
+        }
+        return jwt;
+    }
+
+    long size() {
+        validated.cleanUp();
+        return validated.estimatedSize();
+    }
+
+    private static String fingerprint(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
@@ -0,0 +1,172 @@
+package com.esprit.gateway.security;
+
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.KeySourceException;
+import com.nimbusds.jose.jwk.JWK;
+import com.nimbusds.jose.jwk.JWKSelector;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.source.JWKSource;
+import com.nimbusds.jose.proc.JWSVerificationKeySelector;
+import com.nimbusds.jose.proc.SecurityContext;
+import com.nimbusds.jwt.proc.DefaultJWTProcessor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.oauth2.core.OAuth2TokenValidator;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.LongSupplier;
+
+/**
+ * Clés publiques (JWK) de Keycloak rechargées en tâche de fond toutes les {@code refreshInterval},
+ * selon le principe stale-while-revalidate : les requêtes lisent toujours le dernier jeu connu et
+ * n'attendent jamais un rechargement périodique ; en cas d'échec du rechargement (Keycloak indisponible),
+ * l'ancien jeu reste utilisé.
+ * Seuls le tout premier chargement et un kid inconnu (rotation publiée depuis le dernier rechargement)
+ * attendent un appel, unique pour toutes les requêtes concernées et limité à un par {@code missRefreshInterval}.
+ */
+public class RefreshingJwkSource implements JWKSource<SecurityContext>, AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(RefreshingJwkSource.class);
+
+    private final Callable<JWKSet> loader;
+    private final Duration missRefreshInterval;
+    private final Duration missWait;
+    private final LongSupplier clock;
+    private final ScheduledExecutorService scheduler;
+    private final AtomicReference<CompletableFuture<JWKSet>> refreshing = new AtomicReference<>();
+    private volatile JWKSet keys;
+    private long lastMissRefresh = Long.MIN_VALUE / 2;
+
+    public RefreshingJwkSource(String jwkSetUri, Duration refreshInterval) {
+        this(httpLoader(jwkSetUri), refreshInterval, Duration.ofSeconds(10), Duration.ofSeconds(5), System::currentTimeMillis);
+    }
+
+    RefreshingJwkSource(Callable<JWKSet> loader, Duration refreshInterval, Duration missRefreshInterval,
+                        Duration missWait, LongSupplier clock) {
+        this.loader = loader;
+        this.missRefreshInterval = missRefreshInterval;
+        this.missWait = missWait;
+        this.clock = clock;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "jwk-refresh");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::refresh, 0, refreshInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public List<JWK> get(JWKSelector selector, SecurityContext context) throws KeySourceException {
+        JWKSet current = keys;
+        if (current == null) {
+            current = await(refresh());
+        }
+        List<JWK> matches = selector.select(current);
+        if (!matches.isEmpty()) {
+            return matches;
+        }
+        // kid inconnu : on rejoint le rechargement en cours, ou on en lance un si le dernier est assez ancien
+        CompletableFuture<JWKSet> flight;
+        synchronized (this) {
+            flight = refreshing.get();
+            if (flight == null) {
+                long now = clock.getAsLong();
+                if (now - lastMissRefresh < missRefreshInterval.toMillis()) {
+                    return selector.select(keys);
+                }
+                lastMissRefresh = now;
+                log.info("No JWK matches the token header, reloading the JWK set");
+                flight = refresh();
+            }
+        }
+        return selector.select(await(flight));
+    }
+
+    /**
+     * Décodeur vérifiant les signatures RS256 avec ces clés ; les claims sont laissés au validateur Spring,
+     * comme avec NimbusJwtDecoder.withJwkSetUri
+     */
+    public NimbusJwtDecoder jwtDecoder(OAuth2TokenValidator<Jwt> validator) {
+        DefaultJWTProcessor<SecurityContext> processor = new DefaultJWTProcessor<>();
+        processor.setJWSKeySelector(new JWSVerificationKeySelector<>(JWSAlgorithm.RS256, this));
+        processor.setJWTClaimsSetVerifier((claims, context) -> { });
+
+        NimbusJwtDecoder decoder = new NimbusJwtDecoder(processor);
+        decoder.setJwtValidator(validator);
+        return decoder;
+    }
+
+    /**
+     * Recharger le jeu de clés ; un seul appel à la fois, partagé par tous les demandeurs
+     */
+    CompletableFuture<JWKSet> refresh() {
+        CompletableFuture<JWKSet> flight = new CompletableFuture<>();
+        CompletableFuture<JWKSet> running = refreshing.compareAndExchange(null, flight);
+        if (running != null) {
+            return running;
+        }
+        scheduler.execute(() -> load(flight));
+        return flight;
+    }
+
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+    }
+
+    private void load(CompletableFuture<JWKSet> flight) {
+        try {
+            JWKSet loaded = loader.call();
+            keys = loaded;
+            flight.complete(loaded);
+        } catch (Exception e) {
+            log.warn("JWK set refresh failed, keeping the previous keys: {}", e.getMessage());
+            flight.completeExceptionally(e);
+        } finally {
+            refreshing.compareAndSet(flight, null);
+        }
+    }
+
+    private JWKSet await(CompletableFuture<JWKSet> flight) throws KeySourceException {
+        try {
+            // Chargement sur le fil dédié : l'attente reste bornée même si Keycloak ne répond pas
+            return flight.get(missWait.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new KeySourceException("Interrupted while loading the JWK set", e);
+        } catch (ExecutionException | TimeoutException e) {
+            JWKSet stale = keys;
+            if (stale != null) {
+                return stale;
+            }
+            throw new KeySourceException("Couldn't load the JWK set", e);
+        }
+    }
+
+    private static Callable<JWKSet> httpLoader(String jwkSetUri) {
+        HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(2)).build();
+        HttpRequest request = HttpRequest.newBuilder(URI.create(jwkSetUri)).timeout(Duration.ofSeconds(5)).GET().build();
+        return () -> {
+            HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() != 200) {
+                throw new IllegalStateException("JWK set endpoint answered " + response.statusCode());
+            }
+            return JWKSet.parse(response.body());
+        };
+    }
+}
@@ -0,0 +1,189 @@
+package com.esprit.gateway.cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class RequestCoalescingTest {
+
+    private static final Logger BENCHMARK_LOG = LoggerFactory.getLogger("benchmark");
+
+    private final AtomicInteger backendCalls = new AtomicInteger();
+
+    @Test
+    void concurrentIdenticalGetsShareOneBackendCall() throws Exception {
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ResponseCacheFilter filter = filter(true);
+        FilterChain backend = backend(path -> {
+            entered.countDown();
+            release.await();
+            return "{\"path\":\"" + path + "\"}";
+        });
+
+        ExecutorService pool = Executors.newCachedThreadPool();
+        List<Thread> followers = new ArrayList<>();
+        List<Future<MockHttpServletResponse>> responses = new ArrayList<>();
+        responses.add(pool.submit(() -> get(filter, backend, "/hotels/42")));
+        entered.await();
+        for (int i = 0; i < 20; i++) {
+            responses.add(pool.submit(() -> {
+                synchronized (followers) {
+                    followers.add(Thread.currentThread());
+                }
+                return get(filter, backend, "/hotels/42");
+            }));
+        }
+        awaitParked(followers, 20);
+        release.countDown();
+
+        int coalesced = 0;
+        for (Future<MockHttpServletResponse> response : responses) {
+            MockHttpServletResponse served = response.get();
+            assertEquals(200, served.getStatus());
+            assertEquals("{\"path\":\"/hotels/42\"}", served.getContentAsString());
+            coalesced += "COALESCED".equals(served.getHeader("X-Cache")) ? 1 : 0;
+        }
+        pool.shutdown();
+        assertEquals(1, backendCalls.get());
+        assertEquals(20, coalesced);
+    }
+
+    @Test
+    void routesWithoutCoalescingCallTheBackendForEachRequest() throws Exception {
+        ResponseCacheFilter filter = filter(false);
+        FilterChain backend = backend(path -> {
+            Thread.sleep(50);
+            return "{}";
+        });
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        List<Future<MockHttpServletResponse>> responses = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            responses.add(pool.submit(() -> get(filter, backend, "/hotels/42")));
+        }
+        for (Future<MockHttpServletResponse> response : responses) {
+            response.get();
+        }
+        pool.shutdown();
+        assertEquals(8, backendCalls.get());
+    }
+
+    /**
+     * Charge sur quelques hôtels populaires, backend à 20 ms, sans cache (ttl 0) pour isoler le regroupement :
+     * mvn test -Dtest=RequestCoalescingTest -Dcoalesce.bench=true
+     */
+    @Test
+    @Tag("benchmark")
+    @EnabledIfSystemProperty(named = "coalesce.bench", matches = "true")
+    void backendVolumeUnderLoad() throws Exception {
+        int clients = Integer.getInteger("coalesce.bench.clients", 64);
+        int requestsPerClient = Integer.getInteger("coalesce.bench.requests", 50);
+        int hotHotels = Integer.getInteger("coalesce.bench.hotels", 5);
+
+        for (boolean coalesce : new boolean[]{false, true}) {
+            backendCalls.set(0);
+            ResponseCacheFilter filter = filter(coalesce);
+            FilterChain backend = backend(path -> {
+                Thread.sleep(20);
+                return "{\"path\":\"" + path + "\"}";
+            });
+            ExecutorService pool = Executors.newFixedThreadPool(clients);
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<?>> futures = new ArrayList<>();
+            for (int c = 0; c < clients; c++) {
+                Random random = new Random(c);
+                futures.add(pool.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < requestsPerClient; i++) {
+                        get(filter, backend, "/hotels/" + random.nextInt(hotHotels));
+                    }
+                    return null;
+                }));
+            }
+            long begin = System.nanoTime();
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get();
+            }
+            double seconds = (System.nanoTime() - begin) / 1e9;
+            pool.shutdown();
+            int total = clients * requestsPerClient;
+            BENCHMARK_LOG.info(String.format(Locale.ROOT,
+                    "coalesce=%s: %,d requests, %,d backend calls (%.1f%%), %,.0f req/s",
+                    coalesce, total, backendCalls.get(), 100.0 * backendCalls.get() / total, total / seconds));
+        }
+    }
+
+    private static void awaitParked(List<Thread> threads, int expected) throws InterruptedException {
+        while (true) {
+            synchronized (threads) {
+                if (threads.size() == expected
+                        && threads.stream().allMatch(t -> t.getState() == Thread.State.TIMED_WAITING)) {
+                    return;
+                }
+            }
+            Thread.sleep(5);
+        }
+    }
+
+    private static MockHttpServletResponse get(ResponseCacheFilter filter, FilterChain backend, String path) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(new MockHttpServletRequest("GET", path), response, backend);
+        return response;
+    }
+
+    private static ResponseCacheFilter filter(boolean coalesce) {
+        // ttl 0 et pas d'ETag : rien n'est gardé, seul le regroupement évite des appels
+        return new ResponseCacheFilter(new ResponseCache(new ResponseCacheProperties(true,
+                DataSize.ofMegabytes(1), DataSize.ofKilobytes(64), Duration.ofMinutes(5), Duration.ofSeconds(5),
+                Map.of("hotel-service", new ResponseCacheProperties.Route(List.of("/hotels/**"), List.of(),
+                        Duration.ZERO, false, coalesce))), new SimpleMeterRegistry()));
+    }
+
+    private FilterChain backend(Body body) {
+        return (req, res) -> {
+            backendCalls.incrementAndGet();
+            String path = ((HttpServletRequest) req).getRequestURI();
+            byte[] bytes;
+            try {
+                bytes = body.of(path).getBytes(StandardCharsets.UTF_8);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            HttpServletResponse response = (HttpServletResponse) res;
+            response.setStatus(200);
+            response.setContentType("application/json");
+            response.getOutputStream().write(bytes);
+        };
+    }
+
+    @FunctionalInterface
+    private interface Body {
+        String of(String path) throws InterruptedException;
+    }
+}
@@ -0,0 +1,192 @@
+package com.esprit.gateway.cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class ResponseCacheFilterTest {
+
+    private final AtomicLong clock = new AtomicLong(1_000_000);
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final ResponseCache cache = new ResponseCache(new ResponseCacheProperties(true,
+            DataSize.ofMegabytes(1), DataSize.ofKilobytes(4), Duration.ofMinutes(5), Duration.ofSeconds(5), Map.of(
+            "hotel-service", new ResponseCacheProperties.Route(List.of("/hotels/**"), List.of("/hotels/export"),
+                    Duration.ofSeconds(60), false, false),
+            "EMPLOYEE", new ResponseCacheProperties.Route(List.of("/api/employees/**"), List.of(),
+                    Duration.ofSeconds(15), true, false))), registry, clock::get);
+    private final ResponseCacheFilter filter = new ResponseCacheFilter(cache);
+
+    private final AtomicInteger backendCalls = new AtomicInteger();
+    private String body = "[{\"id\":1}]";
+    private String etag = "\"v1\"";
+    private String cacheControl;
+
+    @AfterEach
+    void clearSecurityContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void identicalGetsAreServedFromTheCacheWhateverTheParameterOrder() throws Exception {
+        MockHttpServletResponse first = get("/hotels", "b=2&a=1");
+        MockHttpServletResponse second = get("/hotels", "a=1&b=2");
+
+        assertEquals(1, backendCalls.get());
+        assertEquals("MISS", first.getHeader("X-Cache"));
+        assertEquals("HIT", second.getHeader("X-Cache"));
+        assertEquals(body, second.getContentAsString());
+        assertEquals(etag, second.getHeader("ETag"));
+        assertEquals(0.5, registry.get("gateway.cache.hit.ratio").tag("route", "hotel-service").gauge().value(), 1e-9);
+    }
+
+    @Test
+    void staleEntriesAreRevalidatedWithTheirETag() throws Exception {
+        get("/hotels/1", null);
+        clock.addAndGet(61_000);
+
+        MockHttpServletResponse revalidated = get("/hotels/1", null);
+        assertEquals(2, backendCalls.get());
+        assertEquals("REVALIDATED", revalidated.getHeader("X-Cache"));
+        assertEquals(200, revalidated.getStatus());
+        assertEquals(body, revalidated.getContentAsString());
+
+        // Le client connaît déjà la version : 304 sans corps, sans appel au backend
+        MockHttpServletRequest conditional = request("GET", "/hotels/1", null);
+        conditional.addHeader("If-None-Match", "W/\"v1\"");
+        MockHttpServletResponse notModified = execute(conditional);
+        assertEquals(304, notModified.getStatus());
+        assertEquals("", notModified.getContentAsString());
+        assertEquals(2, backendCalls.get());
+    }
+
+    @Test
+    void cacheControlDirectivesAreHonoured() throws Exception {
+        MockHttpServletRequest noStore = request("GET", "/hotels", null);
+        noStore.addHeader("Cache-Control", "no-store");
+        execute(noStore);
+        get("/hotels", null);
+        assertEquals(2, backendCalls.get());
+
+        cacheControl = "private, max-age=600";
+        get("/hotels/2", null);
+        get("/hotels/2", null);
+        assertEquals(4, backendCalls.get());
+
+        cacheControl = "max-age=1";
+        get("/hotels/3", null);
+        clock.addAndGet(1_500);
+        etag = null;
+        get("/hotels/3", null);
+        assertEquals(6, backendCalls.get());
+    }
+
+    @Test
+    void perUserRoutesAreKeyedByTokenSubject() throws Exception {
+        SecurityContextHolder.getContext().setAuthentication(new TestingAuthenticationToken("alice", "n/a", "ROLE_USER"));
+        get("/api/employees/7", null);
+        get("/api/employees/7", null);
+        SecurityContextHolder.getContext().setAuthentication(new TestingAuthenticationToken("bob", "n/a", "ROLE_USER"));
+        get("/api/employees/7", null);
+
+        assertEquals(2, backendCalls.get());
+    }
+
+    @Test
+    void writesAndManagementCallsInvalidate() throws Exception {
+        get("/hotels/1", null);
+        get("/hotels/2", null);
+        execute(request("PUT", "/hotels/1", null));
+        get("/hotels/1", null);
+        get("/hotels/2", null);
+        assertEquals(5, backendCalls.get());
+
+        assertEquals(1, new ResponseCacheEndpoint(cache).invalidate("hotel-service", "/hotels/2").get("removed"));
+        get("/hotels/1", null);
+        get("/hotels/2", null);
+        assertEquals(6, backendCalls.get());
+    }
+
+    @Test
+    void aGetInFlightDuringAWriteIsNotKept() throws Exception {
+        // Le backend lit l'ancienne version, puis une écriture aboutit avant la fin du GET
+        FilterChain racingWrite = (req, res) -> {
+            backend().doFilter(req, res);
+            filter.doFilter(request("PUT", "/hotels/1", null), new MockHttpServletResponse(), backend());
+        };
+        filter.doFilter(request("GET", "/hotels/1", null), new MockHttpServletResponse(), racingWrite);
+
+        assertEquals("MISS", get("/hotels/1", null).getHeader("X-Cache"));
+        assertEquals(3, backendCalls.get());
+    }
+
+    @Test
+    void oversizedResponsesAreStreamedWithoutBeingKept() throws Exception {
+        body = "x".repeat(10_000);
+        MockHttpServletResponse first = get("/hotels", null);
+        get("/hotels", null);
+
+        assertEquals(body, first.getContentAsString());
+        assertEquals(2, backendCalls.get());
+        assertNull(get("/hotels/export", null).getHeader("X-Cache"));
+    }
+
+    private MockHttpServletResponse get(String path, String query) throws Exception {
+        return execute(request("GET", path, query));
+    }
+
+    private MockHttpServletRequest request(String method, String path, String query) {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, path);
+        request.setQueryString(query);
+        return request;
+    }
+
+    private MockHttpServletResponse execute(MockHttpServletRequest request) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, backend());
+        return response;
+    }
+
+    /**
+     * Backend simulé : répond 304 quand If-None-Match correspond à l'ETag courant
+     */
+    private FilterChain backend() {
+        return (req, res) -> {
+            backendCalls.incrementAndGet();
+            HttpServletRequest request = (HttpServletRequest) req;
+            HttpServletResponse response = (HttpServletResponse) res;
+            if (etag != null) {
+                response.setHeader("ETag", etag);
+            }
+            if (cacheControl != null) {
+                response.setHeader("Cache-Control", cacheControl);
+            }
+            if (etag != null && etag.equals(request.getHeader("If-None-Match"))) {
+                response.setStatus(304);
+                return;
+            }
+            byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+            response.setStatus(200);
+            response.setContentType("application/json");
+            response.setContentLength(bytes.length);
+            response.getOutputStream().write(bytes);
+        };
+    }
+}
@@ -0,0 +1,167 @@
+package com.esprit.gateway.ratelimit;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AdaptiveConcurrencyLimiterTest {
+
+    private static final Logger BENCHMARK_LOG = LoggerFactory.getLogger("benchmark");
+
+    private static final long WINDOW = Duration.ofMillis(200).toNanos();
+
+    private final AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(
+            new RateLimitProperties.Concurrency(20, 2, 100, Duration.ofMillis(200)), 0);
+    private long now;
+
+    @Test
+    void admissionStopsAtTheLimit() {
+        for (int i = 0; i < 20; i++) {
+            assertTrue(limiter.tryAcquire());
+        }
+        assertFalse(limiter.tryAcquire());
+        limiter.release(1_000_000, false, 1);
+        assertTrue(limiter.tryAcquire());
+    }
+
+    @Test
+    void theLimitFollowsBackendCapacity() {
+        // 40 appels servis en parallèle, 10 ms chacun ; au-delà ils font la queue
+        saturatedWindows(60, 40);
+        int healthy = limiter.limit();
+        assertTrue(healthy >= 40 && healthy < 100, "limit settles around capacity with a bounded queue: " + healthy);
+
+        // H2 se bloque : 8 appels en parallèle seulement, la limite recule
+        saturatedWindows(60, 8);
+        int degraded = limiter.limit();
+        assertTrue(degraded < healthy / 2, "limit backs off with capacity: " + healthy + " -> " + degraded);
+
+        saturatedWindows(60, 40);
+        assertTrue(limiter.limit() >= 40, "limit recovers: " + degraded + " -> " + limiter.limit());
+    }
+
+    @Test
+    void failuresDriveTheLimitToItsFloor() {
+        for (int w = 0; w < 40; w++) {
+            int admitted = 0;
+            while (limiter.tryAcquire()) {
+                admitted++;
+            }
+            now += WINDOW;
+            for (int i = 0; i < admitted; i++) {
+                limiter.release(Duration.ofMillis(10).toNanos(), true, now);
+            }
+        }
+        assertEquals(2, limiter.limit());
+    }
+
+    @Test
+    void anIdleRouteDoesNotInflateItsLimit() {
+        for (int w = 0; w < 50; w++) {
+            limiter.tryAcquire();
+            now += WINDOW;
+            limiter.release(Duration.ofMillis(10).toNanos(), false, now);
+        }
+        assertEquals(20, limiter.limit());
+    }
+
+    /**
+     * Rafale de 64 clients sur un backend à 8 places (10 ms par appel, file d'attente au-delà), comme booking_service
+     * sur H2 : latence des requêtes admises et part délestée, sans puis avec limite adaptative.
+     * mvn test -Dtest=AdaptiveConcurrencyLimiterTest -Dratelimit.bench=true
+     */
+    @Test
+    @Tag("benchmark")
+    @EnabledIfSystemProperty(named = "ratelimit.bench", matches = "true")
+    void latencyUnderBurst() throws Exception {
+        int clients = Integer.getInteger("ratelimit.bench.clients", 64);
+        long durationMillis = Long.getLong("ratelimit.bench.millis", 5_000);
+
+        for (boolean limited : new boolean[]{false, true}) {
+            Semaphore backendSlots = new Semaphore(8, true);
+            RateLimitProperties.Concurrency concurrency = limited
+                    ? new RateLimitProperties.Concurrency(20, 2, 200, Duration.ofMillis(100)) : null;
+            RateLimiter rateLimiter = new RateLimiter(new RateLimitProperties(true, 1000, Duration.ofMinutes(10),
+                    Duration.ofSeconds(1), Map.of("BOOKING", new RateLimitProperties.Route(List.of("/api/bookings/**"),
+                    List.of(), null, null, concurrency))), new SimpleMeterRegistry());
+
+            List<Long> latencies = Collections.synchronizedList(new ArrayList<>());
+            AtomicInteger shed = new AtomicInteger();
+            long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(durationMillis);
+            ExecutorService pool = Executors.newFixedThreadPool(clients);
+            List<Future<?>> futures = new ArrayList<>();
+            for (int c = 0; c < clients; c++) {
+                futures.add(pool.submit(() -> {
+                    while (System.nanoTime() < deadline) {
+                        RateLimiter.Decision decision = rateLimiter.acquire("BOOKING", "bench");
+                        if (decision.result() != RateLimiter.Result.ALLOWED) {
+                            shed.incrementAndGet();
+                            Thread.sleep(5);
+                            continue;
+                        }
+                        long start = System.nanoTime();
+                        backendSlots.acquire();
+                        try {
+                            Thread.sleep(10);
+                        } finally {
+                            backendSlots.release();
+                        }
+                        long latency = System.nanoTime() - start;
+                        rateLimiter.release(decision, latency, false);
+                        latencies.add(latency);
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+            pool.shutdown();
+
+            List<Long> sorted = new ArrayList<>(latencies);
+            Collections.sort(sorted);
+            BENCHMARK_LOG.info(String.format(Locale.ROOT,
+                    "limited=%s: %,d served (%,.0f/s), %,d shed, p50 %.1f ms, p99 %.1f ms",
+                    limited, sorted.size(), sorted.size() * 1000.0 / durationMillis, shed.get(),
+                    sorted.get(sorted.size() / 2) / 1e6, sorted.get((int) (sorted.size() * 0.99)) / 1e6));
+        }
+    }
+
+    /**
+     * Fenêtres où la demande dépasse toujours la limite, vers un backend qui sert {@code capacity} appels
+     * en parallèle en 10 ms : la latence croît avec la file au-delà
+     */
+    private void saturatedWindows(int windows, int capacity) {
+        for (int w = 0; w < windows; w++) {
+            int admitted = 0;
+            while (limiter.tryAcquire()) {
+                admitted++;
+            }
+            long latency = (long) (Duration.ofMillis(10).toNanos() * Math.max(1.0, (double) admitted / capacity));
+            now += WINDOW;
+            for (int i = 0; i < admitted; i++) {
+                limiter.release(latency, false, now);
+            }
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package com.esprit.gateway.ratelimit;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class RateLimitFilterTest {
+
+    private final AtomicLong clock = new AtomicLong(1_000_000_000L);
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final AtomicInteger backendCalls = new AtomicInteger();
+
+    @AfterEach
+    void clearSecurityContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void eachClientGetsItsBurstThenA429WithRetryAfter() throws Exception {
+        RateLimitFilter filter = filter(new RateLimitProperties.Bucket(3, 0.5), null, null);
+
+        authenticate("alice");
+        for (int i = 0; i < 3; i++) {
+            assertEquals(200, get(filter, "/api/bookings").getStatus());
+        }
+        MockHttpServletResponse throttled = get(filter, "/api/bookings");
+        assertEquals(429, throttled.getStatus());
+        assertEquals("2", throttled.getHeader("Retry-After"));
+
+        // Bob a son propre seau ; Alice retrouve un jeton après Retry-After
+        authenticate("bob");
+        assertEquals(200, get(filter, "/api/bookings").getStatus());
+        authenticate("alice");
+        clock.addAndGet(Duration.ofSeconds(2).toNanos());
+        assertEquals(200, get(filter, "/api/bookings").getStatus());
+        assertEquals(429, get(filter, "/api/bookings").getStatus());
+
+        assertEquals(5, backendCalls.get());
+        assertEquals(2, registry.get("gateway.ratelimit.requests").tag("result", "throttled").functionCounter().count());
+    }
+
+    @Test
+    void theRouteBucketIsSharedByAllClients() throws Exception {
+        RateLimitFilter filter = filter(null, new RateLimitProperties.Bucket(4, 10), null);
+        for (String user : List.of("alice", "bob", "carol", "dave", "erin")) {
+            authenticate(user);
+            get(filter, "/api/bookings");
+        }
+        assertEquals(4, backendCalls.get());
+
+        // Hors route limitée : jamais compté
+        assertEquals(200, get(filter, "/hotels/1").getStatus());
+        clock.addAndGet(Duration.ofMillis(100).toNanos());
+        assertEquals(200, get(filter, "/api/bookings").getStatus());
+    }
+
+    @Test
+    void requestsRefusedByTheRouteDoNotSpendTheClientsTokens() throws Exception {
+        RateLimitFilter filter = filter(new RateLimitProperties.Bucket(2, 0.01), new RateLimitProperties.Bucket(1, 10), null);
+        authenticate("alice");
+        assertEquals(200, get(filter, "/api/bookings").getStatus());
+        for (int i = 0; i < 3; i++) {
+            assertEquals(429, get(filter, "/api/bookings").getStatus());
+        }
+
+        // La route a retrouvé un jeton : Alice a toujours le second des siens
+        clock.addAndGet(Duration.ofMillis(100).toNanos());
+        assertEquals(200, get(filter, "/api/bookings").getStatus());
+        assertEquals(2, backendCalls.get());
+    }
+
+    @Test
+    void requestsBeyondTheConcurrencyLimitAreShedImmediately() throws Exception {
+        RateLimitFilter filter = filter(null, null, new RateLimitProperties.Concurrency(2, 2, 10, Duration.ofSeconds(1)));
+        CountDownLatch entered = new CountDownLatch(2);
+        CountDownLatch release = new CountDownLatch(1);
+        FilterChain slowBackend = (req, res) -> {
+            entered.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            ((HttpServletResponse) res).setStatus(200);
+        };
+
+        ExecutorService pool = Executors.newFixedThreadPool(2);
+        Future<MockHttpServletResponse> first = pool.submit(() -> get(filter, "/api/bookings", slowBackend));
+        Future<MockHttpServletResponse> second = pool.submit(() -> get(filter, "/api/bookings", slowBackend));
+        entered.await();
+
+        MockHttpServletResponse shed = get(filter, "/api/bookings");
+        assertEquals(503, shed.getStatus());
+        assertEquals("1", shed.getHeader("Retry-After"));
+        assertEquals(2.0, registry.get("gateway.concurrency.inflight").gauge().value());
+
+        release.countDown();
+        assertEquals(200, first.get().getStatus());
+        assertEquals(200, second.get().getStatus());
+        assertEquals(200, get(filter, "/api/bookings").getStatus());
+        pool.shutdown();
+    }
+
+    private RateLimitFilter filter(RateLimitProperties.Bucket client, RateLimitProperties.Bucket route,
+                                   RateLimitProperties.Concurrency concurrency) {
+        RateLimitProperties properties = new RateLimitProperties(true, 1000, Duration.ofMinutes(10), Duration.ofSeconds(1),
+                Map.of("BOOKING", new RateLimitProperties.Route(List.of("/api/bookings/**"), List.of(),
+                        client, route, concurrency)));
+        return new RateLimitFilter(new RateLimiter(properties, registry, clock::get));
+    }
+
+    private static void authenticate(String user) {
+        SecurityContextHolder.getContext().setAuthentication(new TestingAuthenticationToken(user, "n/a", "ROLE_USER"));
+    }
+
+    private MockHttpServletResponse get(RateLimitFilter filter, String path) throws Exception {
+        return get(filter, path, (req, res) -> {
+            backendCalls.incrementAndGet();
+            ((HttpServletResponse) res).setStatus(200);
+        });
+    }
+
+    private static MockHttpServletResponse get(RateLimitFilter filter, String path, FilterChain backend) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(new MockHttpServletRequest("GET", path), response, backend);
+        return response;
+    }
+}
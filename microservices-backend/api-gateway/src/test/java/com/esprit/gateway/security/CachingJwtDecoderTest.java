@@ -0,0 +1,193 @@
+package com.esprit.gateway.security;
+
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.crypto.RSASSASigner;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.RSAKey;
+import com.nimbusds.jose.jwk.gen.RSAKeyGenerator;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.authentication.AuthenticationProvider;
+import org.springframework.security.oauth2.jwt.BadJwtException;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtValidators;
+import org.springframework.security.oauth2.server.resource.authentication.BearerTokenAuthenticationToken;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationProvider;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Date;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class CachingJwtDecoderTest {
+
+    private static final Logger BENCHMARK_LOG = LoggerFactory.getLogger("benchmark");
+
+    private static final String ISSUER = "http://localhost:8080/realms/microservices-realm";
+
+    private final MutableClock clock = new MutableClock(Instant.now());
+    private final AtomicInteger verifications = new AtomicInteger();
+    private RefreshingJwkSource jwkSource;
+
+    @AfterEach
+    void closeJwkSource() {
+        if (jwkSource != null) {
+            jwkSource.close();
+        }
+    }
+
+    @Test
+    void aTokenIsVerifiedOnceThenServedFromTheCache() throws Exception {
+        RSAKey key = new RSAKeyGenerator(2048).keyID("k1").generate();
+        CachingJwtDecoder decoder = new CachingJwtDecoder(counting(nimbus(key)), 100, Duration.ofMinutes(15), clock);
+        String token = sign(key, "alice", Instant.now().plusSeconds(300));
+
+        Jwt first = decoder.decode(token);
+        Jwt second = decoder.decode(token);
+        decoder.decode(sign(key, "bob", Instant.now().plusSeconds(300)));
+
+        assertEquals("alice", first.getSubject());
+        assertSame(first, second);
+        assertEquals(2, verifications.get());
+    }
+
+    @Test
+    void cachedTokensAreNotServedPastTheirExpiry() {
+        Instant exp = clock.instant().plusSeconds(60);
+        CachingJwtDecoder decoder = new CachingJwtDecoder(counting(token -> jwt(token, exp)), 100, Duration.ofMinutes(15), clock);
+
+        decoder.decode("t1");
+        decoder.decode("t1");
+        clock.advance(Duration.ofSeconds(61));
+        decoder.decode("t1");
+
+        assertEquals(2, verifications.get());
+        assertEquals(0, decoder.size());
+    }
+
+    @Test
+    void rejectedTokensAreAlwaysVerifiedAgain() throws Exception {
+        RSAKey trusted = new RSAKeyGenerator(2048).keyID("k1").generate();
+        RSAKey forged = new RSAKeyGenerator(2048).keyID("k1").generate();
+        CachingJwtDecoder decoder = new CachingJwtDecoder(counting(nimbus(trusted)), 100, Duration.ofMinutes(15), clock);
+        String token = sign(forged, "mallory", Instant.now().plusSeconds(300));
+
+        assertThrows(BadJwtException.class, () -> decoder.decode(token));
+        assertThrows(BadJwtException.class, () -> decoder.decode(token));
+        assertEquals(2, verifications.get());
+        assertEquals(0, decoder.size());
+    }
+
+    /**
+     * Coût de l'authentification par requête (chemin de BearerTokenAuthenticationFilter), clé RSA locale
+     * à la place de Keycloak, 500 utilisateurs aux jetons distincts :
+     * mvn test -Dtest=CachingJwtDecoderTest -Djwt.bench=true
+     */
+    @Test
+    @Tag("benchmark")
+    @EnabledIfSystemProperty(named = "jwt.bench", matches = "true")
+    void authenticationOverhead() throws Exception {
+        int users = Integer.getInteger("jwt.bench.users", 500);
+        int requests = Integer.getInteger("jwt.bench.requests", 200_000);
+        RSAKey key = new RSAKeyGenerator(2048).keyID("k1").generate();
+        String[] tokens = new String[users];
+        for (int i = 0; i < users; i++) {
+            tokens[i] = sign(key, "user-" + i, Instant.now().plusSeconds(3600));
+        }
+
+        JwtDecoder uncached = nimbus(key);
+        JwtDecoder cached = new CachingJwtDecoder(uncached, 10_000, Duration.ofMinutes(15), Clock.systemUTC());
+        for (JwtDecoder decoder : new JwtDecoder[]{uncached, cached}) {
+            AuthenticationProvider provider = new JwtAuthenticationProvider(decoder);
+            for (int i = 0; i < 20_000; i++) {
+                provider.authenticate(new BearerTokenAuthenticationToken(tokens[i % users]));
+            }
+            long begin = System.nanoTime();
+            for (int i = 0; i < requests; i++) {
+                provider.authenticate(new BearerTokenAuthenticationToken(tokens[i % users]));
+            }
+            long nanos = System.nanoTime() - begin;
+            BENCHMARK_LOG.info(String.format(Locale.ROOT, "%s: %,d authentications, %,.0f ns/request",
+                    decoder == cached ? "cached" : "uncached", requests, (double) nanos / requests));
+        }
+    }
+
+    private JwtDecoder nimbus(RSAKey key) {
+        jwkSource = new RefreshingJwkSource(() -> new JWKSet(key.toPublicJWK()), Duration.ofHours(1),
+                Duration.ofSeconds(10), Duration.ofSeconds(5), System::currentTimeMillis);
+        return jwkSource.jwtDecoder(JwtValidators.createDefaultWithIssuer(ISSUER));
+    }
+
+    private JwtDecoder counting(JwtDecoder delegate) {
+        return token -> {
+            verifications.incrementAndGet();
+            return delegate.decode(token);
+        };
+    }
+
+    static String sign(RSAKey key, String subject, Instant expiresAt) throws JOSEException {
+        JWTClaimsSet claims = new JWTClaimsSet.Builder()
+                .issuer(ISSUER)
+                .subject(subject)
+                .issueTime(new Date())
+                .expirationTime(Date.from(expiresAt))
+                .build();
+        SignedJWT jwt = new SignedJWT(new JWSHeader.Builder(JWSAlgorithm.RS256).keyID(key.getKeyID()).build(), claims);
+        jwt.sign(new RSASSASigner(key));
+        return jwt.serialize();
+    }
+
+    private static Jwt jwt(String token, Instant expiresAt) {
+        return Jwt.withTokenValue(token)
+                .header("alg", "RS256")
+                .subject("alice")
+                .issuedAt(expiresAt.minusSeconds(300))
+                .expiresAt(expiresAt)
+                .build();
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private volatile Instant now;
+
+        MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
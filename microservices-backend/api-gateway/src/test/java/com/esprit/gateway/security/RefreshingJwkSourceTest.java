@@ -0,0 +1,114 @@
+package com.esprit.gateway.security;
+
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.RSAKey;
+import com.nimbusds.jose.jwk.gen.RSAKeyGenerator;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtValidators;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static com.esprit.gateway.security.CachingJwtDecoderTest.sign;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class RefreshingJwkSourceTest {
+
+    private final AtomicInteger loads = new AtomicInteger();
+    private final AtomicReference<JWKSet> published = new AtomicReference<>();
+    private volatile boolean keycloakDown;
+    private RefreshingJwkSource jwkSource;
+
+    @AfterEach
+    void close() {
+        jwkSource.close();
+    }
+
+    @Test
+    void keysRotatedBeforeUseAreVerifiedWithoutAnyFetch() throws Exception {
+        RSAKey k1 = new RSAKeyGenerator(2048).keyID("k1").generate();
+        RSAKey k2 = new RSAKeyGenerator(2048).keyID("k2").generate();
+        published.set(new JWKSet(k1.toPublicJWK()));
+        JwtDecoder decoder = decoder();
+        decoder.decode(sign(k1, "alice", Instant.now().plusSeconds(300)));
+
+        // Keycloak publie k2, le rechargement périodique la voit avant le premier jeton signé avec
+        published.set(new JWKSet(List.of(k1.toPublicJWK(), k2.toPublicJWK())));
+        jwkSource.refresh().get();
+        int before = loads.get();
+        decoder.decode(sign(k2, "alice", Instant.now().plusSeconds(300)));
+
+        assertEquals(before, loads.get());
+    }
+
+    @Test
+    void anUnknownKidTriggersASingleSharedReload() throws Exception {
+        RSAKey k1 = new RSAKeyGenerator(2048).keyID("k1").generate();
+        RSAKey k2 = new RSAKeyGenerator(2048).keyID("k2").generate();
+        published.set(new JWKSet(k1.toPublicJWK()));
+        JwtDecoder decoder = decoder();
+        decoder.decode(sign(k1, "alice", Instant.now().plusSeconds(300)));
+        assertEquals(1, loads.get());
+
+        published.set(new JWKSet(List.of(k1.toPublicJWK(), k2.toPublicJWK())));
+        String rotated = sign(k2, "bob", Instant.now().plusSeconds(300));
+        ExecutorService pool = Executors.newFixedThreadPool(16);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<String>> subjects = new ArrayList<>();
+        for (int i = 0; i < 16; i++) {
+            subjects.add(pool.submit(() -> {
+                start.await();
+                return decoder.decode(rotated).getSubject();
+            }));
+        }
+        start.countDown();
+        for (Future<String> subject : subjects) {
+            assertEquals("bob", subject.get());
+        }
+        pool.shutdown();
+
+        assertEquals(2, loads.get());
+        // Un kid inconnu de Keycloak juste après ce rechargement ne relance pas d'appel
+        RSAKey unknown = new RSAKeyGenerator(2048).keyID("k3").generate();
+        for (int i = 0; i < 5; i++) {
+            String forged = sign(unknown, "mallory", Instant.now().plusSeconds(300));
+            assertThrows(Exception.class, () -> decoder.decode(forged));
+        }
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void knownKeysKeepWorkingWhileKeycloakIsDown() throws Exception {
+        RSAKey k1 = new RSAKeyGenerator(2048).keyID("k1").generate();
+        published.set(new JWKSet(k1.toPublicJWK()));
+        JwtDecoder decoder = decoder();
+        decoder.decode(sign(k1, "alice", Instant.now().plusSeconds(300)));
+
+        keycloakDown = true;
+        assertThrows(Exception.class, () -> jwkSource.refresh().get());
+        assertEquals("alice", decoder.decode(sign(k1, "alice", Instant.now().plusSeconds(300))).getSubject());
+    }
+
+    private JwtDecoder decoder() {
+        jwkSource = new RefreshingJwkSource(() -> {
+            loads.incrementAndGet();
+            if (keycloakDown) {
+                throw new IllegalStateException("connection refused");
+            }
+            Thread.sleep(20);
+            return published.get();
+        }, Duration.ofHours(1), Duration.ofSeconds(10), Duration.ofSeconds(5), System::currentTimeMillis);
+        return jwkSource.jwtDecoder(JwtValidators.createDefaultWithIssuer("http://localhost:8080/realms/microservices-realm"));
+    }
+}
@@ -2,8 +2,10 @@ package com.esprit.avis;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
 public class AvisManagementApplication {
     public static void main(String[] args) {
         SpringApplication.run(AvisManagementApplication.class, args);
@@ -1,12 +1,21 @@
 package com.esprit.avis.controller;
 
+import com.esprit.avis.dto.AvisDelta;
+import com.esprit.avis.dto.AvisPage;
+import com.esprit.avis.dto.AvisSearchResponse;
+import com.esprit.avis.dto.AvisSummary;
 import com.esprit.avis.entities.Avis;
+import com.esprit.avis.service.AvisSearchService;
 import com.esprit.avis.service.AvisService;
+import com.esprit.avis.service.AvisSummaryService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import java.util.List;
-
+import javax.validation.Valid;
 @RestController
 @RequestMapping("/avis")
 public class AvisController {
@@ -14,18 +23,70 @@ public class AvisController {
     @Autowired
     private AvisService avisService;
 
+    @Autowired
+    private AvisSummaryService avisSummaryService;
+
+    @Autowired
+    private AvisSearchService avisSearchService;
+
+    /**
+     * Avis par pages bornées (avis.page.max-size) : première page, puis ?cursor= de la précédente.
+     * La liste complète n'est servie qu'en flux par /avis/export.
+     */
     @GetMapping
-    public List<Avis> getAllAvis() {
-        return avisService.getAllAvis();
+    public ResponseEntity<AvisPage> getAvis(@RequestParam(required = false) Long hotelId,
+                                            @RequestParam(required = false) String sort,
+                                            @RequestParam(defaultValue = "20") int size,
+                                            @RequestParam(required = false) String cursor,
+                                            WebRequest request) {
+        // ETag vérifié avant tout chargement : un client à jour reçoit 304 sans lecture de la table
+        long revision = avisService.getRevision();
+        String etag = "\"avis-" + revision + "\"";
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+        return ResponseEntity.ok().eTag(etag).body(avisService.getPage(hotelId, sort, size, cursor));
+    }
+
+    @GetMapping("/search")
+    public AvisSearchResponse search(@RequestParam String q,
+                                     @RequestParam(defaultValue = "20") int limit) {
+        return avisSearchService.search(q, limit);
+    }
+
+    @PostMapping("/search/rebuild")
+    public int rebuildSearchIndex() {
+        return avisSearchService.rebuild();
+    }
+
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> export(@RequestParam(required = false) Long hotelId) {
+        StreamingResponseBody body = out -> avisService.exportAvis(hotelId, out);
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
+    }
+
+    @GetMapping(params = "since")
+    public AvisDelta getChanges(@RequestParam long since) {
+        return avisService.getChangesSince(since);
+    }
+
+    @GetMapping("/hotel/{hotelId}/summary")
+    public AvisSummary getHotelSummary(@PathVariable Long hotelId) {
+        return avisService.getHotelSummary(hotelId);
+    }
+
+    @PostMapping("/summaries/rebuild")
+    public int rebuildSummaries() {
+        return avisSummaryService.rebuild();
     }
 
     @PostMapping
-    public Avis createAvis(@RequestBody Avis avis) {
+    public Avis createAvis(@Valid @RequestBody Avis avis) {
         return avisService.saveAvis(avis);
     }
 
     @PutMapping("/{id}")
-    public Avis updateAvis(@PathVariable Long id, @RequestBody Avis avis) {
+    public Avis updateAvis(@PathVariable Long id, @Valid @RequestBody Avis avis) {
         return avisService.updateAvis(id, avis);
     }
 
@@ -33,4 +94,9 @@ public class AvisController {
     public void deleteAvis(@PathVariable Long id) {
         avisService.deleteAvis(id);
     }
-}
\ No newline at end of file
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<String> handleBadRequest(IllegalArgumentException ex) {
+        return ResponseEntity.badRequest().body(ex.getMessage());
+    }
+}
@@ -0,0 +1,28 @@
+package com.esprit.avis.dto;
+
+import com.esprit.avis.entities.Avis;
+
+import java.util.List;
+
+public class AvisDelta {
+
+    // Révision à repasser dans ?since= lors de la prochaine synchronisation
+    private long revision;
+    private List<Avis> changed;
+    private List<Long> deleted;
+
+    public AvisDelta() { }
+
+    public AvisDelta(long revision, List<Avis> changed, List<Long> deleted) {
+        this.revision = revision;
+        this.changed = changed;
+        this.deleted = deleted;
+    }
+
+    public long getRevision() { return revision; }
+    public void setRevision(long revision) { this.revision = revision; }
+    public List<Avis> getChanged() { return changed; }
+    public void setChanged(List<Avis> changed) { this.changed = changed; }
+    public List<Long> getDeleted() { return deleted; }
+    public void setDeleted(List<Long> deleted) { this.deleted = deleted; }
+}
@@ -0,0 +1,28 @@
+package com.esprit.avis.dto;
+
+import com.esprit.avis.entities.Avis;
+
+import java.util.List;
+
+public class AvisPage {
+
+    private List<Avis> content;
+    private int size;
+    // Curseur à repasser dans ?cursor= pour la page suivante, null sur la dernière page
+    private String nextCursor;
+
+    public AvisPage() { }
+
+    public AvisPage(List<Avis> content, int size, String nextCursor) {
+        this.content = content;
+        this.size = size;
+        this.nextCursor = nextCursor;
+    }
+
+    public List<Avis> getContent() { return content; }
+    public void setContent(List<Avis> content) { this.content = content; }
+    public int getSize() { return size; }
+    public void setSize(int size) { this.size = size; }
+    public String getNextCursor() { return nextCursor; }
+    public void setNextCursor(String nextCursor) { this.nextCursor = nextCursor; }
+}
@@ -0,0 +1,26 @@
+package com.esprit.avis.dto;
+
+import com.esprit.avis.entities.Avis;
+
+public class AvisSearchHit {
+
+    private Avis avis;
+    private double score;
+    // Commentaire échappé pour HTML, termes trouvés entourés de <mark>
+    private String highlight;
+
+    public AvisSearchHit() { }
+
+    public AvisSearchHit(Avis avis, double score, String highlight) {
+        this.avis = avis;
+        this.score = score;
+        this.highlight = highlight;
+    }
+
+    public Avis getAvis() { return avis; }
+    public void setAvis(Avis avis) { this.avis = avis; }
+    public double getScore() { return score; }
+    public void setScore(double score) { this.score = score; }
+    public String getHighlight() { return highlight; }
+    public void setHighlight(String highlight) { this.highlight = highlight; }
+}
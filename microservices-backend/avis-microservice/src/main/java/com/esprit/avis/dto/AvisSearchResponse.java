@@ -0,0 +1,26 @@
+package com.esprit.avis.dto;
+
+import java.util.List;
+
+public class AvisSearchResponse {
+
+    private String query;
+    // Nombre total d'avis contenant au moins un terme, au-delà des résultats renvoyés
+    private int totalMatches;
+    private List<AvisSearchHit> hits;
+
+    public AvisSearchResponse() { }
+
+    public AvisSearchResponse(String query, int totalMatches, List<AvisSearchHit> hits) {
+        this.query = query;
+        this.totalMatches = totalMatches;
+        this.hits = hits;
+    }
+
+    public String getQuery() { return query; }
+    public void setQuery(String query) { this.query = query; }
+    public int getTotalMatches() { return totalMatches; }
+    public void setTotalMatches(int totalMatches) { this.totalMatches = totalMatches; }
+    public List<AvisSearchHit> getHits() { return hits; }
+    public void setHits(List<AvisSearchHit> hits) { this.hits = hits; }
+}
@@ -0,0 +1,30 @@
+package com.esprit.avis.dto;
+
+import java.util.Map;
+
+public class AvisSummary {
+
+    private Long hotelId;
+    private long count;
+    private double average;
+    // Nombre d'avis par note (1 à 5)
+    private Map<Integer, Long> histogram;
+
+    public AvisSummary() { }
+
+    public AvisSummary(Long hotelId, long count, double average, Map<Integer, Long> histogram) {
+        this.hotelId = hotelId;
+        this.count = count;
+        this.average = average;
+        this.histogram = histogram;
+    }
+
+    public Long getHotelId() { return hotelId; }
+    public void setHotelId(Long hotelId) { this.hotelId = hotelId; }
+    public long getCount() { return count; }
+    public void setCount(long count) { this.count = count; }
+    public double getAverage() { return average; }
+    public void setAverage(double average) { this.average = average; }
+    public Map<Integer, Long> getHistogram() { return histogram; }
+    public void setHistogram(Map<Integer, Long> histogram) { this.histogram = histogram; }
+}
@@ -1,20 +1,37 @@
 package com.esprit.avis.entities;
 
 import javax.persistence.*;
+import javax.validation.constraints.Max;
+import javax.validation.constraints.Min;
 
 @Entity
+@Table(indexes = {
+        @Index(name = "idx_avis_hotel", columnList = "hotelId"),
+        @Index(name = "idx_avis_hotel_note", columnList = "hotelId, note"),
+        @Index(name = "idx_avis_note", columnList = "note"),
+        @Index(name = "idx_avis_revision", columnList = "revision")
+})
 public class Avis {
 
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
+    private Long hotelId;
     private String commentaire;
+    @Min(1)
+    @Max(5)
     private int note;
+    // Révision de la collection lors de la dernière écriture de cet avis
+    private Long revision;
 
     public Long getId() { return id; }
     public void setId(Long id) { this.id = id; }
+    public Long getHotelId() { return hotelId; }
+    public void setHotelId(Long hotelId) { this.hotelId = hotelId; }
     public String getCommentaire() { return commentaire; }
     public void setCommentaire(String commentaire) { this.commentaire = commentaire; }
     public int getNote() { return note; }
     public void setNote(int note) { this.note = note; }
-}
\ No newline at end of file
+    public Long getRevision() { return revision; }
+    public void setRevision(Long revision) { this.revision = revision; }
+}
@@ -0,0 +1,25 @@
+package com.esprit.avis.entities;
+
+import javax.persistence.Entity;
+import javax.persistence.Id;
+
+// Trace d'un avis supprimé, pour la synchronisation par delta
+@Entity
+public class AvisTombstone {
+
+    @Id
+    private Long avisId;
+    private long revision;
+
+    public AvisTombstone() { }
+
+    public AvisTombstone(Long avisId, long revision) {
+        this.avisId = avisId;
+        this.revision = revision;
+    }
+
+    public Long getAvisId() { return avisId; }
+    public void setAvisId(Long avisId) { this.avisId = avisId; }
+    public long getRevision() { return revision; }
+    public void setRevision(long revision) { this.revision = revision; }
+}
@@ -0,0 +1,57 @@
+package com.esprit.avis.entities;
+
+import javax.persistence.Entity;
+import javax.persistence.Id;
+
+// Agrégats des avis d'un hôtel, tenus à jour à chaque écriture
+@Entity
+public class HotelAvisSummary {
+
+    @Id
+    private Long hotelId;
+    private long reviewCount;
+    private long noteSum;
+    // Histogramme des notes 1 à 5
+    private long note1;
+    private long note2;
+    private long note3;
+    private long note4;
+    private long note5;
+
+    public HotelAvisSummary() { }
+
+    public HotelAvisSummary(Long hotelId) {
+        this.hotelId = hotelId;
+    }
+
+    // Ajouter (ou retirer si négatif) {@code delta} avis de note {@code note}
+    public void add(int note, long delta) {
+        reviewCount += delta;
+        noteSum += note * delta;
+        switch (note) {
+            case 1: note1 += delta; break;
+            case 2: note2 += delta; break;
+            case 3: note3 += delta; break;
+            case 4: note4 += delta; break;
+            case 5: note5 += delta; break;
+            default: throw new IllegalArgumentException("Note must be between 1 and 5: " + note);
+        }
+    }
+
+    public Long getHotelId() { return hotelId; }
+    public void setHotelId(Long hotelId) { this.hotelId = hotelId; }
+    public long getReviewCount() { return reviewCount; }
+    public void setReviewCount(long reviewCount) { this.reviewCount = reviewCount; }
+    public long getNoteSum() { return noteSum; }
+    public void setNoteSum(long noteSum) { this.noteSum = noteSum; }
+    public long getNote1() { return note1; }
+    public void setNote1(long note1) { this.note1 = note1; }
+    public long getNote2() { return note2; }
+    public void setNote2(long note2) { this.note2 = note2; }
+    public long getNote3() { return note3; }
+    public void setNote3(long note3) { this.note3 = note3; }
+    public long getNote4() { return note4; }
+    public void setNote4(long note4) { this.note4 = note4; }
+    public long getNote5() { return note5; }
+    public void setNote5(long note5) { this.note5 = note5; }
+}
@@ -0,0 +1,27 @@
+package com.esprit.avis.entities;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+
+// Compteur de révision partagé par toutes les instances (une ligne par collection)
+@Entity
+public class RevisionCounter {
+
+    @Id
+    private String name;
+    @Column(name = "current_value")
+    private long value;
+
+    public RevisionCounter() { }
+
+    public RevisionCounter(String name, long value) {
+        this.name = name;
+        this.value = value;
+    }
+
+    public String getName() { return name; }
+    public void setName(String name) { this.name = name; }
+    public long getValue() { return value; }
+    public void setValue(long value) { this.value = value; }
+}
@@ -2,6 +2,46 @@ package com.esprit.avis.repository;
 
 import com.esprit.avis.entities.Avis;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
-public interface AvisRepository extends JpaRepository<Avis, Long> {
+import javax.persistence.QueryHint;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.QueryHints.HINT_READONLY;
+
+public interface AvisRepository extends JpaRepository<Avis, Long>, AvisRepositoryCustom {
+
+    List<Avis> findByRevisionGreaterThanOrderByRevisionAsc(long revision);
+
+    boolean existsByHotelIdNotNull();
+
+    // Lignes (hotelId, note, nombre d'avis) pour reconstruire les agrégats
+    @Query("select a.hotelId, a.note, count(a) from Avis a where a.hotelId is not null group by a.hotelId, a.note")
+    List<Object[]> countByHotelAndNote();
+
+    // Lecture en flux pour l'export : MIN_VALUE active le streaming ligne à ligne du pilote MySQL,
+    // entités en lecture seule pour ne pas garder d'instantané de dirty checking
+    @QueryHints({@QueryHint(name = HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE),
+            @QueryHint(name = HINT_READONLY, value = "true")})
+    @Query("select a from Avis a order by a.id")
+    Stream<Avis> streamAll();
+
+    @QueryHints({@QueryHint(name = HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE),
+            @QueryHint(name = HINT_READONLY, value = "true")})
+    @Query("select a from Avis a where a.hotelId = :hotelId order by a.id")
+    Stream<Avis> streamByHotelId(@Param("hotelId") Long hotelId);
+
+    @Modifying
+    @Query("update Avis a set a.revision = 0 where a.revision is null")
+    int initializeRevisions();
+
+    // Nombre de lignes supprimées : 0 si l'avis n'existait pas ou vient d'être supprimé ailleurs
+    @Modifying
+    @Query("delete from Avis a where a.id = :id")
+    int deleteAvisById(@Param("id") Long id);
 }
@@ -0,0 +1,15 @@
+package com.esprit.avis.repository;
+
+import com.esprit.avis.entities.Avis;
+import com.esprit.avis.service.AvisSort;
+
+import java.util.List;
+
+public interface AvisRepositoryCustom {
+
+    /**
+     * Page suivant la position (afterNote, afterId) dans l'ordre {@code sort} ;
+     * afterId null pour la première page
+     */
+    List<Avis> findPage(Long hotelId, AvisSort sort, Integer afterNote, Long afterId, int limit);
+}
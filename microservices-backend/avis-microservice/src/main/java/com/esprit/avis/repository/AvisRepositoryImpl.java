@@ -0,0 +1,61 @@
+package com.esprit.avis.repository;
+
+import com.esprit.avis.entities.Avis;
+import com.esprit.avis.service.AvisSort;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.TypedQuery;
+import java.util.List;
+
+/**
+ * Pagination par clé : la page suivante démarre après le dernier (note, id) lu,
+ * ce qui reste une lecture d'index quel que soit le rang de la page.
+ * Les deux colonnes du tri vont dans le même sens pour que l'index (hotelId, note)
+ * — qui contient implicitement l'id — serve sans tri supplémentaire.
+ */
+public class AvisRepositoryImpl implements AvisRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<Avis> findPage(Long hotelId, AvisSort sort, Integer afterNote, Long afterId, int limit) {
+        StringBuilder jpql = new StringBuilder("select a from Avis a where 1 = 1");
+        if (hotelId != null) {
+            jpql.append(" and a.hotelId = :hotelId");
+        }
+        if (afterId != null) {
+            if (sort == AvisSort.NEWEST) {
+                jpql.append(" and a.id < :afterId");
+            } else {
+                // (note, id) strictement après le curseur, dans le sens du tri
+                String cmp = sort == AvisSort.NOTE_ASC ? ">" : "<";
+                jpql.append(" and (a.note ").append(cmp).append(" :afterNote")
+                        .append(" or (a.note = :afterNote and a.id ").append(cmp).append(" :afterId))");
+            }
+        }
+        switch (sort) {
+            case NOTE_ASC:
+                jpql.append(" order by a.note asc, a.id asc");
+                break;
+            case NOTE_DESC:
+                jpql.append(" order by a.note desc, a.id desc");
+                break;
+            default:
+                jpql.append(" order by a.id desc");
+        }
+
+        TypedQuery<Avis> query = entityManager.createQuery(jpql.toString(), Avis.class);
+        if (hotelId != null) {
+            query.setParameter("hotelId", hotelId);
+        }
+        if (afterId != null) {
+            query.setParameter("afterId", afterId);
+            if (sort != AvisSort.NEWEST) {
+                query.setParameter("afterNote", afterNote);
+            }
+        }
+        return query.setMaxResults(limit).getResultList();
+    }
+}
@@ -0,0 +1,10 @@
+package com.esprit.avis.repository;
+
+import com.esprit.avis.entities.AvisTombstone;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.List;
+
+public interface AvisTombstoneRepository extends JpaRepository<AvisTombstone, Long> {
+    List<AvisTombstone> findByRevisionGreaterThan(long revision);
+}
@@ -0,0 +1,19 @@
+package com.esprit.avis.repository;
+
+import com.esprit.avis.entities.HotelAvisSummary;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface HotelAvisSummaryRepository extends JpaRepository<HotelAvisSummary, Long> {
+
+    // Incrément atomique côté base : pas de mise à jour perdue entre écritures concurrentes
+    @Modifying
+    @Query("update HotelAvisSummary s set s.reviewCount = s.reviewCount + :count, s.noteSum = s.noteSum + :sum, "
+            + "s.note1 = s.note1 + :n1, s.note2 = s.note2 + :n2, s.note3 = s.note3 + :n3, "
+            + "s.note4 = s.note4 + :n4, s.note5 = s.note5 + :n5 where s.hotelId = :hotelId")
+    int applyDelta(@Param("hotelId") Long hotelId, @Param("count") long count, @Param("sum") long sum,
+                   @Param("n1") long n1, @Param("n2") long n2, @Param("n3") long n3,
+                   @Param("n4") long n4, @Param("n5") long n5);
+}
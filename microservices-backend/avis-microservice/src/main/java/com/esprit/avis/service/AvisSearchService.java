@@ -0,0 +1,132 @@
+package com.esprit.avis.service;
+
+import com.esprit.avis.dto.AvisSearchHit;
+import com.esprit.avis.dto.AvisSearchResponse;
+import com.esprit.avis.entities.Avis;
+import com.esprit.avis.repository.AvisRepository;
+import com.esprit.avis.repository.AvisTombstoneRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Recherche plein texte sur les commentaires, servie par un {@link AvisTextIndex} local.
+ * Les écritures de cette instance sont indexées après commit ; celles des autres instances
+ * sont rattrapées périodiquement par le delta de révisions.
+ */
+@Service
+public class AvisSearchService {
+
+    public static final int MAX_LIMIT = 100;
+
+    private static final Logger log = LoggerFactory.getLogger(AvisSearchService.class);
+
+    @Autowired
+    private AvisRepository avisRepository;
+
+    @Autowired
+    private AvisTombstoneRepository tombstoneRepository;
+
+    @Autowired
+    private RevisionService revisionService;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private volatile AvisTextIndex index = new AvisTextIndex();
+    // Révision jusqu'à laquelle l'index est à jour
+    private volatile long indexedRevision = -1;
+
+    public void indexAvis(Avis avis) {
+        index.put(avis.getId(), avis.getCommentaire());
+    }
+
+    public void removeAvis(Long id) {
+        index.remove(id);
+    }
+
+    public AvisSearchResponse search(String query, int limit) {
+        if (query == null || query.isBlank()) {
+            throw new IllegalArgumentException("q must not be blank");
+        }
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new IllegalArgumentException("limit must be between 1 and " + MAX_LIMIT);
+        }
+        AvisTextIndex.Result result = index.search(query, limit);
+        List<Long> ids = result.getHits().stream().map(AvisTextIndex.Hit::getAvisId).collect(Collectors.toList());
+        Map<Long, Avis> byId = avisRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Avis::getId, Function.identity()));
+
+        List<AvisSearchHit> hits = new ArrayList<>(ids.size());
+        for (AvisTextIndex.Hit hit : result.getHits()) {
+            Avis avis = byId.get(hit.getAvisId());
+            // Avis supprimé depuis sa lecture dans l'index : ignoré
+            if (avis != null) {
+                hits.add(new AvisSearchHit(avis, hit.getScore(),
+                        AvisTextIndex.highlight(avis.getCommentaire(), result.getTerms())));
+            }
+        }
+        return new AvisSearchResponse(query, result.getTotalMatches(), hits);
+    }
+
+    /**
+     * Reconstruire l'index depuis la table puis le substituer à l'index courant.
+     * Les écritures faites pendant la lecture sont rattrapées par le delta depuis la révision de départ.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(3)
+    @Transactional(readOnly = true)
+    public synchronized int rebuild() {
+        long revision = revisionService.current();
+        AvisTextIndex rebuilt = new AvisTextIndex();
+        try (Stream<Avis> avis = avisRepository.streamAll()) {
+            avis.forEach(a -> {
+                rebuilt.put(a.getId(), a.getCommentaire());
+                entityManager.detach(a);
+            });
+        }
+        this.index = rebuilt;
+        this.indexedRevision = revision;
+        log.info("Avis text index rebuilt: {} reviews at revision {}", rebuilt.size(), revision);
+        catchUp();
+        return rebuilt.size();
+    }
+
+    /**
+     * Appliquer les avis créés, modifiés ou supprimés (par n'importe quelle instance) depuis la dernière synchronisation
+     */
+    @Scheduled(fixedDelayString = "${avis.search.sync-interval-ms:5000}")
+    @Transactional(readOnly = true)
+    public synchronized void catchUp() {
+        long since = indexedRevision;
+        if (since < 0) {
+            // Pas encore construit
+            return;
+        }
+        long revision = revisionService.current();
+        if (revision == since) {
+            return;
+        }
+        for (Avis avis : avisRepository.findByRevisionGreaterThanOrderByRevisionAsc(since)) {
+            index.put(avis.getId(), avis.getCommentaire());
+        }
+        tombstoneRepository.findByRevisionGreaterThan(since)
+                .forEach(tombstone -> index.remove(tombstone.getAvisId()));
+        this.indexedRevision = revision;
+    }
+}
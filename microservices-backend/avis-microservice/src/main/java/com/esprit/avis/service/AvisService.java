@@ -1,36 +1,215 @@
 package com.esprit.avis.service;
 
+import com.esprit.avis.dto.AvisDelta;
+import com.esprit.avis.dto.AvisPage;
+import com.esprit.avis.dto.AvisSummary;
 import com.esprit.avis.entities.Avis;
+import com.esprit.avis.entities.AvisTombstone;
 import com.esprit.avis.repository.AvisRepository;
+import com.esprit.avis.repository.AvisTombstoneRepository;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.interceptor.TransactionAspectSupport;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Iterator;
 import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 public class AvisService {
+    // Avis écrits entre deux vidages du flux d'export
+    private static final int EXPORT_FLUSH_EVERY = 500;
+
     @Autowired
     private AvisRepository avisRepository;
 
-    public List<Avis> getAllAvis() {
-        return avisRepository.findAll();
+    @Autowired
+    private AvisTombstoneRepository tombstoneRepository;
+
+    @Autowired
+    private RevisionService revisionService;
+
+    @Autowired
+    private AvisSummaryService summaryService;
+
+    @Autowired
+    private AvisSearchService searchService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${avis.page.max-size:100}")
+    private int maxPageSize;
+
+    /**
+     * Page d'avis (optionnellement d'un hôtel) après le curseur de la page précédente
+     */
+    public AvisPage getPage(Long hotelId, String sort, int size, String cursor) {
+        if (size < 1 || size > maxPageSize) {
+            throw new IllegalArgumentException("size must be between 1 and " + maxPageSize);
+        }
+        AvisSort order = AvisSort.parse(sort);
+        Integer afterNote = null;
+        Long afterId = null;
+        if (cursor != null && !cursor.isBlank()) {
+            String[] parts = decodeCursor(cursor);
+            if ((order == AvisSort.NEWEST) != (parts.length == 1)) {
+                throw new IllegalArgumentException("Cursor does not match sort " + order);
+            }
+            afterId = Long.parseLong(parts[parts.length - 1]);
+            afterNote = parts.length == 2 ? Integer.valueOf(parts[0]) : null;
+        }
+
+        // Une ligne de plus pour savoir s'il existe une page suivante
+        List<Avis> rows = avisRepository.findPage(hotelId, order, afterNote, afterId, size + 1);
+        String nextCursor = null;
+        if (rows.size() > size) {
+            rows = rows.subList(0, size);
+            Avis last = rows.get(size - 1);
+            nextCursor = encodeCursor(order == AvisSort.NEWEST
+                    ? String.valueOf(last.getId())
+                    : last.getNote() + ":" + last.getId());
+        }
+        return new AvisPage(rows, size, nextCursor);
     }
 
+    /**
+     * Écrire tous les avis (optionnellement d'un hôtel) en tableau JSON, au fil de la lecture :
+     * chaque avis est détaché après écriture, la mémoire utilisée ne dépend pas du volume.
+     */
+    @Transactional(readOnly = true)
+    public long exportAvis(Long hotelId, OutputStream out) throws IOException {
+        long count = 0;
+        try (Stream<Avis> avis = hotelId != null ? avisRepository.streamByHotelId(hotelId) : avisRepository.streamAll();
+             JsonGenerator json = objectMapper.getFactory().createGenerator(out)) {
+            json.writeStartArray();
+            Iterator<Avis> it = avis.iterator();
+            while (it.hasNext()) {
+                Avis a = it.next();
+                json.writeObject(a);
+                entityManager.detach(a);
+                if (++count % EXPORT_FLUSH_EVERY == 0) {
+                    json.flush();
+                }
+            }
+            json.writeEndArray();
+        }
+        return count;
+    }
+
+    public long getRevision() {
+        return revisionService.current();
+    }
+
+    /**
+     * Avis créés, modifiés ou supprimés depuis la révision {@code since}
+     */
+    public AvisDelta getChangesSince(long since) {
+        // Révision lue en premier : le delta peut contenir plus, jamais moins
+        long revision = revisionService.current();
+        List<Avis> changed = avisRepository.findByRevisionGreaterThanOrderByRevisionAsc(since);
+        List<Long> deleted = tombstoneRepository.findByRevisionGreaterThan(since).stream()
+                .map(AvisTombstone::getAvisId)
+                .collect(Collectors.toList());
+        return new AvisDelta(revision, changed, deleted);
+    }
+
+    public AvisSummary getHotelSummary(Long hotelId) {
+        return summaryService.getSummary(hotelId);
+    }
+
+    /**
+     * Enregistrer un avis. Sans hotelId (formulaire générique du frontend), l'avis est
+     * conservé et indexé mais n'entre dans aucun agrégat par hôtel.
+     */
+    @Transactional
     public Avis saveAvis(Avis avis) {
-        return avisRepository.save(avis);
+        avis.setRevision(revisionService.next());
+        Avis saved = avisRepository.save(avis);
+        summaryService.apply(saved, 1);
+        afterCommit(() -> searchService.indexAvis(saved));
+        return saved;
     }
 
+    @Transactional
     public Avis updateAvis(Long id, Avis avis) {
         Avis existing = avisRepository.findById(id).orElse(null);
         if (existing != null) {
+            existing.setRevision(revisionService.next());
+            // Retirer l'ancienne note (et l'ancien hôtel) avant d'appliquer la nouvelle
+            summaryService.apply(existing, -1);
             existing.setCommentaire(avis.getCommentaire());
             existing.setNote(avis.getNote());
-            return avisRepository.save(existing);
+            if (avis.getHotelId() != null) {
+                existing.setHotelId(avis.getHotelId());
+            }
+            summaryService.apply(existing, 1);
+            Avis saved = avisRepository.save(existing);
+            afterCommit(() -> searchService.indexAvis(saved));
+            return saved;
         }
         return null;
     }
 
+    /**
+     * Supprimer un avis. Les verrous sont pris dans le même ordre que pour les autres écritures
+     * (compteur de révisions, agrégat de l'hôtel, avis). Un id inconnu (ou déjà supprimé) annule la
+     * transaction : la révision réservée est rendue, aucun tombstone ni delta n'est produit.
+     */
+    @Transactional
     public void deleteAvis(Long id) {
-        avisRepository.deleteById(id);
+        long revision = revisionService.next();
+        // Lu sous le verrou du compteur : aucune autre écriture ne modifie l'avis d'ici le commit
+        Avis existing = avisRepository.findById(id).orElse(null);
+        if (existing == null) {
+            TransactionAspectSupport.currentTransactionStatus().setRollbackOnly();
+            return;
+        }
+        summaryService.apply(existing, -1);
+        avisRepository.deleteAvisById(id);
+        tombstoneRepository.save(new AvisTombstone(id, revision));
+        afterCommit(() -> searchService.removeAvis(id));
+    }
+
+    // L'index de recherche ne voit que des écritures validées
+    private static void afterCommit(Runnable action) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private static String encodeCursor(String position) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(position.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    private static String[] decodeCursor(String cursor) {
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.US_ASCII).split(":");
+            for (String part : parts) {
+                Long.parseLong(part);
+            }
+            return parts;
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor);
+        }
     }
 }
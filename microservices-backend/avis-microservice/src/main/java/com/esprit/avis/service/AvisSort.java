@@ -0,0 +1,26 @@
+package com.esprit.avis.service;
+
+/**
+ * Ordres de tri de la liste paginée ; l'id départage les égalités de note
+ */
+public enum AvisSort {
+    NEWEST, NOTE_ASC, NOTE_DESC;
+
+    public static AvisSort parse(String sort) {
+        if (sort == null || sort.isBlank()) {
+            return NEWEST;
+        }
+        switch (sort) {
+            case "newest":
+                return NEWEST;
+            case "note":
+            case "note,asc":
+                return NOTE_ASC;
+            case "-note":
+            case "note,desc":
+                return NOTE_DESC;
+            default:
+                throw new IllegalArgumentException("Unsupported sort: " + sort);
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package com.esprit.avis.service;
+
+import com.esprit.avis.dto.AvisSummary;
+import com.esprit.avis.entities.Avis;
+import com.esprit.avis.entities.HotelAvisSummary;
+import com.esprit.avis.repository.AvisRepository;
+import com.esprit.avis.repository.HotelAvisSummaryRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Agrégats des avis par hôtel (nombre, somme et histogramme des notes).
+ * Les compteurs sont incrémentés dans la transaction d'écriture de l'avis ;
+ * la lecture d'un résumé est une recherche par clé primaire.
+ */
+@Service
+public class AvisSummaryService {
+
+    private static final Logger log = LoggerFactory.getLogger(AvisSummaryService.class);
+
+    @Autowired
+    private HotelAvisSummaryRepository summaryRepository;
+
+    @Autowired
+    private AvisRepository avisRepository;
+
+    @Autowired
+    private RevisionService revisionService;
+
+    public AvisSummary getSummary(Long hotelId) {
+        HotelAvisSummary summary = summaryRepository.findById(hotelId).orElseGet(() -> new HotelAvisSummary(hotelId));
+        Map<Integer, Long> histogram = new LinkedHashMap<>();
+        histogram.put(1, summary.getNote1());
+        histogram.put(2, summary.getNote2());
+        histogram.put(3, summary.getNote3());
+        histogram.put(4, summary.getNote4());
+        histogram.put(5, summary.getNote5());
+        long count = summary.getReviewCount();
+        double average = count == 0 ? 0.0 : (double) summary.getNoteSum() / count;
+        return new AvisSummary(hotelId, count, average, histogram);
+    }
+
+    /**
+     * Ajouter ({@code sign} = 1) ou retirer ({@code sign} = -1) la note d'un avis des agrégats de son hôtel.
+     * L'appelant a déjà réservé une révision : le verrou du compteur sérialise les écritures,
+     * si bien que deux premiers avis d'un même hôtel ne peuvent pas insérer la ligne en double.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void apply(Avis avis, int sign) {
+        if (!counts(avis.getHotelId(), avis.getNote())) {
+            return;
+        }
+        HotelAvisSummary delta = new HotelAvisSummary(avis.getHotelId());
+        delta.add(avis.getNote(), sign);
+        int updated = summaryRepository.applyDelta(avis.getHotelId(), delta.getReviewCount(), delta.getNoteSum(),
+                delta.getNote1(), delta.getNote2(), delta.getNote3(), delta.getNote4(), delta.getNote5());
+        if (updated == 0) {
+            summaryRepository.saveAndFlush(delta);
+        }
+    }
+
+    /**
+     * Construire les agrégats au démarrage s'ils n'existent pas encore
+     * (avis antérieurs au suivi par hôtel)
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(2)
+    @Transactional
+    public void backfill() {
+        if (summaryRepository.count() == 0 && avisRepository.existsByHotelIdNotNull()) {
+            rebuild();
+        }
+    }
+
+    /**
+     * Recalculer tous les agrégats depuis la table des avis
+     */
+    @Transactional
+    public int rebuild() {
+        // Prendre le verrou du compteur de révisions : aucune écriture d'avis ne s'intercale
+        revisionService.next();
+        Map<Long, HotelAvisSummary> summaries = new HashMap<>();
+        List<Object[]> rows = avisRepository.countByHotelAndNote();
+        for (Object[] row : rows) {
+            Long hotelId = (Long) row[0];
+            int note = ((Number) row[1]).intValue();
+            long count = ((Number) row[2]).longValue();
+            if (!counts(hotelId, note)) {
+                continue;
+            }
+            summaries.computeIfAbsent(hotelId, HotelAvisSummary::new).add(note, count);
+        }
+        summaryRepository.deleteAllInBatch();
+        summaryRepository.saveAll(summaries.values());
+        log.info("Avis summaries rebuilt for {} hotels", summaries.size());
+        return summaries.size();
+    }
+
+    // Les avis sans hôtel ou de note hors 1..5 (données antérieures à la validation) ne sont pas agrégés
+    private static boolean counts(Long hotelId, int note) {
+        return hotelId != null && note >= 1 && note <= 5;
+    }
+}
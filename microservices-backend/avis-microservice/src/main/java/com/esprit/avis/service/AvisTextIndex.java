@@ -0,0 +1,336 @@
+package com.esprit.avis.service;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+/**
+ * Index inversé en mémoire sur les commentaires des avis.
+ * Chaque terme normalisé (minuscules, accents retirés) pointe vers une liste de postings
+ * triée par id d'avis, en tableaux primitifs parallèles (id, fréquence, longueur du document).
+ * Les termes de chaque avis sont conservés pour pouvoir le retirer ou le remplacer
+ * sans relire l'ancien texte. Le classement utilise BM25.
+ */
+public class AvisTextIndex {
+
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+
+    // Mots vides français et anglais, sous forme normalisée
+    private static final Set<String> STOP_WORDS = Set.of(
+            "le", "la", "les", "un", "une", "des", "du", "de", "et", "ou", "en", "au", "aux", "ce", "ces",
+            "est", "sont", "il", "elle", "ils", "elles", "je", "tu", "nous", "vous", "on", "que", "qui",
+            "ne", "pas", "par", "pour", "sur", "dans", "avec", "mais", "tres", "se", "sa", "son", "ses",
+            "the", "an", "and", "or", "of", "to", "in", "at", "is", "are", "was", "were", "it",
+            "this", "that", "for", "with", "be", "as", "by", "very", "but", "not");
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, Postings> postings = new HashMap<>();
+    private final Map<Long, String[]> documentTerms = new HashMap<>();
+    private long totalLength;
+
+    /**
+     * Indexer (ou réindexer) le commentaire d'un avis
+     */
+    public void put(long avisId, String text) {
+        List<String> tokens = tokenize(text);
+        Map<String, Integer> frequencies = new HashMap<>();
+        for (String token : tokens) {
+            frequencies.merge(token, 1, Integer::sum);
+        }
+        int length = tokens.size();
+
+        lock.writeLock().lock();
+        try {
+            removeLocked(avisId);
+            if (length == 0) {
+                return;
+            }
+            String[] terms = new String[frequencies.size()];
+            int i = 0;
+            for (Map.Entry<String, Integer> entry : frequencies.entrySet()) {
+                Postings list = postings.computeIfAbsent(entry.getKey(), t -> new Postings());
+                list.put(avisId, entry.getValue(), length);
+                // Réutiliser l'instance de la clé de l'index pour ne pas dupliquer les chaînes
+                terms[i++] = entry.getKey();
+            }
+            documentTerms.put(avisId, terms);
+            totalLength += length;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(long avisId) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(avisId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documentTerms.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Les {@code limit} avis les plus pertinents contenant au moins un terme de la requête
+     */
+    public Result search(String query, int limit) {
+        List<String> terms = new ArrayList<>(new LinkedHashSet<>(tokenize(query)));
+        if (terms.isEmpty()) {
+            return new Result(terms, Collections.emptyList(), 0);
+        }
+
+        // Tas borné : le minimum est évincé dès qu'un meilleur score arrive
+        PriorityQueue<Hit> top = new PriorityQueue<>(limit + 1);
+        int matches = 0;
+        lock.readLock().lock();
+        try {
+            int documents = documentTerms.size();
+            double averageLength = documents == 0 ? 1 : (double) totalLength / documents;
+            List<Postings> lists = new ArrayList<>(terms.size());
+            double[] idfs = new double[terms.size()];
+            for (String term : terms) {
+                Postings list = postings.get(term);
+                if (list != null) {
+                    idfs[lists.size()] = Math.log(1 + (documents - list.size + 0.5) / (list.size + 0.5));
+                    lists.add(list);
+                }
+            }
+
+            // Fusion des listes triées par id : chaque avis est scoré en un passage, sans table intermédiaire
+            int[] cursors = new int[lists.size()];
+            while (true) {
+                long id = Long.MAX_VALUE;
+                for (int t = 0; t < lists.size(); t++) {
+                    Postings list = lists.get(t);
+                    if (cursors[t] < list.size && list.ids[cursors[t]] < id) {
+                        id = list.ids[cursors[t]];
+                    }
+                }
+                if (id == Long.MAX_VALUE) {
+                    break;
+                }
+                double score = 0;
+                for (int t = 0; t < lists.size(); t++) {
+                    Postings list = lists.get(t);
+                    int i = cursors[t];
+                    if (i < list.size && list.ids[i] == id) {
+                        double tf = list.frequencies[i];
+                        double norm = K1 * (1 - B + B * list.lengths[i] / averageLength);
+                        score += idfs[t] * tf * (K1 + 1) / (tf + norm);
+                        cursors[t]++;
+                    }
+                }
+                matches++;
+                if (top.size() < limit) {
+                    top.add(new Hit(id, score));
+                } else if (score > top.peek().score || (score == top.peek().score && id > top.peek().avisId)) {
+                    top.poll();
+                    top.add(new Hit(id, score));
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        List<Hit> hits = new ArrayList<>(top);
+        hits.sort(Collections.reverseOrder());
+        return new Result(terms, hits, matches);
+    }
+
+    private void removeLocked(long avisId) {
+        String[] terms = documentTerms.remove(avisId);
+        if (terms == null) {
+            return;
+        }
+        // La longueur du document est la même dans chacun de ses postings
+        int length = -1;
+        for (String term : terms) {
+            Postings list = postings.get(term);
+            length = Math.max(length, list.remove(avisId));
+            if (list.size == 0) {
+                postings.remove(term);
+            }
+        }
+        if (length > 0) {
+            totalLength -= length;
+        }
+    }
+
+    /**
+     * Termes normalisés d'un texte : minuscules, accents retirés,
+     * découpage sur tout ce qui n'est ni lettre ni chiffre, mots vides ignorés
+     */
+    public static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null) {
+            return tokens;
+        }
+        int start = -1;
+        for (int i = 0; i <= text.length(); i++) {
+            boolean wordChar = i < text.length() && Character.isLetterOrDigit(text.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                String term = normalize(text.substring(start, i));
+                if (term.length() > 1 && !STOP_WORDS.contains(term)) {
+                    tokens.add(term);
+                }
+                start = -1;
+            }
+        }
+        return tokens;
+    }
+
+    /**
+     * Texte échappé pour HTML, avec les mots correspondant à un terme de la requête entourés de &lt;mark&gt;
+     */
+    public static String highlight(String text, List<String> terms) {
+        if (text == null) {
+            return null;
+        }
+        Set<String> wanted = Set.copyOf(terms);
+        StringBuilder out = new StringBuilder(text.length() + 16);
+        int start = -1;
+        int copied = 0;
+        for (int i = 0; i <= text.length(); i++) {
+            boolean wordChar = i < text.length() && Character.isLetterOrDigit(text.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                if (wanted.contains(normalize(text.substring(start, i)))) {
+                    escape(text, copied, start, out);
+                    out.append("<mark>");
+                    escape(text, start, i, out);
+                    out.append("</mark>");
+                    copied = i;
+                }
+                start = -1;
+            }
+        }
+        escape(text, copied, text.length(), out);
+        return out.toString();
+    }
+
+    static String normalize(String word) {
+        String decomposed = Normalizer.normalize(word, Normalizer.Form.NFD);
+        return MARKS.matcher(decomposed).replaceAll("").toLowerCase(Locale.ROOT);
+    }
+
+    private static void escape(String text, int from, int to, StringBuilder out) {
+        for (int i = from; i < to; i++) {
+            char c = text.charAt(i);
+            switch (c) {
+                case '<': out.append("&lt;"); break;
+                case '>': out.append("&gt;"); break;
+                case '&': out.append("&amp;"); break;
+                case '"': out.append("&quot;"); break;
+                default: out.append(c);
+            }
+        }
+    }
+
+    /**
+     * Postings d'un terme, triés par id d'avis
+     */
+    private static final class Postings {
+        long[] ids = new long[4];
+        int[] frequencies = new int[4];
+        int[] lengths = new int[4];
+        int size;
+
+        void put(long id, int frequency, int length) {
+            int index = Arrays.binarySearch(ids, 0, size, id);
+            if (index >= 0) {
+                frequencies[index] = frequency;
+                lengths[index] = length;
+                return;
+            }
+            index = -index - 1;
+            if (size == ids.length) {
+                int capacity = size * 2;
+                ids = Arrays.copyOf(ids, capacity);
+                frequencies = Arrays.copyOf(frequencies, capacity);
+                lengths = Arrays.copyOf(lengths, capacity);
+            }
+            // Les nouveaux avis ont l'id le plus grand : l'insertion se fait presque toujours en fin de liste
+            System.arraycopy(ids, index, ids, index + 1, size - index);
+            System.arraycopy(frequencies, index, frequencies, index + 1, size - index);
+            System.arraycopy(lengths, index, lengths, index + 1, size - index);
+            ids[index] = id;
+            frequencies[index] = frequency;
+            lengths[index] = length;
+            size++;
+        }
+
+        // Longueur du document retiré, -1 s'il était absent
+        int remove(long id) {
+            int index = Arrays.binarySearch(ids, 0, size, id);
+            if (index < 0) {
+                return -1;
+            }
+            int length = lengths[index];
+            System.arraycopy(ids, index + 1, ids, index, size - index - 1);
+            System.arraycopy(frequencies, index + 1, frequencies, index, size - index - 1);
+            System.arraycopy(lengths, index + 1, lengths, index, size - index - 1);
+            size--;
+            return length;
+        }
+    }
+
+    public static final class Hit implements Comparable<Hit> {
+        private final long avisId;
+        private final double score;
+
+        Hit(long avisId, double score) {
+            this.avisId = avisId;
+            this.score = score;
+        }
+
+        public long getAvisId() { return avisId; }
+        public double getScore() { return score; }
+
+        // À score égal, l'avis le plus récent l'emporte
+        @Override
+        public int compareTo(Hit other) {
+            int byScore = Double.compare(score, other.score);
+            return byScore != 0 ? byScore : Long.compare(avisId, other.avisId);
+        }
+    }
+
+    public static final class Result {
+        private final List<String> terms;
+        private final List<Hit> hits;
+        private final int totalMatches;
+
+        Result(List<String> terms, List<Hit> hits, int totalMatches) {
+            this.terms = terms;
+            this.hits = hits;
+            this.totalMatches = totalMatches;
+        }
+
+        public List<String> getTerms() { return terms; }
+        public List<Hit> getHits() { return hits; }
+        public int getTotalMatches() { return totalMatches; }
+    }
+}
@@ -0,0 +1,53 @@
+package com.esprit.avis.service;
+
+import com.esprit.avis.entities.RevisionCounter;
+import com.esprit.avis.repository.AvisRepository;
+import com.esprit.avis.repository.RevisionCounterRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Révision de la collection des avis, incrémentée à chaque écriture et stockée
+ * en base pour que toutes les instances servent les mêmes ETags et deltas.
+ */
+@Service
+public class RevisionService {
+
+    static final String AVIS = "avis";
+
+    @Autowired
+    private RevisionCounterRepository counterRepository;
+
+    @Autowired
+    private AvisRepository avisRepository;
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(1)
+    @Transactional
+    public void initialize() {
+        if (!counterRepository.existsById(AVIS)) {
+            counterRepository.save(new RevisionCounter(AVIS, 0));
+        }
+        // Avis antérieurs au suivi des révisions
+        avisRepository.initializeRevisions();
+    }
+
+    /**
+     * Réserver la révision suivante, dans la transaction d'écriture de l'appelant
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public long next() {
+        counterRepository.increment(AVIS);
+        return counterRepository.currentValue(AVIS)
+                .orElseThrow(() -> new IllegalStateException("Revision counter not initialized"));
+    }
+
+    public long current() {
+        return counterRepository.currentValue(AVIS).orElse(0L);
+    }
+}
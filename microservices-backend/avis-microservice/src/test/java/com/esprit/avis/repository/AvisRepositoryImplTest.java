@@ -0,0 +1,102 @@
+package com.esprit.avis.repository;
+
+import com.esprit.avis.entities.Avis;
+import com.esprit.avis.service.AvisSort;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@DataJpaTest(properties = "spring.cloud.config.enabled=false")
+class AvisRepositoryImplTest {
+
+    private static final long HOTEL = 1L;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private AvisRepository avisRepository;
+
+    private final List<Avis> hotelAvis = new ArrayList<>();
+
+    @BeforeEach
+    void insertAvis() {
+        // Plusieurs avis de même note : les pages de 2 coupent au milieu des égalités
+        for (int note : new int[]{3, 5, 3, 1, 3, 5, 3}) {
+            hotelAvis.add(entityManager.persist(avis(HOTEL, note)));
+        }
+        entityManager.persist(avis(2L, 4));
+        entityManager.flush();
+    }
+
+    @Test
+    void noteAscendingPagesFollowNoteThenId() {
+        List<Long> expected = ids(hotelAvis.stream()
+                .sorted(Comparator.comparingInt(Avis::getNote).thenComparing(Avis::getId)));
+
+        assertEquals(expected, readAllPages(AvisSort.NOTE_ASC));
+    }
+
+    @Test
+    void noteDescendingPagesFollowNoteThenIdBackwards() {
+        List<Long> expected = ids(hotelAvis.stream()
+                .sorted(Comparator.comparingInt(Avis::getNote).thenComparing(Avis::getId).reversed()));
+
+        assertEquals(expected, readAllPages(AvisSort.NOTE_DESC));
+    }
+
+    @Test
+    void newestPagesFollowIdBackwards() {
+        List<Long> expected = ids(hotelAvis.stream().sorted(Comparator.comparing(Avis::getId).reversed()));
+
+        assertEquals(expected, readAllPages(AvisSort.NEWEST));
+    }
+
+    @Test
+    void cursorOnATieResumesWithTheNextIdOfTheSameNote() {
+        List<Avis> threes = hotelAvis.stream().filter(a -> a.getNote() == 3).collect(Collectors.toList());
+        Avis first = threes.get(0);
+
+        List<Avis> page = avisRepository.findPage(HOTEL, AvisSort.NOTE_ASC, 3, first.getId(), 2);
+
+        assertEquals(ids(threes.stream().skip(1).limit(2)), ids(page.stream()));
+    }
+
+    private List<Long> readAllPages(AvisSort sort) {
+        List<Long> read = new ArrayList<>();
+        Integer afterNote = null;
+        Long afterId = null;
+        List<Avis> page;
+        do {
+            page = avisRepository.findPage(HOTEL, sort, afterNote, afterId, 2);
+            for (Avis avis : page) {
+                read.add(avis.getId());
+                afterNote = avis.getNote();
+                afterId = avis.getId();
+            }
+        } while (!page.isEmpty());
+        return read;
+    }
+
+    private static List<Long> ids(java.util.stream.Stream<Avis> avis) {
+        return avis.map(Avis::getId).collect(Collectors.toList());
+    }
+
+    private static Avis avis(Long hotelId, int note) {
+        Avis avis = new Avis();
+        avis.setHotelId(hotelId);
+        avis.setNote(note);
+        avis.setCommentaire("Avis " + note);
+        avis.setRevision(0L);
+        return avis;
+    }
+}
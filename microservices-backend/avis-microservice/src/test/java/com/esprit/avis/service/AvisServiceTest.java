@@ -0,0 +1,153 @@
+package com.esprit.avis.service;
+
+import com.esprit.avis.dto.AvisPage;
+import com.esprit.avis.entities.Avis;
+import com.esprit.avis.entities.AvisTombstone;
+import com.esprit.avis.repository.AvisRepository;
+import com.esprit.avis.repository.AvisTombstoneRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class AvisServiceTest {
+
+    @Mock
+    private AvisRepository avisRepository;
+    @Mock
+    private AvisTombstoneRepository tombstoneRepository;
+    @Mock
+    private RevisionService revisionService;
+    @Mock
+    private AvisSummaryService summaryService;
+    @Mock
+    private AvisSearchService searchService;
+    @InjectMocks
+    private AvisService avisService;
+
+    @BeforeEach
+    void startTransaction() {
+        TransactionSynchronizationManager.initSynchronization();
+    }
+
+    @AfterEach
+    void endTransaction() {
+        TransactionSynchronizationManager.clearSynchronization();
+    }
+
+    @Test
+    void deleteLocksTheRevisionCounterThenTheSummaryThenTheAvis() {
+        Avis existing = avis(7L, 3L, 4);
+        when(revisionService.next()).thenReturn(12L);
+        when(avisRepository.findById(7L)).thenReturn(Optional.of(existing));
+
+        avisService.deleteAvis(7L);
+
+        // Même ordre que saveAvis / updateAvis : pas d'attente croisée entre écritures concurrentes
+        InOrder order = inOrder(revisionService, avisRepository, summaryService, tombstoneRepository);
+        order.verify(revisionService).next();
+        order.verify(avisRepository).findById(7L);
+        order.verify(summaryService).apply(existing, -1);
+        order.verify(avisRepository).deleteAvisById(7L);
+        order.verify(tombstoneRepository).save(argThat((AvisTombstone t) -> t.getAvisId() == 7L && t.getRevision() == 12L));
+    }
+
+    @Test
+    void updateMovingAnAvisToAnotherHotelMovesItsNoteBetweenSummaries() {
+        Avis existing = avis(7L, 3L, 4);
+        when(avisRepository.findById(7L)).thenReturn(Optional.of(existing));
+        when(avisRepository.save(existing)).thenReturn(existing);
+        // L'avis est modifié en place : relever l'hôtel et la note au moment de chaque appel
+        List<String> applied = new ArrayList<>();
+        doAnswer(call -> {
+            Avis a = call.getArgument(0);
+            applied.add(a.getHotelId() + ":" + a.getNote() + ":" + call.getArgument(1));
+            return null;
+        }).when(summaryService).apply(any(Avis.class), anyInt());
+
+        avisService.updateAvis(7L, avis(null, 5L, 2));
+
+        assertEquals(List.of("3:4:-1", "5:2:1"), applied);
+    }
+
+    @Test
+    void updateWithoutHotelKeepsTheCurrentHotel() {
+        Avis existing = avis(7L, 3L, 4);
+        when(avisRepository.findById(7L)).thenReturn(Optional.of(existing));
+        when(avisRepository.save(existing)).thenReturn(existing);
+
+        avisService.updateAvis(7L, avis(null, null, 5));
+
+        assertEquals(3L, existing.getHotelId());
+        assertEquals(5, existing.getNote());
+    }
+
+    @Test
+    void nextCursorResumesAfterTheLastAvisOfThePage() {
+        ReflectionTestUtils.setField(avisService, "maxPageSize", 100);
+        when(avisRepository.findPage(3L, AvisSort.NOTE_ASC, null, null, 3))
+                .thenReturn(List.of(avis(4L, 3L, 1), avis(2L, 3L, 4), avis(5L, 3L, 4)));
+
+        AvisPage first = avisService.getPage(3L, "note", 2, null);
+
+        assertEquals(2, first.getContent().size());
+        assertNotNull(first.getNextCursor());
+        avisService.getPage(3L, "note", 2, first.getNextCursor());
+        verify(avisRepository).findPage(3L, AvisSort.NOTE_ASC, 4, 2L, 3);
+    }
+
+    @Test
+    void lastPageHasNoCursor() {
+        ReflectionTestUtils.setField(avisService, "maxPageSize", 100);
+        when(avisRepository.findPage(null, AvisSort.NEWEST, null, null, 3)).thenReturn(List.of(avis(9L, 3L, 2)));
+
+        assertNull(avisService.getPage(null, null, 2, null).getNextCursor());
+    }
+
+    @Test
+    void cursorOfAnotherSortIsRejected() {
+        ReflectionTestUtils.setField(avisService, "maxPageSize", 100);
+        when(avisRepository.findPage(null, AvisSort.NEWEST, null, null, 2))
+                .thenReturn(List.of(avis(9L, 3L, 2), avis(8L, 3L, 5)));
+        String newestCursor = avisService.getPage(null, "newest", 1, null).getNextCursor();
+        when(avisRepository.findPage(null, AvisSort.NOTE_DESC, null, null, 2))
+                .thenReturn(List.of(avis(8L, 3L, 5), avis(9L, 3L, 2)));
+        String noteCursor = avisService.getPage(null, "-note", 1, null).getNextCursor();
+
+        assertThrows(IllegalArgumentException.class, () -> avisService.getPage(null, "note", 1, newestCursor));
+        assertThrows(IllegalArgumentException.class, () -> avisService.getPage(null, "newest", 1, noteCursor));
+        assertThrows(IllegalArgumentException.class, () -> avisService.getPage(null, "newest", 1, "pas-un-curseur"));
+    }
+
+    static Avis avis(Long id, Long hotelId, int note) {
+        Avis avis = new Avis();
+        avis.setId(id);
+        avis.setHotelId(hotelId);
+        avis.setNote(note);
+        avis.setCommentaire("Avis " + id);
+        return avis;
+    }
+}
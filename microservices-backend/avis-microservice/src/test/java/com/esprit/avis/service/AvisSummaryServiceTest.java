@@ -0,0 +1,126 @@
+package com.esprit.avis.service;
+
+import com.esprit.avis.dto.AvisSummary;
+import com.esprit.avis.entities.HotelAvisSummary;
+import com.esprit.avis.repository.AvisRepository;
+import com.esprit.avis.repository.HotelAvisSummaryRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+
+import static com.esprit.avis.service.AvisServiceTest.avis;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class AvisSummaryServiceTest {
+
+    @Mock
+    private HotelAvisSummaryRepository summaryRepository;
+    @Mock
+    private AvisRepository avisRepository;
+    @Mock
+    private RevisionService revisionService;
+    @Captor
+    private ArgumentCaptor<Iterable<HotelAvisSummary>> saved;
+    @InjectMocks
+    private AvisSummaryService summaryService;
+
+    @Test
+    void applyIncrementsAndDecrementsTheNoteOfTheHotel() {
+        when(summaryRepository.applyDelta(anyLong(), anyLong(), anyLong(), anyLong(), anyLong(), anyLong(), anyLong(),
+                anyLong())).thenReturn(1);
+
+        summaryService.apply(avis(1L, 3L, 4), 1);
+        summaryService.apply(avis(2L, 3L, 2), -1);
+
+        verify(summaryRepository).applyDelta(3L, 1, 4, 0, 0, 0, 1, 0);
+        verify(summaryRepository).applyDelta(3L, -1, -2, 0, -1, 0, 0, 0);
+        verify(summaryRepository, never()).saveAndFlush(any());
+    }
+
+    @Test
+    void theFirstAvisOfAHotelInsertsItsSummary() {
+        summaryService.apply(avis(1L, 3L, 5), 1);
+
+        ArgumentCaptor<HotelAvisSummary> inserted = ArgumentCaptor.forClass(HotelAvisSummary.class);
+        verify(summaryRepository).saveAndFlush(inserted.capture());
+        assertEquals(3L, inserted.getValue().getHotelId());
+        assertEquals(1, inserted.getValue().getReviewCount());
+        assertEquals(5, inserted.getValue().getNoteSum());
+        assertEquals(1, inserted.getValue().getNote5());
+    }
+
+    @Test
+    void avisWithoutHotelOrOutOfRangeNoteAreNotCounted() {
+        summaryService.apply(avis(1L, null, 4), 1);
+        summaryService.apply(avis(2L, 3L, 0), 1);
+
+        verifyNoInteractions(summaryRepository);
+    }
+
+    @Test
+    void summaryOfAHotelWithoutAvisIsEmpty() {
+        when(summaryRepository.findById(9L)).thenReturn(Optional.empty());
+
+        AvisSummary summary = summaryService.getSummary(9L);
+
+        assertEquals(0, summary.getCount());
+        assertEquals(0.0, summary.getAverage());
+        assertEquals(0L, summary.getHistogram().get(5));
+    }
+
+    @Test
+    void rebuildRecomputesEverySummaryUnderTheRevisionLock() {
+        when(avisRepository.countByHotelAndNote()).thenReturn(List.of(
+                new Object[]{3L, 4, 2L},
+                new Object[]{3L, 5, 1L},
+                new Object[]{8L, 1, 1L},
+                new Object[]{8L, 9, 2L},
+                new Object[]{null, 3, 6L}));
+
+        assertEquals(2, summaryService.rebuild());
+
+        InOrder order = inOrder(revisionService, summaryRepository);
+        order.verify(revisionService).next();
+        order.verify(summaryRepository).deleteAllInBatch();
+        order.verify(summaryRepository).saveAll(saved.capture());
+        List<HotelAvisSummary> summaries = new ArrayList<>();
+        saved.getValue().forEach(summaries::add);
+        summaries.sort(Comparator.comparing(HotelAvisSummary::getHotelId));
+        assertEquals(3, summaries.get(0).getReviewCount());
+        assertEquals(13, summaries.get(0).getNoteSum());
+        assertEquals(8L, summaries.get(1).getHotelId());
+        assertEquals(1, summaries.get(1).getReviewCount());
+        assertEquals(1, summaries.get(1).getNote1());
+    }
+
+    @Test
+    void backfillRebuildsOnlyWhenNoSummaryExistsYet() {
+        when(summaryRepository.count()).thenReturn(0L);
+        when(avisRepository.existsByHotelIdNotNull()).thenReturn(true);
+        summaryService.backfill();
+        verify(summaryRepository).deleteAllInBatch();
+
+        when(summaryRepository.count()).thenReturn(4L);
+        summaryService.backfill();
+        verify(summaryRepository).deleteAllInBatch();
+        verify(avisRepository).countByHotelAndNote();
+    }
+}
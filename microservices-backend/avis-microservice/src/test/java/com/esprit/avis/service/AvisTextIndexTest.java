@@ -0,0 +1,122 @@
+package com.esprit.avis.service;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AvisTextIndexTest {
+
+    private static final Logger BENCHMARK_LOG = LoggerFactory.getLogger("benchmark");
+
+    private static final String[] WORDS = {"chambre", "propre", "sale", "bruit", "piscine", "plage", "accueil",
+            "personnel", "clean", "room", "staff", "breakfast", "noise", "view", "dejeuner", "parking"};
+
+    @Test
+    void accentsAndCaseAreFolded() {
+        assertEquals(List.of("hotel", "etait", "ete", "genial"), AvisTextIndex.tokenize("L'Hôtel était... l'été GÉNIAL"));
+    }
+
+    @Test
+    void resultsAreRankedAndHighlighted() {
+        AvisTextIndex index = new AvisTextIndex();
+        index.put(1, "Hôtel très propre, personnel accueillant");
+        index.put(2, "Hotel sale, petit-déjeuner médiocre");
+        index.put(3, "Great hotel, clean rooms");
+
+        AvisTextIndex.Result result = index.search("propre hotel", 10);
+
+        assertEquals(3, result.getTotalMatches());
+        assertEquals(1L, result.getHits().get(0).getAvisId());
+        assertEquals("<mark>Hôtel</mark> très <mark>propre</mark> &amp; &lt;b&gt;",
+                AvisTextIndex.highlight("Hôtel très propre & <b>", result.getTerms()));
+    }
+
+    @Test
+    void updatesAndDeletesAreIncremental() {
+        AvisTextIndex index = new AvisTextIndex();
+        index.put(1, "piscine magnifique");
+        index.put(2, "piscine froide");
+
+        index.put(1, "plage bondée");
+        index.remove(2);
+
+        assertEquals(0, index.search("piscine", 10).getTotalMatches());
+        assertEquals(1, index.search("plage", 10).getTotalMatches());
+        assertEquals(1, index.size());
+    }
+
+    @Test
+    void topKMatchesAFullSort() {
+        AvisTextIndex index = new AvisTextIndex();
+        Random random = new Random(3);
+        for (int i = 0; i < 5_000; i++) {
+            index.put(i, review(random));
+        }
+        List<AvisTextIndex.Hit> top = index.search("propre piscine", 10).getHits();
+        List<AvisTextIndex.Hit> all = index.search("propre piscine", 5_000).getHits();
+
+        assertEquals(10, top.size());
+        for (int i = 0; i < top.size(); i++) {
+            assertEquals(all.get(i).getAvisId(), top.get(i).getAvisId());
+        }
+        for (int i = 1; i < all.size(); i++) {
+            assertTrue(all.get(i - 1).getScore() >= all.get(i).getScore());
+        }
+    }
+
+    /**
+     * Indexation et latence de recherche sur 1 000 000 d'avis :
+     * mvn test -Dtest=AvisTextIndexTest -Dsearch.bench=true
+     */
+    @Test
+    @Tag("benchmark")
+    @EnabledIfSystemProperty(named = "search.bench", matches = "true")
+    void searchLatencyAt1mReviews() {
+        int reviews = Integer.getInteger("search.bench.reviews", 1_000_000);
+        AvisTextIndex index = new AvisTextIndex();
+        Random random = new Random(5);
+        long start = System.nanoTime();
+        for (int i = 0; i < reviews; i++) {
+            index.put(i, review(random));
+        }
+        BENCHMARK_LOG.info(String.format(Locale.ROOT,
+                "%,d reviews indexed in %,d ms", reviews, (System.nanoTime() - start) / 1_000_000));
+
+        int queries = 2_000;
+        long[] latencies = new long[queries];
+        for (int round = 0; round < 2; round++) {
+            for (int i = 0; i < queries; i++) {
+                String query = WORDS[random.nextInt(WORDS.length)] + random.nextInt(100) + " "
+                        + WORDS[random.nextInt(WORDS.length)] + random.nextInt(100);
+                long t = System.nanoTime();
+                index.search(query, 20);
+                latencies[i] = System.nanoTime() - t;
+            }
+        }
+        Arrays.sort(latencies);
+        BENCHMARK_LOG.info(String.format(Locale.ROOT, "%,d reviews: p50 %.2f ms, p99 %.2f ms", reviews,
+                latencies[queries / 2] / 1e6, latencies[(int) (queries * 0.99)] / 1e6));
+    }
+
+    // Vocabulaire de 1 600 termes : chaque terme apparaît dans environ 0,75 % des avis
+    private static String review(Random random) {
+        StringBuilder text = new StringBuilder();
+        for (int j = 0; j < 12; j++) {
+            text.append(WORDS[random.nextInt(WORDS.length)]).append(random.nextInt(100)).append(' ');
+        }
+        if (random.nextInt(4) == 0) {
+            text.append(random.nextBoolean() ? "propre " : "piscine ");
+        }
+        return text.toString();
+    }
+}
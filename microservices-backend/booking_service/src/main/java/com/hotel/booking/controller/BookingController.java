@@ -1,18 +1,25 @@
 package com.hotel.booking.controller;
 
+import com.hotel.booking.dto.BatchBookingRequest;
+import com.hotel.booking.dto.BatchBookingResponse;
+import com.hotel.booking.dto.BookingPage;
 import com.hotel.booking.dto.BookingRequest;
 import com.hotel.booking.dto.BookingResponse;
 import com.hotel.booking.dto.BookingUpdateRequest;
+import com.hotel.booking.dto.HotelStatsResponse;
 import com.hotel.booking.entity.BookingStatus;
 import com.hotel.booking.service.BookingService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import java.util.List;
+import java.time.LocalDate;
 
 @RestController
 @RequestMapping("/api/bookings")
@@ -34,25 +41,54 @@ public class BookingController {
     }
 
     /**
-     * Récupérer toutes les réservations
+     * Créer plusieurs réservations en une seule requête
+     * POST /api/bookings/batch
+     */
+    @PostMapping("/batch")
+    public ResponseEntity<BatchBookingResponse> createBookings(@Valid @RequestBody BatchBookingRequest request) {
+        log.info("POST /api/bookings/batch - Creating {} bookings", request.getBookings().size());
+        BatchBookingResponse response = bookingService.createBookings(request);
+        HttpStatus status = response.getFailed() == 0 ? HttpStatus.CREATED : HttpStatus.MULTI_STATUS;
+        return new ResponseEntity<>(response, status);
+    }
+
+    /**
+     * Récupérer les réservations page par page
      * GET /api/bookings
      * GET /api/bookings?status=CONFIRMED
+     * GET /api/bookings?after=120&size=50
      */
     @GetMapping
-    public ResponseEntity<List<BookingResponse>> getAllBookings(
-            @RequestParam(required = false) BookingStatus status) {
-        log.info("GET /api/bookings - Fetching bookings with status filter: {}", status);
+    public ResponseEntity<BookingPage> getAllBookings(
+            @RequestParam(required = false) BookingStatus status,
+            @RequestParam(required = false) Long after,
+            @RequestParam(required = false) Integer size) {
+        log.info("GET /api/bookings - Fetching bookings with status filter: {}, after: {}", status, after);
         
-        List<BookingResponse> bookings;
+        BookingPage bookings;
         if (status != null) {
-            bookings = bookingService.getBookingsByStatus(status);
+            bookings = bookingService.getBookingsByStatus(status, after, size);
         } else {
-            bookings = bookingService.getAllBookings();
+            bookings = bookingService.getAllBookings(after, size);
         }
         
         return ResponseEntity.ok(bookings);
     }
 
+    /**
+     * Exporter les réservations en NDJSON
+     * GET /api/bookings/export
+     * GET /api/bookings/export?hotelId=1
+     */
+    @GetMapping(value = "/export", produces = "application/x-ndjson")
+    public ResponseEntity<StreamingResponseBody> exportBookings(@RequestParam(required = false) Long hotelId) {
+        log.info("GET /api/bookings/export - Streaming bookings (hotel filter: {})", hotelId);
+        StreamingResponseBody body = out -> bookingService.exportBookings(hotelId, out);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType("application/x-ndjson"))
+                .body(body);
+    }
+
     /**
      * Récupérer une réservation par ID
      * GET /api/bookings/{id}
@@ -81,9 +117,12 @@ public class BookingController {
      * GET /api/bookings/user/{userId}
      */
     @GetMapping("/user/{userId}")
-    public ResponseEntity<List<BookingResponse>> getBookingsByUserId(@PathVariable String userId) {
+    public ResponseEntity<BookingPage> getBookingsByUserId(
+            @PathVariable String userId,
+            @RequestParam(required = false) Long after,
+            @RequestParam(required = false) Integer size) {
         log.info("GET /api/bookings/user/{} - Fetching bookings by user ID", userId);
-        List<BookingResponse> bookings = bookingService.getBookingsByUserId(userId);
+        BookingPage bookings = bookingService.getBookingsByUserId(userId, after, size);
         return ResponseEntity.ok(bookings);
     }
 
@@ -92,12 +131,29 @@ public class BookingController {
      * GET /api/bookings/hotel/{hotelId}
      */
     @GetMapping("/hotel/{hotelId}")
-    public ResponseEntity<List<BookingResponse>> getBookingsByHotelId(@PathVariable Long hotelId) {
+    public ResponseEntity<BookingPage> getBookingsByHotelId(
+            @PathVariable Long hotelId,
+            @RequestParam(required = false) Long after,
+            @RequestParam(required = false) Integer size) {
         log.info("GET /api/bookings/hotel/{} - Fetching bookings by hotel ID", hotelId);
-        List<BookingResponse> bookings = bookingService.getBookingsByHotelId(hotelId);
+        BookingPage bookings = bookingService.getBookingsByHotelId(hotelId, after, size);
         return ResponseEntity.ok(bookings);
     }
 
+    /**
+     * Occupation, ADR et RevPAR d'un hôtel de {@code rooms} chambres sur une période (nuits incluses)
+     * GET /api/bookings/hotel/{hotelId}/stats?from=2025-06-01&to=2025-06-30&rooms=40
+     */
+    @GetMapping("/hotel/{hotelId}/stats")
+    public ResponseEntity<HotelStatsResponse> getHotelStats(
+            @PathVariable Long hotelId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam Integer rooms) {
+        log.info("GET /api/bookings/hotel/{}/stats - from {} to {}", hotelId, from, to);
+        return ResponseEntity.ok(bookingService.getHotelStats(hotelId, from, to, rooms));
+    }
+
     /**
      * Mettre à jour une réservation
      * PUT /api/bookings/{id}
@@ -0,0 +1,78 @@
+package com.hotel.booking.controller;
+
+import com.hotel.booking.dto.DailyRevenue;
+import com.hotel.booking.dto.HotelBookingSummary;
+import com.hotel.booking.dto.ProjectionStatus;
+import com.hotel.booking.dto.UserBookingSummary;
+import com.hotel.booking.kafka.BookingProjectionConsumer;
+import com.hotel.booking.service.BookingProjection;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+
+/**
+ * Tableaux de bord servis par la projection des événements de réservation,
+ * sans requête sur la table bookings.
+ */
+@RestController
+@RequestMapping("/api/bookings/reports")
+@RequiredArgsConstructor
+@Slf4j
+public class BookingReportController {
+
+    private final BookingProjection projection;
+    private final BookingProjectionConsumer projectionConsumer;
+
+    /**
+     * Occupation et chiffre d'affaires d'un hôtel
+     * GET /api/bookings/reports/hotel/{hotelId}
+     */
+    @GetMapping("/hotel/{hotelId}")
+    public ResponseEntity<HotelBookingSummary> getHotelSummary(@PathVariable Long hotelId) {
+        return ResponseEntity.ok(projection.getHotelSummary(hotelId));
+    }
+
+    /**
+     * Chiffre d'affaires d'un hôtel pour une nuit donnée
+     * GET /api/bookings/reports/hotel/{hotelId}/revenue?date=2025-06-10
+     */
+    @GetMapping("/hotel/{hotelId}/revenue")
+    public ResponseEntity<DailyRevenue> getDailyRevenue(
+            @PathVariable Long hotelId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
+        return ResponseEntity.ok(projection.getDailyRevenue(hotelId, date));
+    }
+
+    /**
+     * Réservations actives et dépenses d'un utilisateur
+     * GET /api/bookings/reports/user/{userId}
+     */
+    @GetMapping("/user/{userId}")
+    public ResponseEntity<UserBookingSummary> getUserSummary(@PathVariable String userId) {
+        return ResponseEntity.ok(projection.getUserSummary(userId));
+    }
+
+    /**
+     * État de la projection (événements appliqués, offsets par partition)
+     * GET /api/bookings/reports/status
+     */
+    @GetMapping("/status")
+    public ResponseEntity<ProjectionStatus> getStatus() {
+        return ResponseEntity.ok(projection.getStatus());
+    }
+
+    /**
+     * Reconstruire la projection en rejouant le topic booking-events
+     * POST /api/bookings/reports/rebuild
+     */
+    @PostMapping("/rebuild")
+    public ResponseEntity<Void> rebuild() {
+        log.info("POST /api/bookings/reports/rebuild - Replaying booking events");
+        projectionConsumer.rebuild();
+        return ResponseEntity.accepted().build();
+    }
+}
@@ -0,0 +1,24 @@
+package com.hotel.booking.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchBookingItemResult {
+
+    private int index;
+    private boolean success;
+    private BookingResponse booking;
+    private String error;
+
+    public static BatchBookingItemResult success(int index, BookingResponse booking) {
+        return new BatchBookingItemResult(index, true, booking, null);
+    }
+
+    public static BatchBookingItemResult failure(int index, String error) {
+        return new BatchBookingItemResult(index, false, null, error);
+    }
+}
@@ -0,0 +1,20 @@
+package com.hotel.booking.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchBookingRequest {
+
+    // Les éléments sont validés un par un dans le service pour un rapport par élément
+    @NotEmpty(message = "At least one booking is required")
+    @Size(max = 200, message = "Maximum 200 bookings per batch")
+    private List<BookingRequest> bookings;
+}
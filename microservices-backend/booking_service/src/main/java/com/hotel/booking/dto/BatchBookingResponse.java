@@ -0,0 +1,18 @@
+package com.hotel.booking.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchBookingResponse {
+
+    private int requested;
+    private int succeeded;
+    private int failed;
+    private List<BatchBookingItemResult> results;
+}
@@ -0,0 +1,19 @@
+package com.hotel.booking.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookingPage {
+
+    private List<BookingResponse> content;
+    private int size;
+    private boolean hasNext;
+    // Passer cette valeur dans ?after= pour obtenir la page suivante
+    private Long nextCursor;
+}
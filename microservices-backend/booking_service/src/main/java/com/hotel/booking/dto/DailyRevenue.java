@@ -0,0 +1,18 @@
+package com.hotel.booking.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DailyRevenue {
+
+    private Long hotelId;
+    private LocalDate date;
+    private BigDecimal revenue;
+}
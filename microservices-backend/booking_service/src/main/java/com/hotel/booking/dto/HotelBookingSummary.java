@@ -0,0 +1,18 @@
+package com.hotel.booking.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class HotelBookingSummary {
+
+    private Long hotelId;
+    private long activeBookings;
+    private long roomNights;
+    private BigDecimal revenue;
+}
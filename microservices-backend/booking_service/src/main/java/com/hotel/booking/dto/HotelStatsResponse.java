@@ -0,0 +1,29 @@
+package com.hotel.booking.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class HotelStatsResponse {
+
+    private Long hotelId;
+    private LocalDate from;
+    private LocalDate to;
+    private int rooms;
+    private long roomNightsSold;
+    private long roomNightsAvailable;
+    private double occupancy;
+    private BigDecimal revenue;
+    // Average Daily Rate : revenu / nuits vendues
+    private BigDecimal adr;
+    // Revenue Per Available Room : revenu / nuits disponibles
+    private BigDecimal revpar;
+    private List<NightlyStats> nightly;
+}
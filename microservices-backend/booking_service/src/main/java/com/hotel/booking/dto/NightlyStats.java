@@ -0,0 +1,21 @@
+package com.hotel.booking.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class NightlyStats {
+
+    private LocalDate date;
+    private long roomsSold;
+    private double occupancy;
+    private BigDecimal revenue;
+    private BigDecimal adr;
+    private BigDecimal revpar;
+}
@@ -0,0 +1,19 @@
+package com.hotel.booking.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProjectionStatus {
+
+    private long eventsApplied;
+    private long duplicatesSkipped;
+    private int trackedBookings;
+    // Dernier offset appliqué par partition du topic booking-events
+    private Map<Integer, Long> offsets;
+}
@@ -0,0 +1,55 @@
+package com.hotel.booking.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Événement en attente de publication vers Kafka (pattern transactional outbox).
+ * Écrit dans la même transaction que la réservation, puis relayé par OutboxRelay.
+ */
+@Entity
+@Table(name = "booking_outbox", indexes = @Index(name = "idx_booking_outbox_key", columnList = "eventKey"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OutboxEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "booking_outbox_seq")
+    @SequenceGenerator(name = "booking_outbox_seq", sequenceName = "booking_outbox_seq", allocationSize = 50)
+    private Long id;
+
+    // Clé Kafka (numéro de confirmation) : l'ordre est garanti par clé
+    @Column(nullable = false)
+    private String eventKey;
+
+    @Column(nullable = false)
+    private String eventType;
+
+    @Lob
+    @Column(nullable = false)
+    private String payload;
+
+    @Column(nullable = false)
+    private int attempts;
+
+    private LocalDateTime nextAttemptAt;
+
+    @Column(length = 500)
+    private String lastError;
+
+    // Renseigné quand l'entrée est abandonnée (lettre morte) : le relais ne la lit plus
+    private LocalDateTime parkedAt;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+    }
+}
@@ -0,0 +1,7 @@
+package com.hotel.booking.exception;
+
+public class RoomNotAvailableException extends RuntimeException {
+    public RoomNotAvailableException(String message) {
+        super(message);
+    }
+}
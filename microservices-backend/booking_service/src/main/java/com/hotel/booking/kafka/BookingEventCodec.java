@@ -0,0 +1,240 @@
+package com.hotel.booking.kafka;
+
+import com.hotel.booking.entity.BookingStatus;
+import com.hotel.booking.event.BookingEvent;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+
+/**
+ * Codec binaire écrit à la main pour BookingEvent, versionné par {@link #FORMAT_ID}.
+ * Trame : octet magique 0, identifiant de format (4 octets), bitmap des champs nuls
+ * (varint), puis les champs non nuls dans cet ordre : bookingId, confirmationNumber,
+ * eventType, roomId, hotelId, userId, checkInDate, checkOutDate, numberOfGuests,
+ * numberOfNights, pricePerNight, totalPrice, status, eventTime.
+ * Les entiers sont en varint zigzag, les chaînes en UTF-8 préfixé par la longueur, les dates
+ * en jours epoch, les montants en (échelle, valeur non mise à l'échelle), eventTime en
+ * (secondes epoch UTC, nanos). Les constantes de BookingStatus ne doivent être qu'ajoutées en fin d'enum.
+ * Tout autre changement de la trame prend un nouvel identifiant de format, et decode
+ * garde la lecture des identifiants précédents tant que des messages peuvent en contenir.
+ */
+public final class BookingEventCodec {
+
+    public static final byte MAGIC = 0;
+    public static final int FORMAT_ID = 1001;
+
+    private static final BookingStatus[] STATUSES = BookingStatus.values();
+
+    private BookingEventCodec() {
+    }
+
+    public static byte[] encode(BookingEvent event) {
+        Object[] fields = {
+                event.getBookingId(), event.getConfirmationNumber(), event.getEventType(),
+                event.getRoomId(), event.getHotelId(), event.getUserId(),
+                event.getCheckInDate(), event.getCheckOutDate(),
+                event.getNumberOfGuests(), event.getNumberOfNights(),
+                event.getPricePerNight(), event.getTotalPrice(),
+                event.getStatus(), event.getEventTime()
+        };
+        long nulls = 0;
+        for (int i = 0; i < fields.length; i++) {
+            if (fields[i] == null) {
+                nulls |= 1L << i;
+            }
+        }
+
+        Writer out = new Writer(96);
+        out.writeByte(MAGIC);
+        out.writeInt(FORMAT_ID);
+        out.writeVarLong(nulls);
+        if (event.getBookingId() != null) out.writeVarLong(zigzag(event.getBookingId()));
+        if (event.getConfirmationNumber() != null) out.writeString(event.getConfirmationNumber());
+        if (event.getEventType() != null) out.writeString(event.getEventType());
+        if (event.getRoomId() != null) out.writeVarLong(zigzag(event.getRoomId()));
+        if (event.getHotelId() != null) out.writeVarLong(zigzag(event.getHotelId()));
+        if (event.getUserId() != null) out.writeString(event.getUserId());
+        if (event.getCheckInDate() != null) out.writeVarLong(zigzag(event.getCheckInDate().toEpochDay()));
+        if (event.getCheckOutDate() != null) out.writeVarLong(zigzag(event.getCheckOutDate().toEpochDay()));
+        if (event.getNumberOfGuests() != null) out.writeVarLong(zigzag(event.getNumberOfGuests()));
+        if (event.getNumberOfNights() != null) out.writeVarLong(zigzag(event.getNumberOfNights()));
+        if (event.getPricePerNight() != null) out.writeDecimal(event.getPricePerNight());
+        if (event.getTotalPrice() != null) out.writeDecimal(event.getTotalPrice());
+        if (event.getStatus() != null) out.writeVarLong(event.getStatus().ordinal());
+        if (event.getEventTime() != null) {
+            out.writeVarLong(zigzag(event.getEventTime().toEpochSecond(ZoneOffset.UTC)));
+            out.writeVarLong(event.getEventTime().getNano());
+        }
+        return out.toByteArray();
+    }
+
+    public static BookingEvent decode(byte[] data) {
+        Reader in = new Reader(data);
+        if (in.readByte() != MAGIC) {
+            throw new IllegalArgumentException("Not a binary BookingEvent payload");
+        }
+        int formatId = in.readInt();
+        if (formatId != FORMAT_ID) {
+            throw new IllegalArgumentException("Unsupported BookingEvent format id: " + formatId);
+        }
+        long nulls = in.readVarLong();
+
+        BookingEvent event = new BookingEvent();
+        if (present(nulls, 0)) event.setBookingId(unzigzag(in.readVarLong()));
+        if (present(nulls, 1)) event.setConfirmationNumber(in.readString());
+        if (present(nulls, 2)) event.setEventType(in.readString());
+        if (present(nulls, 3)) event.setRoomId(unzigzag(in.readVarLong()));
+        if (present(nulls, 4)) event.setHotelId(unzigzag(in.readVarLong()));
+        if (present(nulls, 5)) event.setUserId(in.readString());
+        if (present(nulls, 6)) event.setCheckInDate(LocalDate.ofEpochDay(unzigzag(in.readVarLong())));
+        if (present(nulls, 7)) event.setCheckOutDate(LocalDate.ofEpochDay(unzigzag(in.readVarLong())));
+        if (present(nulls, 8)) event.setNumberOfGuests((int) unzigzag(in.readVarLong()));
+        if (present(nulls, 9)) event.setNumberOfNights((int) unzigzag(in.readVarLong()));
+        if (present(nulls, 10)) event.setPricePerNight(in.readDecimal());
+        if (present(nulls, 11)) event.setTotalPrice(in.readDecimal());
+        if (present(nulls, 12)) event.setStatus(STATUSES[(int) in.readVarLong()]);
+        if (present(nulls, 13)) {
+            long seconds = unzigzag(in.readVarLong());
+            int nanos = (int) in.readVarLong();
+            event.setEventTime(LocalDateTime.ofEpochSecond(seconds, nanos, ZoneOffset.UTC));
+        }
+        return event;
+    }
+
+    public static boolean isBinary(byte[] data) {
+        return data != null && data.length > 5 && data[0] == MAGIC;
+    }
+
+    private static boolean present(long nulls, int field) {
+        return (nulls & (1L << field)) == 0;
+    }
+
+    private static long zigzag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    private static long unzigzag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    private static final class Writer {
+        private byte[] buf;
+        private int pos;
+
+        Writer(int capacity) {
+            this.buf = new byte[capacity];
+        }
+
+        void writeByte(int b) {
+            ensure(1);
+            buf[pos++] = (byte) b;
+        }
+
+        void writeInt(int v) {
+            ensure(4);
+            buf[pos++] = (byte) (v >>> 24);
+            buf[pos++] = (byte) (v >>> 16);
+            buf[pos++] = (byte) (v >>> 8);
+            buf[pos++] = (byte) v;
+        }
+
+        void writeVarLong(long v) {
+            ensure(10);
+            while ((v & ~0x7FL) != 0) {
+                buf[pos++] = (byte) ((v & 0x7F) | 0x80);
+                v >>>= 7;
+            }
+            buf[pos++] = (byte) v;
+        }
+
+        void writeBytes(byte[] bytes) {
+            writeVarLong(bytes.length);
+            ensure(bytes.length);
+            System.arraycopy(bytes, 0, buf, pos, bytes.length);
+            pos += bytes.length;
+        }
+
+        void writeString(String s) {
+            writeBytes(s.getBytes(StandardCharsets.UTF_8));
+        }
+
+        void writeDecimal(BigDecimal d) {
+            writeVarLong(zigzag(d.scale()));
+            BigInteger unscaled = d.unscaledValue();
+            if (unscaled.bitLength() < 63) {
+                writeByte(0);
+                writeVarLong(zigzag(unscaled.longValue()));
+            } else {
+                writeByte(1);
+                writeBytes(unscaled.toByteArray());
+            }
+        }
+
+        byte[] toByteArray() {
+            return Arrays.copyOf(buf, pos);
+        }
+
+        private void ensure(int extra) {
+            if (pos + extra > buf.length) {
+                buf = Arrays.copyOf(buf, Math.max(buf.length * 2, pos + extra));
+            }
+        }
+    }
+
+    private static final class Reader {
+        private final byte[] buf;
+        private int pos;
+
+        Reader(byte[] buf) {
+            this.buf = buf;
+        }
+
+        byte readByte() {
+            return buf[pos++];
+        }
+
+        int readInt() {
+            return ((buf[pos++] & 0xFF) << 24) | ((buf[pos++] & 0xFF) << 16)
+                    | ((buf[pos++] & 0xFF) << 8) | (buf[pos++] & 0xFF);
+        }
+
+        long readVarLong() {
+            long result = 0;
+            int shift = 0;
+            byte b;
+            do {
+                b = buf[pos++];
+                result |= (long) (b & 0x7F) << shift;
+                shift += 7;
+            } while ((b & 0x80) != 0);
+            return result;
+        }
+
+        byte[] readBytes() {
+            int length = (int) readVarLong();
+            byte[] bytes = Arrays.copyOfRange(buf, pos, pos + length);
+            pos += length;
+            return bytes;
+        }
+
+        String readString() {
+            int length = (int) readVarLong();
+            String s = new String(buf, pos, length, StandardCharsets.UTF_8);
+            pos += length;
+            return s;
+        }
+
+        BigDecimal readDecimal() {
+            int scale = (int) unzigzag(readVarLong());
+            if (readByte() == 0) {
+                return BigDecimal.valueOf(unzigzag(readVarLong()), scale);
+            }
+            return new BigDecimal(new BigInteger(readBytes()), scale);
+        }
+    }
+}
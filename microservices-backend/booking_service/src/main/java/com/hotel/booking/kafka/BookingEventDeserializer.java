@@ -0,0 +1,36 @@
+package com.hotel.booking.kafka;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hotel.booking.event.BookingEvent;
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.serialization.Deserializer;
+import org.springframework.kafka.support.JacksonUtils;
+
+import java.io.IOException;
+
+/**
+ * Désérialiseur tolérant aux deux formats : trame binaire (octet magique 0)
+ * ou JSON historique. Permet de basculer les producteurs en binaire sans casser
+ * les consommateurs.
+ */
+public class BookingEventDeserializer implements Deserializer<BookingEvent> {
+
+    private final ObjectMapper objectMapper = JacksonUtils.enhancedObjectMapper()
+            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+
+    @Override
+    public BookingEvent deserialize(String topic, byte[] data) {
+        if (data == null) {
+            return null;
+        }
+        if (BookingEventCodec.isBinary(data)) {
+            return BookingEventCodec.decode(data);
+        }
+        try {
+            return objectMapper.readValue(data, BookingEvent.class);
+        } catch (IOException e) {
+            throw new SerializationException("Unable to deserialize booking event from topic " + topic, e);
+        }
+    }
+}
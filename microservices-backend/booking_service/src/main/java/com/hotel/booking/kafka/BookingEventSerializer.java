@@ -0,0 +1,48 @@
+package com.hotel.booking.kafka;
+
+import com.hotel.booking.event.BookingEvent;
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.serialization.Serializer;
+import org.springframework.kafka.support.serializer.JsonSerializer;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+/**
+ * Sérialiseur de valeur : BookingEvent en binaire compact (BookingEventCodec),
+ * tout autre objet en JSON. Activé par kafka.producer.value-format=binary.
+ */
+public class BookingEventSerializer implements Serializer<Object> {
+
+    public static final String FORMAT_HEADER = "event-format";
+    private static final byte[] BINARY_FORMAT = ("binary/" + BookingEventCodec.FORMAT_ID).getBytes(StandardCharsets.UTF_8);
+
+    private final JsonSerializer<Object> json = new JsonSerializer<>();
+
+    @Override
+    public void configure(Map<String, ?> configs, boolean isKey) {
+        json.configure(configs, isKey);
+    }
+
+    @Override
+    public byte[] serialize(String topic, Object data) {
+        if (data instanceof BookingEvent event) {
+            return BookingEventCodec.encode(event);
+        }
+        return json.serialize(topic, data);
+    }
+
+    @Override
+    public byte[] serialize(String topic, Headers headers, Object data) {
+        if (data instanceof BookingEvent event) {
+            headers.add(FORMAT_HEADER, BINARY_FORMAT);
+            return BookingEventCodec.encode(event);
+        }
+        return json.serialize(topic, headers, data);
+    }
+
+    @Override
+    public void close() {
+        json.close();
+    }
+}
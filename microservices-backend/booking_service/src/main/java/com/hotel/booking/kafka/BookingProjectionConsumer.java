@@ -0,0 +1,67 @@
+package com.hotel.booking.kafka;
+
+import com.hotel.booking.event.BookingEvent;
+import com.hotel.booking.service.BookingProjection;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.TopicPartition;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.config.KafkaListenerEndpointRegistry;
+import org.springframework.kafka.listener.ConsumerSeekAware;
+import org.springframework.kafka.listener.MessageListenerContainer;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * Alimente BookingProjection depuis booking-events. À chaque assignation, les
+ * partitions reprennent après le dernier offset appliqué, ou depuis le début
+ * si la projection ne les connaît pas encore (démarrage, rejeu).
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class BookingProjectionConsumer implements ConsumerSeekAware {
+
+    static final String LISTENER_ID = "booking-projection";
+
+    private final BookingProjection projection;
+    private final KafkaListenerEndpointRegistry registry;
+
+    @KafkaListener(id = LISTENER_ID,
+            topics = "${kafka.topic.booking-events:booking-events}",
+            containerFactory = "bookingProjectionListenerFactory",
+            autoStartup = "${booking.projection.enabled:true}")
+    public void onBookingEvent(ConsumerRecord<String, BookingEvent> record) {
+        projection.apply(record.partition(), record.offset(), record.value());
+    }
+
+    @Override
+    public void onPartitionsAssigned(Map<TopicPartition, Long> assignments, ConsumerSeekCallback callback) {
+        assignments.keySet().forEach(partition -> {
+            Long next = projection.nextOffset(partition.partition());
+            if (next == null) {
+                callback.seekToBeginning(partition.topic(), partition.partition());
+            } else {
+                callback.seek(partition.topic(), partition.partition(), next);
+            }
+        });
+    }
+
+    /**
+     * Reconstruire la projection en rejouant tout le topic.
+     * Le conteneur est arrêté pendant la remise à zéro pour qu'aucun message
+     * en cours ne soit appliqué sur un modèle vidé.
+     */
+    public void rebuild() {
+        MessageListenerContainer container = registry.getListenerContainer(LISTENER_ID);
+        if (container == null) {
+            throw new IllegalStateException("Booking projection listener is not registered");
+        }
+        log.info("Rebuilding booking projection from the beginning of the topic");
+        container.stop();
+        projection.reset();
+        container.start();
+    }
+}
@@ -1,34 +1,88 @@
 package com.hotel.booking.kafka;
 
 import com.hotel.booking.event.BookingEvent;
-import lombok.RequiredArgsConstructor;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
 import org.springframework.stereotype.Service;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
 @Service
-@RequiredArgsConstructor
 @Slf4j
 public class KafkaProducerService {
 
     private final KafkaTemplate<String, Object> kafkaTemplate;
+    private final String bookingEventsTopic;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final Timer ackLatency;
+    private final Counter acked;
+    private final Counter failures;
 
-    @Value("${kafka.topic.booking-events:booking-events}")
-    private String bookingEventsTopic;
+    public KafkaProducerService(KafkaTemplate<String, Object> kafkaTemplate,
+                                MeterRegistry meterRegistry,
+                                @Value("${kafka.topic.booking-events:booking-events}") String bookingEventsTopic) {
+        this.kafkaTemplate = kafkaTemplate;
+        this.bookingEventsTopic = bookingEventsTopic;
+        this.ackLatency = Timer.builder("kafka.producer.ack.latency")
+                .tag("topic", bookingEventsTopic)
+                .description("Time between send and broker acknowledgement")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        this.acked = Counter.builder("kafka.producer.sent")
+                .tag("topic", bookingEventsTopic)
+                .tag("result", "success")
+                .register(meterRegistry);
+        this.failures = Counter.builder("kafka.producer.sent")
+                .tag("topic", bookingEventsTopic)
+                .tag("result", "failure")
+                .register(meterRegistry);
+        Gauge.builder("kafka.producer.in.flight", inFlight, AtomicInteger::get)
+                .tag("topic", bookingEventsTopic)
+                .description("Events sent but not yet acknowledged")
+                .register(meterRegistry);
+    }
 
-    public void sendBookingEvent(BookingEvent event) {
+    /**
+     * Envoyer un événement sans attendre l'acquittement : l'appelant (OutboxRelay)
+     * consulte le résultat pour décider de supprimer ou de réessayer l'entrée.
+     */
+    public CompletableFuture<SendResult<String, Object>> sendBookingEvent(BookingEvent event) {
+        log.debug("Sending booking event: {} for booking ID: {}",
+                event.getEventType(), event.getBookingId());
+        long start = System.nanoTime();
+        inFlight.incrementAndGet();
+        CompletableFuture<SendResult<String, Object>> future;
         try {
-            log.info("Sending booking event: {} for booking ID: {}", 
-                    event.getEventType(), event.getBookingId());
-            
-            kafkaTemplate.send(bookingEventsTopic, 
-                             event.getConfirmationNumber(), 
-                             event);
-            
-            log.info("Booking event sent successfully to topic: {}", bookingEventsTopic);
-        } catch (Exception e) {
-            log.error("Error sending booking event to Kafka: {}", e.getMessage(), e);
+            future = kafkaTemplate.send(bookingEventsTopic, event.getConfirmationNumber(), event);
+        } catch (RuntimeException e) {
+            inFlight.decrementAndGet();
+            failures.increment();
+            throw e;
         }
+        return future.whenComplete((result, ex) -> {
+            inFlight.decrementAndGet();
+            if (ex == null) {
+                ackLatency.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                acked.increment();
+            } else {
+                failures.increment();
+                log.error("Error sending booking event {} to Kafka: {}", event.getConfirmationNumber(), ex.getMessage());
+            }
+        });
+    }
+
+    /**
+     * Vider le buffer du producteur après un lot d'envois
+     */
+    public void flush() {
+        kafkaTemplate.flush();
     }
 }
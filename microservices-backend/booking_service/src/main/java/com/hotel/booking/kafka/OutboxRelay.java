@@ -0,0 +1,177 @@
+package com.hotel.booking.kafka;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hotel.booking.entity.OutboxEvent;
+import com.hotel.booking.event.BookingEvent;
+import com.hotel.booking.repository.OutboxEventRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Relais de l'outbox vers le topic booking-events.
+ * Seules les entrées dues sont lues, par lots dans l'ordre d'écriture : la plus ancienne
+ * de chaque clé, hors backoff. Elles sont envoyées sans attente individuelle puis vidées
+ * en un flush. Une entrée en échec est reprogrammée avec un backoff exponentiel en bloquant
+ * les suivantes de la même clé : l'ordre par réservation est préservé. Après
+ * {@code max-attempts} échecs, ou tout de suite si son contenu est illisible, elle est
+ * mise de côté (parkedAt) et n'est plus relue ; sa clé reste bloquée jusqu'à reprise manuelle.
+ */
+@Component
+@Slf4j
+public class OutboxRelay {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final KafkaProducerService kafkaProducerService;
+    private final ObjectMapper objectMapper;
+    private final int batchSize;
+    private final long sendTimeoutMs;
+    private final long baseBackoffMs;
+    private final long maxBackoffMs;
+    private final int maxAttempts;
+    private final Counter published;
+    private final Counter failed;
+    private final Counter parked;
+
+    public OutboxRelay(OutboxEventRepository outboxEventRepository,
+                       KafkaProducerService kafkaProducerService,
+                       ObjectMapper objectMapper,
+                       MeterRegistry meterRegistry,
+                       @Value("${booking.outbox.batch-size:200}") int batchSize,
+                       @Value("${booking.outbox.send-timeout-ms:10000}") long sendTimeoutMs,
+                       @Value("${booking.outbox.base-backoff-ms:500}") long baseBackoffMs,
+                       @Value("${booking.outbox.max-backoff-ms:60000}") long maxBackoffMs,
+                       @Value("${booking.outbox.max-attempts:50}") int maxAttempts) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.kafkaProducerService = kafkaProducerService;
+        this.objectMapper = objectMapper;
+        this.batchSize = batchSize;
+        this.sendTimeoutMs = sendTimeoutMs;
+        this.baseBackoffMs = baseBackoffMs;
+        this.maxBackoffMs = maxBackoffMs;
+        this.maxAttempts = maxAttempts;
+        this.published = Counter.builder("booking.outbox.published")
+                .description("Outbox entries delivered to Kafka")
+                .register(meterRegistry);
+        this.failed = Counter.builder("booking.outbox.failed")
+                .description("Outbox delivery attempts that failed and were rescheduled or parked")
+                .register(meterRegistry);
+        this.parked = Counter.builder("booking.outbox.parked")
+                .description("Outbox entries abandoned after too many failures or an unreadable payload")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Vider l'outbox tant que des entrées sont livrées
+     */
+    @Scheduled(fixedDelayString = "${booking.outbox.poll-interval-ms:200}")
+    public void relay() {
+        int delivered;
+        do {
+            delivered = relayBatch();
+        } while (delivered > 0);
+    }
+
+    /**
+     * Publier un lot d'entrées et retourner le nombre d'entrées livrées
+     */
+    public synchronized int relayBatch() {
+        LocalDateTime now = LocalDateTime.now();
+        List<OutboxEvent> due = outboxEventRepository.findDue(now, PageRequest.ofSize(batchSize));
+        if (due.isEmpty()) {
+            return 0;
+        }
+
+        List<OutboxEvent> sent = new ArrayList<>();
+        List<CompletableFuture<?>> futures = new ArrayList<>();
+        List<OutboxEvent> undelivered = new ArrayList<>();
+
+        for (OutboxEvent entry : due) {
+            BookingEvent event;
+            try {
+                event = objectMapper.readValue(entry.getPayload(), BookingEvent.class);
+            } catch (Exception e) {
+                // Contenu illisible : réessayer ne changera rien
+                undelivered.add(park(entry, e, now));
+                continue;
+            }
+            try {
+                futures.add(kafkaProducerService.sendBookingEvent(event));
+                sent.add(entry);
+            } catch (Exception e) {
+                undelivered.add(reschedule(entry, e, now));
+            }
+        }
+        if (!sent.isEmpty()) {
+            kafkaProducerService.flush();
+        }
+
+        List<Long> delivered = new ArrayList<>();
+        for (int i = 0; i < sent.size(); i++) {
+            OutboxEvent entry = sent.get(i);
+            try {
+                futures.get(i).get(sendTimeoutMs, TimeUnit.MILLISECONDS);
+                delivered.add(entry.getId());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                undelivered.add(reschedule(entry, e, now));
+            } catch (Exception e) {
+                undelivered.add(reschedule(entry, e, now));
+            }
+        }
+
+        if (!delivered.isEmpty()) {
+            outboxEventRepository.deleteAllByIdInBatch(delivered);
+            published.increment(delivered.size());
+        }
+        if (!undelivered.isEmpty()) {
+            outboxEventRepository.saveAll(undelivered);
+            failed.increment(undelivered.size());
+            log.warn("{} outbox entries could not be published (rescheduled or parked)", undelivered.size());
+        }
+        log.debug("Outbox relay: {} delivered, {} undelivered", delivered.size(), undelivered.size());
+        return delivered.size();
+    }
+
+    private OutboxEvent reschedule(OutboxEvent entry, Exception error, LocalDateTime now) {
+        int attempts = entry.getAttempts() + 1;
+        if (attempts >= maxAttempts) {
+            return park(entry, error, now);
+        }
+        long backoff = Math.min(maxBackoffMs, baseBackoffMs << Math.min(attempts - 1, 20));
+        entry.setAttempts(attempts);
+        entry.setNextAttemptAt(now.plusNanos(TimeUnit.MILLISECONDS.toNanos(backoff)));
+        String message = recordError(entry, error);
+        log.error("Error publishing outbox entry {} (attempt {}): {}", entry.getId(), attempts, message);
+        return entry;
+    }
+
+    /**
+     * Abandonner l'entrée : elle n'est plus relue, et les suivantes de sa clé restent en attente
+     */
+    private OutboxEvent park(OutboxEvent entry, Exception error, LocalDateTime now) {
+        entry.setAttempts(entry.getAttempts() + 1);
+        entry.setParkedAt(now);
+        String message = recordError(entry, error);
+        parked.increment();
+        log.error("Outbox entry {} (key {}) parked after {} attempts, later events of this key are held: {}",
+                entry.getId(), entry.getEventKey(), entry.getAttempts(), message);
+        return entry;
+    }
+
+    private static String recordError(OutboxEvent entry, Exception error) {
+        String message = String.valueOf(error.getMessage());
+        entry.setLastError(message.length() > 500 ? message.substring(0, 500) : message);
+        return message;
+    }
+}
@@ -2,12 +2,18 @@ package com.hotel.booking.repository;
 
 import com.hotel.booking.entity.Booking;
 import com.hotel.booking.entity.BookingStatus;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface BookingRepository extends JpaRepository<Booking, Long> {
@@ -34,10 +40,47 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
     List<Booking> findByRoomIdAndCheckInDateLessThanEqualAndCheckOutDateGreaterThanEqualAndStatusIn(
             Long roomId, LocalDate checkOut, LocalDate checkIn, List<BookingStatus> statuses);
 
+    // Pagination par curseur (keyset) sur l'id
+    List<Booking> findByIdGreaterThanOrderByIdAsc(Long afterId, Pageable pageable);
+
+    List<Booking> findByHotelIdAndIdGreaterThanOrderByIdAsc(Long hotelId, Long afterId, Pageable pageable);
+
+    List<Booking> findByUserIdAndIdGreaterThanOrderByIdAsc(String userId, Long afterId, Pageable pageable);
+
+    List<Booking> findByStatusAndIdGreaterThanOrderByIdAsc(BookingStatus status, Long afterId, Pageable pageable);
+
+    // Lecture en flux pour l'export (fetch size borné, entités en lecture seule)
+    @QueryHints({
+            @QueryHint(name = "org.hibernate.fetchSize", value = "500"),
+            @QueryHint(name = "org.hibernate.readOnly", value = "true")
+    })
+    @Query("select b from Booking b order by b.id")
+    Stream<Booking> streamAll();
+
+    @QueryHints({
+            @QueryHint(name = "org.hibernate.fetchSize", value = "500"),
+            @QueryHint(name = "org.hibernate.readOnly", value = "true")
+    })
+    @Query("select b from Booking b where b.hotelId = :hotelId order by b.id")
+    Stream<Booking> streamByHotelId(@Param("hotelId") Long hotelId);
+
     // Compter les réservations d'un utilisateur
     long countByUserId(String userId);
 
     // Vérifier si une réservation existe pour une chambre à des dates données
     boolean existsByRoomIdAndCheckInDateLessThanAndCheckOutDateGreaterThanAndStatusIn(
             Long roomId, LocalDate checkOut, LocalDate checkIn, List<BookingStatus> statuses);
+
+    // Même vérification en excluant la réservation en cours de modification
+    boolean existsByRoomIdAndIdNotAndCheckInDateLessThanAndCheckOutDateGreaterThanAndStatusIn(
+            Long roomId, Long id, LocalDate checkOut, LocalDate checkIn, List<BookingStatus> statuses);
+
+    // Réservations d'un statut donné non terminées, lues en flux (reconstruction des index en mémoire)
+    @QueryHints({
+            @QueryHint(name = "org.hibernate.fetchSize", value = "500"),
+            @QueryHint(name = "org.hibernate.readOnly", value = "true")
+    })
+    @Query("select b from Booking b where b.status in :statuses and b.checkOutDate > :date")
+    Stream<Booking> streamByStatusInAndCheckOutDateAfter(@Param("statuses") List<BookingStatus> statuses,
+                                                         @Param("date") LocalDate date);
 }
@@ -0,0 +1,23 @@
+package com.hotel.booking.repository;
+
+import com.hotel.booking.entity.OutboxEvent;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+    // Entrées à envoyer maintenant : la plus ancienne de chaque clé, hors backoff et hors lettres mortes.
+    // Les suivantes d'une clé restent derrière elle (ordre par réservation préservé).
+    @Query("select e from OutboxEvent e where e.parkedAt is null"
+            + " and (e.nextAttemptAt is null or e.nextAttemptAt <= :now)"
+            + " and not exists (select p.id from OutboxEvent p where p.eventKey = e.eventKey and p.id < e.id)"
+            + " order by e.id")
+    List<OutboxEvent> findDue(@Param("now") LocalDateTime now, Pageable pageable);
+}
@@ -0,0 +1,181 @@
+package com.hotel.booking.service;
+
+import com.hotel.booking.dto.DailyRevenue;
+import com.hotel.booking.dto.HotelBookingSummary;
+import com.hotel.booking.dto.ProjectionStatus;
+import com.hotel.booking.dto.UserBookingSummary;
+import com.hotel.booking.entity.BookingStatus;
+import com.hotel.booking.event.BookingEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Modèle de lecture des réservations alimenté par le topic booking-events.
+ * Chaque événement porte l'état complet de la réservation : on retire la
+ * contribution précédente de la réservation puis on ajoute la nouvelle, ce qui
+ * rend l'application idempotente. Le dernier offset appliqué par partition
+ * permet en plus d'ignorer les messages relivrés. Les agrégats sont des valeurs
+ * immuables dans des ConcurrentHashMap : une lecture coûte O(1) sans verrou.
+ */
+@Component
+public class BookingProjection {
+
+    // Statuts qui comptent dans l'occupation et le chiffre d'affaires
+    static final Set<BookingStatus> REVENUE_STATUSES =
+            Set.of(BookingStatus.PENDING, BookingStatus.CONFIRMED, BookingStatus.COMPLETED);
+
+    private final Map<Long, Contribution> bookings = new ConcurrentHashMap<>();
+    private final Map<Long, Totals> hotels = new ConcurrentHashMap<>();
+    private final Map<String, Totals> users = new ConcurrentHashMap<>();
+    private final Map<HotelDay, BigDecimal> dailyRevenue = new ConcurrentHashMap<>();
+    private final Map<Integer, Long> offsets = new ConcurrentHashMap<>();
+
+    private final Counter applied;
+    private final Counter duplicates;
+    private volatile long appliedCount;
+    private volatile long duplicateCount;
+
+    public BookingProjection(MeterRegistry meterRegistry) {
+        this.applied = Counter.builder("booking.projection.events")
+                .tag("result", "applied")
+                .description("Booking events applied to the read model")
+                .register(meterRegistry);
+        this.duplicates = Counter.builder("booking.projection.events")
+                .tag("result", "duplicate")
+                .description("Redelivered booking events ignored by offset tracking")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Appliquer un événement lu à (partition, offset).
+     * Retourne false si l'offset a déjà été appliqué.
+     */
+    public synchronized boolean apply(int partition, long offset, BookingEvent event) {
+        Long last = offsets.get(partition);
+        if (last != null && offset <= last) {
+            duplicateCount++;
+            duplicates.increment();
+            return false;
+        }
+        if (event != null && event.getBookingId() != null) {
+            Contribution previous = bookings.remove(event.getBookingId());
+            if (previous != null) {
+                accumulate(previous, -1);
+            }
+            Contribution current = Contribution.of(event);
+            if (current != null) {
+                bookings.put(event.getBookingId(), current);
+                accumulate(current, 1);
+            }
+        }
+        offsets.put(partition, offset);
+        appliedCount++;
+        applied.increment();
+        return true;
+    }
+
+    /**
+     * Prochain offset à lire pour une partition, ou null si elle n'a jamais été lue
+     */
+    public Long nextOffset(int partition) {
+        Long last = offsets.get(partition);
+        return last == null ? null : last + 1;
+    }
+
+    /**
+     * Vider le modèle avant un rejeu complet du topic
+     */
+    public synchronized void reset() {
+        bookings.clear();
+        hotels.clear();
+        users.clear();
+        dailyRevenue.clear();
+        offsets.clear();
+        appliedCount = 0;
+        duplicateCount = 0;
+    }
+
+    public HotelBookingSummary getHotelSummary(Long hotelId) {
+        Totals totals = hotels.getOrDefault(hotelId, Totals.EMPTY);
+        return new HotelBookingSummary(hotelId, totals.bookings, totals.roomNights, totals.amount);
+    }
+
+    public UserBookingSummary getUserSummary(String userId) {
+        Totals totals = users.getOrDefault(userId, Totals.EMPTY);
+        return new UserBookingSummary(userId, totals.bookings, totals.roomNights, totals.amount);
+    }
+
+    public DailyRevenue getDailyRevenue(Long hotelId, LocalDate date) {
+        return new DailyRevenue(hotelId, date, dailyRevenue.getOrDefault(new HotelDay(hotelId, date), BigDecimal.ZERO));
+    }
+
+    public ProjectionStatus getStatus() {
+        return new ProjectionStatus(appliedCount, duplicateCount, bookings.size(), new TreeMap<>(offsets));
+    }
+
+    private void accumulate(Contribution c, int sign) {
+        Totals delta = new Totals(sign, (long) sign * c.nights, sign > 0 ? c.total : c.total.negate());
+        if (c.hotelId != null) {
+            hotels.compute(c.hotelId, (id, t) -> prune(Totals.plus(t, delta)));
+        }
+        if (c.userId != null) {
+            users.compute(c.userId, (id, t) -> prune(Totals.plus(t, delta)));
+        }
+        if (c.hotelId != null && c.checkIn != null && c.nights > 0) {
+            // Le montant est réparti sur les nuits ; le reste d'arrondi va sur la dernière
+            BigDecimal perNight = c.total.divide(BigDecimal.valueOf(c.nights), c.total.scale(), RoundingMode.DOWN);
+            BigDecimal last = c.total.subtract(perNight.multiply(BigDecimal.valueOf(c.nights - 1L)));
+            for (int i = 0; i < c.nights; i++) {
+                BigDecimal amount = i == c.nights - 1 ? last : perNight;
+                BigDecimal signed = sign > 0 ? amount : amount.negate();
+                dailyRevenue.merge(new HotelDay(c.hotelId, c.checkIn.plusDays(i)), signed,
+                        (a, b) -> {
+                            BigDecimal sum = a.add(b);
+                            return sum.signum() == 0 ? null : sum;
+                        });
+            }
+        }
+    }
+
+    private static Totals prune(Totals totals) {
+        return totals.bookings == 0 && totals.amount.signum() == 0 ? null : totals;
+    }
+
+    private record HotelDay(Long hotelId, LocalDate day) {
+    }
+
+    private record Totals(long bookings, long roomNights, BigDecimal amount) {
+        static final Totals EMPTY = new Totals(0, 0, BigDecimal.ZERO);
+
+        static Totals plus(Totals current, Totals delta) {
+            if (current == null) {
+                return delta;
+            }
+            return new Totals(current.bookings + delta.bookings, current.roomNights + delta.roomNights,
+                    current.amount.add(delta.amount));
+        }
+    }
+
+    /**
+     * Ce qu'une réservation apporte aux agrégats ; null si elle ne compte pas
+     */
+    private record Contribution(Long hotelId, String userId, LocalDate checkIn, int nights, BigDecimal total) {
+        static Contribution of(BookingEvent event) {
+            if (event.getStatus() == null || !REVENUE_STATUSES.contains(event.getStatus())) {
+                return null;
+            }
+            int nights = event.getNumberOfNights() != null ? event.getNumberOfNights() : 0;
+            BigDecimal total = event.getTotalPrice() != null ? event.getTotalPrice() : BigDecimal.ZERO;
+            return new Contribution(event.getHotelId(), event.getUserId(), event.getCheckInDate(), nights, total);
+        }
+    }
+}
@@ -1,71 +1,104 @@
 package com.hotel.booking.service;
 
+import com.hotel.booking.dto.BatchBookingItemResult;
+import com.hotel.booking.dto.BatchBookingRequest;
+import com.hotel.booking.dto.BatchBookingResponse;
+import com.hotel.booking.dto.BookingPage;
 import com.hotel.booking.dto.BookingRequest;
 import com.hotel.booking.dto.BookingResponse;
 import com.hotel.booking.dto.BookingUpdateRequest;
+import com.hotel.booking.dto.HotelStatsResponse;
 import com.hotel.booking.entity.Booking;
 import com.hotel.booking.entity.BookingStatus;
+import com.hotel.booking.entity.OutboxEvent;
 import com.hotel.booking.event.BookingEvent;
 import com.hotel.booking.exception.BookingNotFoundException;
 import com.hotel.booking.exception.InvalidBookingException;
-import com.hotel.booking.kafka.KafkaProducerService;
+import com.hotel.booking.exception.RoomNotAvailableException;
 import com.hotel.booking.repository.BookingRepository;
+import com.hotel.booking.repository.OutboxEventRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
-import java.util.UUID;
+import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class BookingService {
 
+    static final int DEFAULT_PAGE_SIZE = 50;
+    static final int MAX_PAGE_SIZE = 500;
+
     private final BookingRepository bookingRepository;
-    private final KafkaProducerService kafkaProducerService;
+    private final OutboxEventRepository outboxEventRepository;
+    private final RoomAvailabilityIndex availabilityIndex;
+    private final HotelStatsIndex statsIndex;
+    private final ReservationEngine reservationEngine;
+    private final TransactionTemplate transactionTemplate;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+    private final EntityManager entityManager;
+    private final IdGenerator idGenerator;
 
     /**
-     * Créer une nouvelle réservation
+     * Créer une nouvelle réservation.
+     * La vérification de disponibilité et le commit se font sous le verrou de la chambre.
      */
-    @Transactional
     public BookingResponse createBooking(BookingRequest request) {
         log.info("Creating new booking for user: {}", request.getUserId());
 
         // Validation des dates
         validateDates(request.getCheckInDate(), request.getCheckOutDate());
 
-        // Créer l'entité Booking
-        Booking booking = new Booking();
-        booking.setConfirmationNumber(generateConfirmationNumber());
-        booking.setRoomId(request.getRoomId());
-        booking.setHotelId(request.getHotelId());
-        booking.setUserId(request.getUserId());
-        booking.setCheckInDate(request.getCheckInDate());
-        booking.setCheckOutDate(request.getCheckOutDate());
-        booking.setNumberOfGuests(request.getNumberOfGuests());
-        booking.setPricePerNight(request.getPricePerNight());
-        booking.setSpecialRequests(request.getSpecialRequests());
+        return reservationEngine.executeForRoom(request.getRoomId(),
+                () -> transactionTemplate.execute(status -> doCreateBooking(request)));
+    }
 
-        // Calculer le nombre de nuits et le prix total
-        int numberOfNights = calculateNumberOfNights(request.getCheckInDate(), request.getCheckOutDate());
-        booking.setNumberOfNights(numberOfNights);
-        
-        BigDecimal totalPrice = request.getPricePerNight().multiply(BigDecimal.valueOf(numberOfNights));
-        booking.setTotalPrice(totalPrice);
+    private BookingResponse doCreateBooking(BookingRequest request) {
+        // Vérifier la disponibilité de la chambre
+        if (!availabilityIndex.isAvailable(request.getRoomId(), request.getCheckInDate(), request.getCheckOutDate())) {
+            throw new RoomNotAvailableException("Room " + request.getRoomId() + " is not available from "
+                    + request.getCheckInDate() + " to " + request.getCheckOutDate());
+        }
 
-        booking.setStatus(BookingStatus.CONFIRMED);
+        // Créer l'entité Booking
+        Booking booking = buildBooking(request);
 
         // Sauvegarder
         Booking savedBooking = bookingRepository.save(booking);
         log.info("Booking created successfully with confirmation number: {}", savedBooking.getConfirmationNumber());
 
+        afterCommit(() -> {
+            availabilityIndex.reserve(savedBooking.getRoomId(), savedBooking.getCheckInDate(), savedBooking.getCheckOutDate());
+            statsIndex.record(savedBooking);
+        });
+
         // Publier l'événement Kafka
         publishBookingEvent(savedBooking, "CREATED");
 
@@ -73,13 +106,92 @@ public class BookingService {
     }
 
     /**
-     * Récupérer toutes les réservations
+     * Créer plusieurs réservations en une seule transaction (groupes, tour-opérateurs).
+     * Chaque élément est validé et vérifié individuellement ; les éléments valides sont
+     * insérés par lot JDBC et leurs événements envoyés en un seul flush Kafka.
      */
-    public List<BookingResponse> getAllBookings() {
-        log.info("Fetching all bookings");
-        return bookingRepository.findAll().stream()
-                .map(this::mapToResponse)
-                .collect(Collectors.toList());
+    public BatchBookingResponse createBookings(BatchBookingRequest batchRequest) {
+        List<BookingRequest> requests = batchRequest.getBookings();
+        log.info("Creating batch of {} bookings", requests.size());
+
+        BatchBookingItemResult[] results = new BatchBookingItemResult[requests.size()];
+        List<Integer> candidates = new ArrayList<>();
+        for (int i = 0; i < requests.size(); i++) {
+            String error = validateBatchItem(requests.get(i));
+            if (error != null) {
+                results[i] = BatchBookingItemResult.failure(i, error);
+            } else {
+                candidates.add(i);
+            }
+        }
+
+        Set<Long> roomIds = candidates.stream()
+                .map(i -> requests.get(i).getRoomId())
+                .collect(Collectors.toSet());
+
+        if (!candidates.isEmpty()) {
+            reservationEngine.executeForRooms(roomIds,
+                    () -> transactionTemplate.execute(status -> doCreateBookings(requests, candidates, results)));
+        }
+
+        BatchBookingResponse response = new BatchBookingResponse();
+        response.setResults(Arrays.asList(results));
+        response.setRequested(results.length);
+        response.setSucceeded((int) Arrays.stream(results).filter(BatchBookingItemResult::isSuccess).count());
+        response.setFailed(results.length - response.getSucceeded());
+        log.info("Batch completed: {} created, {} failed", response.getSucceeded(), response.getFailed());
+        return response;
+    }
+
+    private List<Booking> doCreateBookings(List<BookingRequest> requests, List<Integer> candidates,
+                                           BatchBookingItemResult[] results) {
+        // Nuits déjà retenues par les éléments précédents du lot, par chambre
+        Map<Long, List<BookingRequest>> acceptedByRoom = new HashMap<>();
+        List<Integer> acceptedIndexes = new ArrayList<>();
+        List<Booking> toInsert = new ArrayList<>();
+
+        for (Integer i : candidates) {
+            BookingRequest request = requests.get(i);
+            List<BookingRequest> sameRoom = acceptedByRoom.computeIfAbsent(request.getRoomId(), id -> new ArrayList<>());
+            boolean overlapsBatch = sameRoom.stream().anyMatch(other ->
+                    other.getCheckInDate().isBefore(request.getCheckOutDate())
+                            && other.getCheckOutDate().isAfter(request.getCheckInDate()));
+            if (overlapsBatch || !availabilityIndex.isAvailable(
+                    request.getRoomId(), request.getCheckInDate(), request.getCheckOutDate())) {
+                results[i] = BatchBookingItemResult.failure(i, "Room " + request.getRoomId() + " is not available from "
+                        + request.getCheckInDate() + " to " + request.getCheckOutDate());
+                continue;
+            }
+            sameRoom.add(request);
+            acceptedIndexes.add(i);
+            toInsert.add(buildBooking(request));
+        }
+
+        List<Booking> saved = bookingRepository.saveAll(toInsert);
+
+        List<OutboxEvent> outbox = new ArrayList<>(saved.size());
+        for (int k = 0; k < saved.size(); k++) {
+            Booking booking = saved.get(k);
+            int index = acceptedIndexes.get(k);
+            results[index] = BatchBookingItemResult.success(index, mapToResponse(booking));
+            outbox.add(toOutboxEvent(toEvent(booking, "CREATED")));
+        }
+        outboxEventRepository.saveAll(outbox);
+
+        afterCommit(() -> saved.forEach(booking -> {
+            availabilityIndex.reserve(booking.getRoomId(), booking.getCheckInDate(), booking.getCheckOutDate());
+            statsIndex.record(booking);
+        }));
+        return saved;
+    }
+
+    /**
+     * Récupérer une page de réservations (pagination par curseur sur l'id)
+     */
+    public BookingPage getAllBookings(Long after, Integer size) {
+        log.info("Fetching bookings after ID: {}", after);
+        int limit = pageSize(size);
+        return toPage(bookingRepository.findByIdGreaterThanOrderByIdAsc(cursor(after), PageRequest.ofSize(limit + 1)), limit);
     }
 
     /**
@@ -105,40 +217,75 @@ public class BookingService {
     /**
      * Récupérer toutes les réservations d'un utilisateur
      */
-    public List<BookingResponse> getBookingsByUserId(String userId) {
-        log.info("Fetching bookings for user: {}", userId);
-        return bookingRepository.findByUserId(userId).stream()
-                .map(this::mapToResponse)
-                .collect(Collectors.toList());
+    public BookingPage getBookingsByUserId(String userId, Long after, Integer size) {
+        log.info("Fetching bookings for user: {} after ID: {}", userId, after);
+        int limit = pageSize(size);
+        return toPage(bookingRepository.findByUserIdAndIdGreaterThanOrderByIdAsc(
+                userId, cursor(after), PageRequest.ofSize(limit + 1)), limit);
     }
 
     /**
      * Récupérer les réservations par statut
      */
-    public List<BookingResponse> getBookingsByStatus(BookingStatus status) {
-        log.info("Fetching bookings with status: {}", status);
-        return bookingRepository.findByStatus(status).stream()
-                .map(this::mapToResponse)
-                .collect(Collectors.toList());
+    public BookingPage getBookingsByStatus(BookingStatus status, Long after, Integer size) {
+        log.info("Fetching bookings with status: {} after ID: {}", status, after);
+        int limit = pageSize(size);
+        return toPage(bookingRepository.findByStatusAndIdGreaterThanOrderByIdAsc(
+                status, cursor(after), PageRequest.ofSize(limit + 1)), limit);
     }
 
     /**
      * Récupérer les réservations d'un hôtel
      */
-    public List<BookingResponse> getBookingsByHotelId(Long hotelId) {
-        log.info("Fetching bookings for hotel: {}", hotelId);
-        return bookingRepository.findByHotelId(hotelId).stream()
-                .map(this::mapToResponse)
-                .collect(Collectors.toList());
+    public BookingPage getBookingsByHotelId(Long hotelId, Long after, Integer size) {
+        log.info("Fetching bookings for hotel: {} after ID: {}", hotelId, after);
+        int limit = pageSize(size);
+        return toPage(bookingRepository.findByHotelIdAndIdGreaterThanOrderByIdAsc(
+                hotelId, cursor(after), PageRequest.ofSize(limit + 1)), limit);
+    }
+
+    /**
+     * Occupation, ADR et RevPAR d'un hôtel sur les nuits [from, to]
+     */
+    public HotelStatsResponse getHotelStats(Long hotelId, LocalDate from, LocalDate to, Integer rooms) {
+        log.info("Computing stats for hotel {} from {} to {}", hotelId, from, to);
+        return statsIndex.getStats(hotelId, from, to, rooms);
+    }
+
+    /**
+     * Exporter les réservations en NDJSON (une ligne JSON par réservation).
+     * Les lignes sont lues via un Stream JPA à fetch size borné et détachées
+     * au fil de l'eau : la mémoire reste constante quelle que soit la taille de la table.
+     */
+    @Transactional(readOnly = true)
+    public void exportBookings(Long hotelId, OutputStream out) throws IOException {
+        log.info("Exporting bookings as NDJSON (hotel filter: {})", hotelId);
+        try (Stream<Booking> bookings = hotelId != null
+                ? bookingRepository.streamByHotelId(hotelId)
+                : bookingRepository.streamAll()) {
+            Iterator<Booking> iterator = bookings.iterator();
+            while (iterator.hasNext()) {
+                Booking booking = iterator.next();
+                out.write(objectMapper.writeValueAsBytes(mapToResponse(booking)));
+                out.write('\n');
+                entityManager.detach(booking);
+            }
+        }
+        out.flush();
     }
 
     /**
-     * Mettre à jour une réservation
+     * Mettre à jour une réservation.
+     * La chambre ne change pas : on verrouille celle de la réservation existante.
      */
-    @Transactional
     public BookingResponse updateBooking(Long id, BookingUpdateRequest request) {
         log.info("Updating booking with ID: {}", id);
 
+        return reservationEngine.executeForRoom(roomIdOf(id),
+                () -> transactionTemplate.execute(status -> doUpdateBooking(id, request)));
+    }
+
+    private BookingResponse doUpdateBooking(Long id, BookingUpdateRequest request) {
         Booking booking = bookingRepository.findById(id)
                 .orElseThrow(() -> new BookingNotFoundException("Booking not found with ID: " + id));
 
@@ -147,9 +294,20 @@ public class BookingService {
             throw new InvalidBookingException("Cannot update a " + booking.getStatus() + " booking");
         }
 
+        LocalDate previousCheckIn = booking.getCheckInDate();
+        LocalDate previousCheckOut = booking.getCheckOutDate();
+        boolean active = RoomAvailabilityIndex.ACTIVE_STATUSES.contains(booking.getStatus());
+        boolean sold = HotelStatsIndex.SOLD_STATUSES.contains(booking.getStatus());
+
         // Mettre à jour les champs si fournis
         if (request.getCheckInDate() != null && request.getCheckOutDate() != null) {
             validateDates(request.getCheckInDate(), request.getCheckOutDate());
+            if (active && !availabilityIndex.isAvailableExcluding(booking.getRoomId(),
+                    request.getCheckInDate(), request.getCheckOutDate(),
+                    booking.getId(), previousCheckIn, previousCheckOut)) {
+                throw new RoomNotAvailableException("Room " + booking.getRoomId() + " is not available from "
+                        + request.getCheckInDate() + " to " + request.getCheckOutDate());
+            }
             booking.setCheckInDate(request.getCheckInDate());
             booking.setCheckOutDate(request.getCheckOutDate());
 
@@ -171,6 +329,21 @@ public class BookingService {
         Booking updatedBooking = bookingRepository.save(booking);
         log.info("Booking updated successfully: {}", id);
 
+        if (active) {
+            afterCommit(() -> {
+                availabilityIndex.release(updatedBooking.getRoomId(), previousCheckIn, previousCheckOut);
+                availabilityIndex.reserve(updatedBooking.getRoomId(),
+                        updatedBooking.getCheckInDate(), updatedBooking.getCheckOutDate());
+            });
+        }
+        if (sold) {
+            afterCommit(() -> {
+                statsIndex.remove(updatedBooking.getHotelId(), previousCheckIn, previousCheckOut,
+                        updatedBooking.getPricePerNight());
+                statsIndex.record(updatedBooking);
+            });
+        }
+
         // Publier l'événement Kafka
         publishBookingEvent(updatedBooking, "UPDATED");
 
@@ -178,12 +351,16 @@ public class BookingService {
     }
 
     /**
-     * Annuler une réservation
+     * Annuler une réservation, sous le verrou de sa chambre comme la création et la mise à jour
      */
-    @Transactional
     public BookingResponse cancelBooking(Long id) {
         log.info("Cancelling booking with ID: {}", id);
 
+        return reservationEngine.executeForRoom(roomIdOf(id),
+                () -> transactionTemplate.execute(status -> doCancelBooking(id)));
+    }
+
+    private BookingResponse doCancelBooking(Long id) {
         Booking booking = bookingRepository.findById(id)
                 .orElseThrow(() -> new BookingNotFoundException("Booking not found with ID: " + id));
 
@@ -195,10 +372,22 @@ public class BookingService {
             throw new InvalidBookingException("Cannot cancel a completed booking");
         }
 
+        boolean active = RoomAvailabilityIndex.ACTIVE_STATUSES.contains(booking.getStatus());
+        boolean sold = HotelStatsIndex.SOLD_STATUSES.contains(booking.getStatus());
+
         booking.setStatus(BookingStatus.CANCELLED);
         Booking cancelledBooking = bookingRepository.save(booking);
         log.info("Booking cancelled successfully: {}", id);
 
+        if (active) {
+            afterCommit(() -> availabilityIndex.release(
+                    cancelledBooking.getRoomId(), cancelledBooking.getCheckInDate(), cancelledBooking.getCheckOutDate()));
+        }
+        if (sold) {
+            afterCommit(() -> statsIndex.remove(cancelledBooking.getHotelId(),
+                    cancelledBooking.getCheckInDate(), cancelledBooking.getCheckOutDate(), cancelledBooking.getPricePerNight()));
+        }
+
         // Publier l'événement Kafka
         publishBookingEvent(cancelledBooking, "CANCELLED");
 
@@ -206,23 +395,50 @@ public class BookingService {
     }
 
     /**
-     * Supprimer une réservation (soft delete via statut)
+     * Supprimer une réservation (soft delete via statut), sous le verrou de sa chambre
      */
-    @Transactional
     public void deleteBooking(Long id) {
         log.info("Deleting booking with ID: {}", id);
-        
+
+        reservationEngine.executeForRoom(roomIdOf(id),
+                () -> transactionTemplate.execute(status -> doDeleteBooking(id)));
+    }
+
+    private Void doDeleteBooking(Long id) {
         Booking booking = bookingRepository.findById(id)
                 .orElseThrow(() -> new BookingNotFoundException("Booking not found with ID: " + id));
 
+        boolean active = RoomAvailabilityIndex.ACTIVE_STATUSES.contains(booking.getStatus());
+        boolean sold = HotelStatsIndex.SOLD_STATUSES.contains(booking.getStatus());
+
         // On annule plutôt que de supprimer physiquement
         booking.setStatus(BookingStatus.CANCELLED);
         bookingRepository.save(booking);
         log.info("Booking deleted (cancelled) successfully: {}", id);
+
+        if (active) {
+            afterCommit(() -> availabilityIndex.release(
+                    booking.getRoomId(), booking.getCheckInDate(), booking.getCheckOutDate()));
+        }
+        if (sold) {
+            afterCommit(() -> statsIndex.remove(booking.getHotelId(), booking.getCheckInDate(),
+                    booking.getCheckOutDate(), booking.getPricePerNight()));
+        }
+        return null;
     }
 
     // ==================== Helper Methods ====================
 
+    /**
+     * Chambre d'une réservation existante, lue hors transaction pour choisir le verrou.
+     * La chambre d'une réservation ne change jamais.
+     */
+    private Long roomIdOf(Long id) {
+        return bookingRepository.findById(id)
+                .map(Booking::getRoomId)
+                .orElseThrow(() -> new BookingNotFoundException("Booking not found with ID: " + id));
+    }
+
     /**
      * Valider les dates de réservation
      */
@@ -243,6 +459,84 @@ public class BookingService {
         }
     }
 
+    /**
+     * Taille de page bornée côté serveur
+     */
+    private int pageSize(Integer size) {
+        if (size == null) {
+            return DEFAULT_PAGE_SIZE;
+        }
+        if (size < 1) {
+            throw new InvalidBookingException("Page size must be at least 1");
+        }
+        return Math.min(size, MAX_PAGE_SIZE);
+    }
+
+    private long cursor(Long after) {
+        return after != null ? after : 0L;
+    }
+
+    /**
+     * Construire la page : une ligne de plus que demandé a été lue pour savoir s'il reste des données
+     */
+    private BookingPage toPage(List<Booking> rows, int limit) {
+        boolean hasNext = rows.size() > limit;
+        List<BookingResponse> content = rows.stream()
+                .limit(limit)
+                .map(this::mapToResponse)
+                .collect(Collectors.toList());
+        Long nextCursor = hasNext ? content.get(content.size() - 1).getId() : null;
+        return new BookingPage(content, content.size(), hasNext, nextCursor);
+    }
+
+    /**
+     * Valider un élément de lot : contraintes du DTO puis règles métier sur les dates
+     */
+    private String validateBatchItem(BookingRequest request) {
+        if (request == null) {
+            return "Booking request is required";
+        }
+        Set<ConstraintViolation<BookingRequest>> violations = validator.validate(request);
+        if (!violations.isEmpty()) {
+            return violations.stream()
+                    .map(v -> v.getPropertyPath() + ": " + v.getMessage())
+                    .sorted()
+                    .collect(Collectors.joining(", "));
+        }
+        try {
+            validateDates(request.getCheckInDate(), request.getCheckOutDate());
+        } catch (InvalidBookingException e) {
+            return e.getMessage();
+        }
+        return null;
+    }
+
+    /**
+     * Construire l'entité Booking à partir de la requête
+     */
+    private Booking buildBooking(BookingRequest request) {
+        Booking booking = new Booking();
+        booking.setConfirmationNumber(generateConfirmationNumber());
+        booking.setRoomId(request.getRoomId());
+        booking.setHotelId(request.getHotelId());
+        booking.setUserId(request.getUserId());
+        booking.setCheckInDate(request.getCheckInDate());
+        booking.setCheckOutDate(request.getCheckOutDate());
+        booking.setNumberOfGuests(request.getNumberOfGuests());
+        booking.setPricePerNight(request.getPricePerNight());
+        booking.setSpecialRequests(request.getSpecialRequests());
+
+        // Calculer le nombre de nuits et le prix total
+        int numberOfNights = calculateNumberOfNights(request.getCheckInDate(), request.getCheckOutDate());
+        booking.setNumberOfNights(numberOfNights);
+
+        BigDecimal totalPrice = request.getPricePerNight().multiply(BigDecimal.valueOf(numberOfNights));
+        booking.setTotalPrice(totalPrice);
+
+        booking.setStatus(BookingStatus.CONFIRMED);
+        return booking;
+    }
+
     /**
      * Calculer le nombre de nuits
      */
@@ -251,17 +545,54 @@ public class BookingService {
     }
 
     /**
-     * Générer un numéro de confirmation unique
+     * Générer un numéro de confirmation unique, sans requête en base
      */
     private String generateConfirmationNumber() {
-        return "BK-" + UUID.randomUUID().toString().substring(0, 8).toUpperCase();
+        return idGenerator.next("BK-");
     }
 
     /**
-     * Publier un événement Kafka pour une réservation
+     * Exécuter une action après le commit de la transaction courante,
+     * pour que l'index de disponibilité ne reflète que des données validées
+     */
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    /**
+     * Publier un événement pour une réservation : il est écrit dans l'outbox,
+     * dans la même transaction, puis relayé vers Kafka par OutboxRelay
      */
     private void publishBookingEvent(Booking booking, String eventType) {
-        BookingEvent event = BookingEvent.builder()
+        outboxEventRepository.save(toOutboxEvent(toEvent(booking, eventType)));
+    }
+
+    private OutboxEvent toOutboxEvent(BookingEvent event) {
+        OutboxEvent entry = new OutboxEvent();
+        entry.setEventKey(event.getConfirmationNumber());
+        entry.setEventType(event.getEventType());
+        try {
+            entry.setPayload(objectMapper.writeValueAsString(event));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Unable to serialize booking event", e);
+        }
+        return entry;
+    }
+
+    /**
+     * Construire l'événement Kafka d'une réservation
+     */
+    private BookingEvent toEvent(Booking booking, String eventType) {
+        return BookingEvent.builder()
                 .bookingId(booking.getId())
                 .confirmationNumber(booking.getConfirmationNumber())
                 .eventType(eventType)
@@ -277,8 +608,6 @@ public class BookingService {
                 .status(booking.getStatus())
                 .eventTime(LocalDateTime.now())
                 .build();
-        
-        kafkaProducerService.sendBookingEvent(event);
     }
 
     /**
@@ -0,0 +1,264 @@
+package com.hotel.booking.service;
+
+import com.hotel.booking.dto.HotelStatsResponse;
+import com.hotel.booking.dto.NightlyStats;
+import com.hotel.booking.entity.Booking;
+import com.hotel.booking.entity.BookingStatus;
+import com.hotel.booking.exception.InvalidBookingException;
+import com.hotel.booking.repository.BookingRepository;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+/**
+ * Compteurs d'occupation et de chiffre d'affaires par hôtel et par nuit.
+ * Chaque hôtel possède des tableaux de long (chambres vendues, revenu en centimes)
+ * indexés par jour sur la fenêtre [baseDay, baseDay + windowDays), doublés d'arbres
+ * de Fenwick : une mise à jour coûte O(nuits · log n) et le total d'une période
+ * est une différence de deux sommes préfixes, en O(log n).
+ * <p>
+ * Comme pour {@link RoomAvailabilityIndex}, les compteurs et leur jour de base sont publiés
+ * ensemble dans un {@link Snapshot}, et la reconstruction détient toutes les stripes du
+ * {@link ReservationEngine} : aucune réservation validée pendant la lecture n'est perdue.
+ */
+@Component
+@Slf4j
+public class HotelStatsIndex {
+
+    // Statuts qui comptent comme chambres vendues
+    static final List<BookingStatus> SOLD_STATUSES =
+            List.of(BookingStatus.PENDING, BookingStatus.CONFIRMED, BookingStatus.COMPLETED);
+
+    private final BookingRepository bookingRepository;
+    private final ReservationEngine reservationEngine;
+    private final TransactionTemplate transactionTemplate;
+    private final EntityManager entityManager;
+    private final int historyDays;
+    private final int windowDays;
+
+    private volatile Snapshot snapshot;
+
+    public HotelStatsIndex(BookingRepository bookingRepository,
+                           ReservationEngine reservationEngine,
+                           TransactionTemplate transactionTemplate,
+                           EntityManager entityManager,
+                           @Value("${booking.stats.history-days:365}") int historyDays,
+                           @Value("${booking.stats.horizon-days:365}") int horizonDays) {
+        this.bookingRepository = bookingRepository;
+        this.reservationEngine = reservationEngine;
+        this.transactionTemplate = transactionTemplate;
+        this.entityManager = entityManager;
+        this.historyDays = historyDays;
+        this.windowDays = historyDays + horizonDays;
+        this.snapshot = new Snapshot(LocalDate.now().toEpochDay() - historyDays, new ConcurrentHashMap<>());
+    }
+
+    /**
+     * Reconstruire les compteurs depuis le repository au démarrage puis chaque nuit,
+     * pour faire glisser la fenêtre. Les réservations sont lues en flux, sous toutes les stripes.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${booking.stats.rebuild-cron:0 10 0 * * *}")
+    public synchronized void rebuild() {
+        long newBase = LocalDate.now().toEpochDay() - historyDays;
+        Map<Long, HotelCounters> rebuilt = new ConcurrentHashMap<>();
+
+        long count = reservationEngine.executeForAllRooms(() -> transactionTemplate.execute(status -> {
+            long loaded = 0;
+            try (Stream<Booking> bookings = bookingRepository.streamByStatusInAndCheckOutDateAfter(
+                    SOLD_STATUSES, LocalDate.ofEpochDay(newBase))) {
+                Iterator<Booking> iterator = bookings.iterator();
+                while (iterator.hasNext()) {
+                    Booking booking = iterator.next();
+                    rebuilt.computeIfAbsent(booking.getHotelId(), id -> new HotelCounters(windowDays))
+                            .add(newBase, booking, 1);
+                    entityManager.detach(booking);
+                    loaded++;
+                }
+            }
+            this.snapshot = new Snapshot(newBase, rebuilt);
+            return loaded;
+        }));
+        log.info("Hotel stats index rebuilt: {} bookings over {} hotels", count, rebuilt.size());
+    }
+
+    /**
+     * Ajouter les nuits d'une réservation si son statut compte comme vendu
+     */
+    public void record(Booking booking) {
+        if (SOLD_STATUSES.contains(booking.getStatus())) {
+            Snapshot current = snapshot;
+            current.countersByHotel().computeIfAbsent(booking.getHotelId(), id -> new HotelCounters(windowDays))
+                    .add(current.baseDay(), booking, 1);
+        }
+    }
+
+    /**
+     * Retirer les nuits [checkIn, checkOut) d'une réservation précédemment comptée
+     */
+    public void remove(Long hotelId, LocalDate checkIn, LocalDate checkOut, BigDecimal pricePerNight) {
+        Snapshot current = snapshot;
+        HotelCounters counters = current.countersByHotel().get(hotelId);
+        if (counters != null) {
+            counters.update(current.baseDay(), checkIn, checkOut, pricePerNight, -1);
+        }
+    }
+
+    /**
+     * Statistiques sur les nuits [from, to] incluses, pour un hôtel de {@code rooms} chambres.
+     * Le nombre de chambres n'est connu que de hotel-service : l'appelant doit le fournir.
+     */
+    public HotelStatsResponse getStats(Long hotelId, LocalDate from, LocalDate to, Integer rooms) {
+        if (to.isBefore(from)) {
+            throw new InvalidBookingException("'to' must not be before 'from'");
+        }
+        Snapshot current = snapshot;
+        long base = current.baseDay();
+        int start = (int) (from.toEpochDay() - base);
+        int end = (int) (to.toEpochDay() - base) + 1;
+        if (start < 0 || end > windowDays) {
+            throw new InvalidBookingException("Stats are only available from " + LocalDate.ofEpochDay(base)
+                    + " to " + LocalDate.ofEpochDay(base + windowDays - 1));
+        }
+        if (rooms == null || rooms <= 0) {
+            throw new InvalidBookingException("'rooms' is required and must be positive");
+        }
+
+        HotelCounters counters = current.countersByHotel().get(hotelId);
+        long sold = 0;
+        long revenueCents = 0;
+        int capacity = rooms;
+        List<NightlyStats> nightly = new ArrayList<>(end - start);
+        if (counters != null) {
+            synchronized (counters) {
+                sold = counters.roomsSold.rangeSum(start, end);
+                revenueCents = counters.revenueCents.rangeSum(start, end);
+                for (int day = start; day < end; day++) {
+                    nightly.add(nightly(base + day, counters.roomsSold.get(day), counters.revenueCents.get(day), capacity));
+                }
+            }
+        } else {
+            for (int day = start; day < end; day++) {
+                nightly.add(nightly(base + day, 0, 0, capacity));
+            }
+        }
+
+        int nights = end - start;
+        long available = (long) capacity * nights;
+        BigDecimal revenue = BigDecimal.valueOf(revenueCents, 2);
+        return new HotelStatsResponse(hotelId, from, to, capacity, sold, available,
+                ratio(sold, available), revenue, divide(revenue, sold), divide(revenue, available), nightly);
+    }
+
+    private static NightlyStats nightly(long epochDay, long sold, long revenueCents, int capacity) {
+        BigDecimal revenue = BigDecimal.valueOf(revenueCents, 2);
+        return new NightlyStats(LocalDate.ofEpochDay(epochDay), sold, ratio(sold, capacity), revenue,
+                divide(revenue, sold), divide(revenue, capacity));
+    }
+
+    private static double ratio(long part, long whole) {
+        return whole == 0 ? 0.0 : (double) part / whole;
+    }
+
+    private static BigDecimal divide(BigDecimal amount, long count) {
+        return count == 0 ? BigDecimal.ZERO.setScale(2) : amount.divide(BigDecimal.valueOf(count), 2, RoundingMode.HALF_UP);
+    }
+
+    private static long cents(BigDecimal amount) {
+        return amount == null ? 0 : amount.setScale(2, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+
+    /**
+     * Compteurs d'un hôtel ; toutes les opérations se font sous son moniteur
+     */
+    private static final class HotelCounters {
+        private final PrefixSums roomsSold;
+        private final PrefixSums revenueCents;
+
+        HotelCounters(int days) {
+            this.roomsSold = new PrefixSums(days);
+            this.revenueCents = new PrefixSums(days);
+        }
+
+        void add(long base, Booking booking, int sign) {
+            update(base, booking.getCheckInDate(), booking.getCheckOutDate(), booking.getPricePerNight(), sign);
+        }
+
+        synchronized void update(long base, LocalDate checkIn, LocalDate checkOut, BigDecimal pricePerNight, int sign) {
+            long nightly = cents(pricePerNight) * sign;
+            int from = (int) Math.max(0, checkIn.toEpochDay() - base);
+            int to = (int) Math.min(roomsSold.size(), checkOut.toEpochDay() - base);
+            for (int day = from; day < to; day++) {
+                roomsSold.add(day, sign);
+                revenueCents.add(day, nightly);
+            }
+        }
+    }
+
+    /**
+     * Compteurs par hôtel et jour de l'indice 0, publiés ensemble
+     */
+    private record Snapshot(long baseDay, Map<Long, HotelCounters> countersByHotel) {
+    }
+
+    /**
+     * Valeurs journalières et arbre de Fenwick associé, en tableaux de long
+     */
+    static final class PrefixSums {
+        private final long[] values;
+        private final long[] tree;
+
+        PrefixSums(int size) {
+            this.values = new long[size];
+            this.tree = new long[size + 1];
+        }
+
+        int size() {
+            return values.length;
+        }
+
+        long get(int index) {
+            return values[index];
+        }
+
+        void add(int index, long delta) {
+            values[index] += delta;
+            for (int i = index + 1; i < tree.length; i += i & -i) {
+                tree[i] += delta;
+            }
+        }
+
+        /**
+         * Somme des valeurs sur [0, end)
+         */
+        long prefixSum(int end) {
+            long sum = 0;
+            for (int i = end; i > 0; i -= i & -i) {
+                sum += tree[i];
+            }
+            return sum;
+        }
+
+        /**
+         * Somme des valeurs sur [start, end)
+         */
+        long rangeSum(int start, int end) {
+            return prefixSum(end) - prefixSum(start);
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package com.hotel.booking.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+
+/**
+ * Sérialise les réservations concurrentes d'une même chambre à l'aide de verrous
+ * répartis (striped locks). Deux requêtes sur la même chambre passent l'une après
+ * l'autre (vérification + insertion + commit), tandis que des chambres différentes
+ * sont traitées en parallèle sauf collision de stripe.
+ */
+@Component
+public class ReservationEngine {
+
+    private final ReentrantLock[] stripes;
+    private final int mask;
+    private final Counter acquisitions;
+    private final Counter contended;
+    private final Timer waitTimer;
+
+    public ReservationEngine(MeterRegistry meterRegistry,
+                             @Value("${booking.reservation.lock-stripes:256}") int stripeCount) {
+        int size = Integer.highestOneBit(Math.max(1, stripeCount - 1) << 1);
+        this.stripes = new ReentrantLock[size];
+        for (int i = 0; i < size; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+        this.mask = size - 1;
+        this.acquisitions = Counter.builder("booking.reservation.lock.acquisitions")
+                .description("Room lock acquisitions")
+                .register(meterRegistry);
+        this.contended = Counter.builder("booking.reservation.lock.contended")
+                .description("Room lock acquisitions that had to wait for another request")
+                .register(meterRegistry);
+        this.waitTimer = Timer.builder("booking.reservation.lock.wait")
+                .description("Time spent waiting for a contended room lock")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Exécuter l'action en détenant le verrou de la chambre.
+     * L'action doit inclure le commit pour que la réservation suivante voie ses effets.
+     */
+    public <T> T executeForRoom(Long roomId, Supplier<T> action) {
+        ReentrantLock lock = stripeFor(roomId);
+        acquire(lock);
+        try {
+            return action.get();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Exécuter l'action en détenant les verrous de plusieurs chambres (réservations groupées).
+     * Les stripes sont verrouillées dans l'ordre croissant pour éviter tout interblocage.
+     */
+    public <T> T executeForRooms(Collection<Long> roomIds, Supplier<T> action) {
+        int[] indexes = roomIds.stream()
+                .mapToInt(this::stripeIndex)
+                .distinct()
+                .sorted()
+                .toArray();
+        return executeLocked(indexes, action);
+    }
+
+    /**
+     * Exécuter l'action en détenant toutes les stripes (reconstruction des index en mémoire) :
+     * aucune réservation ne peut être validée pendant l'action. Même ordre croissant que ci-dessus.
+     */
+    public <T> T executeForAllRooms(Supplier<T> action) {
+        return executeLocked(IntStream.range(0, stripes.length).toArray(), action);
+    }
+
+    int stripeCount() {
+        return stripes.length;
+    }
+
+    int stripeIndex(Long roomId) {
+        int h = roomId.hashCode();
+        h ^= (h >>> 16);
+        h *= 0x45d9f3b;
+        h ^= (h >>> 16);
+        return h & mask;
+    }
+
+    private <T> T executeLocked(int[] indexes, Supplier<T> action) {
+        int locked = 0;
+        try {
+            for (int index : indexes) {
+                acquire(stripes[index]);
+                locked++;
+            }
+            return action.get();
+        } finally {
+            for (int i = locked - 1; i >= 0; i--) {
+                stripes[indexes[i]].unlock();
+            }
+        }
+    }
+
+    private void acquire(ReentrantLock lock) {
+        acquisitions.increment();
+        if (!lock.tryLock()) {
+            contended.increment();
+            long start = System.nanoTime();
+            lock.lock();
+            waitTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private ReentrantLock stripeFor(Long roomId) {
+        return stripes[stripeIndex(roomId)];
+    }
+}
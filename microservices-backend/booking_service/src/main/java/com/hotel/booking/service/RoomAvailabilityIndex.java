@@ -0,0 +1,206 @@
+package com.hotel.booking.service;
+
+import com.hotel.booking.entity.Booking;
+import com.hotel.booking.entity.BookingStatus;
+import com.hotel.booking.repository.BookingRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.BitSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+/**
+ * Index en mémoire des nuits occupées par chambre.
+ * Chaque chambre possède un BitSet dont le bit i correspond à la nuit (baseDay + i),
+ * sur un horizon glissant de {@code horizonDays} jours. Une vérification de
+ * disponibilité coûte O(nuits) sans aller-retour vers la base ; les dates hors
+ * horizon retombent sur la requête SQL du repository.
+ * <p>
+ * La carte et son jour de base sont publiés ensemble dans un {@link Snapshot} immuable :
+ * un lecteur ne voit jamais la carte d'un jour avec la base d'un autre. La reconstruction
+ * détient toutes les stripes du {@link ReservationEngine}, sous lesquelles chaque réservation
+ * est validée puis reportée dans l'index : aucune ne peut se glisser entre la lecture et la publication.
+ */
+@Component
+@Slf4j
+public class RoomAvailabilityIndex {
+
+    static final List<BookingStatus> ACTIVE_STATUSES = List.of(BookingStatus.PENDING, BookingStatus.CONFIRMED);
+
+    private final BookingRepository bookingRepository;
+    private final ReservationEngine reservationEngine;
+    private final TransactionTemplate transactionTemplate;
+    private final EntityManager entityManager;
+    private final Counter hits;
+    private final Counter misses;
+    private final int horizonDays;
+
+    // null tant que la première reconstruction n'a pas eu lieu : tout passe par la base
+    private volatile Snapshot snapshot;
+
+    public RoomAvailabilityIndex(BookingRepository bookingRepository,
+                                 ReservationEngine reservationEngine,
+                                 TransactionTemplate transactionTemplate,
+                                 EntityManager entityManager,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${booking.availability.horizon-days:365}") int horizonDays) {
+        this.bookingRepository = bookingRepository;
+        this.reservationEngine = reservationEngine;
+        this.transactionTemplate = transactionTemplate;
+        this.entityManager = entityManager;
+        this.horizonDays = horizonDays;
+        this.hits = Counter.builder("booking.availability.index")
+                .tag("result", "hit")
+                .description("Conflict checks answered from the in-memory index")
+                .register(meterRegistry);
+        this.misses = Counter.builder("booking.availability.index")
+                .tag("result", "miss")
+                .description("Conflict checks that fell back to the database")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Reconstruire l'index depuis le repository au démarrage puis chaque nuit,
+     * pour faire glisser l'horizon. Les réservations sont lues en flux, sous toutes
+     * les stripes : les créations et modifications attendent la publication.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${booking.availability.rebuild-cron:0 5 0 * * *}")
+    public synchronized void rebuild() {
+        LocalDate today = LocalDate.now();
+        long newBase = today.toEpochDay();
+        Map<Long, BitSet> rebuilt = new ConcurrentHashMap<>();
+
+        long count = reservationEngine.executeForAllRooms(() -> transactionTemplate.execute(status -> {
+            long loaded = 0;
+            try (Stream<Booking> bookings = bookingRepository.streamByStatusInAndCheckOutDateAfter(ACTIVE_STATUSES, today)) {
+                Iterator<Booking> iterator = bookings.iterator();
+                while (iterator.hasNext()) {
+                    Booking booking = iterator.next();
+                    BitSet nights = rebuilt.computeIfAbsent(booking.getRoomId(), id -> new BitSet(horizonDays));
+                    setRange(nights, newBase, booking.getCheckInDate(), booking.getCheckOutDate(), true);
+                    entityManager.detach(booking);
+                    loaded++;
+                }
+            }
+            this.snapshot = new Snapshot(newBase, rebuilt);
+            return loaded;
+        }));
+        log.info("Room availability index rebuilt: {} active bookings over {} rooms", count, rebuilt.size());
+    }
+
+    /**
+     * Vérifier si la chambre est libre pour [checkIn, checkOut)
+     */
+    public boolean isAvailable(Long roomId, LocalDate checkIn, LocalDate checkOut) {
+        Snapshot current = snapshot;
+        if (!covers(current, checkIn, checkOut)) {
+            misses.increment();
+            return !bookingRepository.existsByRoomIdAndCheckInDateLessThanAndCheckOutDateGreaterThanAndStatusIn(
+                    roomId, checkOut, checkIn, ACTIVE_STATUSES);
+        }
+        hits.increment();
+        return isFree(current, roomId, checkIn, checkOut, null, null);
+    }
+
+    /**
+     * Vérifier si la chambre est libre pour [checkIn, checkOut) en ignorant
+     * les nuits déjà occupées par la réservation en cours de modification
+     */
+    public boolean isAvailableExcluding(Long roomId, LocalDate checkIn, LocalDate checkOut,
+                                        Long bookingId, LocalDate currentCheckIn, LocalDate currentCheckOut) {
+        Snapshot current = snapshot;
+        if (!covers(current, checkIn, checkOut)) {
+            misses.increment();
+            return !bookingRepository.existsByRoomIdAndIdNotAndCheckInDateLessThanAndCheckOutDateGreaterThanAndStatusIn(
+                    roomId, bookingId, checkOut, checkIn, ACTIVE_STATUSES);
+        }
+        hits.increment();
+        return isFree(current, roomId, checkIn, checkOut, currentCheckIn, currentCheckOut);
+    }
+
+    /**
+     * Marquer les nuits [checkIn, checkOut) comme occupées
+     */
+    public void reserve(Long roomId, LocalDate checkIn, LocalDate checkOut) {
+        Snapshot current = snapshot;
+        if (current == null) {
+            return;
+        }
+        BitSet nights = current.nightsByRoom().computeIfAbsent(roomId, id -> new BitSet(horizonDays));
+        synchronized (nights) {
+            setRange(nights, current.baseDay(), checkIn, checkOut, true);
+        }
+    }
+
+    /**
+     * Libérer les nuits [checkIn, checkOut)
+     */
+    public void release(Long roomId, LocalDate checkIn, LocalDate checkOut) {
+        Snapshot current = snapshot;
+        BitSet nights = current != null ? current.nightsByRoom().get(roomId) : null;
+        if (nights == null) {
+            return;
+        }
+        synchronized (nights) {
+            setRange(nights, current.baseDay(), checkIn, checkOut, false);
+        }
+    }
+
+    // ==================== Helper Methods ====================
+
+    private boolean covers(Snapshot current, LocalDate checkIn, LocalDate checkOut) {
+        return current != null
+                && checkIn.toEpochDay() >= current.baseDay()
+                && checkOut.toEpochDay() <= current.baseDay() + horizonDays;
+    }
+
+    private boolean isFree(Snapshot current, Long roomId, LocalDate checkIn, LocalDate checkOut,
+                           LocalDate ignoredFrom, LocalDate ignoredTo) {
+        BitSet nights = current.nightsByRoom().get(roomId);
+        if (nights == null) {
+            return true;
+        }
+        long base = current.baseDay();
+        int from = (int) (checkIn.toEpochDay() - base);
+        int to = (int) (checkOut.toEpochDay() - base);
+        int ignoredStart = ignoredFrom != null ? (int) (ignoredFrom.toEpochDay() - base) : -1;
+        int ignoredEnd = ignoredTo != null ? (int) (ignoredTo.toEpochDay() - base) : -1;
+
+        synchronized (nights) {
+            for (int i = nights.nextSetBit(from); i >= 0 && i < to; i = nights.nextSetBit(i + 1)) {
+                if (i < ignoredStart || i >= ignoredEnd) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    private void setRange(BitSet nights, long base, LocalDate checkIn, LocalDate checkOut, boolean occupied) {
+        int from = (int) Math.max(0, checkIn.toEpochDay() - base);
+        int to = (int) Math.min(horizonDays, checkOut.toEpochDay() - base);
+        if (from < to) {
+            nights.set(from, to, occupied);
+        }
+    }
+
+    /**
+     * Nuits occupées par chambre et jour du bit 0, publiés ensemble
+     */
+    private record Snapshot(long baseDay, Map<Long, BitSet> nightsByRoom) {
+    }
+}
@@ -0,0 +1,143 @@
+package com.hotel.booking.kafka;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hotel.booking.entity.BookingStatus;
+import com.hotel.booking.event.BookingEvent;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Locale;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BookingEventCodecTest {
+
+    private static final Logger BENCHMARK_LOG = LoggerFactory.getLogger("benchmark");
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    private final BookingEventDeserializer deserializer = new BookingEventDeserializer();
+
+    @Test
+    void binaryRoundTripPreservesAllFields() {
+        BookingEvent event = sampleEvent(42);
+
+        assertEquals(event, BookingEventCodec.decode(BookingEventCodec.encode(event)));
+    }
+
+    @Test
+    void nullFieldsAreSkipped() {
+        BookingEvent event = BookingEvent.builder()
+                .bookingId(-7L)
+                .eventType("CANCELLED")
+                .totalPrice(new BigDecimal("123456789012345678901234.5678"))
+                .build();
+
+        assertEquals(event, BookingEventCodec.decode(BookingEventCodec.encode(event)));
+    }
+
+    @Test
+    void binaryIsSmallerThanJson() throws Exception {
+        BookingEvent event = sampleEvent(42);
+        byte[] binary = BookingEventCodec.encode(event);
+        byte[] json = objectMapper.writeValueAsBytes(event);
+
+        assertTrue(binary.length * 3 < json.length, binary.length + " bytes vs " + json.length + " bytes");
+    }
+
+    @Test
+    void unknownFormatIdIsRejected() {
+        byte[] payload = BookingEventCodec.encode(sampleEvent(42));
+        // Identifiant de format porté par les octets 1 à 4
+        payload[4]++;
+
+        assertThrows(IllegalArgumentException.class, () -> BookingEventCodec.decode(payload));
+    }
+
+    @Test
+    void deserializerAcceptsBothFormats() throws Exception {
+        BookingEvent event = sampleEvent(42);
+        byte[] json = objectMapper.writeValueAsBytes(event);
+
+        assertFalse(BookingEventCodec.isBinary(json));
+        assertEquals(event, deserializer.deserialize("booking-events", json));
+        assertEquals(event, deserializer.deserialize("booking-events", BookingEventCodec.encode(event)));
+    }
+
+    /**
+     * Octets/événement et ns/op du JSON et du binaire :
+     * mvn test -Dtest=BookingEventCodecTest -Dcodec.bench=true
+     */
+    @Test
+    @Tag("benchmark")
+    @EnabledIfSystemProperty(named = "codec.bench", matches = "true")
+    void compareJsonAndBinary() throws Exception {
+        int iterations = Integer.getInteger("codec.bench.iterations", 1_000_000);
+        BookingEvent[] events = new BookingEvent[1024];
+        for (int i = 0; i < events.length; i++) {
+            events[i] = sampleEvent(i);
+        }
+
+        long jsonBytes = 0;
+        long binaryBytes = 0;
+        for (BookingEvent event : events) {
+            jsonBytes += objectMapper.writeValueAsBytes(event).length;
+            binaryBytes += BookingEventCodec.encode(event).length;
+        }
+
+        // Chauffe du JIT
+        for (int i = 0; i < iterations / 10; i++) {
+            BookingEvent event = events[i & 1023];
+            objectMapper.readValue(objectMapper.writeValueAsBytes(event), BookingEvent.class);
+            BookingEventCodec.decode(BookingEventCodec.encode(event));
+        }
+
+        long sink = 0;
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            byte[] bytes = objectMapper.writeValueAsBytes(events[i & 1023]);
+            sink += objectMapper.readValue(bytes, BookingEvent.class).getBookingId();
+        }
+        double jsonNs = (System.nanoTime() - start) / (double) iterations;
+
+        start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            byte[] bytes = BookingEventCodec.encode(events[i & 1023]);
+            sink += BookingEventCodec.decode(bytes).getBookingId();
+        }
+        double binaryNs = (System.nanoTime() - start) / (double) iterations;
+
+        BENCHMARK_LOG.info(String.format(Locale.ROOT,
+                "json  : %6.1f bytes/event, %7.1f ns/op (encode+decode)", jsonBytes / (double) events.length, jsonNs));
+        BENCHMARK_LOG.info(String.format(Locale.ROOT,
+                "binary: %6.1f bytes/event, %7.1f ns/op (encode+decode)", binaryBytes / (double) events.length, binaryNs));
+        assertTrue(sink > 0);
+    }
+
+    private static BookingEvent sampleEvent(int i) {
+        return BookingEvent.builder()
+                .bookingId((long) i + 1)
+                .confirmationNumber("BK-" + Integer.toHexString(i).toUpperCase())
+                .eventType("CREATED")
+                .roomId((long) (i % 500))
+                .hotelId((long) (i % 20))
+                .userId("user-" + (i % 1000))
+                .checkInDate(LocalDate.of(2025, 6, 10))
+                .checkOutDate(LocalDate.of(2025, 6, 13))
+                .numberOfGuests(2)
+                .numberOfNights(3)
+                .pricePerNight(new BigDecimal("150.00"))
+                .totalPrice(new BigDecimal("450.00"))
+                .status(BookingStatus.CONFIRMED)
+                .eventTime(LocalDateTime.of(2025, 6, 1, 12, 30, 15, 123_456_789))
+                .build();
+    }
+}
@@ -0,0 +1,178 @@
+package com.hotel.booking.kafka;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hotel.booking.entity.OutboxEvent;
+import com.hotel.booking.event.BookingEvent;
+import com.hotel.booking.repository.OutboxEventRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyIterable;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class OutboxRelayTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    // Stand-in en mémoire de la table outbox et du broker
+    private final TreeMap<Long, OutboxEvent> table = new TreeMap<>();
+    private final List<BookingEvent> broker = new ArrayList<>();
+    private final Set<String> failingKeys = new HashSet<>();
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private OutboxRelay relay;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        OutboxEventRepository repository = mock(OutboxEventRepository.class);
+        // Même sélection que la requête findDue : tête de chaque clé, hors backoff et hors lettres mortes
+        when(repository.findDue(any(), any())).thenAnswer(inv -> {
+            LocalDateTime now = inv.getArgument(0);
+            Set<String> seenKeys = new HashSet<>();
+            List<OutboxEvent> due = new ArrayList<>();
+            for (OutboxEvent e : table.values()) {
+                boolean head = seenKeys.add(e.getEventKey());
+                if (head && e.getParkedAt() == null && (e.getNextAttemptAt() == null || !e.getNextAttemptAt().isAfter(now))) {
+                    due.add(e);
+                }
+            }
+            return due;
+        });
+        doAnswer(inv -> {
+            ((Iterable<Long>) inv.getArgument(0)).forEach(table::remove);
+            return null;
+        }).when(repository).deleteAllByIdInBatch(anyIterable());
+        when(repository.saveAll(anyIterable())).thenAnswer(inv -> {
+            List<OutboxEvent> saved = new ArrayList<>();
+            ((Iterable<OutboxEvent>) inv.getArgument(0)).forEach(e -> {
+                table.put(e.getId(), e);
+                saved.add(e);
+            });
+            return saved;
+        });
+
+        KafkaProducerService producer = mock(KafkaProducerService.class);
+        when(producer.sendBookingEvent(any())).thenAnswer(inv -> {
+            BookingEvent event = inv.getArgument(0);
+            if (failingKeys.contains(event.getConfirmationNumber())) {
+                return CompletableFuture.failedFuture(new IllegalStateException("broker unavailable"));
+            }
+            broker.add(event);
+            return CompletableFuture.completedFuture(null);
+        });
+
+        relay = new OutboxRelay(repository, producer, objectMapper, registry,
+                100, 1_000, 0, 0, 3);
+    }
+
+    @Test
+    void relayDeliversEntriesInOrderPerKeyAndEmptiesTheOutbox() throws Exception {
+        enqueue(1L, "BK-A", "CREATED");
+        enqueue(2L, "BK-B", "CREATED");
+        enqueue(3L, "BK-A", "UPDATED");
+        enqueue(4L, "BK-A", "CANCELLED");
+
+        relay.relay();
+
+        assertTrue(table.isEmpty());
+        assertEquals(List.of("CREATED", "UPDATED", "CANCELLED"), typesFor("BK-A"));
+        assertEquals(List.of("CREATED"), typesFor("BK-B"));
+    }
+
+    @Test
+    void failedEntryIsRetriedAndBlocksLaterEventsOfTheSameKey() throws Exception {
+        enqueue(1L, "BK-A", "CREATED");
+        enqueue(2L, "BK-A", "CANCELLED");
+        enqueue(3L, "BK-B", "CREATED");
+        failingKeys.add("BK-A");
+
+        relay.relayBatch();
+
+        assertEquals(List.of("CREATED"), typesFor("BK-B"));
+        assertTrue(typesFor("BK-A").isEmpty());
+        OutboxEvent failed = table.get(1L);
+        assertEquals(1, failed.getAttempts());
+        assertNotNull(failed.getLastError());
+        assertTrue(table.containsKey(2L));
+
+        failingKeys.clear();
+        relay.relay();
+
+        assertTrue(table.isEmpty());
+        assertEquals(List.of("CREATED", "CANCELLED"), typesFor("BK-A"));
+    }
+
+    @Test
+    void entryIsParkedAfterMaxAttemptsAndHoldsItsKey() throws Exception {
+        enqueue(1L, "BK-A", "CREATED");
+        enqueue(2L, "BK-A", "CANCELLED");
+        enqueue(3L, "BK-B", "CREATED");
+        failingKeys.add("BK-A");
+
+        for (int i = 0; i < 5; i++) {
+            relay.relayBatch();
+        }
+
+        OutboxEvent parked = table.get(1L);
+        assertEquals(3, parked.getAttempts());
+        assertNotNull(parked.getParkedAt());
+        assertTrue(table.containsKey(2L));
+        assertTrue(typesFor("BK-A").isEmpty());
+        assertEquals(List.of("CREATED"), typesFor("BK-B"));
+        assertEquals(1.0, registry.get("booking.outbox.parked").counter().count());
+
+        // Plus relue : le broker revenu, rien ne part pour BK-A
+        failingKeys.clear();
+        relay.relay();
+        assertTrue(typesFor("BK-A").isEmpty());
+    }
+
+    @Test
+    void unreadablePayloadIsParkedWithoutRetry() throws Exception {
+        enqueue(1L, "BK-A", "CREATED");
+        table.get(1L).setPayload("{not json");
+
+        relay.relayBatch();
+
+        assertEquals(1, table.get(1L).getAttempts());
+        assertNotNull(table.get(1L).getParkedAt());
+        assertEquals(1.0, registry.get("booking.outbox.parked").counter().count());
+    }
+
+    private void enqueue(Long id, String key, String type) throws Exception {
+        BookingEvent event = BookingEvent.builder()
+                .bookingId(id)
+                .confirmationNumber(key)
+                .eventType(type)
+                .build();
+        OutboxEvent entry = new OutboxEvent();
+        entry.setId(id);
+        entry.setEventKey(key);
+        entry.setEventType(type);
+        entry.setPayload(objectMapper.writeValueAsString(event));
+        table.put(id, entry);
+    }
+
+    private List<String> typesFor(String key) {
+        return broker.stream()
+                .filter(e -> key.equals(e.getConfirmationNumber()))
+                .map(BookingEvent::getEventType)
+                .toList();
+    }
+}
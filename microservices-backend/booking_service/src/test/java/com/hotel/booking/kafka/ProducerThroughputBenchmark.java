@@ -0,0 +1,106 @@
+package com.hotel.booking.kafka;
+
+import com.hotel.booking.config.KafkaProducerConfig;
+import com.hotel.booking.entity.BookingStatus;
+import com.hotel.booking.event.BookingEvent;
+import org.apache.kafka.clients.producer.KafkaProducer;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.kafka.support.serializer.JsonSerializer;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Compare le producteur par défaut et le mode haut débit contre un broker réel :
+ * mvn test -Dtest=ProducerThroughputBenchmark -Dkafka.bench.bootstrap=localhost:9092
+ */
+@Tag("benchmark")
+@EnabledIfSystemProperty(named = "kafka.bench.bootstrap", matches = ".+")
+class ProducerThroughputBenchmark {
+
+    private static final Logger BENCHMARK_LOG = LoggerFactory.getLogger("benchmark");
+
+    private static final int EVENTS = Integer.getInteger("kafka.bench.events", 100_000);
+    private static final String TOPIC = System.getProperty("kafka.bench.topic", "booking-events-bench");
+
+    @Test
+    void compareDefaultAndHighThroughputProducers() throws Exception {
+        Result baseline = run(Map.of());
+        Result tuned = run(KafkaProducerConfig.highThroughputProps(10, 65536, "lz4", 5, 120_000));
+
+        BENCHMARK_LOG.info(String.format(Locale.ROOT,
+                "default        : %,10.0f events/s, p99 ack %6.2f ms", baseline.eventsPerSecond, baseline.p99Millis));
+        BENCHMARK_LOG.info(String.format(Locale.ROOT,
+                "high-throughput: %,10.0f events/s, p99 ack %6.2f ms", tuned.eventsPerSecond, tuned.p99Millis));
+        assertTrue(tuned.eventsPerSecond > 0 && baseline.eventsPerSecond > 0);
+    }
+
+    private Result run(Map<String, Object> tuning) throws Exception {
+        Map<String, Object> props = new HashMap<>();
+        props.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, System.getProperty("kafka.bench.bootstrap"));
+        props.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
+        props.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, JsonSerializer.class);
+        props.put(JsonSerializer.ADD_TYPE_INFO_HEADERS, false);
+        props.putAll(tuning);
+
+        long[] latencies = new long[EVENTS];
+        CountDownLatch done = new CountDownLatch(EVENTS);
+        try (KafkaProducer<String, Object> producer = new KafkaProducer<>(props)) {
+            long begin = System.nanoTime();
+            for (int i = 0; i < EVENTS; i++) {
+                BookingEvent event = sampleEvent(i);
+                int slot = i;
+                long start = System.nanoTime();
+                producer.send(new ProducerRecord<>(TOPIC, event.getConfirmationNumber(), event), (metadata, ex) -> {
+                    latencies[slot] = System.nanoTime() - start;
+                    done.countDown();
+                });
+            }
+            producer.flush();
+            assertTrue(done.await(2, TimeUnit.MINUTES));
+            double seconds = (System.nanoTime() - begin) / 1e9;
+
+            Arrays.sort(latencies);
+            double p99 = latencies[(int) (EVENTS * 0.99) - 1] / 1e6;
+            return new Result(EVENTS / seconds, p99);
+        }
+    }
+
+    private static BookingEvent sampleEvent(int i) {
+        return BookingEvent.builder()
+                .bookingId((long) i)
+                .confirmationNumber("BK-" + Integer.toHexString(i).toUpperCase())
+                .eventType("CREATED")
+                .roomId((long) (i % 500))
+                .hotelId((long) (i % 20))
+                .userId("user-" + (i % 1000))
+                .checkInDate(LocalDate.now().plusDays(10))
+                .checkOutDate(LocalDate.now().plusDays(13))
+                .numberOfGuests(2)
+                .numberOfNights(3)
+                .pricePerNight(new BigDecimal("150.00"))
+                .totalPrice(new BigDecimal("450.00"))
+                .status(BookingStatus.CONFIRMED)
+                .eventTime(LocalDateTime.now())
+                .build();
+    }
+
+    private record Result(double eventsPerSecond, double p99Millis) {
+    }
+}
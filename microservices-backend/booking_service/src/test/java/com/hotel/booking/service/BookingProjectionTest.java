@@ -0,0 +1,89 @@
+package com.hotel.booking.service;
+
+import com.hotel.booking.entity.BookingStatus;
+import com.hotel.booking.event.BookingEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BookingProjectionTest {
+
+    private static final LocalDate CHECK_IN = LocalDate.of(2025, 6, 10);
+
+    private final BookingProjection projection = new BookingProjection(new SimpleMeterRegistry());
+
+    @Test
+    void createUpdateAndCancelKeepAggregatesConsistent() {
+        projection.apply(0, 0, event(1L, 10L, "alice", 3, "300.00", BookingStatus.CONFIRMED));
+        projection.apply(0, 1, event(2L, 10L, "bob", 2, "100.00", BookingStatus.PENDING));
+
+        assertEquals(2, projection.getHotelSummary(10L).getActiveBookings());
+        assertEquals(5, projection.getHotelSummary(10L).getRoomNights());
+        assertEquals(new BigDecimal("400.00"), projection.getHotelSummary(10L).getRevenue());
+        assertEquals(new BigDecimal("150.00"), projection.getDailyRevenue(10L, CHECK_IN).getRevenue());
+
+        // Mise à jour : 3 nuits -> 1 nuit
+        projection.apply(0, 2, event(1L, 10L, "alice", 1, "120.00", BookingStatus.CONFIRMED));
+        assertEquals(new BigDecimal("220.00"), projection.getHotelSummary(10L).getRevenue());
+        assertEquals(0, projection.getDailyRevenue(10L, CHECK_IN.plusDays(2)).getRevenue().signum());
+
+        projection.apply(0, 3, event(2L, 10L, "bob", 2, "100.00", BookingStatus.CANCELLED));
+        assertEquals(1, projection.getHotelSummary(10L).getActiveBookings());
+        assertEquals(0, projection.getUserSummary("bob").getActiveBookings());
+        assertEquals(new BigDecimal("120.00"), projection.getUserSummary("alice").getTotalSpent());
+    }
+
+    @Test
+    void redeliveredOffsetsAreIgnored() {
+        BookingEvent created = event(1L, 10L, "alice", 3, "300.00", BookingStatus.CONFIRMED);
+        assertTrue(projection.apply(0, 5, created));
+        assertFalse(projection.apply(0, 5, created));
+        assertFalse(projection.apply(0, 4, created));
+        assertTrue(projection.apply(1, 0, event(2L, 10L, "bob", 1, "50.00", BookingStatus.CONFIRMED)));
+
+        assertEquals(2, projection.getHotelSummary(10L).getActiveBookings());
+        assertEquals(6L, projection.nextOffset(0));
+        assertEquals(2, projection.getStatus().getDuplicatesSkipped());
+    }
+
+    @Test
+    void replayingTheSameEventsAfterResetRebuildsTheSameState() {
+        BookingEvent[] log = {
+                event(1L, 10L, "alice", 3, "300.00", BookingStatus.CONFIRMED),
+                event(2L, 11L, "alice", 2, "99.99", BookingStatus.PENDING),
+                event(1L, 10L, "alice", 3, "300.00", BookingStatus.COMPLETED)
+        };
+        for (int i = 0; i < log.length; i++) {
+            projection.apply(0, i, log[i]);
+        }
+        BigDecimal before = projection.getUserSummary("alice").getTotalSpent();
+
+        projection.reset();
+        for (int i = 0; i < log.length; i++) {
+            projection.apply(0, i, log[i]);
+        }
+
+        assertEquals(before, projection.getUserSummary("alice").getTotalSpent());
+        assertEquals(new BigDecimal("399.99"), before);
+        assertEquals(3, projection.getStatus().getEventsApplied());
+    }
+
+    private static BookingEvent event(Long id, Long hotelId, String userId, int nights, String total, BookingStatus status) {
+        return BookingEvent.builder()
+                .bookingId(id)
+                .hotelId(hotelId)
+                .userId(userId)
+                .checkInDate(CHECK_IN)
+                .checkOutDate(CHECK_IN.plusDays(nights))
+                .numberOfNights(nights)
+                .totalPrice(new BigDecimal(total))
+                .status(status)
+                .build();
+    }
+}
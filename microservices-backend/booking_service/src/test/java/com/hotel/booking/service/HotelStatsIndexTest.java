@@ -0,0 +1,173 @@
+package com.hotel.booking.service;
+
+import com.hotel.booking.dto.HotelStatsResponse;
+import com.hotel.booking.entity.Booking;
+import com.hotel.booking.entity.BookingStatus;
+import com.hotel.booking.exception.InvalidBookingException;
+import com.hotel.booking.repository.BookingRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class HotelStatsIndexTest {
+
+    private static final LocalDate TODAY = LocalDate.now();
+
+    private ReservationEngine engine;
+    private HotelStatsIndex index;
+
+    @BeforeEach
+    void setUp() {
+        BookingRepository repository = mock(BookingRepository.class);
+        when(repository.streamByStatusInAndCheckOutDateAfter(any(), any())).thenAnswer(inv -> Stream.of(
+                booking(1L, 101L, TODAY.plusDays(1), TODAY.plusDays(4), "100.00", BookingStatus.CONFIRMED)));
+        engine = new ReservationEngine(new SimpleMeterRegistry(), 16);
+        index = new HotelStatsIndex(repository, engine,
+                new TransactionTemplate(mock(PlatformTransactionManager.class)), mock(EntityManager.class), 30, 60);
+        index.rebuild();
+    }
+
+    @Test
+    void rangeStatsComeFromPrefixSums() {
+        index.record(booking(1L, 102L, TODAY.plusDays(2), TODAY.plusDays(3), "200.00", BookingStatus.PENDING));
+
+        HotelStatsResponse stats = index.getStats(1L, TODAY.plusDays(1), TODAY.plusDays(3), 4);
+
+        assertEquals(4, stats.getRoomNightsSold());
+        assertEquals(12, stats.getRoomNightsAvailable());
+        assertEquals(new BigDecimal("500.00"), stats.getRevenue());
+        assertEquals(new BigDecimal("125.00"), stats.getAdr());
+        assertEquals(new BigDecimal("41.67"), stats.getRevpar());
+        assertEquals(2, stats.getNightly().get(1).getRoomsSold());
+        assertEquals(0.5, stats.getNightly().get(1).getOccupancy());
+    }
+
+    @Test
+    void updateAndCancelAdjustCounters() {
+        // Mise à jour : [J+1, J+4) -> [J+5, J+7)
+        index.remove(1L, TODAY.plusDays(1), TODAY.plusDays(4), new BigDecimal("100.00"));
+        index.record(booking(1L, 101L, TODAY.plusDays(5), TODAY.plusDays(7), "100.00", BookingStatus.CONFIRMED));
+
+        assertEquals(0, index.getStats(1L, TODAY.plusDays(1), TODAY.plusDays(4), 1).getRoomNightsSold());
+        assertEquals(2, index.getStats(1L, TODAY, TODAY.plusDays(10), 1).getRoomNightsSold());
+
+        // Annulation
+        index.remove(1L, TODAY.plusDays(5), TODAY.plusDays(7), new BigDecimal("100.00"));
+        HotelStatsResponse stats = index.getStats(1L, TODAY, TODAY.plusDays(10), 1);
+        assertEquals(0, stats.getRoomNightsSold());
+        assertEquals(0, stats.getRevenue().signum());
+    }
+
+    @Test
+    void cancelledBookingsAreNotRecorded() {
+        index.record(booking(2L, 201L, TODAY, TODAY.plusDays(2), "80.00", BookingStatus.CANCELLED));
+
+        assertEquals(0, index.getStats(2L, TODAY, TODAY.plusDays(2), 10).getRoomNightsSold());
+    }
+
+    @Test
+    void rangeOutsideTheWindowIsRejected() {
+        assertThrows(InvalidBookingException.class, () -> index.getStats(1L, TODAY.minusDays(31), TODAY, 1));
+        assertThrows(InvalidBookingException.class, () -> index.getStats(1L, TODAY, TODAY.plusDays(60), 1));
+        assertThrows(InvalidBookingException.class, () -> index.getStats(1L, TODAY.plusDays(2), TODAY, 1));
+    }
+
+    @Test
+    void capacityMustBeProvided() {
+        assertThrows(InvalidBookingException.class, () -> index.getStats(1L, TODAY, TODAY.plusDays(2), null));
+        assertThrows(InvalidBookingException.class, () -> index.getStats(1L, TODAY, TODAY.plusDays(2), 0));
+    }
+
+    @Test
+    void bookingsRecordedDuringARebuildAreKept() throws Exception {
+        // La reconstruction tient toutes les stripes : l'enregistrement fait sous le verrou
+        // de la chambre (après commit) attend la publication au lieu d'être écrasé
+        CountDownLatch scanning = new CountDownLatch(1);
+        CountDownLatch resume = new CountDownLatch(1);
+        BookingRepository slowRepository = mock(BookingRepository.class);
+        when(slowRepository.streamByStatusInAndCheckOutDateAfter(any(), any())).thenAnswer(inv -> Stream.of(
+                booking(3L, 301L, TODAY.plusDays(1), TODAY.plusDays(2), "90.00", BookingStatus.CONFIRMED))
+                .peek(b -> {
+                    scanning.countDown();
+                    awaitQuietly(resume);
+                }));
+        HotelStatsIndex rebuilding = new HotelStatsIndex(slowRepository, engine,
+                new TransactionTemplate(mock(PlatformTransactionManager.class)), mock(EntityManager.class), 30, 60);
+
+        ExecutorService pool = Executors.newFixedThreadPool(2);
+        Future<?> rebuild = pool.submit(rebuilding::rebuild);
+        assertTrue(scanning.await(10, TimeUnit.SECONDS));
+        Future<?> booked = pool.submit(() -> engine.executeForRoom(302L, () -> {
+            rebuilding.record(booking(3L, 302L, TODAY.plusDays(1), TODAY.plusDays(2), "110.00", BookingStatus.CONFIRMED));
+            return null;
+        }));
+        resume.countDown();
+        rebuild.get(10, TimeUnit.SECONDS);
+        booked.get(10, TimeUnit.SECONDS);
+        pool.shutdown();
+
+        assertEquals(2, rebuilding.getStats(3L, TODAY.plusDays(1), TODAY.plusDays(1), 2).getRoomNightsSold());
+    }
+
+    @Test
+    void prefixSumsMatchNaiveSums() {
+        HotelStatsIndex.PrefixSums sums = new HotelStatsIndex.PrefixSums(500);
+        long[] naive = new long[500];
+        Random random = new Random(42);
+        for (int i = 0; i < 10_000; i++) {
+            int day = random.nextInt(500);
+            long delta = random.nextInt(2_000) - 1_000;
+            sums.add(day, delta);
+            naive[day] += delta;
+        }
+        for (int i = 0; i < 1_000; i++) {
+            int start = random.nextInt(500);
+            int end = start + random.nextInt(500 - start + 1);
+            long expected = 0;
+            for (int d = start; d < end; d++) {
+                expected += naive[d];
+            }
+            assertEquals(expected, sums.rangeSum(start, end));
+        }
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static Booking booking(Long hotelId, Long roomId, LocalDate checkIn, LocalDate checkOut,
+                                   String pricePerNight, BookingStatus status) {
+        Booking booking = new Booking();
+        booking.setHotelId(hotelId);
+        booking.setRoomId(roomId);
+        booking.setCheckInDate(checkIn);
+        booking.setCheckOutDate(checkOut);
+        booking.setPricePerNight(new BigDecimal(pricePerNight));
+        booking.setStatus(status);
+        return booking;
+    }
+}
@@ -0,0 +1,126 @@
+package com.hotel.booking.service;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class IdGeneratorTest {
+
+    private static final Logger BENCHMARK_LOG = LoggerFactory.getLogger("benchmark");
+
+    private static final int THREADS = Math.max(4, Runtime.getRuntime().availableProcessors() * 2);
+
+    @Test
+    void concurrentIdsAreUniqueAcrossNodesAndIncreasingPerThread() throws Exception {
+        int perThread = 50_000;
+        // Deux nœuds partageant la même horloge figée : seule la séquence et l'id de nœud départagent
+        long frozen = System.currentTimeMillis();
+        List<IdGenerator> nodes = List.of(new IdGenerator(1, () -> frozen), new IdGenerator(2, () -> frozen));
+
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<String[]>> futures = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            IdGenerator generator = nodes.get(t % nodes.size());
+            futures.add(pool.submit(() -> {
+                start.await();
+                String[] ids = new String[perThread];
+                for (int i = 0; i < perThread; i++) {
+                    ids[i] = generator.next("BK-");
+                }
+                return ids;
+            }));
+        }
+        start.countDown();
+
+        Set<String> all = new HashSet<>();
+        for (Future<String[]> future : futures) {
+            String[] ids = future.get();
+            for (int i = 0; i < ids.length; i++) {
+                assertEquals(3 + IdGenerator.ENCODED_LENGTH, ids[i].length());
+                assertTrue(i == 0 || ids[i].compareTo(ids[i - 1]) > 0, "ids must increase on a node");
+                all.add(ids[i]);
+            }
+        }
+        pool.shutdown();
+        assertEquals(THREADS * perThread, all.size());
+    }
+
+    @Test
+    void clockMovingBackwardsKeepsIdsIncreasing() {
+        AtomicLong clock = new AtomicLong(System.currentTimeMillis());
+        IdGenerator generator = new IdGenerator(7, clock::get);
+
+        long first = generator.nextId();
+        clock.addAndGet(-5_000);
+        long second = generator.nextId();
+        clock.addAndGet(10_000);
+        long third = generator.nextId();
+
+        assertTrue(second > first);
+        assertTrue(third > second);
+        assertEquals(7, (second >>> IdGenerator.SEQUENCE_BITS) & IdGenerator.MAX_NODE_ID);
+    }
+
+    @Test
+    void encodingIsFixedWidthCrockfordBase32() {
+        assertEquals("0000000000000", IdGenerator.encode(0));
+        assertEquals("000000000000Z", IdGenerator.encode(31));
+        assertEquals("0000000000010", IdGenerator.encode(32));
+        assertEquals("7ZZZZZZZZZZZZ", IdGenerator.encode(Long.MAX_VALUE));
+        assertThrows(IllegalArgumentException.class, () -> new IdGenerator(IdGenerator.MAX_NODE_ID + 1, System::currentTimeMillis));
+    }
+
+    @Test
+    void aMissingNodeIdFailsAtStartup() {
+        assertThrows(IllegalStateException.class, () -> new IdGenerator(-1));
+    }
+
+    /**
+     * Débit multi-thread du générateur :
+     * mvn test -Dtest=IdGeneratorTest -Dids.bench=true
+     */
+    @Test
+    @Tag("benchmark")
+    @EnabledIfSystemProperty(named = "ids.bench", matches = "true")
+    void throughput() throws Exception {
+        IdGenerator generator = new IdGenerator(1, System::currentTimeMillis);
+        int perThread = 2_000_000;
+        for (int threads : new int[]{1, THREADS}) {
+            ExecutorService pool = Executors.newFixedThreadPool(threads);
+            List<Future<?>> futures = new ArrayList<>();
+            long start = System.nanoTime();
+            for (int t = 0; t < threads; t++) {
+                futures.add(pool.submit(() -> {
+                    for (int i = 0; i < perThread; i++) {
+                        generator.next("BK-");
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+            double seconds = (System.nanoTime() - start) / 1e9;
+            pool.shutdown();
+            BENCHMARK_LOG.info(String.format(Locale.ROOT,
+                    "%d threads: %,.0f ids/s", threads, threads * perThread / seconds));
+        }
+    }
+}
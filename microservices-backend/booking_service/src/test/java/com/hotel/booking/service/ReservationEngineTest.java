@@ -0,0 +1,173 @@
+package com.hotel.booking.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ReservationEngineTest {
+
+    private static final Logger BENCHMARK_LOG = LoggerFactory.getLogger("benchmark");
+
+    private static final int ROOMS = 16;
+    private static final int THREADS = Math.max(4, Runtime.getRuntime().availableProcessors() * 2);
+    private static final int ATTEMPTS_PER_THREAD = 2_000;
+
+    @Test
+    void concurrentReservationsNeverOverlap() throws Exception {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        ReservationEngine engine = new ReservationEngine(registry, 64);
+
+        // Calendrier volontairement non thread-safe : seule l'exclusion par chambre le protège
+        Map<Long, List<int[]>> calendar = new ConcurrentHashMap<>();
+        for (long room = 1; room <= ROOMS; room++) {
+            calendar.put(room, new ArrayList<>());
+        }
+        AtomicInteger accepted = new AtomicInteger();
+
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        for (int t = 0; t < THREADS; t++) {
+            pool.submit(() -> {
+                start.await();
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                for (int i = 0; i < ATTEMPTS_PER_THREAD; i++) {
+                    long room = random.nextLong(1, ROOMS + 1);
+                    int checkIn = random.nextInt(0, 365);
+                    int checkOut = checkIn + random.nextInt(1, 8);
+                    engine.executeForRoom(room, () -> {
+                        List<int[]> stays = calendar.get(room);
+                        boolean free = stays.stream().noneMatch(s -> s[0] < checkOut && s[1] > checkIn);
+                        Thread.yield();
+                        if (free) {
+                            stays.add(new int[]{checkIn, checkOut});
+                            accepted.incrementAndGet();
+                        }
+                        return free;
+                    });
+                }
+                return null;
+            });
+        }
+        start.countDown();
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(60, TimeUnit.SECONDS));
+
+        int stored = 0;
+        for (List<int[]> stays : calendar.values()) {
+            stored += stays.size();
+            for (int i = 0; i < stays.size(); i++) {
+                for (int j = i + 1; j < stays.size(); j++) {
+                    int[] a = stays.get(i);
+                    int[] b = stays.get(j);
+                    assertTrue(a[1] <= b[0] || b[1] <= a[0], "Overlapping stays detected");
+                }
+            }
+        }
+        assertEquals(accepted.get(), stored);
+        assertEquals((double) THREADS * ATTEMPTS_PER_THREAD,
+                registry.get("booking.reservation.lock.acquisitions").counter().count());
+    }
+
+    @Test
+    void unrelatedRoomsProceedInParallel() throws Exception {
+        ReservationEngine engine = new ReservationEngine(new SimpleMeterRegistry(), 64);
+        long roomA = 1L;
+        long roomB = 2L;
+        while (engine.stripeIndex(roomB) == engine.stripeIndex(roomA)) {
+            roomB++;
+        }
+        assertNotEquals(engine.stripeIndex(roomA), engine.stripeIndex(roomB));
+
+        // Chaque thread attend l'autre à l'intérieur de sa section critique :
+        // le test ne termine que si les deux chambres sont verrouillées simultanément
+        CountDownLatch bothInside = new CountDownLatch(2);
+        long finalRoomB = roomB;
+        ExecutorService pool = Executors.newFixedThreadPool(2);
+        Future<Boolean> first = pool.submit(() -> engine.executeForRoom(roomA, () -> await(bothInside)));
+        Future<Boolean> second = pool.submit(() -> engine.executeForRoom(finalRoomB, () -> await(bothInside)));
+        pool.shutdown();
+        assertTrue(first.get(10, TimeUnit.SECONDS));
+        assertTrue(second.get(10, TimeUnit.SECONDS));
+    }
+
+    /**
+     * Débit sur des chambres distinctes, 1 thread puis un par cœur :
+     * mvn test -Dtest=ReservationEngineTest -Dreservation.bench=true
+     */
+    @Test
+    @Tag("benchmark")
+    @EnabledIfSystemProperty(named = "reservation.bench", matches = "true")
+    void throughputScalesAcrossRooms() throws Exception {
+        int cores = Runtime.getRuntime().availableProcessors();
+        double single = measureThroughput(1);
+        double parallel = measureThroughput(cores);
+        BENCHMARK_LOG.info(String.format(Locale.ROOT,
+                "ReservationEngine throughput: 1 thread = %.0f ops/s, %d threads = %.0f ops/s (x%.2f)",
+                single, cores, parallel, parallel / single));
+        if (cores >= 4) {
+            assertTrue(parallel > single, "Distinct rooms should not serialize on a single lock: "
+                    + Math.round(single) + " -> " + Math.round(parallel) + " ops/s");
+        }
+    }
+
+    private double measureThroughput(int threads) throws Exception {
+        ReservationEngine engine = new ReservationEngine(new SimpleMeterRegistry(), 1024);
+        int opsPerThread = 20_000;
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        for (int t = 0; t < threads; t++) {
+            long room = 1_000L * (t + 1);
+            pool.submit(() -> {
+                start.await();
+                for (int i = 0; i < opsPerThread; i++) {
+                    engine.executeForRoom(room, ReservationEngineTest::busyWork);
+                }
+                return null;
+            });
+        }
+        long begin = System.nanoTime();
+        start.countDown();
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(60, TimeUnit.SECONDS));
+        double seconds = (System.nanoTime() - begin) / 1e9;
+        return threads * opsPerThread / seconds;
+    }
+
+    private static boolean await(CountDownLatch latch) {
+        latch.countDown();
+        try {
+            return latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private static long busyWork() {
+        long acc = 0;
+        for (int i = 0; i < 2_000; i++) {
+            acc += i * 31L ^ acc;
+        }
+        return acc;
+    }
+}
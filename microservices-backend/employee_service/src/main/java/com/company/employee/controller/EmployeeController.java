@@ -1,17 +1,27 @@
 package com.company.employee.controller;
 
+import com.company.employee.dto.EmployeePage;
 import com.company.employee.dto.EmployeeRequest;
 import com.company.employee.dto.EmployeeResponse;
+import com.company.employee.dto.EmployeeStats;
 import com.company.employee.dto.EmployeeUpdateRequest;
+import com.company.employee.dto.ImportProgress;
 import com.company.employee.entity.EmployeeStatus;
+import com.company.employee.service.EmployeeImportService;
 import com.company.employee.service.EmployeeService;
+import com.company.employee.service.EmployeeStatsService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
 import java.util.List;
 
 @RestController
@@ -21,6 +31,8 @@ import java.util.List;
 public class EmployeeController {
 
     private final EmployeeService employeeService;
+    private final EmployeeImportService employeeImportService;
+    private final EmployeeStatsService employeeStatsService;
 
     /**
      * Créer un nouvel employé
@@ -33,6 +45,34 @@ public class EmployeeController {
         return new ResponseEntity<>(response, HttpStatus.CREATED);
     }
 
+    /**
+     * Importer des employés en masse depuis un fichier CSV (en-tête obligatoire) ou JSON (tableau)
+     * POST /api/employees/import  (Content-Type: text/csv ou application/json)
+     */
+    @PostMapping(value = "/import", consumes = {"text/csv", MediaType.TEXT_PLAIN_VALUE,
+            MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_OCTET_STREAM_VALUE})
+    public ResponseEntity<ImportProgress> importEmployees(
+            InputStream body,
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType) throws IOException {
+        log.info("POST /api/employees/import - Content-Type: {}", contentType);
+        ImportProgress progress = employeeImportService.startImport(body, contentType);
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/employees/import/" + progress.getImportId()))
+                .body(progress);
+    }
+
+    /**
+     * Suivre l'avancement d'un import : lignes traitées, débit et erreurs par ligne
+     * GET /api/employees/import/{importId}
+     */
+    @GetMapping("/import/{importId}")
+    public ResponseEntity<ImportProgress> getImportProgress(@PathVariable String importId) {
+        log.info("GET /api/employees/import/{} - Fetching import progress", importId);
+        return employeeImportService.getProgress(importId)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
     /**
      * Récupérer tous les employés
      * GET /api/employees
@@ -51,23 +91,57 @@ public class EmployeeController {
         
         List<EmployeeResponse> employees;
         
-        if (statut != null) {
-            employees = employeeService.getEmployeesByStatut(statut);
-        } else if (service != null) {
-            employees = employeeService.getEmployeesByService(service);
-        } else if (poste != null) {
-            employees = employeeService.getEmployeesByPoste(poste);
-        } else if (typeContrat != null) {
-            employees = employeeService.getEmployeesByTypeContrat(typeContrat);
-        } else if (search != null) {
-            employees = employeeService.searchEmployees(search);
-        } else {
+        if (statut == null && service == null && poste == null && typeContrat == null && search == null) {
             employees = employeeService.getAllEmployees();
+        } else {
+            // Les filtres se combinent (ET logique)
+            employees = employeeService.filterEmployees(statut, service, poste, typeContrat, search);
         }
         
         return ResponseEntity.ok(employees);
     }
 
+    /**
+     * Requête multi-critères paginée et triée
+     * GET /api/employees/query?statut=ACTIF&service=IT&sort=-salaire&page=0&size=20
+     */
+    @GetMapping("/query")
+    public ResponseEntity<EmployeePage> queryEmployees(
+            @RequestParam(required = false) EmployeeStatus statut,
+            @RequestParam(required = false) String service,
+            @RequestParam(required = false) String poste,
+            @RequestParam(required = false) String typeContrat,
+            @RequestParam(required = false) String search,
+            @RequestParam(required = false) String sort,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        log.info("GET /api/employees/query - statut={}, service={}, poste={}, typeContrat={}, search={}, sort={}, page={}, size={}",
+                statut, service, poste, typeContrat, search, sort, page, size);
+        return ResponseEntity.ok(employeeService.queryEmployees(statut, service, poste, typeContrat, search, sort, page, size));
+    }
+
+    /**
+     * Rechercher les employés les plus pertinents (nom, prénom, email, numéro)
+     * GET /api/employees/search?q=dup&limit=10
+     */
+    @GetMapping("/search")
+    public ResponseEntity<List<EmployeeResponse>> searchEmployees(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "20") int limit) {
+        log.info("GET /api/employees/search - q={}, limit={}", q, limit);
+        return ResponseEntity.ok(employeeService.searchEmployees(q, limit));
+    }
+
+    /**
+     * Masse salariale (salaire + prime) et effectifs par service, type de contrat et statut
+     * GET /api/employees/stats
+     */
+    @GetMapping("/stats")
+    public ResponseEntity<EmployeeStats> getStats() {
+        log.info("GET /api/employees/stats - Fetching payroll statistics");
+        return ResponseEntity.ok(employeeStatsService.getStats());
+    }
+
     /**
      * Récupérer un employé par ID
      * GET /api/employees/{id}
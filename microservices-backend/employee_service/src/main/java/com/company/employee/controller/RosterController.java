@@ -0,0 +1,55 @@
+package com.company.employee.controller;
+
+import com.company.employee.dto.ServiceRoster;
+import com.company.employee.service.ShiftScheduler;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * Planning hebdomadaire des shifts par service, tenu à jour à chaque modification d'employé
+ */
+@RestController
+@RequestMapping("/api/employees/roster")
+@RequiredArgsConstructor
+@Slf4j
+public class RosterController {
+
+    private final ShiftScheduler shiftScheduler;
+
+    /**
+     * Planning de tous les services
+     * GET /api/employees/roster
+     */
+    @GetMapping
+    public ResponseEntity<List<ServiceRoster>> getRosters() {
+        log.info("GET /api/employees/roster - Fetching all rosters");
+        return ResponseEntity.ok(shiftScheduler.getRosters());
+    }
+
+    /**
+     * Planning d'un service
+     * GET /api/employees/roster/{service}
+     */
+    @GetMapping("/{service}")
+    public ResponseEntity<ServiceRoster> getRoster(@PathVariable String service) {
+        log.info("GET /api/employees/roster/{} - Fetching roster", service);
+        return shiftScheduler.getRoster(service)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    /**
+     * Replanifier tous les services depuis la base
+     * POST /api/employees/roster/rebuild
+     */
+    @PostMapping("/rebuild")
+    public ResponseEntity<List<ServiceRoster>> rebuild() {
+        log.info("POST /api/employees/roster/rebuild - Rebuilding all rosters");
+        shiftScheduler.rebuild();
+        return ResponseEntity.ok(shiftScheduler.getRosters());
+    }
+}
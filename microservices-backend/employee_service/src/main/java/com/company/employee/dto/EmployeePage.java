@@ -0,0 +1,19 @@
+package com.company.employee.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EmployeePage {
+
+    private List<EmployeeResponse> content;
+    private int page;
+    private int size;
+    private long totalElements;
+    private int totalPages;
+}
@@ -0,0 +1,23 @@
+package com.company.employee.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EmployeeStats {
+
+    private PayrollTotals total;
+    // Clés triées : service, type de contrat, statut
+    private Map<String, PayrollTotals> byService;
+    private Map<String, PayrollTotals> byTypeContrat;
+    private Map<String, PayrollTotals> byStatut;
+    private LocalDateTime computedAt;
+    // Durée du calcul (lecture par lots et agrégation), pas du service depuis le cache
+    private long computeMillis;
+}
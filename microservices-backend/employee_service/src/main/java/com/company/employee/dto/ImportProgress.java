@@ -0,0 +1,27 @@
+package com.company.employee.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImportProgress {
+
+    private String importId;
+    // EN_COURS, TERMINE ou ECHOUE
+    private String status;
+    private long processedRows;
+    private long importedRows;
+    private long failedRows;
+    private double rowsPerSecond;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+    private String message;
+    // Erreurs par ligne, tronquées à employee.import.max-errors
+    private List<ImportRowError> errors;
+}
@@ -0,0 +1,16 @@
+package com.company.employee.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImportRowError {
+
+    // Numéro de la ligne de données (1 pour la première après l'en-tête)
+    private long row;
+    private String email;
+    private String message;
+}
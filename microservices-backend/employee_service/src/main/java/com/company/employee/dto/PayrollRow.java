@@ -0,0 +1,24 @@
+package com.company.employee.dto;
+
+import com.company.employee.entity.EmployeeStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * Projection des seules colonnes utiles aux statistiques de masse salariale
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PayrollRow {
+
+    private Long id;
+    private String service;
+    private String typeContrat;
+    private EmployeeStatus statut;
+    private BigDecimal salaire;
+    private BigDecimal prime;
+}
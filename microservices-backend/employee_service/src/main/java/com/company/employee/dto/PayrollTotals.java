@@ -0,0 +1,19 @@
+package com.company.employee.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PayrollTotals {
+
+    private long employees;
+    private BigDecimal salaire;
+    private BigDecimal prime;
+    // salaire + prime
+    private BigDecimal total;
+}
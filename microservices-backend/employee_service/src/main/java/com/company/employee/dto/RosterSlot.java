@@ -0,0 +1,20 @@
+package com.company.employee.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.DayOfWeek;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RosterSlot {
+
+    private DayOfWeek day;
+    // JOUR ou NUIT
+    private String shift;
+    private int staff;
+    private List<Long> employeeIds;
+}
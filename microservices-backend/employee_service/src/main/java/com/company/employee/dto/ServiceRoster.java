@@ -0,0 +1,22 @@
+package com.company.employee.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ServiceRoster {
+
+    private String service;
+    // Employés ACTIF planifiés dans le service
+    private int employees;
+    private int minStaff;
+    private int maxStaff;
+    // Shifts dus selon les heures contractuelles mais impossibles à placer (contraintes de repos, type de shift)
+    private int unfilledShifts;
+    private List<RosterSlot> slots;
+}
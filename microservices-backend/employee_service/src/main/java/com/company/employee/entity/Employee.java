@@ -16,8 +16,10 @@ import java.time.LocalDateTime;
 @AllArgsConstructor
 public class Employee {
 
+    // Séquence allouée par blocs : contrairement à IDENTITY, permet les insertions JDBC groupées
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "employee_seq")
+    @SequenceGenerator(name = "employee_seq", sequenceName = "employees_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false, unique = true)
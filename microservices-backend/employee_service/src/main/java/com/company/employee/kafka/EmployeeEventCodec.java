@@ -0,0 +1,198 @@
+package com.company.employee.kafka;
+
+import com.company.employee.entity.EmployeeStatus;
+import com.company.employee.event.EmployeeEvent;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+
+/**
+ * Codec binaire écrit à la main pour EmployeeEvent, versionné par {@link #FORMAT_ID}.
+ * Trame : octet magique 0, identifiant de format (4 octets), bitmap des champs nuls
+ * (varint), puis les champs non nuls dans cet ordre : employeeId, employeeNumber, eventType,
+ * nom, prenom, email, poste, service, statut, eventTime (varint zigzag, chaînes UTF-8
+ * préfixées par leur longueur, eventTime en secondes epoch UTC puis nanos).
+ * Les constantes d'EmployeeStatus ne doivent être qu'ajoutées en fin d'enum.
+ * Tout autre changement de la trame prend un nouvel identifiant de format, et decode
+ * garde la lecture des identifiants précédents tant que des messages peuvent en contenir.
+ */
+public final class EmployeeEventCodec {
+
+    public static final byte MAGIC = 0;
+    public static final int FORMAT_ID = 2001;
+
+    private static final EmployeeStatus[] STATUSES = EmployeeStatus.values();
+
+    private EmployeeEventCodec() {
+    }
+
+    public static byte[] encode(EmployeeEvent event) {
+        Object[] fields = {
+                event.getEmployeeId(), event.getEmployeeNumber(), event.getEventType(),
+                event.getNom(), event.getPrenom(), event.getEmail(),
+                event.getPoste(), event.getService(),
+                event.getStatut(), event.getEventTime()
+        };
+        long nulls = 0;
+        for (int i = 0; i < fields.length; i++) {
+            if (fields[i] == null) {
+                nulls |= 1L << i;
+            }
+        }
+
+        Writer out = new Writer(128);
+        out.writeByte(MAGIC);
+        out.writeInt(FORMAT_ID);
+        out.writeVarLong(nulls);
+        if (event.getEmployeeId() != null) out.writeVarLong(zigzag(event.getEmployeeId()));
+        if (event.getEmployeeNumber() != null) out.writeString(event.getEmployeeNumber());
+        if (event.getEventType() != null) out.writeString(event.getEventType());
+        if (event.getNom() != null) out.writeString(event.getNom());
+        if (event.getPrenom() != null) out.writeString(event.getPrenom());
+        if (event.getEmail() != null) out.writeString(event.getEmail());
+        if (event.getPoste() != null) out.writeString(event.getPoste());
+        if (event.getService() != null) out.writeString(event.getService());
+        if (event.getStatut() != null) out.writeVarLong(event.getStatut().ordinal());
+        if (event.getEventTime() != null) {
+            out.writeVarLong(zigzag(event.getEventTime().toEpochSecond(ZoneOffset.UTC)));
+            out.writeVarLong(event.getEventTime().getNano());
+        }
+        return out.toByteArray();
+    }
+
+    public static EmployeeEvent decode(byte[] data) {
+        Reader in = new Reader(data);
+        if (in.readByte() != MAGIC) {
+            throw new IllegalArgumentException("Not a binary EmployeeEvent payload");
+        }
+        int formatId = in.readInt();
+        if (formatId != FORMAT_ID) {
+            throw new IllegalArgumentException("Unsupported EmployeeEvent format id: " + formatId);
+        }
+        long nulls = in.readVarLong();
+
+        EmployeeEvent event = new EmployeeEvent();
+        if (present(nulls, 0)) event.setEmployeeId(unzigzag(in.readVarLong()));
+        if (present(nulls, 1)) event.setEmployeeNumber(in.readString());
+        if (present(nulls, 2)) event.setEventType(in.readString());
+        if (present(nulls, 3)) event.setNom(in.readString());
+        if (present(nulls, 4)) event.setPrenom(in.readString());
+        if (present(nulls, 5)) event.setEmail(in.readString());
+        if (present(nulls, 6)) event.setPoste(in.readString());
+        if (present(nulls, 7)) event.setService(in.readString());
+        if (present(nulls, 8)) event.setStatut(STATUSES[(int) in.readVarLong()]);
+        if (present(nulls, 9)) {
+            long seconds = unzigzag(in.readVarLong());
+            int nanos = (int) in.readVarLong();
+            event.setEventTime(LocalDateTime.ofEpochSecond(seconds, nanos, ZoneOffset.UTC));
+        }
+        return event;
+    }
+
+    public static boolean isBinary(byte[] data) {
+        return data != null && data.length > 5 && data[0] == MAGIC;
+    }
+
+    private static boolean present(long nulls, int field) {
+        return (nulls & (1L << field)) == 0;
+    }
+
+    private static long zigzag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    private static long unzigzag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    private static final class Writer {
+        private byte[] buf;
+        private int pos;
+
+        Writer(int capacity) {
+            this.buf = new byte[capacity];
+        }
+
+        void writeByte(int b) {
+            ensure(1);
+            buf[pos++] = (byte) b;
+        }
+
+        void writeInt(int v) {
+            ensure(4);
+            buf[pos++] = (byte) (v >>> 24);
+            buf[pos++] = (byte) (v >>> 16);
+            buf[pos++] = (byte) (v >>> 8);
+            buf[pos++] = (byte) v;
+        }
+
+        void writeVarLong(long v) {
+            ensure(10);
+            while ((v & ~0x7FL) != 0) {
+                buf[pos++] = (byte) ((v & 0x7F) | 0x80);
+                v >>>= 7;
+            }
+            buf[pos++] = (byte) v;
+        }
+
+        void writeBytes(byte[] bytes) {
+            writeVarLong(bytes.length);
+            ensure(bytes.length);
+            System.arraycopy(bytes, 0, buf, pos, bytes.length);
+            pos += bytes.length;
+        }
+
+        void writeString(String s) {
+            writeBytes(s.getBytes(StandardCharsets.UTF_8));
+        }
+
+        byte[] toByteArray() {
+            return Arrays.copyOf(buf, pos);
+        }
+
+        private void ensure(int extra) {
+            if (pos + extra > buf.length) {
+                buf = Arrays.copyOf(buf, Math.max(buf.length * 2, pos + extra));
+            }
+        }
+    }
+
+    private static final class Reader {
+        private final byte[] buf;
+        private int pos;
+
+        Reader(byte[] buf) {
+            this.buf = buf;
+        }
+
+        byte readByte() {
+            return buf[pos++];
+        }
+
+        int readInt() {
+            return ((buf[pos++] & 0xFF) << 24) | ((buf[pos++] & 0xFF) << 16)
+                    | ((buf[pos++] & 0xFF) << 8) | (buf[pos++] & 0xFF);
+        }
+
+        long readVarLong() {
+            long result = 0;
+            int shift = 0;
+            byte b;
+            do {
+                b = buf[pos++];
+                result |= (long) (b & 0x7F) << shift;
+                shift += 7;
+            } while ((b & 0x80) != 0);
+            return result;
+        }
+
+        String readString() {
+            int length = (int) readVarLong();
+            String s = new String(buf, pos, length, StandardCharsets.UTF_8);
+            pos += length;
+            return s;
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.company.employee.kafka;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.company.employee.event.EmployeeEvent;
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.serialization.Deserializer;
+import org.springframework.kafka.support.JacksonUtils;
+
+import java.io.IOException;
+
+/**
+ * Désérialiseur tolérant aux deux formats : trame binaire (octet magique 0)
+ * ou JSON historique. Permet de basculer les producteurs en binaire sans casser
+ * les consommateurs.
+ */
+public class EmployeeEventDeserializer implements Deserializer<EmployeeEvent> {
+
+    private final ObjectMapper objectMapper = JacksonUtils.enhancedObjectMapper()
+            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+
+    @Override
+    public EmployeeEvent deserialize(String topic, byte[] data) {
+        if (data == null) {
+            return null;
+        }
+        if (EmployeeEventCodec.isBinary(data)) {
+            return EmployeeEventCodec.decode(data);
+        }
+        try {
+            return objectMapper.readValue(data, EmployeeEvent.class);
+        } catch (IOException e) {
+            throw new SerializationException("Unable to deserialize employee event from topic " + topic, e);
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.company.employee.kafka;
+
+import com.company.employee.event.EmployeeEvent;
+import com.company.employee.service.EmployeeStatsService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Invalide les statistiques de cette instance à chaque événement de employee-events,
+ * y compris ceux publiés par les autres instances du service.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+@ConditionalOnProperty(name = "spring.kafka.enabled", havingValue = "true", matchIfMissing = false)
+public class EmployeeStatsInvalidationConsumer {
+
+    static final String LISTENER_ID = "employee-stats";
+
+    private final EmployeeStatsService employeeStatsService;
+
+    @KafkaListener(id = LISTENER_ID,
+            topics = "${kafka.topic.employee-events:employee-events}",
+            containerFactory = "employeeStatsListenerFactory")
+    public void onEmployeeEvent(EmployeeEvent event) {
+        log.debug("Invalidating employee stats after {} of employee {}", event.getEventType(), event.getEmployeeId());
+        employeeStatsService.invalidate();
+    }
+}
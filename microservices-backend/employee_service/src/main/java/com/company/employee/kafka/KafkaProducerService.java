@@ -1,7 +1,10 @@
 package com.company.employee.kafka;
 
 import com.company.employee.event.EmployeeEvent;
-import lombok.RequiredArgsConstructor;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
@@ -9,29 +12,81 @@ import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
 @Service
-@RequiredArgsConstructor
 @Slf4j
 @ConditionalOnProperty(name = "spring.kafka.enabled", havingValue = "true", matchIfMissing = false)
 public class KafkaProducerService {
 
     private final KafkaTemplate<String, Object> kafkaTemplate;
+    private final String employeeEventsTopic;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final Timer ackLatency;
+    private final Counter acked;
+    private final Counter failures;
 
-    @Value("${kafka.topic.employee-events:employee-events}")
-    private String employeeEventsTopic;
+    public KafkaProducerService(KafkaTemplate<String, Object> kafkaTemplate,
+                                MeterRegistry meterRegistry,
+                                @Value("${kafka.topic.employee-events:employee-events}") String employeeEventsTopic) {
+        this.kafkaTemplate = kafkaTemplate;
+        this.employeeEventsTopic = employeeEventsTopic;
+        this.ackLatency = Timer.builder("kafka.producer.ack.latency")
+                .tag("topic", employeeEventsTopic)
+                .description("Time between send and broker acknowledgement")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        this.acked = Counter.builder("kafka.producer.sent")
+                .tag("topic", employeeEventsTopic)
+                .tag("result", "success")
+                .register(meterRegistry);
+        this.failures = Counter.builder("kafka.producer.sent")
+                .tag("topic", employeeEventsTopic)
+                .tag("result", "failure")
+                .register(meterRegistry);
+        Gauge.builder("kafka.producer.in.flight", inFlight, AtomicInteger::get)
+                .tag("topic", employeeEventsTopic)
+                .description("Events sent but not yet acknowledged")
+                .register(meterRegistry);
+    }
 
     @Async
     public void sendEmployeeEvent(EmployeeEvent event) {
+        send(event);
+    }
+
+    /**
+     * Envoyer un lot d'événements depuis une seule tâche asynchrone (import en masse) :
+     * le producteur les regroupe ensuite selon linger-ms et batch-size
+     */
+    @Async
+    public void sendEmployeeEvents(List<EmployeeEvent> events) {
+        log.debug("Sending {} employee events", events.size());
+        events.forEach(this::send);
+    }
+
+    private void send(EmployeeEvent event) {
+        log.debug("Sending employee event: {} for employee ID: {}",
+                event.getEventType(), event.getEmployeeId());
+        long start = System.nanoTime();
+        inFlight.incrementAndGet();
         try {
-            log.info("Sending employee event: {} for employee ID: {}", 
-                    event.getEventType(), event.getEmployeeId());
-            
-            kafkaTemplate.send(employeeEventsTopic, 
-                             event.getEmployeeNumber(), 
-                             event);
-            
-            log.info("Employee event sent successfully to topic: {}", employeeEventsTopic);
+            kafkaTemplate.send(employeeEventsTopic, event.getEmployeeNumber(), event)
+                    .whenComplete((result, ex) -> {
+                        inFlight.decrementAndGet();
+                        if (ex == null) {
+                            ackLatency.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                            acked.increment();
+                        } else {
+                            failures.increment();
+                            log.error("Error sending employee event to Kafka: {}", ex.getMessage());
+                        }
+                    });
         } catch (Exception e) {
+            inFlight.decrementAndGet();
+            failures.increment();
             log.error("Error sending employee event to Kafka: {}", e.getMessage(), e);
         }
     }
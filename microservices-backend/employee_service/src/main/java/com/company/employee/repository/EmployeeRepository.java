@@ -1,10 +1,15 @@
 package com.company.employee.repository;
 
+import com.company.employee.dto.PayrollRow;
 import com.company.employee.entity.Employee;
 import com.company.employee.entity.EmployeeStatus;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -44,6 +49,12 @@ public interface EmployeeRepository extends JpaRepository<Employee, Long> {
     // Vérifier si un numéro d'employé existe déjà
     boolean existsByEmployeeNumber(String employeeNumber);
 
-    // Trouver les employés dont le nom contient une chaîne
-    List<Employee> findByNomContainingIgnoreCaseOrPrenomContainingIgnoreCase(String nom, String prenom);
+    // Emails déjà utilisés parmi une liste (import en masse)
+    @Query("select e.email from Employee e where e.email in :emails")
+    List<String> findExistingEmails(@Param("emails") Collection<String> emails);
+
+    // Lot suivant de colonnes de paie, par pagination sur l'id (statistiques)
+    @Query("select new com.company.employee.dto.PayrollRow(e.id, e.service, e.typeContrat, e.statut, e.salaire, e.prime) "
+            + "from Employee e where e.id > :afterId order by e.id")
+    List<PayrollRow> findPayrollChunk(@Param("afterId") long afterId, Pageable pageable);
 }
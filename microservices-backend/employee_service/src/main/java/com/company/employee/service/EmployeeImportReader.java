@@ -0,0 +1,246 @@
+package com.company.employee.service;
+
+import com.company.employee.dto.EmployeeRequest;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * Lecture incrémentale d'un fichier d'import, une ligne à la fois.
+ * CSV : ligne d'en-tête obligatoire avec les noms des champs d'EmployeeRequest (casse ignorée),
+ * séparateur ',' ou ';' détecté sur l'en-tête, guillemets RFC 4180 (y compris retours à la ligne).
+ * JSON : tableau d'objets EmployeeRequest, chaque élément est lu puis converti séparément
+ * pour qu'une valeur invalide n'interrompe pas la lecture des suivants.
+ */
+public abstract class EmployeeImportReader implements Closeable {
+
+    private static final Map<String, BiConsumer<EmployeeRequest, String>> CSV_FIELDS = new HashMap<>();
+
+    static {
+        CSV_FIELDS.put("nom", EmployeeRequest::setNom);
+        CSV_FIELDS.put("prenom", EmployeeRequest::setPrenom);
+        CSV_FIELDS.put("datenaissance", (r, v) -> r.setDateNaissance(parse(v, LocalDate::parse)));
+        CSV_FIELDS.put("telephone", EmployeeRequest::setTelephone);
+        CSV_FIELDS.put("email", EmployeeRequest::setEmail);
+        CSV_FIELDS.put("adresse", EmployeeRequest::setAdresse);
+        CSV_FIELDS.put("poste", EmployeeRequest::setPoste);
+        CSV_FIELDS.put("service", EmployeeRequest::setService);
+        CSV_FIELDS.put("dateembauche", (r, v) -> r.setDateEmbauche(parse(v, LocalDate::parse)));
+        CSV_FIELDS.put("typecontrat", EmployeeRequest::setTypeContrat);
+        CSV_FIELDS.put("salaire", (r, v) -> r.setSalaire(parse(v, BigDecimal::new)));
+        CSV_FIELDS.put("prime", (r, v) -> r.setPrime(parse(v, BigDecimal::new)));
+        CSV_FIELDS.put("heurestravailparsemaine", (r, v) -> r.setHeuresTravailParSemaine(parse(v, Integer::valueOf)));
+        CSV_FIELDS.put("typeshift", EmployeeRequest::setTypeShift);
+    }
+
+    /**
+     * Ligne suivante, ou null en fin de fichier
+     */
+    public abstract Row next() throws IOException;
+
+    public static EmployeeImportReader csv(Reader reader) throws IOException {
+        return new CsvReader(reader);
+    }
+
+    public static EmployeeImportReader json(InputStream in, ObjectMapper objectMapper) throws IOException {
+        return new JsonReader(in, objectMapper);
+    }
+
+    private static <T> T parse(String value, Function<String, T> parser) {
+        return value == null ? null : parser.apply(value);
+    }
+
+    /**
+     * Ligne lue : la requête, ou l'erreur de lecture qui empêche de la construire
+     */
+    public record Row(long number, EmployeeRequest request, String error) {
+    }
+
+    private static final class CsvReader extends EmployeeImportReader {
+        private final Reader in;
+        private final char[] buffer = new char[8192];
+        private int position;
+        private int limit;
+        private final char separator;
+        private final List<BiConsumer<EmployeeRequest, String>> columns = new ArrayList<>();
+        private final StringBuilder field = new StringBuilder();
+        private long number;
+
+        CsvReader(Reader in) throws IOException {
+            this.in = in;
+            String header = readHeader();
+            if (header.isBlank()) {
+                throw new IOException("Fichier CSV vide");
+            }
+            this.separator = header.indexOf(';') >= 0 && header.indexOf(',') < 0 ? ';' : ',';
+            for (String name : header.split(String.valueOf(separator), -1)) {
+                String key = name.replace("\uFEFF", "").replace("\"", "").trim().toLowerCase(Locale.ROOT);
+                if (!key.isEmpty() && !CSV_FIELDS.containsKey(key)) {
+                    throw new IOException("Colonne inconnue dans l'en-tête CSV : " + name.trim());
+                }
+                columns.add(CSV_FIELDS.get(key));
+            }
+        }
+
+        @Override
+        public Row next() throws IOException {
+            List<String> values;
+            do {
+                values = readRecord();
+                if (values == null) {
+                    return null;
+                }
+            } while (values.size() == 1 && values.get(0).isBlank());
+
+            number++;
+            if (values.size() != columns.size()) {
+                return new Row(number, null, "Nombre de colonnes incorrect : " + values.size() + " au lieu de " + columns.size());
+            }
+            EmployeeRequest request = new EmployeeRequest();
+            for (int i = 0; i < values.size(); i++) {
+                if (columns.get(i) == null) {
+                    continue;
+                }
+                // Cellule vide : champ absent, comme une propriété omise en JSON
+                String value = values.get(i).trim();
+                try {
+                    columns.get(i).accept(request, value.isEmpty() ? null : value);
+                } catch (RuntimeException e) {
+                    return new Row(number, null, "Valeur invalide en colonne " + (i + 1) + " : " + values.get(i));
+                }
+            }
+            return new Row(number, request, null);
+        }
+
+        private String readHeader() throws IOException {
+            StringBuilder line = new StringBuilder();
+            int c;
+            while ((c = read()) >= 0 && c != '\n') {
+                if (c != '\r') {
+                    line.append((char) c);
+                }
+            }
+            return line.toString();
+        }
+
+        // Champs du prochain enregistrement ; les guillemets peuvent contenir séparateurs et retours à la ligne
+        private List<String> readRecord() throws IOException {
+            List<String> fields = new ArrayList<>(columns.size());
+            field.setLength(0);
+            boolean quoted = false;
+            boolean any = false;
+            int c;
+            while ((c = read()) >= 0) {
+                any = true;
+                if (quoted) {
+                    if (c == '"') {
+                        if (peek() == '"') {
+                            read();
+                            field.append('"');
+                        } else {
+                            quoted = false;
+                        }
+                    } else {
+                        field.append((char) c);
+                    }
+                } else if (c == '"' && field.isEmpty()) {
+                    quoted = true;
+                } else if (c == separator) {
+                    fields.add(field.toString());
+                    field.setLength(0);
+                } else if (c == '\n') {
+                    break;
+                } else if (c != '\r') {
+                    field.append((char) c);
+                }
+            }
+            if (!any) {
+                return null;
+            }
+            fields.add(field.toString());
+            return fields;
+        }
+
+        private int read() throws IOException {
+            if (position == limit && !fill()) {
+                return -1;
+            }
+            return buffer[position++];
+        }
+
+        private int peek() throws IOException {
+            if (position == limit && !fill()) {
+                return -1;
+            }
+            return buffer[position];
+        }
+
+        private boolean fill() throws IOException {
+            int read = in.read(buffer);
+            position = 0;
+            limit = Math.max(read, 0);
+            return read > 0;
+        }
+
+        @Override
+        public void close() throws IOException {
+            in.close();
+        }
+    }
+
+    private static final class JsonReader extends EmployeeImportReader {
+        private final JsonParser parser;
+        private final ObjectMapper objectMapper;
+        private long number;
+
+        JsonReader(InputStream in, ObjectMapper objectMapper) throws IOException {
+            this.objectMapper = objectMapper;
+            this.parser = objectMapper.getFactory().createParser(in);
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new IOException("Le fichier JSON doit contenir un tableau d'employés");
+            }
+        }
+
+        @Override
+        public Row next() throws IOException {
+            JsonToken token = parser.nextToken();
+            if (token == null || token == JsonToken.END_ARRAY) {
+                return null;
+            }
+            number++;
+            // L'élément est lu en entier avant conversion : une erreur de type ne désynchronise pas le flux
+            JsonNode node = parser.readValueAsTree();
+            if (node == null || !node.isObject()) {
+                return new Row(number, null, "Un objet employé est attendu");
+            }
+            try {
+                return new Row(number, objectMapper.treeToValue(node, EmployeeRequest.class), null);
+            } catch (JsonProcessingException e) {
+                return new Row(number, null, "Valeur invalide : " + e.getOriginalMessage());
+            } catch (IllegalArgumentException e) {
+                return new Row(number, null, "Valeur invalide : " + e.getMessage());
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            parser.close();
+        }
+    }
+}
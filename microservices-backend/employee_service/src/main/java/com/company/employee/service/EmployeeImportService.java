@@ -0,0 +1,263 @@
+package com.company.employee.service;
+
+import com.company.employee.dto.EmployeeRequest;
+import com.company.employee.dto.ImportProgress;
+import com.company.employee.dto.ImportRowError;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Import en masse d'employés depuis un fichier CSV ou JSON.
+ * Le fichier est lu ligne à ligne : validation des contraintes d'EmployeeRequest et des doublons
+ * d'email dans le fichier, puis création par lots de {@code employee.import.chunk-size} lignes,
+ * chaque lot dans sa propre transaction. Une ligne invalide est rapportée sans bloquer les autres.
+ */
+@Service
+@Slf4j
+public class EmployeeImportService {
+
+    private static final int MAX_TRACKED_IMPORTS = 100;
+
+    private final EmployeeService employeeService;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final int chunkSize;
+    private final int maxErrors;
+
+    // Un import à la fois : les lots d'imports concurrents se disputeraient les mêmes emails
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(task -> {
+        Thread thread = new Thread(task, "employee-import");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final Map<String, ImportJob> jobs = new LinkedHashMap<>() {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, ImportJob> eldest) {
+            return size() > MAX_TRACKED_IMPORTS;
+        }
+    };
+
+    public EmployeeImportService(EmployeeService employeeService,
+                                 ObjectMapper objectMapper,
+                                 Validator validator,
+                                 @Value("${employee.import.chunk-size:500}") int chunkSize,
+                                 @Value("${employee.import.max-errors:1000}") int maxErrors) {
+        this.employeeService = employeeService;
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+        this.chunkSize = chunkSize;
+        this.maxErrors = maxErrors;
+    }
+
+    /**
+     * Démarrer un import en arrière-plan. Le corps de la requête est d'abord recopié
+     * dans un fichier temporaire, sans être chargé en mémoire.
+     */
+    public ImportProgress startImport(InputStream body, String contentType) throws IOException {
+        boolean json = isJson(contentType);
+        Path file = Files.createTempFile("employee-import-", json ? ".json" : ".csv");
+        try {
+            Files.copy(body, file, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            Files.deleteIfExists(file);
+            throw e;
+        }
+
+        ImportJob job = new ImportJob(UUID.randomUUID().toString());
+        synchronized (jobs) {
+            jobs.put(job.id, job);
+        }
+        log.info("Employee import {} started: {} bytes of {}", job.id, Files.size(file), json ? "JSON" : "CSV");
+        executor.submit(() -> {
+            try (InputStream in = Files.newInputStream(file)) {
+                process(job, in, json);
+            } catch (IOException | RuntimeException e) {
+                job.abort(e.getMessage());
+                log.error("Employee import {} failed: {}", job.id, e.getMessage());
+            } finally {
+                deleteQuietly(file);
+            }
+        });
+        return job.snapshot();
+    }
+
+    /**
+     * Avancement d'un import récent
+     */
+    public Optional<ImportProgress> getProgress(String importId) {
+        synchronized (jobs) {
+            return Optional.ofNullable(jobs.get(importId)).map(ImportJob::snapshot);
+        }
+    }
+
+    /**
+     * Importer un flux dans le thread appelant et retourner le rapport final
+     */
+    public ImportProgress importNow(InputStream in, String contentType) throws IOException {
+        ImportJob job = new ImportJob(UUID.randomUUID().toString());
+        process(job, in, isJson(contentType));
+        return job.snapshot();
+    }
+
+    private void process(ImportJob job, InputStream in, boolean json) throws IOException {
+        Set<String> emails = new HashSet<>();
+        List<EmployeeImportReader.Row> chunk = new ArrayList<>(chunkSize);
+        try (EmployeeImportReader reader = json
+                ? EmployeeImportReader.json(in, objectMapper)
+                : EmployeeImportReader.csv(new InputStreamReader(in, StandardCharsets.UTF_8))) {
+            EmployeeImportReader.Row row;
+            while ((row = reader.next()) != null) {
+                String error = row.error() != null ? row.error() : validate(row.request());
+                if (error == null && !emails.add(row.request().getEmail())) {
+                    error = "Email en double dans le fichier";
+                }
+                if (error != null) {
+                    job.reject(new ImportRowError(row.number(), row.request() == null ? null : row.request().getEmail(), error));
+                    continue;
+                }
+                chunk.add(row);
+                if (chunk.size() == chunkSize) {
+                    importChunk(job, chunk);
+                    chunk = new ArrayList<>(chunkSize);
+                }
+            }
+        }
+        if (!chunk.isEmpty()) {
+            importChunk(job, chunk);
+        }
+        job.complete();
+        log.info("Employee import {} finished: {} imported, {} rejected, {} rows/s",
+                job.id, job.imported.get(), job.failed.get(), Math.round(job.rowsPerSecond()));
+    }
+
+    private void importChunk(ImportJob job, List<EmployeeImportReader.Row> chunk) {
+        try {
+            List<ImportRowError> errors = employeeService.importEmployees(chunk);
+            job.imported.addAndGet(chunk.size() - errors.size());
+            errors.forEach(job::reject);
+        } catch (RuntimeException e) {
+            // Lot annulé (contrainte violée entre-temps, base indisponible) : toutes ses lignes sont rejetées
+            log.warn("Employee import {}: chunk starting at row {} rolled back: {}",
+                    job.id, chunk.get(0).number(), e.getMessage());
+            chunk.forEach(row -> job.reject(new ImportRowError(row.number(), row.request().getEmail(),
+                    "Lot annulé : " + e.getMessage())));
+        }
+    }
+
+    private String validate(EmployeeRequest request) {
+        Set<ConstraintViolation<EmployeeRequest>> violations = validator.validate(request);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(violation -> violation.getPropertyPath() + " : " + violation.getMessage())
+                .sorted()
+                .collect(Collectors.joining(", "));
+    }
+
+    private static boolean isJson(String contentType) {
+        return contentType != null && contentType.toLowerCase(Locale.ROOT).contains("json");
+    }
+
+    private static void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("Could not delete import file {}: {}", file, e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Compteurs d'un import, mis à jour par le thread d'import et lus par les requêtes de suivi
+     */
+    private final class ImportJob {
+        private final String id;
+        private final LocalDateTime startedAt = LocalDateTime.now();
+        private final long startNanos = System.nanoTime();
+        private final AtomicLong imported = new AtomicLong();
+        private final AtomicLong failed = new AtomicLong();
+        private final List<ImportRowError> errors = new ArrayList<>();
+        private volatile String status = "EN_COURS";
+        private volatile String message;
+        private volatile LocalDateTime finishedAt;
+        private volatile long endNanos;
+
+        ImportJob(String id) {
+            this.id = id;
+        }
+
+        void reject(ImportRowError error) {
+            failed.incrementAndGet();
+            synchronized (errors) {
+                if (errors.size() < maxErrors) {
+                    errors.add(error);
+                }
+            }
+        }
+
+        void complete() {
+            finish("TERMINE", null);
+        }
+
+        void abort(String message) {
+            finish("ECHOUE", message);
+        }
+
+        private void finish(String status, String message) {
+            this.endNanos = System.nanoTime();
+            this.finishedAt = LocalDateTime.now();
+            this.message = message;
+            this.status = status;
+        }
+
+        double rowsPerSecond() {
+            long end = endNanos != 0 ? endNanos : System.nanoTime();
+            double seconds = Math.max(end - startNanos, 1) / 1e9;
+            return (imported.get() + failed.get()) / seconds;
+        }
+
+        ImportProgress snapshot() {
+            List<ImportRowError> copy;
+            synchronized (errors) {
+                copy = new ArrayList<>(errors);
+            }
+            long importedRows = imported.get();
+            long failedRows = failed.get();
+            return new ImportProgress(id, status, importedRows + failedRows, importedRows, failedRows,
+                    rowsPerSecond(), startedAt, finishedAt, message, copy);
+        }
+    }
+}
@@ -0,0 +1,278 @@
+package com.company.employee.service;
+
+import com.company.employee.entity.Employee;
+import com.company.employee.entity.EmployeeStatus;
+import com.company.employee.exception.InvalidEmployeeException;
+import com.company.employee.repository.EmployeeRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Moteur de requêtes multi-critères sur les employés.
+ * Chaque valeur de statut, service, poste et type de contrat possède un BitSet indexé
+ * par id d'employé : combiner des filtres revient à faire un ET entre bitmaps.
+ * Les clés de tri sont gardées en mémoire, seule la page demandée est lue en base.
+ */
+@Component
+@Slf4j
+public class EmployeeQueryEngine {
+
+    public static final int MAX_PAGE_SIZE = 200;
+
+    private final EmployeeRepository employeeRepository;
+    private final EmployeeSearchIndex searchIndex;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final BitSet all = new BitSet();
+    private final Map<EmployeeStatus, BitSet> byStatut = new EnumMap<>(EmployeeStatus.class);
+    private final Map<String, BitSet> byService = new HashMap<>();
+    private final Map<String, BitSet> byPoste = new HashMap<>();
+    private final Map<String, BitSet> byTypeContrat = new HashMap<>();
+    private final Map<Integer, Row> rows = new HashMap<>();
+
+    public EmployeeQueryEngine(EmployeeRepository employeeRepository, EmployeeSearchIndex searchIndex) {
+        this.employeeRepository = employeeRepository;
+        this.searchIndex = searchIndex;
+    }
+
+    /**
+     * Construire les bitmaps depuis la base au démarrage
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        List<Employee> employees = employeeRepository.findAll();
+        lock.writeLock().lock();
+        try {
+            all.clear();
+            byStatut.clear();
+            byService.clear();
+            byPoste.clear();
+            byTypeContrat.clear();
+            rows.clear();
+            employees.forEach(this::putLocked);
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Employee query engine built: {} employees, {} services", employees.size(), byService.size());
+    }
+
+    /**
+     * Indexer (ou réindexer) un employé après création ou modification
+     */
+    public void put(Employee employee) {
+        lock.writeLock().lock();
+        try {
+            putLocked(employee);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Indexer un lot d'employés sous un seul verrou (import en masse)
+     */
+    public void putAll(Collection<Employee> employees) {
+        lock.writeLock().lock();
+        try {
+            employees.forEach(this::putLocked);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Ids des employés satisfaisant tous les filtres non nuls, triés puis paginés.
+     * Sans tri explicite, une recherche texte ordonne par pertinence, sinon par id.
+     */
+    public Result query(EmployeeStatus statut, String service, String poste, String typeContrat,
+                        String search, String sort, int page, int size) {
+        if (page < 0 || size < 1 || size > MAX_PAGE_SIZE) {
+            throw new InvalidEmployeeException("page doit être >= 0 et size compris entre 1 et " + MAX_PAGE_SIZE);
+        }
+        return select(statut, service, poste, typeContrat, search, comparator(sort), (long) page * size, size);
+    }
+
+    /**
+     * Ids de tous les employés satisfaisant les filtres, dans l'ordre naturel
+     */
+    public List<Long> queryAll(EmployeeStatus statut, String service, String poste, String typeContrat, String search) {
+        return select(statut, service, poste, typeContrat, search, null, 0, Integer.MAX_VALUE).ids();
+    }
+
+    private Result select(EmployeeStatus statut, String service, String poste, String typeContrat,
+                          String search, Comparator<Row> order, long from, int size) {
+        boolean hasSearch = search != null && !search.isBlank();
+        // Résolue hors verrou : l'index de recherche a le sien
+        List<Long> ranked = hasSearch ? searchIndex.searchAll(search) : null;
+
+        lock.readLock().lock();
+        try {
+            BitSet matches = (BitSet) all.clone();
+            if (statut != null) {
+                matches.and(byStatut.getOrDefault(statut, new BitSet()));
+            }
+            and(matches, byService, service);
+            and(matches, byPoste, poste);
+            and(matches, byTypeContrat, typeContrat);
+
+            List<Long> ids = new ArrayList<>(Math.min(size, 1024));
+            long total;
+            if (hasSearch) {
+                List<Row> hits = new ArrayList<>();
+                for (Long id : ranked) {
+                    if (id <= Integer.MAX_VALUE && matches.get(id.intValue())) {
+                        hits.add(rows.get(id.intValue()));
+                    }
+                }
+                if (order != null) {
+                    hits.sort(order);
+                }
+                total = hits.size();
+                for (long i = from; i < Math.min(total, from + size); i++) {
+                    ids.add(hits.get((int) i).id);
+                }
+            } else if (order == null) {
+                // Ordre des ids : le BitSet est déjà trié, aucun tri nécessaire
+                total = matches.cardinality();
+                long position = 0;
+                for (int id = matches.nextSetBit(0); id >= 0 && ids.size() < size; id = matches.nextSetBit(id + 1)) {
+                    if (position++ >= from) {
+                        ids.add((long) id);
+                    }
+                }
+            } else {
+                List<Row> hits = new ArrayList<>(matches.cardinality());
+                for (int id = matches.nextSetBit(0); id >= 0; id = matches.nextSetBit(id + 1)) {
+                    hits.add(rows.get(id));
+                }
+                hits.sort(order);
+                total = hits.size();
+                for (long i = from; i < Math.min(total, from + size); i++) {
+                    ids.add(hits.get((int) i).id);
+                }
+            }
+            return new Result(ids, total);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void putLocked(Employee employee) {
+        int id = Math.toIntExact(employee.getId());
+        Row previous = rows.get(id);
+        if (previous != null) {
+            clear(byStatut.get(previous.statut), id);
+            clear(byService.get(key(previous.service)), id);
+            clear(byPoste.get(key(previous.poste)), id);
+            clear(byTypeContrat.get(key(previous.typeContrat)), id);
+        }
+        Row row = new Row(employee);
+        rows.put(id, row);
+        all.set(id);
+        if (row.statut != null) {
+            byStatut.computeIfAbsent(row.statut, s -> new BitSet()).set(id);
+        }
+        set(byService, row.service, id);
+        set(byPoste, row.poste, id);
+        set(byTypeContrat, row.typeContrat, id);
+    }
+
+    private static void and(BitSet matches, Map<String, BitSet> index, String value) {
+        if (value != null) {
+            BitSet bits = index.get(key(value));
+            if (bits == null) {
+                matches.clear();
+            } else {
+                matches.and(bits);
+            }
+        }
+    }
+
+    private static void set(Map<String, BitSet> index, String value, int id) {
+        if (value != null) {
+            index.computeIfAbsent(key(value), k -> new BitSet()).set(id);
+        }
+    }
+
+    private static void clear(BitSet bits, int id) {
+        if (bits != null) {
+            bits.clear(id);
+        }
+    }
+
+    // Filtres insensibles à la casse
+    private static String key(String value) {
+        return value == null ? null : value.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Tri demandé ; null pour l'ordre naturel (pertinence ou id)
+     */
+    static Comparator<Row> comparator(String sort) {
+        if (sort == null || sort.isBlank()) {
+            return null;
+        }
+        boolean descending = sort.startsWith("-");
+        String field = descending ? sort.substring(1) : sort;
+        Comparator<Row> order = switch (field) {
+            case "id" -> Comparator.comparingLong(row -> row.id);
+            case "nom" -> Comparator.comparing((Row row) -> row.nom, Comparator.nullsLast(String.CASE_INSENSITIVE_ORDER))
+                    .thenComparing(row -> row.prenom, Comparator.nullsLast(String.CASE_INSENSITIVE_ORDER));
+            case "dateEmbauche" -> Comparator.comparing((Row row) -> row.dateEmbauche, Comparator.nullsLast(Comparator.naturalOrder()));
+            case "salaire" -> Comparator.comparing((Row row) -> row.salaire, Comparator.nullsLast(Comparator.naturalOrder()));
+            default -> throw new InvalidEmployeeException("Tri non supporté : " + sort);
+        };
+        // L'id départage les égalités pour une pagination stable
+        order = order.thenComparingLong(row -> row.id);
+        return descending ? order.reversed() : order;
+    }
+
+    /**
+     * Attributs filtrables et clés de tri d'un employé
+     */
+    static final class Row {
+        final long id;
+        final EmployeeStatus statut;
+        final String service;
+        final String poste;
+        final String typeContrat;
+        final String nom;
+        final String prenom;
+        final LocalDate dateEmbauche;
+        final BigDecimal salaire;
+
+        Row(Employee employee) {
+            this.id = employee.getId();
+            this.statut = employee.getStatut();
+            this.service = employee.getService();
+            this.poste = employee.getPoste();
+            this.typeContrat = employee.getTypeContrat();
+            this.nom = employee.getNom();
+            this.prenom = employee.getPrenom();
+            this.dateEmbauche = employee.getDateEmbauche();
+            this.salaire = employee.getSalaire();
+        }
+    }
+
+    /**
+     * Ids de la page demandée et nombre total de correspondances
+     */
+    public record Result(List<Long> ids, long total) {
+    }
+}
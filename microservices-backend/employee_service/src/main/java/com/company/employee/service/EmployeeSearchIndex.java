@@ -0,0 +1,466 @@
+package com.company.employee.service;
+
+import com.company.employee.entity.Employee;
+import com.company.employee.repository.EmployeeRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+/**
+ * Index de recherche en mémoire sur nom, prénom, email et numéro d'employé.
+ * Les termes normalisés (minuscules, sans accents) sont rangés dans un dictionnaire trié :
+ * une recherche par préfixe est un parcours de sous-arbre. Pour la tolérance aux fautes,
+ * un index de trigrammes sur ce dictionnaire fournit les termes candidats, vérifiés
+ * ensuite par distance d'édition (Damerau-Levenshtein) sur le préfixe.
+ * Chaque mot de la requête doit correspondre à un terme de l'employé ; les meilleurs
+ * scores sont retenus dans un tas borné.
+ */
+@Component
+@Slf4j
+public class EmployeeSearchIndex {
+
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+    // Espaces et ponctuation séparent les mots ; '-', '.' et '@' restent dans le mot (emails, numéros, noms composés)
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}@.\\-]+");
+    private static final Pattern WORD_PARTS = Pattern.compile("[@.\\-]+");
+
+    // Scores par type de correspondance d'un mot de la requête
+    private static final float EXACT = 3.0f;
+    private static final float PREFIX = 2.0f;
+    private static final float FUZZY = 1.0f;
+
+    private final EmployeeRepository employeeRepository;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    // Dictionnaire trié des termes -> emplacements (slots) des employés qui les portent
+    private final TreeMap<String, Slots> postings = new TreeMap<>();
+    private final Map<String, Set<String>> termsByTrigram = new HashMap<>();
+    // Chaque employé reçoit un emplacement dense : les scores d'une requête tiennent dans un tableau
+    private final Map<Long, Integer> slotById = new HashMap<>();
+    private long[] idBySlot = new long[1024];
+    private String[][] termsBySlot = new String[1024][];
+    private int indexed;
+
+    public EmployeeSearchIndex(EmployeeRepository employeeRepository) {
+        this.employeeRepository = employeeRepository;
+    }
+
+    /**
+     * Construire l'index depuis la base au démarrage
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        List<Employee> employees = employeeRepository.findAll();
+        lock.writeLock().lock();
+        try {
+            postings.clear();
+            termsByTrigram.clear();
+            slotById.clear();
+            idBySlot = new long[Math.max(1024, employees.size())];
+            termsBySlot = new String[idBySlot.length][];
+            indexed = 0;
+            employees.forEach(this::putLocked);
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Employee search index built: {} employees, {} terms", employees.size(), postings.size());
+    }
+
+    /**
+     * Indexer (ou réindexer) un employé après création ou modification
+     */
+    public void put(Employee employee) {
+        lock.writeLock().lock();
+        try {
+            putLocked(employee);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Indexer un lot d'employés sous un seul verrou (import en masse)
+     */
+    public void putAll(Collection<Employee> employees) {
+        lock.writeLock().lock();
+        try {
+            employees.forEach(this::putLocked);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Les {@code limit} employés correspondant le mieux à la requête, du plus pertinent au moins pertinent
+     */
+    public List<Long> search(String query, int limit) {
+        if (limit < 1) {
+            return Collections.emptyList();
+        }
+        // Tas borné : le moins pertinent est évincé dès que la limite est dépassée
+        PriorityQueue<Candidate> top = new PriorityQueue<>(limit + 1);
+        for (Candidate candidate : candidates(query)) {
+            top.add(candidate);
+            if (top.size() > limit) {
+                top.poll();
+            }
+        }
+        List<Long> ids = new ArrayList<>(top.size());
+        while (!top.isEmpty()) {
+            ids.add(top.poll().id);
+        }
+        Collections.reverse(ids);
+        return ids;
+    }
+
+    /**
+     * Tous les employés correspondant à la requête, du plus pertinent au moins pertinent
+     */
+    public List<Long> searchAll(String query) {
+        List<Candidate> candidates = candidates(query);
+        candidates.sort(Collections.reverseOrder());
+        List<Long> ids = new ArrayList<>(candidates.size());
+        candidates.forEach(candidate -> ids.add(candidate.id));
+        return ids;
+    }
+
+    // Employés correspondant à tous les mots de la requête, avec leur score
+    private List<Candidate> candidates(String query) {
+        List<String> words = new ArrayList<>(new LinkedHashSet<>(tokenize(query)));
+        if (words.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        lock.readLock().lock();
+        try {
+            int slots = slotById.size();
+            float[][] scores = new float[words.size()][];
+            Touched narrowest = null;
+            for (int w = 0; w < words.size(); w++) {
+                scores[w] = new float[slots];
+                Touched touched = match(words.get(w), scores[w]);
+                if (touched.size == 0) {
+                    return new ArrayList<>();
+                }
+                if (narrowest == null || touched.size < narrowest.size) {
+                    narrowest = touched;
+                }
+            }
+
+            // Parcourir les employés du mot le plus sélectif ; chacun doit correspondre à tous les mots
+            List<Candidate> candidates = new ArrayList<>();
+            for (int i = 0; i < narrowest.size; i++) {
+                int slot = narrowest.slots[i];
+                float total = 0;
+                for (float[] wordScores : scores) {
+                    if (wordScores[slot] == 0) {
+                        total = 0;
+                        break;
+                    }
+                    total += wordScores[slot];
+                }
+                if (total > 0) {
+                    candidates.add(new Candidate(idBySlot[slot], total));
+                }
+            }
+            return candidates;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return indexed;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Meilleur score de chaque employé pour un mot : terme exact, préfixe, ou préfixe à une ou deux fautes près.
+     * Les scores sont écrits dans {@code scores} ; renvoie les emplacements touchés.
+     */
+    private Touched match(String word, float[] scores) {
+        Touched result = new Touched();
+        for (Map.Entry<String, Slots> entry : postings.subMap(word, word + Character.MAX_VALUE).entrySet()) {
+            String term = entry.getKey();
+            // Un préfixe couvrant une plus grande part du terme est plus pertinent
+            float score = term.equals(word) ? EXACT : PREFIX + (float) word.length() / term.length();
+            result.merge(entry.getValue(), scores, score);
+        }
+
+        int maxEdits = maxEdits(word);
+        if (maxEdits > 0) {
+            for (String term : fuzzyCandidates(word, maxEdits)) {
+                // Déjà compté comme préfixe
+                if (term.startsWith(word)) {
+                    continue;
+                }
+                int distance = prefixDistance(word, term, maxEdits);
+                if (distance <= maxEdits) {
+                    result.merge(postings.get(term), scores, FUZZY - 0.25f * distance);
+                }
+            }
+        }
+        return result;
+    }
+
+    // Termes partageant assez de trigrammes avec le mot pour rester à maxEdits fautes près
+    private Set<String> fuzzyCandidates(String word, int maxEdits) {
+        List<String> grams = trigrams(word);
+        // Chaque faute détruit au plus trois trigrammes
+        int required = Math.max(1, grams.size() - 3 * maxEdits);
+        Map<String, Integer> shared = new HashMap<>();
+        Set<String> candidates = new HashSet<>();
+        for (String gram : grams) {
+            for (String term : termsByTrigram.getOrDefault(gram, Collections.emptySet())) {
+                if (shared.merge(term, 1, Integer::sum) == required) {
+                    candidates.add(term);
+                }
+            }
+        }
+        return candidates;
+    }
+
+    private void putLocked(Employee employee) {
+        int slot = slotOf(employee.getId());
+        removeLocked(slot);
+        // Chaque mot est indexé entier et par morceaux : "jean-pierre" -> "jean", "pierre" ;
+        // "j.dupont@hotel.com" -> "j", "dupont", "hotel", "com" ; "emp-1a2b3c4d" -> "emp", "1a2b3c4d"
+        Set<String> terms = new LinkedHashSet<>();
+        for (String field : new String[]{employee.getNom(), employee.getPrenom(), employee.getEmail(), employee.getEmployeeNumber()}) {
+            for (String token : tokenize(field)) {
+                terms.add(token);
+                for (String part : WORD_PARTS.split(token)) {
+                    if (!part.isEmpty()) {
+                        terms.add(part);
+                    }
+                }
+            }
+        }
+
+        String[] indexedTerms = new String[terms.size()];
+        int i = 0;
+        for (String term : terms) {
+            Map.Entry<String, Slots> entry = postings.ceilingEntry(term);
+            if (entry == null || !entry.getKey().equals(term)) {
+                postings.put(term, new Slots());
+                if (isAlphabetic(term)) {
+                    trigrams(term).forEach(gram -> termsByTrigram.computeIfAbsent(gram, g -> new HashSet<>()).add(term));
+                }
+                entry = postings.ceilingEntry(term);
+            }
+            entry.getValue().add(slot);
+            // Réutiliser l'instance de la clé du dictionnaire pour ne pas dupliquer les chaînes
+            indexedTerms[i++] = entry.getKey();
+        }
+        termsBySlot[slot] = indexedTerms;
+        indexed++;
+    }
+
+    private int slotOf(Long employeeId) {
+        Integer slot = slotById.get(employeeId);
+        if (slot != null) {
+            return slot;
+        }
+        int created = slotById.size();
+        if (created == idBySlot.length) {
+            idBySlot = Arrays.copyOf(idBySlot, created * 2);
+            termsBySlot = Arrays.copyOf(termsBySlot, created * 2);
+        }
+        idBySlot[created] = employeeId;
+        slotById.put(employeeId, created);
+        return created;
+    }
+
+    private void removeLocked(int slot) {
+        String[] terms = termsBySlot[slot];
+        if (terms == null) {
+            return;
+        }
+        termsBySlot[slot] = null;
+        indexed--;
+        for (String term : terms) {
+            Slots slots = postings.get(term);
+            slots.remove(slot);
+            if (slots.size == 0) {
+                postings.remove(term);
+                if (!isAlphabetic(term)) {
+                    continue;
+                }
+                for (String gram : trigrams(term)) {
+                    Set<String> gramTerms = termsByTrigram.get(gram);
+                    gramTerms.remove(term);
+                    if (gramTerms.isEmpty()) {
+                        termsByTrigram.remove(gram);
+                    }
+                }
+            }
+        }
+    }
+
+    // Tolérance réservée aux mots alphabétiques d'au moins 4 lettres : une faute dans un numéro
+    // ou une adresse complète désigne un autre employé
+    static int maxEdits(String word) {
+        if (word.length() < 4 || !isAlphabetic(word)) {
+            return 0;
+        }
+        return word.length() < 8 ? 1 : 2;
+    }
+
+    /**
+     * Plus petite distance de Damerau-Levenshtein entre {@code word} et un préfixe de {@code term} ;
+     * renvoie maxEdits + 1 dès que la distance dépasse le seuil
+     */
+    static int prefixDistance(String word, String term, int maxEdits) {
+        int n = word.length();
+        int m = Math.min(term.length(), n + maxEdits);
+        int[][] d = new int[n + 1][m + 1];
+        for (int i = 0; i <= n; i++) {
+            d[i][0] = i;
+        }
+        for (int j = 0; j <= m; j++) {
+            d[0][j] = j;
+        }
+        for (int i = 1; i <= n; i++) {
+            int rowMin = Integer.MAX_VALUE;
+            for (int j = 1; j <= m; j++) {
+                int cost = word.charAt(i - 1) == term.charAt(j - 1) ? 0 : 1;
+                d[i][j] = Math.min(Math.min(d[i - 1][j] + 1, d[i][j - 1] + 1), d[i - 1][j - 1] + cost);
+                if (i > 1 && j > 1 && word.charAt(i - 1) == term.charAt(j - 2) && word.charAt(i - 2) == term.charAt(j - 1)) {
+                    d[i][j] = Math.min(d[i][j], d[i - 2][j - 2] + 1);
+                }
+                rowMin = Math.min(rowMin, d[i][j]);
+            }
+            if (rowMin > maxEdits) {
+                return maxEdits + 1;
+            }
+        }
+        // Le mot peut correspondre à n'importe quel préfixe du terme
+        int best = Integer.MAX_VALUE;
+        for (int j = Math.max(0, n - maxEdits); j <= m; j++) {
+            best = Math.min(best, d[n][j]);
+        }
+        return best;
+    }
+
+    // Seuls ces termes (noms, prénoms, morceaux d'email sans chiffres) entrent dans l'index de trigrammes
+    static boolean isAlphabetic(String term) {
+        return term.chars().allMatch(Character::isLetter);
+    }
+
+    // Trigrammes d'un terme, le premier ancré au début ("^")
+    static List<String> trigrams(String term) {
+        String padded = "^" + term;
+        List<String> grams = new ArrayList<>(Math.max(1, padded.length() - 2));
+        for (int i = 0; i + 3 <= padded.length(); i++) {
+            grams.add(padded.substring(i, i + 3));
+        }
+        if (grams.isEmpty()) {
+            grams.add(padded);
+        }
+        return grams;
+    }
+
+    static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null) {
+            return tokens;
+        }
+        for (String token : SEPARATORS.split(normalize(text))) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    static String normalize(String text) {
+        String decomposed = Normalizer.normalize(text, Normalizer.Form.NFD);
+        return MARKS.matcher(decomposed).replaceAll("").toLowerCase(Locale.ROOT).trim();
+    }
+
+    /**
+     * Emplacements des employés portant un terme (tableau non trié, sans doublon)
+     */
+    private static final class Slots {
+        int[] values = new int[2];
+        int size;
+
+        void add(int slot) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = slot;
+        }
+
+        void remove(int slot) {
+            for (int i = 0; i < size; i++) {
+                if (values[i] == slot) {
+                    values[i] = values[--size];
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Emplacements ayant reçu un score pour un mot de la requête
+     */
+    private static final class Touched {
+        int[] slots = new int[16];
+        int size;
+
+        // Garder le meilleur score de chaque emplacement pour ce mot
+        void merge(Slots postings, float[] scores, float score) {
+            for (int i = 0; i < postings.size; i++) {
+                int slot = postings.values[i];
+                if (scores[slot] == 0) {
+                    if (size == slots.length) {
+                        slots = Arrays.copyOf(slots, size * 2);
+                    }
+                    slots[size++] = slot;
+                }
+                scores[slot] = Math.max(scores[slot], score);
+            }
+        }
+    }
+
+    private static final class Candidate implements Comparable<Candidate> {
+        final long id;
+        final float score;
+
+        Candidate(long id, float score) {
+            this.id = id;
+            this.score = score;
+        }
+
+        // Ordre croissant de pertinence ; à score égal, l'id le plus petit est le plus pertinent
+        @Override
+        public int compareTo(Candidate other) {
+            int byScore = Float.compare(score, other.score);
+            return byScore != 0 ? byScore : Long.compare(other.id, id);
+        }
+    }
+}
@@ -1,8 +1,10 @@
 package com.company.employee.service;
 
+import com.company.employee.dto.EmployeePage;
 import com.company.employee.dto.EmployeeRequest;
 import com.company.employee.dto.EmployeeResponse;
 import com.company.employee.dto.EmployeeUpdateRequest;
+import com.company.employee.dto.ImportRowError;
 import com.company.employee.entity.Employee;
 import com.company.employee.entity.EmployeeStatus;
 import com.company.employee.event.EmployeeEvent;
@@ -12,15 +14,24 @@ import com.company.employee.kafka.KafkaProducerService;
 import com.company.employee.repository.EmployeeRepository;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.Period;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
-import java.util.UUID;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -28,12 +39,30 @@ import java.util.stream.Collectors;
 public class EmployeeService {
 
     private final EmployeeRepository employeeRepository;
+    private final EmployeeSearchIndex searchIndex;
+    private final EmployeeQueryEngine queryEngine;
+    private final IdGenerator idGenerator;
+    private final ShiftScheduler shiftScheduler;
+    private final EmployeeStatsService employeeStatsService;
+    private final int maxSearchResults;
     
     @Autowired(required = false)
     private KafkaProducerService kafkaProducerService;
     
-    public EmployeeService(EmployeeRepository employeeRepository) {
+    public EmployeeService(EmployeeRepository employeeRepository,
+                           EmployeeSearchIndex searchIndex,
+                           EmployeeQueryEngine queryEngine,
+                           IdGenerator idGenerator,
+                           ShiftScheduler shiftScheduler,
+                           EmployeeStatsService employeeStatsService,
+                           @Value("${employee.search.max-results:50}") int maxSearchResults) {
         this.employeeRepository = employeeRepository;
+        this.searchIndex = searchIndex;
+        this.queryEngine = queryEngine;
+        this.idGenerator = idGenerator;
+        this.shiftScheduler = shiftScheduler;
+        this.employeeStatsService = employeeStatsService;
+        this.maxSearchResults = maxSearchResults;
     }
 
     /**
@@ -52,27 +81,12 @@ public class EmployeeService {
         }
 
         // Créer l'entité Employee
-        Employee employee = new Employee();
-        employee.setEmployeeNumber(generateEmployeeNumber());
-        employee.setNom(request.getNom());
-        employee.setPrenom(request.getPrenom());
-        employee.setDateNaissance(request.getDateNaissance());
-        employee.setTelephone(request.getTelephone());
-        employee.setEmail(request.getEmail());
-        employee.setAdresse(request.getAdresse());
-        employee.setPoste(request.getPoste());
-        employee.setService(request.getService());
-        employee.setDateEmbauche(request.getDateEmbauche());
-        employee.setTypeContrat(request.getTypeContrat());
-        employee.setSalaire(request.getSalaire());
-        employee.setPrime(request.getPrime());
-        employee.setHeuresTravailParSemaine(request.getHeuresTravailParSemaine());
-        employee.setTypeShift(request.getTypeShift());
-        employee.setStatut(EmployeeStatus.ACTIF);
+        Employee employee = toEntity(request, generateEmployeeNumber());
 
         // Sauvegarder
         Employee savedEmployee = employeeRepository.save(employee);
         log.info("Employee created successfully with number: {}", savedEmployee.getEmployeeNumber());
+        afterCommit(() -> indexEmployee(savedEmployee));
 
         // Publier l'événement Kafka
         publishEmployeeEvent(savedEmployee, "CREATED");
@@ -80,6 +94,58 @@ public class EmployeeService {
         return mapToResponse(savedEmployee);
     }
 
+    /**
+     * Créer un lot d'employés déjà validés syntaxiquement (import en masse).
+     * Unicité des emails vérifiée en une requête, insertion groupée, puis indexation
+     * et publication des événements en un seul lot après le commit.
+     * Retourne les lignes rejetées par les règles métier.
+     */
+    @Transactional
+    public List<ImportRowError> importEmployees(List<EmployeeImportReader.Row> rows) {
+        List<ImportRowError> errors = new ArrayList<>();
+        List<EmployeeImportReader.Row> valid = new ArrayList<>(rows.size());
+        for (EmployeeImportReader.Row row : rows) {
+            try {
+                validateEmployee(row.request());
+                valid.add(row);
+            } catch (InvalidEmployeeException e) {
+                errors.add(new ImportRowError(row.number(), row.request().getEmail(), e.getMessage()));
+            }
+        }
+        if (valid.isEmpty()) {
+            return errors;
+        }
+
+        Set<String> existing = new HashSet<>(employeeRepository.findExistingEmails(
+                valid.stream().map(row -> row.request().getEmail()).toList()));
+        List<EmployeeRequest> accepted = new ArrayList<>(valid.size());
+        for (EmployeeImportReader.Row row : valid) {
+            if (existing.contains(row.request().getEmail())) {
+                errors.add(new ImportRowError(row.number(), row.request().getEmail(), "Un employé avec cet email existe déjà"));
+            } else {
+                accepted.add(row.request());
+            }
+        }
+
+        if (!accepted.isEmpty()) {
+            List<Employee> employees = new ArrayList<>(accepted.size());
+            for (EmployeeRequest request : accepted) {
+                employees.add(toEntity(request, generateEmployeeNumber()));
+            }
+            List<Employee> saved = employeeRepository.saveAll(employees);
+            employeeRepository.flush();
+            afterCommit(() -> {
+                searchIndex.putAll(saved);
+                queryEngine.putAll(saved);
+                shiftScheduler.onEmployeesChanged(saved);
+                employeeStatsService.invalidate();
+                publishEmployeeEvents(saved, "CREATED");
+            });
+        }
+        errors.sort(Comparator.comparingLong(ImportRowError::getRow));
+        return errors;
+    }
+
     /**
      * Récupérer tous les employés
      */
@@ -161,13 +227,43 @@ public class EmployeeService {
     }
 
     /**
-     * Rechercher des employés par nom ou prénom
+     * Rechercher des employés par nom, prénom, email ou numéro d'employé
      */
     public List<EmployeeResponse> searchEmployees(String searchTerm) {
+        return searchEmployees(searchTerm, maxSearchResults);
+    }
+
+    /**
+     * Rechercher les {@code limit} employés les plus pertinents (préfixe, fautes de frappe tolérées)
+     */
+    public List<EmployeeResponse> searchEmployees(String searchTerm, int limit) {
         log.info("Searching employees with term: {}", searchTerm);
-        return employeeRepository.findByNomContainingIgnoreCaseOrPrenomContainingIgnoreCase(searchTerm, searchTerm).stream()
-                .map(this::mapToResponse)
-                .collect(Collectors.toList());
+        if (limit < 1 || limit > maxSearchResults) {
+            throw new InvalidEmployeeException("La limite doit être comprise entre 1 et " + maxSearchResults);
+        }
+        return loadInOrder(searchIndex.search(searchTerm, limit));
+    }
+
+    /**
+     * Employés satisfaisant tous les filtres fournis (ET logique), triés et paginés
+     */
+    public EmployeePage queryEmployees(EmployeeStatus statut, String service, String poste, String typeContrat,
+                                       String search, String sort, int page, int size) {
+        log.info("Querying employees: statut={}, service={}, poste={}, typeContrat={}, search={}, sort={}, page={}, size={}",
+                statut, service, poste, typeContrat, search, sort, page, size);
+        EmployeeQueryEngine.Result result = queryEngine.query(statut, service, poste, typeContrat, search, sort, page, size);
+        int totalPages = (int) ((result.total() + size - 1) / size);
+        return new EmployeePage(loadInOrder(result.ids()), page, size, result.total(), totalPages);
+    }
+
+    /**
+     * Tous les employés satisfaisant les filtres fournis (ET logique)
+     */
+    public List<EmployeeResponse> filterEmployees(EmployeeStatus statut, String service, String poste,
+                                                  String typeContrat, String search) {
+        log.info("Filtering employees: statut={}, service={}, poste={}, typeContrat={}, search={}",
+                statut, service, poste, typeContrat, search);
+        return loadInOrder(queryEngine.queryAll(statut, service, poste, typeContrat, search));
     }
 
     /**
@@ -233,6 +329,7 @@ public class EmployeeService {
 
         Employee updatedEmployee = employeeRepository.save(employee);
         log.info("Employee updated successfully: {}", id);
+        afterCommit(() -> indexEmployee(updatedEmployee));
 
         // Publier l'événement Kafka
         publishEmployeeEvent(updatedEmployee, "UPDATED");
@@ -253,6 +350,7 @@ public class EmployeeService {
         EmployeeStatus oldStatus = employee.getStatut();
         employee.setStatut(newStatus);
         Employee updatedEmployee = employeeRepository.save(employee);
+        afterCommit(() -> indexEmployee(updatedEmployee));
         
         log.info("Employee status updated from {} to {}", oldStatus, newStatus);
 
@@ -274,8 +372,12 @@ public class EmployeeService {
 
         // On désactive plutôt que de supprimer physiquement
         employee.setStatut(EmployeeStatus.INACTIF);
-        employeeRepository.save(employee);
+        Employee deactivated = employeeRepository.save(employee);
+        afterCommit(() -> indexEmployee(deactivated));
         log.info("Employee deleted (deactivated) successfully: {}", id);
+
+        // Publier l'événement Kafka : les consommateurs voient le passage à INACTIF
+        publishEmployeeEvent(deactivated, "STATUS_CHANGED");
     }
 
     // ==================== Helper Methods ====================
@@ -298,14 +400,75 @@ public class EmployeeService {
     }
 
     /**
-     * Générer un numéro d'employé unique
+     * Générer un numéro d'employé unique, sans requête en base
      */
     private String generateEmployeeNumber() {
-        String employeeNumber;
-        do {
-            employeeNumber = "EMP-" + UUID.randomUUID().toString().substring(0, 8).toUpperCase();
-        } while (employeeRepository.existsByEmployeeNumber(employeeNumber));
-        return employeeNumber;
+        return idGenerator.next("EMP-");
+    }
+
+    /**
+     * Construire l'entité d'un nouvel employé actif
+     */
+    private Employee toEntity(EmployeeRequest request, String employeeNumber) {
+        Employee employee = new Employee();
+        employee.setEmployeeNumber(employeeNumber);
+        employee.setNom(request.getNom());
+        employee.setPrenom(request.getPrenom());
+        employee.setDateNaissance(request.getDateNaissance());
+        employee.setTelephone(request.getTelephone());
+        employee.setEmail(request.getEmail());
+        employee.setAdresse(request.getAdresse());
+        employee.setPoste(request.getPoste());
+        employee.setService(request.getService());
+        employee.setDateEmbauche(request.getDateEmbauche());
+        employee.setTypeContrat(request.getTypeContrat());
+        employee.setSalaire(request.getSalaire());
+        employee.setPrime(request.getPrime());
+        employee.setHeuresTravailParSemaine(request.getHeuresTravailParSemaine());
+        employee.setTypeShift(request.getTypeShift());
+        employee.setStatut(EmployeeStatus.ACTIF);
+        return employee;
+    }
+
+    /**
+     * Mettre à jour les index en mémoire (recherche texte, filtres), le planning des shifts
+     * et invalider les statistiques
+     */
+    private void indexEmployee(Employee employee) {
+        searchIndex.put(employee);
+        queryEngine.put(employee);
+        shiftScheduler.onEmployeeChanged(employee);
+        employeeStatsService.invalidate();
+    }
+
+    /**
+     * Charger les employés en conservant l'ordre des ids fournis
+     */
+    private List<EmployeeResponse> loadInOrder(List<Long> ids) {
+        Map<Long, Employee> employees = employeeRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Employee::getId, Function.identity()));
+        return ids.stream()
+                .map(employees::get)
+                .filter(Objects::nonNull)
+                .map(this::mapToResponse)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Exécuter une action après le commit de la transaction courante
+     * (immédiatement si aucune transaction n'est active)
+     */
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
     }
 
     /**
@@ -316,8 +479,23 @@ public class EmployeeService {
             log.debug("Kafka is disabled. Skipping event publishing for employee: {}", employee.getEmployeeNumber());
             return;
         }
-        
-        EmployeeEvent event = EmployeeEvent.builder()
+        kafkaProducerService.sendEmployeeEvent(toEvent(employee, eventType));
+    }
+
+    /**
+     * Publier les événements d'un lot d'employés en une seule tâche d'envoi
+     */
+    private void publishEmployeeEvents(List<Employee> employees, String eventType) {
+        if (kafkaProducerService == null || employees.isEmpty()) {
+            return;
+        }
+        kafkaProducerService.sendEmployeeEvents(employees.stream()
+                .map(employee -> toEvent(employee, eventType))
+                .toList());
+    }
+
+    private EmployeeEvent toEvent(Employee employee, String eventType) {
+        return EmployeeEvent.builder()
                 .employeeId(employee.getId())
                 .employeeNumber(employee.getEmployeeNumber())
                 .eventType(eventType)
@@ -329,8 +507,6 @@ public class EmployeeService {
                 .statut(employee.getStatut())
                 .eventTime(LocalDateTime.now())
                 .build();
-        
-        kafkaProducerService.sendEmployeeEvent(event);
     }
 
     /**
@@ -0,0 +1,212 @@
+package com.company.employee.service;
+
+import com.company.employee.dto.EmployeeStats;
+import com.company.employee.dto.PayrollRow;
+import com.company.employee.dto.PayrollTotals;
+import com.company.employee.repository.EmployeeRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Masse salariale (salaire + prime) et effectifs par service, type de contrat et statut.
+ * Les employés sont lus par lots (projection des seules colonnes utiles, pagination sur l'id) ;
+ * chaque lot est agrégé en fork/join pendant la lecture du suivant.
+ * Le résultat reste en cache jusqu'au prochain événement employé (création, modification, statut, import),
+ * qu'il vienne de cette instance ou d'une autre (EmployeeStatsInvalidationConsumer sur employee-events).
+ */
+@Service
+@Slf4j
+public class EmployeeStatsService {
+
+    static final String UNKNOWN = "NON_RENSEIGNE";
+    // En dessous, un lot est agrégé sans être redécoupé
+    private static final int SPLIT_THRESHOLD = 1024;
+
+    private final EmployeeRepository employeeRepository;
+    private final int chunkSize;
+    private final ForkJoinPool pool;
+
+    // Incrémentée à chaque événement employé : un instantané d'une version antérieure n'est plus servi
+    private final AtomicLong version = new AtomicLong();
+    private volatile Snapshot snapshot;
+
+    public EmployeeStatsService(EmployeeRepository employeeRepository,
+                                @Value("${employee.stats.chunk-size:5000}") int chunkSize,
+                                @Value("${employee.stats.parallelism:0}") int parallelism) {
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("employee.stats.chunk-size doit être positif");
+        }
+        this.employeeRepository = employeeRepository;
+        this.chunkSize = chunkSize;
+        this.pool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Statistiques courantes, recalculées seulement si un événement employé a eu lieu depuis le dernier calcul
+     */
+    public EmployeeStats getStats() {
+        Snapshot current = snapshot;
+        if (current != null && current.version == version.get()) {
+            return current.stats;
+        }
+        synchronized (this) {
+            // Un autre appel a pu recalculer pendant l'attente du verrou
+            current = snapshot;
+            long expected = version.get();
+            if (current != null && current.version == expected) {
+                return current.stats;
+            }
+            EmployeeStats stats = compute();
+            snapshot = new Snapshot(expected, stats);
+            return stats;
+        }
+    }
+
+    /**
+     * Invalider le cache ; appelé après commit pour chaque événement employé local,
+     * et à la réception de chaque événement de employee-events
+     */
+    public void invalidate() {
+        version.incrementAndGet();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        getStats();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        pool.shutdownNow();
+    }
+
+    private EmployeeStats compute() {
+        long start = System.nanoTime();
+        List<ForkJoinTask<Totals>> tasks = new ArrayList<>();
+        long afterId = 0;
+        List<PayrollRow> chunk;
+        do {
+            chunk = employeeRepository.findPayrollChunk(afterId, PageRequest.of(0, chunkSize));
+            if (!chunk.isEmpty()) {
+                afterId = chunk.get(chunk.size() - 1).getId();
+                tasks.add(pool.submit(new AggregateTask(chunk, 0, chunk.size())));
+            }
+        } while (chunk.size() == chunkSize);
+
+        Totals totals = new Totals();
+        for (ForkJoinTask<Totals> task : tasks) {
+            totals.merge(task.join());
+        }
+        long millis = (System.nanoTime() - start) / 1_000_000;
+        log.info("Employee stats computed: {} employees in {} chunks, {} ms", totals.all.employees, tasks.size(), millis);
+        return new EmployeeStats(totals.all.toTotals(), sorted(totals.byService), sorted(totals.byTypeContrat),
+                sorted(totals.byStatut), LocalDateTime.now(), millis);
+    }
+
+    private static Map<String, PayrollTotals> sorted(Map<String, Sum> sums) {
+        Map<String, PayrollTotals> result = new TreeMap<>();
+        sums.forEach((key, sum) -> result.put(key, sum.toTotals()));
+        return result;
+    }
+
+    private record Snapshot(long version, EmployeeStats stats) {
+    }
+
+    /**
+     * Agrégation d'une tranche de lot, découpée en deux tant qu'elle dépasse SPLIT_THRESHOLD
+     */
+    private static final class AggregateTask extends RecursiveTask<Totals> {
+        private final List<PayrollRow> rows;
+        private final int from;
+        private final int to;
+
+        AggregateTask(List<PayrollRow> rows, int from, int to) {
+            this.rows = rows;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected Totals compute() {
+            if (to - from <= SPLIT_THRESHOLD) {
+                Totals totals = new Totals();
+                for (int i = from; i < to; i++) {
+                    totals.add(rows.get(i));
+                }
+                return totals;
+            }
+            int middle = (from + to) >>> 1;
+            AggregateTask left = new AggregateTask(rows, from, middle);
+            left.fork();
+            Totals totals = new AggregateTask(rows, middle, to).compute();
+            totals.merge(left.join());
+            return totals;
+        }
+    }
+
+    private static final class Totals {
+        final Sum all = new Sum();
+        final Map<String, Sum> byService = new HashMap<>();
+        final Map<String, Sum> byTypeContrat = new HashMap<>();
+        final Map<String, Sum> byStatut = new HashMap<>();
+
+        void add(PayrollRow row) {
+            BigDecimal salaire = row.getSalaire() == null ? BigDecimal.ZERO : row.getSalaire();
+            BigDecimal prime = row.getPrime() == null ? BigDecimal.ZERO : row.getPrime();
+            all.add(1, salaire, prime);
+            byService.computeIfAbsent(keyOf(row.getService()), k -> new Sum()).add(1, salaire, prime);
+            byTypeContrat.computeIfAbsent(keyOf(row.getTypeContrat()), k -> new Sum()).add(1, salaire, prime);
+            byStatut.computeIfAbsent(row.getStatut() == null ? UNKNOWN : row.getStatut().name(), k -> new Sum())
+                    .add(1, salaire, prime);
+        }
+
+        void merge(Totals other) {
+            all.add(other.all.employees, other.all.salaire, other.all.prime);
+            mergeInto(byService, other.byService);
+            mergeInto(byTypeContrat, other.byTypeContrat);
+            mergeInto(byStatut, other.byStatut);
+        }
+
+        private static void mergeInto(Map<String, Sum> target, Map<String, Sum> source) {
+            source.forEach((key, sum) -> target.computeIfAbsent(key, k -> new Sum())
+                    .add(sum.employees, sum.salaire, sum.prime));
+        }
+
+        private static String keyOf(String value) {
+            return value == null || value.isBlank() ? UNKNOWN : value.trim();
+        }
+    }
+
+    private static final class Sum {
+        long employees;
+        BigDecimal salaire = BigDecimal.ZERO;
+        BigDecimal prime = BigDecimal.ZERO;
+
+        void add(long count, BigDecimal salaire, BigDecimal prime) {
+            this.employees += count;
+            this.salaire = this.salaire.add(salaire);
+            this.prime = this.prime.add(prime);
+        }
+
+        PayrollTotals toTotals() {
+            return new PayrollTotals(employees, salaire, prime, salaire.add(prime));
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.company.employee.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Générateur d'identifiants uniques sans accès à la base, à la manière de Snowflake :
+ * 41 bits de millisecondes depuis 2024-01-01, 10 bits d'identifiant de nœud, 12 bits de séquence.
+ * Milliseconde et séquence forment un seul compteur atomique avancé par CAS : un débordement
+ * de séquence ou un recul d'horloge emprunte la milliseconde suivante, les identifiants
+ * restent donc strictement croissants sur un nœud. Deux nœuds distincts ne peuvent pas collisionner.
+ * Encodage en base32 de Crockford sur 13 caractères, dont l'ordre lexicographique suit l'ordre numérique.
+ */
+@Component
+public class IdGenerator {
+
+    static final long EPOCH = Instant.parse("2024-01-01T00:00:00Z").toEpochMilli();
+    static final int NODE_BITS = 10;
+    static final int SEQUENCE_BITS = 12;
+    static final int ENCODED_LENGTH = 13;
+    public static final int MAX_NODE_ID = (1 << NODE_BITS) - 1;
+
+    private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+    private static final char[] ALPHABET = "0123456789ABCDEFGHJKMNPQRSTVWXYZ".toCharArray();
+
+    private final long nodeId;
+    private final LongSupplier clock;
+    // (millisecondes depuis EPOCH << SEQUENCE_BITS) | séquence du dernier identifiant émis
+    private final AtomicLong state = new AtomicLong();
+
+    @Autowired
+    public IdGenerator(@Value("${ids.node-id:-1}") int nodeId) {
+        this(resolveNodeId(nodeId), System::currentTimeMillis);
+    }
+
+    IdGenerator(int nodeId, LongSupplier clock) {
+        if (nodeId < 0 || nodeId > MAX_NODE_ID) {
+            throw new IllegalArgumentException("ids.node-id doit être compris entre 0 et " + MAX_NODE_ID);
+        }
+        this.nodeId = nodeId;
+        this.clock = clock;
+    }
+
+    /**
+     * Identifiant numérique suivant, strictement croissant sur ce nœud
+     */
+    public long nextId() {
+        long now = (clock.getAsLong() - EPOCH) << SEQUENCE_BITS;
+        long previous;
+        long next;
+        do {
+            previous = state.get();
+            next = Math.max(previous + 1, now);
+        } while (!state.compareAndSet(previous, next));
+        return ((next >>> SEQUENCE_BITS) << (NODE_BITS + SEQUENCE_BITS))
+                | (nodeId << SEQUENCE_BITS)
+                | (next & SEQUENCE_MASK);
+    }
+
+    /**
+     * Identifiant suivant encodé, précédé de {@code prefix} (ex. EMP-01HQ3ZK5T8000)
+     */
+    public String next(String prefix) {
+        return prefix + encode(nextId());
+    }
+
+    static String encode(long id) {
+        char[] chars = new char[ENCODED_LENGTH];
+        for (int i = ENCODED_LENGTH - 1; i >= 0; i--) {
+            chars[i] = ALPHABET[(int) (id & 31)];
+            id >>>= 5;
+        }
+        return new String(chars);
+    }
+
+    private static int resolveNodeId(int configured) {
+        if (configured < 0) {
+            // Un identifiant tiré au hasard peut collisionner avec une autre instance : refuser de démarrer
+            throw new IllegalStateException("ids.node-id n'est pas configuré (variable NODE_ID) : "
+                    + "chaque instance doit recevoir un identifiant distinct entre 0 et " + MAX_NODE_ID);
+        }
+        return configured;
+    }
+}
@@ -0,0 +1,467 @@
+package com.company.employee.service;
+
+import com.company.employee.dto.RosterSlot;
+import com.company.employee.dto.ServiceRoster;
+import com.company.employee.entity.Employee;
+import com.company.employee.entity.EmployeeStatus;
+import com.company.employee.repository.EmployeeRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.DayOfWeek;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Planning hebdomadaire des shifts, par service.
+ * Chaque jour compte deux shifts (JOUR, NUIT) de {@code employee.schedule.shift-hours} heures.
+ * Seuls les employés ACTIF sont planifiés : typeShift restreint les shifts possibles (MIXTE : les deux),
+ * heuresTravailParSemaine fixe le nombre de shifts de la semaine, au plus un par jour,
+ * et une NUIT n'est jamais suivie d'un JOUR le lendemain (semaine cyclique).
+ * Objectif : une couverture aussi régulière que possible sur les 14 créneaux de chaque service.
+ * Les services étant indépendants, ils sont résolus en parallèle (fork/join) ;
+ * un changement d'employé ne replace que ses propres shifts, puis ne rééquilibre que les créneaux
+ * qu'il a libérés ou occupés.
+ */
+@Component
+@Slf4j
+public class ShiftScheduler {
+
+    static final int DAYS = 7;
+    static final int JOUR = 0;
+    static final int NUIT = 1;
+    static final String[] SHIFTS = {"JOUR", "NUIT"};
+
+    private final EmployeeRepository employeeRepository;
+    private final int shiftHours;
+    private final ForkJoinPool pool;
+
+    // Remplacé en bloc par rebuild() ; les écritures incrémentales se font sous le moniteur de l'instance
+    private volatile Schedule schedule = new Schedule(new ConcurrentHashMap<>());
+
+    public ShiftScheduler(EmployeeRepository employeeRepository,
+                          @Value("${employee.schedule.shift-hours:8}") int shiftHours,
+                          @Value("${employee.schedule.parallelism:0}") int parallelism) {
+        if (shiftHours < 1 || shiftHours > 24) {
+            throw new IllegalArgumentException("employee.schedule.shift-hours doit être compris entre 1 et 24");
+        }
+        this.employeeRepository = employeeRepository;
+        this.shiftHours = shiftHours;
+        this.pool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Replanifier tous les services depuis la base
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void rebuild() {
+        long start = System.nanoTime();
+        List<Employee> employees = employeeRepository.findAll();
+        Map<String, List<Employee>> byService = new HashMap<>();
+        for (Employee employee : employees) {
+            if (isSchedulable(employee)) {
+                byService.computeIfAbsent(key(employee.getService()), k -> new ArrayList<>()).add(employee);
+            }
+        }
+        Map<String, ServicePlan> plans = pool.invoke(new SolveTask(new ArrayList<>(byService.values()), shiftHours));
+        schedule = new Schedule(new ConcurrentHashMap<>(plans));
+        log.info("Shift schedule built: {} services, {} employees scheduled in {} ms",
+                plans.size(), schedule.serviceByEmployee.size(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * Replacer les shifts d'un employé après création, modification ou changement de statut,
+     * sans replanifier le reste du service : seuls les créneaux qu'il libère ou occupe sont rééquilibrés
+     */
+    public synchronized void onEmployeeChanged(Employee employee) {
+        Schedule current = schedule;
+        String previous = current.serviceByEmployee.remove(employee.getId());
+        if (previous != null) {
+            ServicePlan plan = current.plans.get(previous);
+            synchronized (plan) {
+                plan.repair(plan.remove(employee.getId()));
+            }
+            if (plan.isEmpty()) {
+                current.plans.remove(previous);
+            }
+        }
+        if (isSchedulable(employee)) {
+            String key = key(employee.getService());
+            ServicePlan plan = current.plans.computeIfAbsent(key, k -> new ServicePlan(employee.getService().trim()));
+            synchronized (plan) {
+                plan.repair(plan.place(Member.of(employee, shiftHours)));
+            }
+            current.serviceByEmployee.put(employee.getId(), key);
+        }
+    }
+
+    public synchronized void onEmployeesChanged(Collection<Employee> employees) {
+        employees.forEach(this::onEmployeeChanged);
+    }
+
+    public List<ServiceRoster> getRosters() {
+        List<ServicePlan> plans = new ArrayList<>(schedule.plans.values());
+        plans.sort(Comparator.comparing(plan -> plan.service, String.CASE_INSENSITIVE_ORDER));
+        return plans.stream().map(ServicePlan::toRoster).toList();
+    }
+
+    public Optional<ServiceRoster> getRoster(String service) {
+        return Optional.ofNullable(schedule.plans.get(key(service))).map(ServicePlan::toRoster);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        pool.shutdownNow();
+    }
+
+    private static boolean isSchedulable(Employee employee) {
+        return employee.getStatut() == EmployeeStatus.ACTIF && employee.getService() != null
+                && !employee.getService().isBlank();
+    }
+
+    private static String key(String service) {
+        return service == null ? null : service.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Planifier un service entier : placement glouton des employés les plus contraints d'abord,
+     * puis rééquilibrage par déplacements de shifts
+     */
+    static ServicePlan solve(List<Employee> employees, int shiftHours) {
+        ServicePlan plan = new ServicePlan(employees.get(0).getService().trim());
+        employees.stream()
+                .map(employee -> Member.of(employee, shiftHours))
+                .sorted(Comparator.comparingInt((Member m) -> Integer.bitCount(m.allowed))
+                        .thenComparing(Comparator.comparingInt((Member m) -> m.quota).reversed())
+                        .thenComparingLong(m -> m.id))
+                .forEach(plan::place);
+        plan.rebalance();
+        return plan;
+    }
+
+    /**
+     * Découpe récursive de la liste des services jusqu'à un service par tâche
+     */
+    private static final class SolveTask extends RecursiveTask<Map<String, ServicePlan>> {
+        private final List<List<Employee>> services;
+        private final int shiftHours;
+
+        SolveTask(List<List<Employee>> services, int shiftHours) {
+            this.services = services;
+            this.shiftHours = shiftHours;
+        }
+
+        @Override
+        protected Map<String, ServicePlan> compute() {
+            if (services.isEmpty()) {
+                return new HashMap<>();
+            }
+            if (services.size() == 1) {
+                ServicePlan plan = solve(services.get(0), shiftHours);
+                Map<String, ServicePlan> result = new HashMap<>();
+                result.put(key(plan.service), plan);
+                return result;
+            }
+            int middle = services.size() / 2;
+            SolveTask left = new SolveTask(services.subList(0, middle), shiftHours);
+            SolveTask right = new SolveTask(services.subList(middle, services.size()), shiftHours);
+            left.fork();
+            Map<String, ServicePlan> result = right.compute();
+            result.putAll(left.join());
+            return result;
+        }
+    }
+
+    private static final class Schedule {
+        final Map<String, ServicePlan> plans;
+        final Map<Long, String> serviceByEmployee = new ConcurrentHashMap<>();
+
+        Schedule(Map<String, ServicePlan> plans) {
+            this.plans = plans;
+            plans.forEach((key, plan) -> plan.members.keySet().forEach(id -> serviceByEmployee.put(id, key)));
+        }
+    }
+
+    /**
+     * Shifts possibles et affectations d'un employé ; days[d] vaut JOUR, NUIT ou -1
+     */
+    static final class Member {
+        final long id;
+        final int allowed;
+        final int quota;
+        final int[] days = {-1, -1, -1, -1, -1, -1, -1};
+        int assigned;
+
+        Member(long id, int allowed, int quota) {
+            this.id = id;
+            this.allowed = allowed;
+            this.quota = quota;
+        }
+
+        static Member of(Employee employee, int shiftHours) {
+            String type = employee.getTypeShift() == null ? "" : employee.getTypeShift().trim().toUpperCase(Locale.ROOT);
+            int allowed = switch (type) {
+                case "JOUR" -> 1 << JOUR;
+                case "NUIT" -> 1 << NUIT;
+                default -> (1 << JOUR) | (1 << NUIT);
+            };
+            int hours = employee.getHeuresTravailParSemaine() == null ? 0 : employee.getHeuresTravailParSemaine();
+            return new Member(employee.getId(), allowed, Math.min(DAYS, hours / shiftHours));
+        }
+
+        boolean canWork(int day, int shift) {
+            if ((allowed & (1 << shift)) == 0 || days[day] != -1) {
+                return false;
+            }
+            // Repos : pas de JOUR après une NUIT, pas de NUIT avant un JOUR
+            return shift == JOUR ? days[(day + DAYS - 1) % DAYS] != NUIT : days[(day + 1) % DAYS] != JOUR;
+        }
+    }
+
+    /**
+     * Planning d'un service : effectif par créneau et affectations de chaque membre.
+     * Les accès sont synchronisés sur l'instance.
+     */
+    static final class ServicePlan {
+        final String service;
+        final int[][] staff = new int[DAYS][2];
+        final Map<Long, Member> members = new TreeMap<>();
+
+        ServicePlan(String service) {
+            this.service = service;
+        }
+
+        synchronized boolean isEmpty() {
+            return members.isEmpty();
+        }
+
+        /**
+         * Affecter les shifts d'un membre, un par un, au créneau possible le moins pourvu
+         *
+         * @return les créneaux occupés, en bits {@code day * 2 + shift}
+         */
+        synchronized int place(Member member) {
+            members.put(member.id, member);
+            int taken = 0;
+            while (member.assigned < member.quota) {
+                int bestDay = -1;
+                int bestShift = -1;
+                for (int day = 0; day < DAYS; day++) {
+                    for (int shift = JOUR; shift <= NUIT; shift++) {
+                        if (member.canWork(day, shift) && (bestDay < 0 || staff[day][shift] < staff[bestDay][bestShift])) {
+                            bestDay = day;
+                            bestShift = shift;
+                        }
+                    }
+                }
+                if (bestDay < 0) {
+                    break;
+                }
+                assign(member, bestDay, bestShift);
+                taken |= 1 << slot(bestDay, bestShift);
+            }
+            return taken;
+        }
+
+        /**
+         * @return les créneaux libérés, en bits {@code day * 2 + shift}
+         */
+        synchronized int remove(long id) {
+            Member member = members.remove(id);
+            int freed = 0;
+            if (member != null) {
+                for (int day = 0; day < DAYS; day++) {
+                    if (member.days[day] != -1) {
+                        staff[day][member.days[day]]--;
+                        freed |= 1 << slot(day, member.days[day]);
+                    }
+                }
+            }
+            return freed;
+        }
+
+        /**
+         * Rééquilibrage limité aux créneaux {@code touched} : un créneau libéré complète d'abord le quota
+         * d'un membre, sinon reçoit un shift du créneau le plus chargé ; un créneau occupé cède un shift
+         * au créneau le moins pourvu. Seuls les déplacements qui réduisent l'écart d'au moins deux sont faits :
+         * la somme des carrés des effectifs baisse strictement, la boucle termine.
+         */
+        synchronized void repair(int touched) {
+            boolean moved = true;
+            while (moved) {
+                moved = false;
+                for (int day = 0; day < DAYS; day++) {
+                    for (int shift = JOUR; shift <= NUIT; shift++) {
+                        if ((touched & (1 << slot(day, shift))) != 0 && (fill(day, shift) || relieve(day, shift))) {
+                            moved = true;
+                        }
+                    }
+                }
+            }
+        }
+
+        private boolean fill(int day, int shift) {
+            for (Member member : members.values()) {
+                if (member.assigned < member.quota && member.canWork(day, shift)) {
+                    assign(member, day, shift);
+                    return true;
+                }
+            }
+            Member donor = null;
+            int donorDay = -1;
+            for (Member member : members.values()) {
+                for (int from = 0; from < DAYS; from++) {
+                    int fromShift = member.days[from];
+                    if (fromShift != -1 && staff[from][fromShift] >= staff[day][shift] + 2
+                            && (donor == null || staff[from][fromShift] > staff[donorDay][donor.days[donorDay]])
+                            && canMove(member, from, day, shift)) {
+                        donor = member;
+                        donorDay = from;
+                    }
+                }
+            }
+            if (donor == null) {
+                return false;
+            }
+            move(donor, donorDay, day, shift);
+            return true;
+        }
+
+        private boolean relieve(int day, int shift) {
+            Member best = null;
+            int bestDay = -1;
+            int bestShift = -1;
+            for (Member member : members.values()) {
+                if (member.days[day] != shift) {
+                    continue;
+                }
+                for (int to = 0; to < DAYS; to++) {
+                    for (int toShift = JOUR; toShift <= NUIT; toShift++) {
+                        if (staff[to][toShift] + 2 <= staff[day][shift]
+                                && (best == null || staff[to][toShift] < staff[bestDay][bestShift])
+                                && canMove(member, day, to, toShift)) {
+                            best = member;
+                            bestDay = to;
+                            bestShift = toShift;
+                        }
+                    }
+                }
+            }
+            if (best == null) {
+                return false;
+            }
+            move(best, day, bestDay, bestShift);
+            return true;
+        }
+
+        /**
+         * Le membre pourrait-il travailler ce créneau une fois son shift du jour {@code fromDay} retiré
+         */
+        private static boolean canMove(Member member, int fromDay, int toDay, int toShift) {
+            int fromShift = member.days[fromDay];
+            member.days[fromDay] = -1;
+            boolean possible = member.canWork(toDay, toShift);
+            member.days[fromDay] = fromShift;
+            return possible;
+        }
+
+        private void move(Member member, int fromDay, int toDay, int toShift) {
+            staff[fromDay][member.days[fromDay]]--;
+            member.days[fromDay] = -1;
+            member.days[toDay] = toShift;
+            staff[toDay][toShift]++;
+        }
+
+        private static int slot(int day, int shift) {
+            return day * 2 + shift;
+        }
+
+        /**
+         * Déplacer des shifts des créneaux chargés vers les créneaux creux tant que l'écart
+         * se réduit. Chaque déplacement fait strictement baisser la somme des carrés des effectifs :
+         * la boucle termine.
+         */
+        synchronized void rebalance() {
+            boolean moved = true;
+            while (moved) {
+                moved = false;
+                for (Member member : members.values()) {
+                    for (int day = 0; day < DAYS; day++) {
+                        int shift = member.days[day];
+                        if (shift != -1 && moveToLeastStaffed(member, day, shift)) {
+                            moved = true;
+                        }
+                    }
+                    // Compléter le quota si un départ a libéré des créneaux compatibles
+                    if (member.assigned < member.quota) {
+                        int before = member.assigned;
+                        place(member);
+                        moved |= member.assigned > before;
+                    }
+                }
+            }
+        }
+
+        private boolean moveToLeastStaffed(Member member, int fromDay, int fromShift) {
+            member.days[fromDay] = -1;
+            staff[fromDay][fromShift]--;
+            int bestDay = fromDay;
+            int bestShift = fromShift;
+            for (int day = 0; day < DAYS; day++) {
+                for (int shift = JOUR; shift <= NUIT; shift++) {
+                    if (staff[day][shift] < staff[bestDay][bestShift] && member.canWork(day, shift)) {
+                        bestDay = day;
+                        bestShift = shift;
+                    }
+                }
+            }
+            member.days[bestDay] = bestShift;
+            staff[bestDay][bestShift]++;
+            return bestDay != fromDay || bestShift != fromShift;
+        }
+
+        private void assign(Member member, int day, int shift) {
+            member.days[day] = shift;
+            member.assigned++;
+            staff[day][shift]++;
+        }
+
+        synchronized ServiceRoster toRoster() {
+            List<RosterSlot> slots = new ArrayList<>(DAYS * 2);
+            int min = Integer.MAX_VALUE;
+            int max = 0;
+            int missing = 0;
+            for (int day = 0; day < DAYS; day++) {
+                for (int shift = JOUR; shift <= NUIT; shift++) {
+                    List<Long> ids = new ArrayList<>(staff[day][shift]);
+                    for (Member member : members.values()) {
+                        if (member.days[day] == shift) {
+                            ids.add(member.id);
+                        }
+                    }
+                    slots.add(new RosterSlot(DayOfWeek.of(day + 1), SHIFTS[shift], ids.size(), ids));
+                    min = Math.min(min, ids.size());
+                    max = Math.max(max, ids.size());
+                }
+            }
+            for (Member member : members.values()) {
+                missing += member.quota - member.assigned;
+            }
+            return new ServiceRoster(service, members.size(), min, max, missing, slots);
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package com.company.employee.service;
+
+import com.company.employee.dto.PayrollRow;
+import com.company.employee.entity.Employee;
+import com.company.employee.entity.EmployeeStatus;
+import com.company.employee.repository.EmployeeRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Pageable;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Jeux de données et doublures communs aux tests des index en mémoire du service :
+ * repository simulé, employés complets et valides, et restitution des mesures des benchmarks.
+ */
+final class EmployeeFixtures {
+
+    private static final Logger BENCHMARK_LOG = LoggerFactory.getLogger("benchmark");
+
+    private EmployeeFixtures() {
+    }
+
+    /**
+     * Repository dont findAll() renvoie {@code employees} (reconstruction des index)
+     */
+    static EmployeeRepository repositoryOf(List<Employee> employees) {
+        EmployeeRepository repository = mock(EmployeeRepository.class);
+        when(repository.findAll()).thenReturn(employees);
+        return repository;
+    }
+
+    /**
+     * Repository qui simule la pagination sur l'id de findPayrollChunk ; les lignes
+     * doivent avoir des ids consécutifs à partir de 1 (l'id est la position dans la liste)
+     */
+    static EmployeeRepository payrollRepositoryOf(List<PayrollRow> rows) {
+        EmployeeRepository repository = mock(EmployeeRepository.class);
+        when(repository.findPayrollChunk(anyLong(), any(Pageable.class))).thenAnswer(inv -> {
+            long afterId = inv.getArgument(0);
+            Pageable pageable = inv.getArgument(1);
+            int from = (int) Math.min(afterId, rows.size());
+            return new ArrayList<>(rows.subList(from, Math.min(rows.size(), from + pageable.getPageSize())));
+        });
+        return repository;
+    }
+
+    /**
+     * Employé actif complet ; chaque test ne fixe ensuite que les champs qu'il exerce
+     */
+    static Employee employee(long id) {
+        Employee employee = new Employee();
+        employee.setId(id);
+        employee.setEmployeeNumber("EMP-" + id);
+        employee.setNom("Nom" + id);
+        employee.setPrenom("Prénom" + id);
+        employee.setDateNaissance(LocalDate.of(1990, 1, 1));
+        employee.setTelephone("+216 20 000 000");
+        employee.setEmail("e" + id + "@hotel.com");
+        employee.setPoste("Agent");
+        employee.setService("IT");
+        employee.setDateEmbauche(LocalDate.of(2020, 1, 1));
+        employee.setTypeContrat("CDI");
+        employee.setStatut(EmployeeStatus.ACTIF);
+        employee.setSalaire(new BigDecimal("1500.00"));
+        employee.setHeuresTravailParSemaine(40);
+        employee.setTypeShift("MIXTE");
+        return employee;
+    }
+
+    /**
+     * Employé identifié par ses champs de recherche plein texte
+     */
+    static Employee named(long id, String nom, String prenom, String email, String employeeNumber) {
+        Employee employee = employee(id);
+        employee.setNom(nom);
+        employee.setPrenom(prenom);
+        employee.setEmail(email);
+        employee.setEmployeeNumber(employeeNumber);
+        return employee;
+    }
+
+    /**
+     * Employé décrit par ses champs de filtrage (statut, service, contrat)
+     */
+    static Employee filed(long id, String nom, EmployeeStatus statut, String service, String typeContrat) {
+        Employee employee = employee(id);
+        employee.setNom(nom);
+        employee.setStatut(statut);
+        employee.setService(service);
+        employee.setTypeContrat(typeContrat);
+        return employee;
+    }
+
+    /**
+     * Employé décrit par ses contraintes de planning
+     */
+    static Employee rostered(long id, String service, EmployeeStatus statut, String typeShift, int hours) {
+        Employee employee = employee(id);
+        employee.setService(service);
+        employee.setStatut(statut);
+        employee.setTypeShift(typeShift);
+        employee.setHeuresTravailParSemaine(hours);
+        return employee;
+    }
+
+    /**
+     * Valeur au centile {@code p} (entre 0 et 1) d'un tableau de mesures déjà trié
+     */
+    static long percentile(long[] sorted, double p) {
+        return sorted[Math.min(sorted.length - 1, (int) (sorted.length * p))];
+    }
+
+    /**
+     * Résultat d'un benchmark, au format de {@link String#format}, dans le journal "benchmark"
+     */
+    static void report(String format, Object... args) {
+        if (BENCHMARK_LOG.isInfoEnabled()) {
+            BENCHMARK_LOG.info(String.format(Locale.ROOT, format, args));
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package com.company.employee.service;
+
+import com.company.employee.dto.ImportProgress;
+import com.company.employee.dto.ImportRowError;
+import com.company.employee.entity.Employee;
+import com.company.employee.repository.EmployeeRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.company.employee.service.EmployeeFixtures.report;
+import static com.company.employee.service.EmployeeFixtures.repositoryOf;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.when;
+
+class EmployeeImportServiceTest {
+
+    private static final String HEADER = "nom;prenom;dateNaissance;telephone;email;adresse;poste;service;"
+            + "dateEmbauche;typeContrat;salaire;prime;heuresTravailParSemaine;typeShift\n";
+
+    private final List<List<Employee>> savedChunks = new ArrayList<>();
+
+    @Test
+    void csvRowsAreImportedInChunksWithPerRowErrors() throws IOException {
+        String csv = HEADER
+                + row("Dupont", "a@hotel.com") + "\n"
+                + "\"Ben Salah\";\"Amine\";1990-01-01;\"+216 1\";b@hotel.com;\"12, rue \"\"Habib\"\"\nTunis\";"
+                + "Agent;IT;2020-01-01;CDI;1500;;40;JOUR\n"
+                + row("Martin", "pas-un-email") + "\n"
+                + row("Moreau", "a@hotel.com") + "\n"
+                + row("Gharbi", "existant@hotel.com") + "\n"
+                + row("Jlassi", "c@hotel.com").replace("1990-01-01", "2015-01-01") + "\n"
+                + "\n"
+                + row("Fournier", "d@hotel.com").replace("1500", "beaucoup") + "\n"
+                + row("Girard", "e@hotel.com") + "\n";
+
+        ImportProgress report = service(2).importNow(bytes(csv), "text/csv");
+
+        assertEquals("TERMINE", report.getStatus());
+        assertEquals(8, report.getProcessedRows());
+        assertEquals(3, report.getImportedRows());
+        assertEquals(5, report.getFailedRows());
+        assertEquals(List.of(3L, 4L, 5L, 6L, 7L), report.getErrors().stream().map(ImportRowError::getRow).sorted().toList());
+        assertEquals(List.of(2, 1), savedChunks.stream().map(List::size).toList());
+        Employee benSalah = savedChunks.get(0).get(1);
+        assertEquals("12, rue \"Habib\"\nTunis", benSalah.getAdresse());
+        assertTrue(benSalah.getEmployeeNumber().startsWith("EMP-"));
+    }
+
+    @Test
+    void jsonElementsWithInvalidValuesDoNotStopTheImport() throws IOException {
+        String json = "[" + jsonRow("Dupont", "a@hotel.com", "1990-01-01") + ","
+                + jsonRow("Martin", "b@hotel.com", "pas-une-date") + ","
+                + "42,"
+                + jsonRow("Moreau", "c@hotel.com", "1985-05-05") + "]";
+
+        ImportProgress report = service(500).importNow(bytes(json), "application/json");
+
+        assertEquals(2, report.getImportedRows());
+        assertEquals(List.of(2L, 3L), report.getErrors().stream().map(ImportRowError::getRow).toList());
+        assertEquals(List.of("a@hotel.com", "c@hotel.com"),
+                savedChunks.get(0).stream().map(Employee::getEmail).toList());
+    }
+
+    /**
+     * Débit de bout en bout hors base (lecture, validation, lots, indexation) :
+     * mvn test -Dtest=EmployeeImportServiceTest -Dimport.bench=true
+     */
+    @Test
+    @Tag("benchmark")
+    @EnabledIfSystemProperty(named = "import.bench", matches = "true")
+    void importThroughput() throws IOException {
+        int rows = Integer.getInteger("import.bench.rows", 200_000);
+        StringBuilder csv = new StringBuilder(HEADER);
+        for (int i = 0; i < rows; i++) {
+            csv.append(row("Nom" + i, "employe" + i + "@hotel.com")).append('\n');
+        }
+        byte[] data = csv.toString().getBytes(StandardCharsets.UTF_8);
+
+        for (int round = 0; round < 2; round++) {
+            savedChunks.clear();
+            ImportProgress report = service(500).importNow(new ByteArrayInputStream(data), "text/csv");
+            assertEquals(rows, report.getImportedRows());
+            report("%,d rows (%,d KB): %,.0f rows/s", rows, data.length / 1024, report.getRowsPerSecond());
+        }
+    }
+
+    private EmployeeImportService service(int chunkSize) {
+        AtomicLong ids = new AtomicLong();
+        EmployeeRepository repository = repositoryOf(List.of());
+        when(repository.findExistingEmails(anyCollection())).thenAnswer(inv -> {
+            Collection<String> emails = inv.getArgument(0);
+            return emails.stream().filter(email -> email.startsWith("existant")).toList();
+        });
+        when(repository.saveAll(anyList())).thenAnswer(inv -> {
+            List<Employee> employees = inv.getArgument(0);
+            employees.forEach(employee -> employee.setId(ids.incrementAndGet()));
+            savedChunks.add(employees);
+            return employees;
+        });
+
+        EmployeeSearchIndex searchIndex = new EmployeeSearchIndex(repository);
+        EmployeeQueryEngine queryEngine = new EmployeeQueryEngine(repository, searchIndex);
+        EmployeeService employeeService = new EmployeeService(repository, searchIndex, queryEngine,
+                new IdGenerator(1, System::currentTimeMillis), new ShiftScheduler(repository, 8, 1),
+                new EmployeeStatsService(repository, 500, 1), 50);
+        return new EmployeeImportService(employeeService, new ObjectMapper().registerModule(new JavaTimeModule()),
+                Validation.buildDefaultValidatorFactory().getValidator(), chunkSize, 1000);
+    }
+
+    private static String row(String nom, String email) {
+        return nom + ";Prénom;1990-01-01;+216 20 000 000;" + email + ";;Agent;Réception;2020-01-01;CDI;1500;100;40;JOUR";
+    }
+
+    private static String jsonRow(String nom, String email, String dateNaissance) {
+        return "{\"nom\":\"" + nom + "\",\"prenom\":\"Léa\",\"dateNaissance\":\"" + dateNaissance + "\","
+                + "\"telephone\":\"+216 1\",\"email\":\"" + email + "\",\"poste\":\"Agent\",\"service\":\"IT\","
+                + "\"dateEmbauche\":\"2020-01-01\",\"typeContrat\":\"CDI\",\"salaire\":1500,"
+                + "\"heuresTravailParSemaine\":40,\"typeShift\":\"JOUR\"}";
+    }
+
+    private static ByteArrayInputStream bytes(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,167 @@
+package com.company.employee.service;
+
+import com.company.employee.entity.Employee;
+import com.company.employee.entity.EmployeeStatus;
+import com.company.employee.exception.InvalidEmployeeException;
+import com.company.employee.repository.EmployeeRepository;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static com.company.employee.service.EmployeeFixtures.filed;
+import static com.company.employee.service.EmployeeFixtures.percentile;
+import static com.company.employee.service.EmployeeFixtures.report;
+import static com.company.employee.service.EmployeeFixtures.repositoryOf;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class EmployeeQueryEngineTest {
+
+    private static final String[] SERVICES = {"Réception", "Cuisine", "Ménage", "IT", "Direction", "Spa"};
+    private static final String[] POSTES = {"Agent", "Chef", "Responsable", "Technicien", "Stagiaire"};
+    private static final String[] CONTRATS = {"CDI", "CDD", "STAGE", "INTERIM"};
+    private static final String[] NOMS = {"Dupont", "Martin", "Trabelsi", "Gharbi", "Moreau", "Jlassi"};
+
+    @Test
+    void combinedFiltersMatchANaiveScan() {
+        List<Employee> employees = generate(3_000, new Random(7));
+        EmployeeQueryEngine engine = engineOf(employees);
+        Random random = new Random(11);
+
+        for (int i = 0; i < 500; i++) {
+            EmployeeStatus statut = random.nextBoolean() ? EmployeeStatus.values()[random.nextInt(EmployeeStatus.values().length)] : null;
+            String service = random.nextBoolean() ? SERVICES[random.nextInt(SERVICES.length)].toUpperCase() : null;
+            String poste = random.nextBoolean() ? POSTES[random.nextInt(POSTES.length)] : null;
+            String typeContrat = random.nextBoolean() ? CONTRATS[random.nextInt(CONTRATS.length)].toLowerCase() : null;
+            String sort = new String[]{null, "id", "-id", "salaire", "-salaire", "dateEmbauche", "-dateEmbauche", "nom"}[random.nextInt(8)];
+
+            EmployeeQueryEngine.Result result = engine.query(statut, service, poste, typeContrat, null, sort, 1, 20);
+
+            List<Employee> expected = employees.stream()
+                    .filter(e -> statut == null || e.getStatut() == statut)
+                    .filter(e -> service == null || service.equalsIgnoreCase(e.getService()))
+                    .filter(e -> poste == null || poste.equalsIgnoreCase(e.getPoste()))
+                    .filter(e -> typeContrat == null || typeContrat.equalsIgnoreCase(e.getTypeContrat()))
+                    .sorted(comparator(sort))
+                    .toList();
+            assertEquals(expected.size(), result.total());
+            assertEquals(expected.stream().skip(20).limit(20).map(Employee::getId).toList(), result.ids());
+        }
+    }
+
+    @Test
+    void searchIsRankedByRelevanceWithinTheFilters() {
+        List<Employee> employees = List.of(
+                filed(1L, "Martinez", EmployeeStatus.ACTIF, "IT", "CDI"),
+                filed(2L, "Martin", EmployeeStatus.ACTIF, "IT", "CDI"),
+                filed(3L, "Martin", EmployeeStatus.INACTIF, "IT", "CDI"),
+                filed(4L, "Dupont", EmployeeStatus.ACTIF, "IT", "CDI"));
+        EmployeeQueryEngine engine = engineOf(employees);
+
+        assertEquals(List.of(2L, 1L), engine.query(EmployeeStatus.ACTIF, "it", null, null, "martin", null, 0, 10).ids());
+        assertEquals(List.of(1L, 2L), engine.query(EmployeeStatus.ACTIF, null, null, null, "martin", "id", 0, 10).ids());
+    }
+
+    @Test
+    void updatesMoveEmployeesBetweenBitmaps() {
+        Employee employee = filed(1L, "Dupont", EmployeeStatus.ACTIF, "Cuisine", "CDD");
+        EmployeeQueryEngine engine = engineOf(new ArrayList<>(List.of(employee)));
+
+        employee.setService("Spa");
+        employee.setStatut(EmployeeStatus.INACTIF);
+        engine.put(employee);
+
+        assertEquals(0, engine.query(null, "cuisine", null, null, null, null, 0, 10).total());
+        assertEquals(0, engine.query(EmployeeStatus.ACTIF, null, null, null, null, null, 0, 10).total());
+        assertEquals(List.of(1L), engine.query(EmployeeStatus.INACTIF, "spa", null, "cdd", null, null, 0, 10).ids());
+        assertEquals(0, engine.query(null, "inconnu", null, null, null, null, 0, 10).total());
+    }
+
+    @Test
+    void invalidParametersAreRejected() {
+        EmployeeQueryEngine engine = engineOf(generate(10, new Random(1)));
+        assertThrows(InvalidEmployeeException.class, () -> engine.query(null, null, null, null, null, "email", 0, 10));
+        assertThrows(InvalidEmployeeException.class, () -> engine.query(null, null, null, null, null, null, -1, 10));
+        assertThrows(InvalidEmployeeException.class, () -> engine.query(null, null, null, null, null, null, 0, 1_000));
+    }
+
+    /**
+     * Latence des requêtes combinées sur 100 000 employés :
+     * mvn test -Dtest=EmployeeQueryEngineTest -Dsearch.bench=true
+     */
+    @Test
+    @Tag("benchmark")
+    @EnabledIfSystemProperty(named = "search.bench", matches = "true")
+    void queryLatencyAt100kEmployees() {
+        int employeeCount = Integer.getInteger("search.bench.employees", 100_000);
+        EmployeeQueryEngine engine = engineOf(generate(employeeCount, new Random(3)));
+        Random random = new Random(5);
+        int queries = 5_000;
+        long[] latencies = new long[queries];
+
+        for (int round = 0; round < 2; round++) {
+            for (int i = 0; i < queries; i++) {
+                String service = SERVICES[random.nextInt(SERVICES.length)];
+                String sort = random.nextBoolean() ? "-salaire" : null;
+                long start = System.nanoTime();
+                engine.query(EmployeeStatus.ACTIF, service, random.nextBoolean() ? "Agent" : null,
+                        random.nextBoolean() ? "CDI" : null, null, sort, 0, 20);
+                latencies[i] = System.nanoTime() - start;
+            }
+        }
+
+        Arrays.sort(latencies);
+        report("%,d employees: p50 %.1f µs, p99 %.1f µs, max %.1f µs", employeeCount,
+                percentile(latencies, 0.5) / 1e3, percentile(latencies, 0.99) / 1e3, latencies[queries - 1] / 1e3);
+    }
+
+    private static EmployeeQueryEngine engineOf(List<Employee> employees) {
+        EmployeeRepository repository = repositoryOf(employees);
+        EmployeeSearchIndex searchIndex = new EmployeeSearchIndex(repository);
+        searchIndex.rebuild();
+        EmployeeQueryEngine engine = new EmployeeQueryEngine(repository, searchIndex);
+        engine.rebuild();
+        return engine;
+    }
+
+    private static List<Employee> generate(int count, Random random) {
+        List<Employee> employees = new ArrayList<>(count);
+        EmployeeStatus[] statuts = EmployeeStatus.values();
+        for (int i = 0; i < count; i++) {
+            Employee employee = filed(i + 1, NOMS[random.nextInt(NOMS.length)],
+                    statuts[random.nextInt(statuts.length)], SERVICES[random.nextInt(SERVICES.length)],
+                    CONTRATS[random.nextInt(CONTRATS.length)]);
+            employee.setPoste(POSTES[random.nextInt(POSTES.length)]);
+            employee.setSalaire(BigDecimal.valueOf(1_000 + random.nextInt(40) * 100L));
+            employee.setDateEmbauche(LocalDate.of(2010, 1, 1).plusDays(random.nextInt(300)));
+            employees.add(employee);
+        }
+        return employees;
+    }
+
+    private static Comparator<Employee> comparator(String sort) {
+        Comparator<Employee> byId = Comparator.comparing(Employee::getId);
+        if (sort == null) {
+            return byId;
+        }
+        return switch (sort) {
+            case "id" -> byId;
+            case "-id" -> byId.reversed();
+            case "salaire" -> Comparator.comparing(Employee::getSalaire).thenComparing(byId);
+            case "-salaire" -> Comparator.comparing(Employee::getSalaire).thenComparing(byId).reversed();
+            case "dateEmbauche" -> Comparator.comparing(Employee::getDateEmbauche).thenComparing(byId);
+            case "-dateEmbauche" -> Comparator.comparing(Employee::getDateEmbauche).thenComparing(byId).reversed();
+            case "nom" -> Comparator.comparing(Employee::getNom, String.CASE_INSENSITIVE_ORDER)
+                    .thenComparing(Employee::getPrenom, String.CASE_INSENSITIVE_ORDER).thenComparing(byId);
+            default -> throw new IllegalArgumentException(sort);
+        };
+    }
+}
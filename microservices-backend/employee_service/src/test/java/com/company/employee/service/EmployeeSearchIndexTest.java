@@ -0,0 +1,119 @@
+package com.company.employee.service;
+
+import com.company.employee.entity.Employee;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static com.company.employee.service.EmployeeFixtures.named;
+import static com.company.employee.service.EmployeeFixtures.percentile;
+import static com.company.employee.service.EmployeeFixtures.report;
+import static com.company.employee.service.EmployeeFixtures.repositoryOf;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class EmployeeSearchIndexTest {
+
+    private static final String[] NOMS = {"Dupont", "Martin", "Bernard", "Trabelsi", "Ben Salah", "Lefèvre",
+            "Gharbi", "Moreau", "Jlassi", "Fournier", "Mejri", "Girard", "Chaabane", "Bonnet", "Hammami"};
+    private static final String[] PRENOMS = {"Jean", "Amine", "Sarra", "Hélène", "Mohamed", "Claire", "Yassine",
+            "Léa", "Karim", "Inès", "Jean-Pierre", "Nour", "Mehdi", "Chloé", "Omar"};
+
+    @Test
+    void prefixAndAccentInsensitiveMatches() {
+        EmployeeSearchIndex index = indexOf(List.of(
+                named(1L, "Lefèvre", "Hélène", "h.lefevre@hotel.com", "EMP-01ABCDEF"),
+                named(2L, "Dupont", "Jean-Pierre", "jp.dupont@hotel.com", "EMP-02ABCDEF"),
+                named(3L, "Dupuis", "Jean", "jean.dupuis@hotel.com", "EMP-03ABCDEF")));
+
+        assertEquals(List.of(1L), index.search("helene lef", 10));
+        assertEquals(List.of(2L, 3L), index.search("dup", 10));
+        assertEquals(List.of(2L), index.search("pierre", 10));
+        assertEquals(List.of(3L), index.search("emp-03", 10));
+        assertEquals(List.of(3L), index.search("jean.dupuis@hotel.com", 10));
+    }
+
+    @Test
+    void typosAreTolerated() {
+        EmployeeSearchIndex index = indexOf(List.of(
+                named(1L, "Trabelsi", "Amine", "a.trabelsi@hotel.com", "EMP-01ABCDEF"),
+                named(2L, "Martin", "Claire", "c.martin@hotel.com", "EMP-02ABCDEF")));
+
+        assertEquals(List.of(1L), index.search("trabelzi", 10));
+        assertEquals(List.of(1L), index.search("tarbelsi", 10));
+        assertEquals(List.of(2L), index.search("clarie marti", 10));
+        assertTrue(index.search("xyzw", 10).isEmpty());
+    }
+
+    @Test
+    void exactMatchesRankFirstAndUpdatesAreReflected() {
+        Employee renamed = named(2L, "Martinez", "Omar", "o.martinez@hotel.com", "EMP-02ABCDEF");
+        EmployeeSearchIndex index = indexOf(List.of(
+                renamed,
+                named(1L, "Martin", "Omar", "o.martin@hotel.com", "EMP-01ABCDEF")));
+
+        assertEquals(List.of(1L, 2L), index.search("martin", 10));
+
+        renamed.setNom("Moreau");
+        renamed.setEmail("o.moreau@hotel.com");
+        index.put(renamed);
+        assertEquals(List.of(1L), index.search("martin", 10));
+        assertEquals(List.of(2L), index.search("moreau", 10));
+    }
+
+    @Test
+    void prefixDistanceIgnoresTheRestOfTheTerm() {
+        assertEquals(0, EmployeeSearchIndex.prefixDistance("trab", "trabelsi", 1));
+        assertEquals(1, EmployeeSearchIndex.prefixDistance("tarb", "trabelsi", 1));
+        assertEquals(2, EmployeeSearchIndex.prefixDistance("zzzz", "trabelsi", 1));
+    }
+
+    /**
+     * Latence de recherche sur 100 000 employés :
+     * mvn test -Dtest=EmployeeSearchIndexTest -Dsearch.bench=true
+     */
+    @Test
+    @Tag("benchmark")
+    @EnabledIfSystemProperty(named = "search.bench", matches = "true")
+    void searchLatencyAt100kEmployees() {
+        int count = Integer.getInteger("search.bench.employees", 100_000);
+        Random random = new Random(7);
+        List<Employee> employees = new ArrayList<>(count);
+        for (long id = 1; id <= count; id++) {
+            String nom = NOMS[random.nextInt(NOMS.length)] + (char) ('a' + random.nextInt(26));
+            String prenom = PRENOMS[random.nextInt(PRENOMS.length)];
+            employees.add(named(id, nom, prenom, prenom + "." + nom + id + "@hotel.com",
+                    String.format("EMP-%08X", random.nextInt())));
+        }
+        long start = System.nanoTime();
+        EmployeeSearchIndex index = indexOf(employees);
+        report("%,d employees indexed in %,d ms", count, (System.nanoTime() - start) / 1_000_000);
+
+        String[] queries = {"d", "du", "dupo", "dupnot", "jean dup", "trabelsi a", "hel", "emp-1a", "karim gharbi",
+                "mejri", "lefevre", "claire mor"};
+        int runs = 2_000;
+        long[] latencies = new long[runs];
+        for (int round = 0; round < 2; round++) {
+            for (int i = 0; i < runs; i++) {
+                String query = queries[i % queries.length];
+                long t = System.nanoTime();
+                index.search(query, 20);
+                latencies[i] = System.nanoTime() - t;
+            }
+        }
+        Arrays.sort(latencies);
+        report("%,d employees: p50 %.2f ms, p99 %.2f ms, max %.2f ms", count,
+                percentile(latencies, 0.5) / 1e6, percentile(latencies, 0.99) / 1e6, latencies[runs - 1] / 1e6);
+    }
+
+    private static EmployeeSearchIndex indexOf(List<Employee> employees) {
+        EmployeeSearchIndex index = new EmployeeSearchIndex(repositoryOf(employees));
+        index.rebuild();
+        return index;
+    }
+}
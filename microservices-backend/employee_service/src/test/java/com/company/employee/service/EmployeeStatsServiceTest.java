@@ -0,0 +1,140 @@
+package com.company.employee.service;
+
+import com.company.employee.dto.EmployeeStats;
+import com.company.employee.dto.PayrollRow;
+import com.company.employee.dto.PayrollTotals;
+import com.company.employee.entity.EmployeeStatus;
+import com.company.employee.repository.EmployeeRepository;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.data.domain.Pageable;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.function.Function;
+
+import static com.company.employee.service.EmployeeFixtures.payrollRepositoryOf;
+import static com.company.employee.service.EmployeeFixtures.percentile;
+import static com.company.employee.service.EmployeeFixtures.report;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+class EmployeeStatsServiceTest {
+
+    private static final String[] SERVICES = {"Réception", "Cuisine", "Ménage", "IT", "Spa", " "};
+    private static final String[] CONTRATS = {"CDI", "CDD", "STAGE", "INTERIM"};
+
+    @Test
+    void totalsMatchASequentialSumAcrossChunks() {
+        List<PayrollRow> rows = generate(10_000, new Random(11));
+        rows.get(3).setPrime(null);
+        rows.get(4).setService(null);
+        EmployeeStatsService service = new EmployeeStatsService(payrollRepositoryOf(rows), 777, 4);
+
+        EmployeeStats stats = service.getStats();
+
+        assertEquals(naiveTotals(rows, row -> "all").get("all"), stats.getTotal());
+        assertEquals(naiveTotals(rows, row -> blankToUnknown(row.getService())), stats.getByService());
+        assertEquals(naiveTotals(rows, PayrollRow::getTypeContrat), stats.getByTypeContrat());
+        assertEquals(naiveTotals(rows, row -> row.getStatut().name()), stats.getByStatut());
+    }
+
+    @Test
+    void statsAreCachedUntilTheNextEmployeeEvent() {
+        List<PayrollRow> rows = generate(100, new Random(2));
+        EmployeeRepository repository = payrollRepositoryOf(rows);
+        EmployeeStatsService service = new EmployeeStatsService(repository, 1_000, 1);
+
+        EmployeeStats first = service.getStats();
+        assertSame(first, service.getStats());
+        verify(repository, times(1)).findPayrollChunk(anyLong(), any(Pageable.class));
+
+        rows.get(0).setSalaire(rows.get(0).getSalaire().add(new BigDecimal("100.00")));
+        service.invalidate();
+        EmployeeStats second = service.getStats();
+
+        assertEquals(first.getTotal().getSalaire().add(new BigDecimal("100.00")), second.getTotal().getSalaire());
+        verify(repository, times(2)).findPayrollChunk(anyLong(), any(Pageable.class));
+    }
+
+    /**
+     * Calcul complet (hors base) et réponse depuis le cache pour 100 000 employés :
+     * mvn test -Dtest=EmployeeStatsServiceTest -Dstats.bench=true
+     */
+    @Test
+    @Tag("benchmark")
+    @EnabledIfSystemProperty(named = "stats.bench", matches = "true")
+    void statsAt100kEmployees() {
+        int employeeCount = Integer.getInteger("stats.bench.employees", 100_000);
+        List<PayrollRow> rows = generate(employeeCount, new Random(5));
+        EmployeeRepository repository = payrollRepositoryOf(rows);
+
+        for (int parallelism : new int[]{1, Runtime.getRuntime().availableProcessors()}) {
+            EmployeeStatsService service = new EmployeeStatsService(repository, 5_000, parallelism);
+            long[] computes = new long[30];
+            for (int i = 0; i < computes.length; i++) {
+                service.invalidate();
+                long start = System.nanoTime();
+                service.getStats();
+                computes[i] = System.nanoTime() - start;
+            }
+            Arrays.sort(computes);
+            report("%,d employees, %d threads: recompute p50 %.1f ms",
+                    employeeCount, parallelism, percentile(computes, 0.5) / 1e6);
+        }
+
+        EmployeeStatsService service = new EmployeeStatsService(repository, 5_000, 0);
+        service.getStats();
+        long[] hits = new long[100_000];
+        for (int i = 0; i < hits.length; i++) {
+            long start = System.nanoTime();
+            service.getStats();
+            hits[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(hits);
+        report("cached: p50 %d ns, p99 %d ns", percentile(hits, 0.5), percentile(hits, 0.99));
+    }
+
+    private static Map<String, PayrollTotals> naiveTotals(List<PayrollRow> rows, Function<PayrollRow, String> key) {
+        Map<String, PayrollTotals> totals = new HashMap<>();
+        for (PayrollRow row : rows) {
+            BigDecimal prime = row.getPrime() == null ? BigDecimal.ZERO : row.getPrime();
+            PayrollTotals t = totals.computeIfAbsent(key.apply(row),
+                    k -> new PayrollTotals(0, BigDecimal.ZERO, BigDecimal.ZERO, BigDecimal.ZERO));
+            t.setEmployees(t.getEmployees() + 1);
+            t.setSalaire(t.getSalaire().add(row.getSalaire()));
+            t.setPrime(t.getPrime().add(prime));
+            t.setTotal(t.getSalaire().add(t.getPrime()));
+        }
+        return totals;
+    }
+
+    private static String blankToUnknown(String value) {
+        return value == null || value.isBlank() ? EmployeeStatsService.UNKNOWN : value.trim();
+    }
+
+    // Ids consécutifs à partir de 1 : l'id est aussi la position dans la liste
+    private static List<PayrollRow> generate(int count, Random random) {
+        EmployeeStatus[] statuts = EmployeeStatus.values();
+        List<PayrollRow> rows = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            rows.add(new PayrollRow((long) i,
+                    SERVICES[random.nextInt(SERVICES.length)],
+                    CONTRATS[random.nextInt(CONTRATS.length)],
+                    statuts[random.nextInt(statuts.length)],
+                    BigDecimal.valueOf(80_000 + random.nextInt(400_000), 2),
+                    BigDecimal.valueOf(random.nextInt(50_000), 2)));
+        }
+        return rows;
+    }
+}
@@ -0,0 +1,216 @@
+package com.company.employee.service;
+
+import com.company.employee.dto.RosterSlot;
+import com.company.employee.dto.ServiceRoster;
+import com.company.employee.entity.Employee;
+import com.company.employee.entity.EmployeeStatus;
+import com.company.employee.repository.EmployeeRepository;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import static com.company.employee.service.EmployeeFixtures.percentile;
+import static com.company.employee.service.EmployeeFixtures.report;
+import static com.company.employee.service.EmployeeFixtures.repositoryOf;
+import static com.company.employee.service.EmployeeFixtures.rostered;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ShiftSchedulerTest {
+
+    private static final String[] SERVICES = {"Réception", "Cuisine", "Ménage", "Sécurité", "Spa", "Restaurant"};
+    private static final String[] TYPES = {"JOUR", "NUIT", "MIXTE", "MIXTE"};
+    private static final int[] HOURS = {16, 24, 32, 35, 40, 40, 48};
+
+    @Test
+    void rostersRespectStatusHoursShiftTypesAndRest() {
+        List<Employee> employees = generate(2_000, new Random(7));
+        ShiftScheduler scheduler = schedulerOf(employees);
+
+        assertRostersAreValid(scheduler, employees);
+    }
+
+    @Test
+    void coverageIsLevelWhenEveryoneCanWorkAnyShift() {
+        List<Employee> employees = new ArrayList<>();
+        for (int i = 1; i <= 140; i++) {
+            employees.add(rostered(i, "IT", EmployeeStatus.ACTIF, "MIXTE", 40));
+        }
+        ServiceRoster roster = schedulerOf(employees).getRoster("it").orElseThrow();
+
+        // 140 employés x 5 shifts répartis sur 14 créneaux : 50 par créneau
+        assertEquals(50, roster.getMinStaff());
+        assertEquals(50, roster.getMaxStaff());
+        assertEquals(0, roster.getUnfilledShifts());
+    }
+
+    @Test
+    void statusChangesOnlyReplanTheAffectedEmployee() {
+        List<Employee> employees = generate(1_000, new Random(3));
+        ShiftScheduler scheduler = schedulerOf(employees);
+        Employee active = employees.stream().filter(e -> e.getStatut() == EmployeeStatus.ACTIF).findFirst().orElseThrow();
+        Employee inactive = employees.stream().filter(e -> e.getStatut() == EmployeeStatus.INACTIF).findFirst().orElseThrow();
+
+        active.setStatut(EmployeeStatus.EN_CONGE);
+        scheduler.onEmployeeChanged(active);
+        inactive.setStatut(EmployeeStatus.ACTIF);
+        inactive.setService("Nouveau service");
+        scheduler.onEmployeeChanged(inactive);
+
+        assertFalse(scheduledIds(scheduler).contains(active.getId()));
+        assertTrue(scheduler.getRoster("nouveau service").orElseThrow().getSlots().stream()
+                .anyMatch(slot -> slot.getEmployeeIds().contains(inactive.getId())));
+        assertRostersAreValid(scheduler, employees);
+    }
+
+    @Test
+    void aChangeOnlyRebalancesTheSlotsTheEmployeeFreedOrTook() {
+        List<Employee> employees = generate(1_000, new Random(11));
+        ShiftScheduler scheduler = schedulerOf(employees);
+        Employee employee = employees.stream()
+                .filter(e -> e.getStatut() == EmployeeStatus.ACTIF && e.getHeuresTravailParSemaine() >= 40)
+                .findFirst().orElseThrow();
+        Map<Long, Set<String>> before = shiftsById(scheduler);
+
+        employee.setTypeShift(employee.getTypeShift().equals("NUIT") ? "JOUR" : "NUIT");
+        scheduler.onEmployeeChanged(employee);
+        Map<Long, Set<String>> after = shiftsById(scheduler);
+
+        Set<String> touched = new HashSet<>(before.get(employee.getId()));
+        touched.addAll(after.get(employee.getId()));
+        for (Long id : after.keySet()) {
+            Set<String> changed = new HashSet<>(before.get(id));
+            changed.addAll(after.get(id));
+            changed.removeAll(intersection(before.get(id), after.get(id)));
+            if (!id.equals(employee.getId()) && !changed.isEmpty()) {
+                changed.retainAll(touched);
+                assertFalse(changed.isEmpty(), "employee " + id + " moved outside the touched slots");
+            }
+        }
+        assertRostersAreValid(scheduler, employees);
+    }
+
+    /**
+     * Planification complète et replanification incrémentale pour 5 000 employés :
+     * mvn test -Dtest=ShiftSchedulerTest -Dschedule.bench=true
+     */
+    @Test
+    @Tag("benchmark")
+    @EnabledIfSystemProperty(named = "schedule.bench", matches = "true")
+    void schedulingAt5kEmployees() {
+        int employeeCount = Integer.getInteger("schedule.bench.employees", 5_000);
+        List<Employee> employees = generate(employeeCount, new Random(5));
+        EmployeeRepository repository = repositoryOf(employees);
+
+        for (int parallelism : new int[]{1, Runtime.getRuntime().availableProcessors()}) {
+            ShiftScheduler scheduler = new ShiftScheduler(repository, 8, parallelism);
+            long[] rebuilds = new long[20];
+            for (int i = 0; i < rebuilds.length; i++) {
+                long start = System.nanoTime();
+                scheduler.rebuild();
+                rebuilds[i] = System.nanoTime() - start;
+            }
+            Arrays.sort(rebuilds);
+            report("%,d employees, %d threads: full rebuild p50 %.1f ms",
+                    employeeCount, parallelism, percentile(rebuilds, 0.5) / 1e6);
+        }
+
+        ShiftScheduler scheduler = new ShiftScheduler(repository, 8, 0);
+        scheduler.rebuild();
+        Random random = new Random(9);
+        long[] updates = new long[2_000];
+        for (int i = 0; i < updates.length; i++) {
+            Employee employee = employees.get(random.nextInt(employees.size()));
+            employee.setStatut(employee.getStatut() == EmployeeStatus.ACTIF ? EmployeeStatus.EN_CONGE : EmployeeStatus.ACTIF);
+            long start = System.nanoTime();
+            scheduler.onEmployeeChanged(employee);
+            updates[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(updates);
+        report("incremental status change: p50 %.1f µs, p99 %.1f µs",
+                percentile(updates, 0.5) / 1e3, percentile(updates, 0.99) / 1e3);
+        assertRostersAreValid(scheduler, employees);
+    }
+
+    private static void assertRostersAreValid(ShiftScheduler scheduler, List<Employee> employees) {
+        Map<Long, Employee> byId = new HashMap<>();
+        employees.forEach(e -> byId.put(e.getId(), e));
+        Map<Long, String[]> week = new HashMap<>();
+        for (ServiceRoster roster : scheduler.getRosters()) {
+            assertEquals(14, roster.getSlots().size());
+            for (RosterSlot slot : roster.getSlots()) {
+                assertEquals(slot.getStaff(), slot.getEmployeeIds().size());
+                for (Long id : slot.getEmployeeIds()) {
+                    Employee employee = byId.get(id);
+                    assertEquals(EmployeeStatus.ACTIF, employee.getStatut());
+                    assertTrue(roster.getService().equalsIgnoreCase(employee.getService()));
+                    assertTrue(employee.getTypeShift().equals("MIXTE") || employee.getTypeShift().equals(slot.getShift()));
+                    String[] days = week.computeIfAbsent(id, k -> new String[7]);
+                    int day = slot.getDay().getValue() - 1;
+                    assertEquals(null, days[day], "one shift per day");
+                    days[day] = slot.getShift();
+                }
+            }
+        }
+        for (Map.Entry<Long, String[]> entry : week.entrySet()) {
+            String[] days = entry.getValue();
+            long shifts = Arrays.stream(days).filter(d -> d != null).count();
+            assertTrue(shifts <= byId.get(entry.getKey()).getHeuresTravailParSemaine() / 8, "within weekly hours");
+            for (int day = 0; day < 7; day++) {
+                assertFalse("NUIT".equals(days[day]) && "JOUR".equals(days[(day + 1) % 7]), "rest after a night");
+            }
+        }
+    }
+
+    private static List<Long> scheduledIds(ShiftScheduler scheduler) {
+        return scheduler.getRosters().stream()
+                .flatMap(roster -> roster.getSlots().stream())
+                .flatMap(slot -> slot.getEmployeeIds().stream())
+                .toList();
+    }
+
+    private static Map<Long, Set<String>> shiftsById(ShiftScheduler scheduler) {
+        Map<Long, Set<String>> shifts = new HashMap<>();
+        for (ServiceRoster roster : scheduler.getRosters()) {
+            for (RosterSlot slot : roster.getSlots()) {
+                for (Long id : slot.getEmployeeIds()) {
+                    shifts.computeIfAbsent(id, k -> new HashSet<>()).add(roster.getService() + "/" + slot.getDay() + "/" + slot.getShift());
+                }
+            }
+        }
+        return shifts;
+    }
+
+    private static Set<String> intersection(Set<String> left, Set<String> right) {
+        Set<String> common = new HashSet<>(left);
+        common.retainAll(right);
+        return common;
+    }
+
+    private static ShiftScheduler schedulerOf(List<Employee> employees) {
+        ShiftScheduler scheduler = new ShiftScheduler(repositoryOf(employees), 8, 2);
+        scheduler.rebuild();
+        return scheduler;
+    }
+
+    private static List<Employee> generate(int count, Random random) {
+        EmployeeStatus[] statuts = EmployeeStatus.values();
+        List<Employee> employees = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            EmployeeStatus statut = random.nextInt(4) == 0 ? statuts[random.nextInt(statuts.length)] : EmployeeStatus.ACTIF;
+            employees.add(rostered(i, SERVICES[random.nextInt(SERVICES.length)], statut,
+                    TYPES[random.nextInt(TYPES.length)], HOURS[random.nextInt(HOURS.length)]));
+        }
+        return employees;
+    }
+}
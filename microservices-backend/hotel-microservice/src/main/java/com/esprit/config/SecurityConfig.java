@@ -1,12 +1,19 @@
 package com.esprit.config;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtValidators;
+import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
 import org.springframework.security.web.SecurityFilterChain;
 
+import java.time.Duration;
+
 @Configuration
 @EnableWebSecurity
 public class SecurityConfig {
@@ -23,4 +30,28 @@ public class SecurityConfig {
 
         return http.build();
     }
-}
\ No newline at end of file
+
+    /**
+     * Clés de Keycloak rechargées en tâche de fond : la vérification ne les attend pas
+     */
+    @Bean(destroyMethod = "close")
+    public RefreshingJwkSource jwkSource(
+            @Value("${spring.security.oauth2.resourceserver.jwt.jwk-set-uri}") String jwkSetUri,
+            @Value("${hotel.security.jwt.jwk-refresh-interval:5m}") Duration refreshInterval) {
+        return new RefreshingJwkSource(jwkSetUri, refreshInterval);
+    }
+
+    /**
+     * Remplace le décodeur construit par Spring Boot depuis issuer-uri, avec les mêmes validations
+     */
+    @Bean
+    public JwtDecoder jwtDecoder(
+            RefreshingJwkSource jwkSource,
+            MeterRegistry meterRegistry,
+            @Value("${spring.security.oauth2.resourceserver.jwt.issuer-uri}") String issuerUri,
+            @Value("${hotel.security.jwt.cache-size:10000}") long cacheSize,
+            @Value("${hotel.security.jwt.cache-max-ttl:15m}") Duration cacheMaxTtl) {
+        NimbusJwtDecoder decoder = jwkSource.jwtDecoder(JwtValidators.createDefaultWithIssuer(issuerUri));
+        return new CachingJwtDecoder(decoder, cacheSize, cacheMaxTtl, meterRegistry);
+    }
+}
@@ -1,11 +1,15 @@
 package com.esprit.controller;
 
+import com.esprit.dto.HotelDelta;
+import com.esprit.dto.HotelSearchResponse;
 import com.esprit.entities.Hotel;
 import com.esprit.service.HotelService;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
+import java.util.Optional;
 
 @RestController
 @RequestMapping("/hotels")
@@ -18,15 +22,44 @@ public class HotelController {
     }
 
     @GetMapping
-    public List<Hotel> getHotels() {
-        return hotelService.getHotels();
+    public ResponseEntity<List<Hotel>> getHotels(WebRequest request) {
+        // ETag vérifié avant tout chargement : un client à jour reçoit 304 sans lecture du catalogue
+        long revision = hotelService.getRevision();
+        String etag = "\"hotels-" + revision + "\"";
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+        return ResponseEntity.ok().eTag(etag).body(hotelService.getHotels(revision));
+    }
+
+    @GetMapping(params = "since")
+    public HotelDelta getChanges(@RequestParam long since) {
+        return hotelService.getChangesSince(since);
+    }
+
+    @GetMapping("/search")
+    public HotelSearchResponse searchHotels(@RequestParam(required = false) String city,
+                                            @RequestParam(required = false) Double minPrice,
+                                            @RequestParam(required = false) Double maxPrice,
+                                            @RequestParam(required = false) Integer minRating,
+                                            @RequestParam(required = false) Boolean available,
+                                            @RequestParam(required = false) String sort,
+                                            @RequestParam(defaultValue = "0") int page,
+                                            @RequestParam(defaultValue = "20") int size) {
+        return hotelService.searchHotels(city, minPrice, maxPrice, minRating, available, sort, page, size);
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<Hotel> getHotelById(@PathVariable Long id) {
-        return hotelService.getHotelById(id)
-                .map(ResponseEntity::ok)
-                .orElse(ResponseEntity.notFound().build());
+    public ResponseEntity<Hotel> getHotelById(@PathVariable Long id, WebRequest request) {
+        Optional<Hotel> hotel = hotelService.getHotelById(id);
+        if (hotel.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        String etag = "\"hotel-" + id + "-" + hotel.get().getRevision() + "\"";
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+        return ResponseEntity.ok().eTag(etag).body(hotel.get());
     }
 
     @PostMapping
@@ -58,4 +91,9 @@ public class HotelController {
     public List<Hotel> getHotelsByCity(@PathVariable String city) {
         return hotelService.getHotelsByCity(city);
     }
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<String> handleBadRequest(IllegalArgumentException ex) {
+        return ResponseEntity.badRequest().body(ex.getMessage());
+    }
 }
\ No newline at end of file
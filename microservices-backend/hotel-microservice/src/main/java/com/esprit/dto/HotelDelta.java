@@ -0,0 +1,46 @@
+package com.esprit.dto;
+
+import com.esprit.entities.Hotel;
+
+import java.util.List;
+
+public class HotelDelta {
+
+    // Révision à repasser dans ?since= lors de la prochaine synchronisation
+    private long revision;
+    private List<Hotel> changed;
+    private List<Long> deleted;
+
+    public HotelDelta() {
+    }
+
+    public HotelDelta(long revision, List<Hotel> changed, List<Long> deleted) {
+        this.revision = revision;
+        this.changed = changed;
+        this.deleted = deleted;
+    }
+
+    public long getRevision() {
+        return revision;
+    }
+
+    public void setRevision(long revision) {
+        this.revision = revision;
+    }
+
+    public List<Hotel> getChanged() {
+        return changed;
+    }
+
+    public void setChanged(List<Hotel> changed) {
+        this.changed = changed;
+    }
+
+    public List<Long> getDeleted() {
+        return deleted;
+    }
+
+    public void setDeleted(List<Long> deleted) {
+        this.deleted = deleted;
+    }
+}
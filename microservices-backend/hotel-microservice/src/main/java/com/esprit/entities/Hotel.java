@@ -18,6 +18,8 @@ public class Hotel {
     private double pricePerNight;
     private int rating;
     private boolean available;
+    // Révision du catalogue lors de la dernière écriture de cet hôtel
+    private Long revision;
 
     public Hotel() {
     }
@@ -87,4 +89,12 @@ public class Hotel {
     public void setAvailable(boolean available) {
         this.available = available;
     }
+
+    public Long getRevision() {
+        return revision;
+    }
+
+    public void setRevision(Long revision) {
+        this.revision = revision;
+    }
 }
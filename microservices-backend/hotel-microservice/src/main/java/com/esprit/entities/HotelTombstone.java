@@ -0,0 +1,38 @@
+package com.esprit.entities;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+
+// Trace d'un hôtel supprimé, pour la synchronisation par delta
+@Entity
+public class HotelTombstone {
+
+    @Id
+    private Long hotelId;
+
+    private long revision;
+
+    public HotelTombstone() {
+    }
+
+    public HotelTombstone(Long hotelId, long revision) {
+        this.hotelId = hotelId;
+        this.revision = revision;
+    }
+
+    public Long getHotelId() {
+        return hotelId;
+    }
+
+    public void setHotelId(Long hotelId) {
+        this.hotelId = hotelId;
+    }
+
+    public long getRevision() {
+        return revision;
+    }
+
+    public void setRevision(long revision) {
+        this.revision = revision;
+    }
+}
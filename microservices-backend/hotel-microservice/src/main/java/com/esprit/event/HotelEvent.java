@@ -0,0 +1,69 @@
+package com.esprit.event;
+
+import java.time.LocalDateTime;
+
+public class HotelEvent {
+
+    public static final String CREATED = "CREATED";
+    public static final String UPDATED = "UPDATED";
+    public static final String DELETED = "DELETED";
+
+    private Long hotelId;
+    private String eventType;
+    // Instance émettrice, pour ignorer ses propres événements
+    private String source;
+    // Révision du catalogue commitée par l'écriture ; absente des anciens messages
+    private Long revision;
+    private LocalDateTime eventTime;
+
+    public HotelEvent() {
+    }
+
+    public HotelEvent(Long hotelId, String eventType, String source, long revision) {
+        this.hotelId = hotelId;
+        this.eventType = eventType;
+        this.source = source;
+        this.revision = revision;
+        this.eventTime = LocalDateTime.now();
+    }
+
+    public Long getHotelId() {
+        return hotelId;
+    }
+
+    public void setHotelId(Long hotelId) {
+        this.hotelId = hotelId;
+    }
+
+    public String getEventType() {
+        return eventType;
+    }
+
+    public void setEventType(String eventType) {
+        this.eventType = eventType;
+    }
+
+    public String getSource() {
+        return source;
+    }
+
+    public void setSource(String source) {
+        this.source = source;
+    }
+
+    public Long getRevision() {
+        return revision;
+    }
+
+    public void setRevision(Long revision) {
+        this.revision = revision;
+    }
+
+    public LocalDateTime getEventTime() {
+        return eventTime;
+    }
+
+    public void setEventTime(LocalDateTime eventTime) {
+        this.eventTime = eventTime;
+    }
+}
@@ -0,0 +1,74 @@
+package com.esprit.kafka;
+
+import com.esprit.event.HotelEvent;
+import com.esprit.service.HotelCatalogCache;
+import com.esprit.service.HotelSearchIndex;
+import com.esprit.service.RevisionService;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+
+/**
+ * Propage les invalidations du cache et de l'index de recherche entre instances via hotel-events.
+ * Chaque instance a son propre groupe pour recevoir tous les événements.
+ */
+@Component
+public class HotelEventListener {
+
+    private static final Logger log = LoggerFactory.getLogger(HotelEventListener.class);
+
+    private final HotelCatalogCache cache;
+    private final HotelSearchIndex searchIndex;
+    private final RevisionService revisionService;
+    private final ObjectMapper objectMapper;
+
+    public HotelEventListener(HotelCatalogCache cache, HotelSearchIndex searchIndex,
+                              RevisionService revisionService, ObjectMapper objectMapper) {
+        this.cache = cache;
+        this.searchIndex = searchIndex;
+        this.revisionService = revisionService;
+        this.objectMapper = objectMapper.copy()
+                .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+    }
+
+    @KafkaListener(topics = "${kafka.topic.hotel-events}",
+            groupId = "${hotel.cache.group-id:hotel-cache-${random.uuid}}",
+            properties = {
+                    "key.deserializer=org.apache.kafka.common.serialization.StringDeserializer",
+                    "value.deserializer=org.apache.kafka.common.serialization.StringDeserializer",
+                    "auto.offset.reset=latest"
+            })
+    public void onHotelEvent(String payload) {
+        HotelEvent event;
+        try {
+            event = objectMapper.readValue(payload, HotelEvent.class);
+        } catch (IOException e) {
+            // Ancien format texte ou message inconnu : on repart d'un cache vide
+            log.warn("Unreadable hotel event, clearing catalog cache: {}", payload);
+            revisionService.refresh();
+            cache.invalidateAll();
+            searchIndex.invalidate();
+            return;
+        }
+        if (cache.getInstanceId().equals(event.getSource())) {
+            return;
+        }
+        // Révision avancée avant l'invalidation, comme après un commit local
+        if (event.getRevision() != null) {
+            revisionService.advanceTo(event.getRevision());
+        } else {
+            revisionService.refresh();
+        }
+        cache.invalidate(event.getHotelId());
+        if (event.getHotelId() != null) {
+            searchIndex.refresh(event.getHotelId());
+        } else {
+            searchIndex.invalidate();
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.esprit.kafka;
 
+import com.esprit.event.HotelEvent;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.stereotype.Service;
@@ -16,7 +17,8 @@ public class HotelEventProducer {
         this.kafkaTemplate = kafkaTemplate;
     }
 
-    public void sendHotelDeletedEvent(Long hotelId) {
-        kafkaTemplate.send(topic, "Hotel deleted with id: " + hotelId);
+    public void sendHotelEvent(HotelEvent event) {
+        // Clé = id de l'hôtel : les événements d'un même hôtel restent ordonnés
+        kafkaTemplate.send(topic, String.valueOf(event.getHotelId()), event);
     }
-}
\ No newline at end of file
+}
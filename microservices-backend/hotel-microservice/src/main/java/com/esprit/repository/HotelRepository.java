@@ -2,10 +2,17 @@ package com.esprit.repository;
 
 import com.esprit.entities.Hotel;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 
 import java.util.List;
 
 public interface HotelRepository extends JpaRepository<Hotel, Long> {
     List<Hotel> findByAvailableTrue();
     List<Hotel> findByCityIgnoreCase(String city);
-}
\ No newline at end of file
+    List<Hotel> findByRevisionGreaterThanOrderByRevisionAsc(long revision);
+
+    @Modifying
+    @Query("update Hotel h set h.revision = 0 where h.revision is null")
+    int initializeRevisions();
+}
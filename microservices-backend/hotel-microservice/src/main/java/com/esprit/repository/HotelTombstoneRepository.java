@@ -0,0 +1,10 @@
+package com.esprit.repository;
+
+import com.esprit.entities.HotelTombstone;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.List;
+
+public interface HotelTombstoneRepository extends JpaRepository<HotelTombstone, Long> {
+    List<HotelTombstone> findByRevisionGreaterThan(long revision);
+}
@@ -0,0 +1,20 @@
+package com.esprit.repository;
+
+import com.esprit.entities.RevisionCounter;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Optional;
+
+public interface RevisionCounterRepository extends JpaRepository<RevisionCounter, String> {
+
+    // Le verrou de ligne pris ici sérialise les écritures jusqu'au commit
+    @Modifying
+    @Query("update RevisionCounter c set c.value = c.value + 1 where c.name = :name")
+    int increment(@Param("name") String name);
+
+    @Query("select c.value from RevisionCounter c where c.name = :name")
+    Optional<Long> currentValue(@Param("name") String name);
+}
@@ -0,0 +1,119 @@
+package com.esprit.service;
+
+import com.esprit.entities.Hotel;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Cache en lecture du catalogue des hôtels, borné en taille et en durée de vie.
+ * Les hôtels sont cachés par id, les listes (tous, disponibles, par ville) par clé de requête.
+ * Toute écriture invalide l'hôtel concerné et l'ensemble des listes ; chaque liste garde
+ * la révision du catalogue à son chargement et est rechargée si une lecture en exige une plus récente.
+ */
+@Component
+public class HotelCatalogCache {
+
+    static final String ALL = "all";
+    static final String AVAILABLE = "available";
+
+    private final String instanceId = UUID.randomUUID().toString();
+    private final Cache<Long, Hotel> hotelsById;
+    private final Cache<String, RevisionedList> hotelLists;
+
+    public HotelCatalogCache(MeterRegistry meterRegistry,
+                             @Value("${hotel.cache.max-size:10000}") long maxSize,
+                             @Value("${hotel.cache.ttl-seconds:300}") long ttlSeconds) {
+        this.hotelsById = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+        // Les listes pèsent plus lourd : on en garde peu
+        this.hotelLists = Caffeine.newBuilder()
+                .maximumSize(Math.max(16, maxSize / 100))
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+
+        // cache.gets{result=hit|miss}, cache.evictions, cache.size...
+        CaffeineCacheMetrics.monitor(meterRegistry, hotelsById, "hotels.byId");
+        CaffeineCacheMetrics.monitor(meterRegistry, hotelLists, "hotels.lists");
+        Gauge.builder("hotel.cache.hit.ratio", hotelsById, c -> c.stats().hitRate())
+                .tag("cache", "hotels.byId")
+                .register(meterRegistry);
+        Gauge.builder("hotel.cache.hit.ratio", hotelLists, c -> c.stats().hitRate())
+                .tag("cache", "hotels.lists")
+                .register(meterRegistry);
+    }
+
+    public Optional<Hotel> getHotel(Long id, Function<Long, Optional<Hotel>> loader) {
+        // Les absences ne sont pas cachées : un hôtel créé ailleurs devient visible aussitôt
+        return Optional.ofNullable(hotelsById.get(id, key -> loader.apply(key).orElse(null)));
+    }
+
+    /**
+     * Liste complète, rechargée si l'entrée cachée est antérieure à {@code minRevision}
+     * (chargée pendant qu'une écriture, locale ou reçue via hotel-events, avançait la révision)
+     */
+    public List<Hotel> getAll(long minRevision, Supplier<List<Hotel>> loader) {
+        return getList(ALL, minRevision, loader);
+    }
+
+    /**
+     * Hôtels disponibles, avec le même contrôle de révision que {@link #getAll}
+     */
+    public List<Hotel> getAvailable(long minRevision, Supplier<List<Hotel>> loader) {
+        return getList(AVAILABLE, minRevision, loader);
+    }
+
+    /**
+     * Hôtels d'une ville, avec le même contrôle de révision que {@link #getAll}
+     */
+    public List<Hotel> getByCity(String city, long minRevision, Supplier<List<Hotel>> loader) {
+        return getList("city:" + city.toLowerCase(), minRevision, loader);
+    }
+
+    /**
+     * Invalider un hôtel et toutes les listes qui peuvent le contenir
+     */
+    public void invalidate(Long hotelId) {
+        if (hotelId != null) {
+            hotelsById.invalidate(hotelId);
+        }
+        hotelLists.invalidateAll();
+    }
+
+    public void invalidateAll() {
+        hotelsById.invalidateAll();
+        hotelLists.invalidateAll();
+    }
+
+    public String getInstanceId() {
+        return instanceId;
+    }
+
+    private List<Hotel> getList(String key, long minRevision, Supplier<List<Hotel>> loader) {
+        RevisionedList cached = hotelLists.get(key, k -> new RevisionedList(minRevision, List.copyOf(loader.get())));
+        if (cached.revision() < minRevision) {
+            cached = new RevisionedList(minRevision, List.copyOf(loader.get()));
+            hotelLists.put(key, cached);
+        }
+        return cached.hotels();
+    }
+
+    // Liste et révision du catalogue lue juste avant son chargement
+    private record RevisionedList(long revision, List<Hotel> hotels) {
+    }
+}
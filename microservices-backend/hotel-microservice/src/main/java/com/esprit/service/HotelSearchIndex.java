@@ -0,0 +1,413 @@
+package com.esprit.service;
+
+import com.esprit.dto.HotelSearchResponse;
+import com.esprit.entities.Hotel;
+import com.esprit.repository.HotelRepository;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.IntPredicate;
+import java.util.stream.IntStream;
+
+/**
+ * Index secondaire en mémoire pour la recherche d'hôtels.
+ * Un instantané immuable contient : un hachage ville -> positions, les prix et notes
+ * triés dans des tableaux primitifs (recherche d'intervalle par dichotomie) et un
+ * BitSet des hôtels disponibles. La recherche part de l'intervalle le plus sélectif
+ * puis filtre les autres critères par accès direct aux tableaux.
+ * Une écriture commitée remplace ou retire son seul hôtel dans un nouvel instantané
+ * (copie des tableaux en O(n), sans relecture de la table) ; seule une invalidation
+ * complète fait recharger tout le catalogue à la requête suivante.
+ */
+@Component
+public class HotelSearchIndex {
+
+    public static final int MAX_PAGE_SIZE = 100;
+
+    private final HotelRepository hotelRepository;
+
+    private volatile Snapshot snapshot;
+    private volatile boolean stale = true;
+
+    public HotelSearchIndex(HotelRepository hotelRepository) {
+        this.hotelRepository = hotelRepository;
+    }
+
+    public void invalidate() {
+        stale = true;
+    }
+
+    /**
+     * Ajouter ou remplacer un hôtel commité
+     */
+    public synchronized void put(Hotel hotel) {
+        // Index pas encore chargé ou déjà à reconstruire : le prochain chargement verra l'écriture
+        if (snapshot != null && !stale) {
+            snapshot = snapshot.with(hotel);
+        }
+    }
+
+    /**
+     * Retirer un hôtel supprimé
+     */
+    public synchronized void remove(Long hotelId) {
+        if (snapshot != null && !stale) {
+            snapshot = snapshot.without(hotelId);
+        }
+    }
+
+    /**
+     * Relire un seul hôtel modifié sur une autre instance
+     */
+    public void refresh(Long hotelId) {
+        hotelRepository.findById(hotelId).ifPresentOrElse(this::put, () -> remove(hotelId));
+    }
+
+    public HotelSearchResponse search(String city, Double minPrice, Double maxPrice, Integer minRating,
+                                      Boolean available, String sort, int page, int size) {
+        if (page < 0 || size < 1 || size > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("page must be >= 0 and size between 1 and " + MAX_PAGE_SIZE);
+        }
+        if (minPrice != null && maxPrice != null && minPrice > maxPrice) {
+            throw new IllegalArgumentException("minPrice must not be greater than maxPrice");
+        }
+        SortOrder order = SortOrder.parse(sort);
+        Snapshot s = current();
+
+        double low = minPrice != null ? minPrice : Double.NEGATIVE_INFINITY;
+        double high = maxPrice != null ? maxPrice : Double.POSITIVE_INFINITY;
+        int ratingFloor = minRating != null ? minRating : Integer.MIN_VALUE;
+
+        // Choisir la liste de candidats la plus courte
+        int[] candidates = s.allPositions;
+        int from = 0;
+        int to = s.size;
+        if (city != null) {
+            candidates = s.byCity.getOrDefault(city.toLowerCase(Locale.ROOT), new int[0]);
+            to = candidates.length;
+        }
+        if (minPrice != null || maxPrice != null) {
+            int pFrom = lowerBound(s.sortedPrices, low);
+            int pTo = upperBound(s.sortedPrices, high);
+            if (pTo - pFrom < to - from) {
+                candidates = s.byPrice;
+                from = pFrom;
+                to = pTo;
+            }
+        }
+        if (minRating != null) {
+            int rFrom = lowerBound(s.sortedRatings, ratingFloor);
+            if (s.size - rFrom < to - from) {
+                candidates = s.byRating;
+                from = rFrom;
+                to = s.size;
+            }
+        }
+
+        int[] matches = new int[Math.max(0, to - from)];
+        int count = 0;
+        for (int i = from; i < to; i++) {
+            int p = candidates[i];
+            double price = s.prices[p];
+            if (price < low || price > high || s.ratings[p] < ratingFloor) {
+                continue;
+            }
+            if (available != null && s.available.get(p) != available) {
+                continue;
+            }
+            if (city != null && !city.equalsIgnoreCase(s.hotels[p].getCity())) {
+                continue;
+            }
+            matches[count++] = p;
+        }
+
+        sort(s, matches, count, order);
+
+        int start = (int) Math.min((long) page * size, count);
+        int end = Math.min(start + size, count);
+        List<Hotel> content = new ArrayList<>(end - start);
+        for (int i = start; i < end; i++) {
+            content.add(s.hotels[matches[i]]);
+        }
+        int totalPages = (count + size - 1) / size;
+        return new HotelSearchResponse(content, page, size, count, totalPages);
+    }
+
+    /**
+     * Trier les positions retenues par rang précalculé : chaque clé (rang << 32 | position)
+     * est un long, triés sans objet intermédiaire.
+     */
+    private static void sort(Snapshot s, int[] matches, int count, SortOrder order) {
+        int[] rank = switch (order) {
+            case ID -> null;
+            case PRICE_ASC, PRICE_DESC -> s.priceRank;
+            case RATING_ASC, RATING_DESC -> s.ratingRank;
+        };
+        if (rank == null) {
+            // Les positions suivent déjà l'ordre des ids
+            Arrays.sort(matches, 0, count);
+            return;
+        }
+        long[] keys = new long[count];
+        for (int i = 0; i < count; i++) {
+            keys[i] = ((long) rank[matches[i]] << 32) | matches[i];
+        }
+        Arrays.sort(keys);
+        boolean descending = order == SortOrder.PRICE_DESC || order == SortOrder.RATING_DESC;
+        for (int i = 0; i < count; i++) {
+            long key = descending ? keys[count - 1 - i] : keys[i];
+            matches[i] = (int) key;
+        }
+    }
+
+    private Snapshot current() {
+        Snapshot s = snapshot;
+        if (stale || s == null) {
+            synchronized (this) {
+                if (stale || snapshot == null) {
+                    // Remis à false avant le chargement : une écriture concurrente redemandera une reconstruction
+                    stale = false;
+                    snapshot = Snapshot.of(hotelRepository.findAll());
+                }
+                s = snapshot;
+            }
+        }
+        return s;
+    }
+
+    // Premier indice dont la valeur est >= value
+    private static int lowerBound(double[] sorted, double value) {
+        int lo = 0;
+        int hi = sorted.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (sorted[mid] < value) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    // Premier indice dont la valeur est > value
+    private static int upperBound(double[] sorted, double value) {
+        int lo = 0;
+        int hi = sorted.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (sorted[mid] <= value) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    private static int lowerBound(int[] sorted, int value) {
+        int lo = 0;
+        int hi = sorted.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (sorted[mid] < value) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    enum SortOrder {
+        ID, PRICE_ASC, PRICE_DESC, RATING_ASC, RATING_DESC;
+
+        static SortOrder parse(String sort) {
+            if (sort == null || sort.isBlank()) {
+                return ID;
+            }
+            return switch (sort) {
+                case "id" -> ID;
+                case "price", "price,asc" -> PRICE_ASC;
+                case "-price", "price,desc" -> PRICE_DESC;
+                case "rating", "rating,asc" -> RATING_ASC;
+                case "-rating", "rating,desc" -> RATING_DESC;
+                default -> throw new IllegalArgumentException("Unsupported sort: " + sort);
+            };
+        }
+    }
+
+    /**
+     * Instantané immuable de l'index ; les positions suivent l'ordre croissant des ids
+     */
+    private static final class Snapshot {
+        final int size;
+        final Hotel[] hotels;
+        final double[] prices;
+        final int[] ratings;
+        final BitSet available;
+        final int[] allPositions;
+        final Map<String, int[]> byCity;
+        // Positions triées par prix / note, et valeurs triées correspondantes
+        final int[] byPrice;
+        final double[] sortedPrices;
+        final int[] byRating;
+        final int[] sortedRatings;
+        // Rang de chaque position dans l'ordre des prix / des notes
+        final int[] priceRank;
+        final int[] ratingRank;
+
+        // Tableaux dérivés des hôtels (triés par id) et de leurs ordres par prix et par note
+        private Snapshot(Hotel[] sorted, int[] byPrice, int[] byRating) {
+            this.size = sorted.length;
+            this.hotels = sorted;
+            this.prices = new double[size];
+            this.ratings = new int[size];
+            this.available = new BitSet(size);
+            this.allPositions = new int[size];
+
+            Map<String, List<Integer>> cities = new HashMap<>();
+            for (int p = 0; p < size; p++) {
+                Hotel hotel = sorted[p];
+                prices[p] = hotel.getPricePerNight();
+                ratings[p] = hotel.getRating();
+                available.set(p, hotel.isAvailable());
+                allPositions[p] = p;
+                if (hotel.getCity() != null) {
+                    cities.computeIfAbsent(hotel.getCity().toLowerCase(Locale.ROOT), c -> new ArrayList<>()).add(p);
+                }
+            }
+            this.byCity = new HashMap<>(cities.size() * 2);
+            cities.forEach((city, positions) ->
+                    byCity.put(city, positions.stream().mapToInt(Integer::intValue).toArray()));
+
+            this.byPrice = byPrice;
+            this.byRating = byRating;
+            this.sortedPrices = new double[size];
+            this.sortedRatings = new int[size];
+            this.priceRank = new int[size];
+            this.ratingRank = new int[size];
+            for (int i = 0; i < size; i++) {
+                sortedPrices[i] = prices[byPrice[i]];
+                sortedRatings[i] = ratings[byRating[i]];
+                priceRank[byPrice[i]] = i;
+                ratingRank[byRating[i]] = i;
+            }
+        }
+
+        static Snapshot of(List<Hotel> hotels) {
+            Hotel[] sorted = hotels.toArray(new Hotel[0]);
+            Arrays.sort(sorted, (a, b) -> Long.compare(a.getId(), b.getId()));
+            int[] byPrice = orderBy(sorted.length,
+                    (a, b) -> Double.compare(sorted[a].getPricePerNight(), sorted[b].getPricePerNight()));
+            int[] byRating = orderBy(sorted.length,
+                    (a, b) -> Integer.compare(sorted[a].getRating(), sorted[b].getRating()));
+            return new Snapshot(sorted, byPrice, byRating);
+        }
+
+        /**
+         * Instantané où {@code hotel} remplace la version indexée (ou s'ajoute) ;
+         * les ordres par prix et par note sont décalés et complétés sans nouveau tri
+         */
+        Snapshot with(Hotel hotel) {
+            int existing = positionOf(hotel.getId());
+            // Une version plus ancienne arrivée en retard ne remplace pas la version indexée
+            if (existing >= 0 && hotel.getRevision() != null && hotels[existing].getRevision() != null
+                    && hotel.getRevision() < hotels[existing].getRevision()) {
+                return this;
+            }
+            Snapshot base = without(hotel.getId());
+            int p = -base.positionOf(hotel.getId()) - 1;
+            Hotel[] sorted = new Hotel[base.size + 1];
+            System.arraycopy(base.hotels, 0, sorted, 0, p);
+            sorted[p] = hotel;
+            System.arraycopy(base.hotels, p, sorted, p + 1, base.size - p);
+            // À valeur égale, l'ordre des positions (donc des ids) est conservé
+            int[] byPrice = insert(base.byPrice, p, i -> {
+                int c = Double.compare(base.prices[i], hotel.getPricePerNight());
+                return c != 0 ? c > 0 : i >= p;
+            });
+            int[] byRating = insert(base.byRating, p, i -> {
+                int c = Integer.compare(base.ratings[i], hotel.getRating());
+                return c != 0 ? c > 0 : i >= p;
+            });
+            return new Snapshot(sorted, byPrice, byRating);
+        }
+
+        /**
+         * Instantané sans l'hôtel {@code hotelId} (lui-même s'il n'est pas indexé)
+         */
+        Snapshot without(Long hotelId) {
+            int p = positionOf(hotelId);
+            if (p < 0) {
+                return this;
+            }
+            Hotel[] sorted = new Hotel[size - 1];
+            System.arraycopy(hotels, 0, sorted, 0, p);
+            System.arraycopy(hotels, p + 1, sorted, p, size - p - 1);
+            return new Snapshot(sorted, remove(byPrice, p), remove(byRating, p));
+        }
+
+        private int positionOf(Long hotelId) {
+            int lo = 0;
+            int hi = size - 1;
+            while (lo <= hi) {
+                int mid = (lo + hi) >>> 1;
+                int c = Long.compare(hotels[mid].getId(), hotelId);
+                if (c < 0) {
+                    lo = mid + 1;
+                } else if (c > 0) {
+                    hi = mid - 1;
+                } else {
+                    return mid;
+                }
+            }
+            return -lo - 1;
+        }
+
+        // Ordre sans la position p ; les positions suivantes reculent d'un cran
+        private static int[] remove(int[] order, int p) {
+            int[] result = new int[order.length - 1];
+            int j = 0;
+            for (int position : order) {
+                if (position != p) {
+                    result[j++] = position > p ? position - 1 : position;
+                }
+            }
+            return result;
+        }
+
+        // Ordre avec la nouvelle position p, placée avant la première position qui doit la suivre
+        private static int[] insert(int[] order, int p, IntPredicate after) {
+            int[] result = new int[order.length + 1];
+            int j = 0;
+            boolean inserted = false;
+            for (int position : order) {
+                if (!inserted && after.test(position)) {
+                    result[j++] = p;
+                    inserted = true;
+                }
+                result[j++] = position >= p ? position + 1 : position;
+            }
+            if (!inserted) {
+                result[j] = p;
+            }
+            return result;
+        }
+
+        private static int[] orderBy(int size, Comparator<Integer> comparator) {
+            // Tri stable : à valeur égale, l'ordre des ids est conservé
+            return IntStream.range(0, size).boxed()
+                    .sorted(comparator)
+                    .mapToInt(Integer::intValue)
+                    .toArray();
+        }
+    }
+}
@@ -1,9 +1,17 @@
 package com.esprit.service;
 
+import com.esprit.dto.HotelDelta;
+import com.esprit.dto.HotelSearchResponse;
 import com.esprit.entities.Hotel;
+import com.esprit.entities.HotelTombstone;
+import com.esprit.event.HotelEvent;
 import com.esprit.repository.HotelRepository;
+import com.esprit.repository.HotelTombstoneRepository;
 import com.esprit.kafka.HotelEventProducer;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.util.List;
 import java.util.Optional;
@@ -13,51 +21,122 @@ public class HotelService {
 
     private final HotelRepository hotelRepository;
     private final HotelEventProducer hotelEventProducer;
+    private final HotelCatalogCache cache;
+    private final HotelSearchIndex searchIndex;
+    private final HotelTombstoneRepository tombstoneRepository;
+    private final RevisionService revisionService;
 
     public HotelService(HotelRepository hotelRepository,
-                         HotelEventProducer hotelEventProducer) {
+                         HotelEventProducer hotelEventProducer,
+                         HotelCatalogCache cache,
+                         HotelSearchIndex searchIndex,
+                         HotelTombstoneRepository tombstoneRepository,
+                         RevisionService revisionService) {
         this.hotelRepository = hotelRepository;
         this.hotelEventProducer = hotelEventProducer;
+        this.cache = cache;
+        this.searchIndex = searchIndex;
+        this.tombstoneRepository = tombstoneRepository;
+        this.revisionService = revisionService;
+    }
+
+    public long getRevision() {
+        return revisionService.current();
     }
 
     public List<Hotel> getHotels() {
-        return hotelRepository.findAll();
+        return getHotels(revisionService.current());
+    }
+
+    /**
+     * Liste complète au moins aussi récente que {@code revision}
+     */
+    public List<Hotel> getHotels(long revision) {
+        return cache.getAll(revision, hotelRepository::findAll);
+    }
+
+    /**
+     * Hôtels créés, modifiés ou supprimés depuis la révision {@code since}
+     */
+    public HotelDelta getChangesSince(long since) {
+        // Révision relue en base en premier : le delta peut contenir plus, jamais moins
+        long revision = revisionService.refresh();
+        List<Hotel> changed = hotelRepository.findByRevisionGreaterThanOrderByRevisionAsc(since);
+        List<Long> deleted = tombstoneRepository.findByRevisionGreaterThan(since).stream()
+                .map(HotelTombstone::getHotelId)
+                .toList();
+        return new HotelDelta(revision, changed, deleted);
     }
 
     public Optional<Hotel> getHotelById(Long id) {
-        return hotelRepository.findById(id);
+        return cache.getHotel(id, hotelRepository::findById);
     }
 
+    @Transactional
     public Hotel createHotel(Hotel hotel) {
-        return hotelRepository.save(hotel);
+        hotel.setRevision(revisionService.next());
+        Hotel saved = hotelRepository.save(hotel);
+        onHotelChanged(saved.getId(), saved, HotelEvent.CREATED, saved.getRevision());
+        return saved;
     }
 
+    @Transactional
     public Optional<Hotel> updateHotel(Long id, Hotel updated) {
-        return hotelRepository.findById(id).map(hotel -> {
+        Optional<Hotel> result = hotelRepository.findById(id).map(hotel -> {
             hotel.setName(updated.getName());
             hotel.setCity(updated.getCity());
             hotel.setAddress(updated.getAddress());
             hotel.setPricePerNight(updated.getPricePerNight());
             hotel.setRating(updated.getRating());
             hotel.setAvailable(updated.isAvailable());
+            hotel.setRevision(revisionService.next());
             return hotelRepository.save(hotel);
         });
+        result.ifPresent(hotel -> onHotelChanged(id, hotel, HotelEvent.UPDATED, hotel.getRevision()));
+        return result;
     }
 
+    @Transactional
     public boolean deleteHotel(Long id) {
         if (hotelRepository.existsById(id)) {
             hotelRepository.deleteById(id);
-            hotelEventProducer.sendHotelDeletedEvent(id);
+            long revision = revisionService.next();
+            tombstoneRepository.save(new HotelTombstone(id, revision));
+            onHotelChanged(id, null, HotelEvent.DELETED, revision);
             return true;
         }
         return false;
     }
 
     public List<Hotel> getAvailableHotels() {
-        return hotelRepository.findByAvailableTrue();
+        return cache.getAvailable(revisionService.current(), hotelRepository::findByAvailableTrue);
     }
 
     public List<Hotel> getHotelsByCity(String city) {
-        return hotelRepository.findByCityIgnoreCase(city);
+        return cache.getByCity(city, revisionService.current(), () -> hotelRepository.findByCityIgnoreCase(city));
+    }
+
+    public HotelSearchResponse searchHotels(String city, Double minPrice, Double maxPrice, Integer minRating,
+                                            Boolean available, String sort, int page, int size) {
+        return searchIndex.search(city, minPrice, maxPrice, minRating, available, sort, page, size);
+    }
+
+    // Après le commit : révision connue avancée avant l'invalidation locale (une liste rechargée
+    // entre-temps reste marquée plus ancienne), index de recherche mis à jour pour ce seul hôtel
+    // (hotel nul s'il est supprimé), puis diffusion aux autres instances
+    private void onHotelChanged(Long id, Hotel hotel, String eventType, long revision) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                revisionService.advanceTo(revision);
+                cache.invalidate(id);
+                if (hotel != null) {
+                    searchIndex.put(hotel);
+                } else {
+                    searchIndex.remove(id);
+                }
+                hotelEventProducer.sendHotelEvent(new HotelEvent(id, eventType, cache.getInstanceId(), revision));
+            }
+        });
     }
-}
\ No newline at end of file
+}
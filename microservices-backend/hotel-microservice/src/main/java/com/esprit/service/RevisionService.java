@@ -0,0 +1,79 @@
+package com.esprit.service;
+
+import com.esprit.entities.RevisionCounter;
+import com.esprit.repository.HotelRepository;
+import com.esprit.repository.RevisionCounterRepository;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Révision du catalogue des hôtels, incrémentée à chaque écriture.
+ * Le compteur est stocké en base pour que toutes les instances servent les
+ * mêmes ETags et les mêmes deltas. Chaque instance garde en mémoire la dernière
+ * révision connue, avancée après ses propres commits et à la réception de hotel-events :
+ * les lectures cachées et les contrôles d'ETag ne lisent pas la table.
+ */
+@Service
+public class RevisionService {
+
+    static final String HOTELS = "hotels";
+
+    private final RevisionCounterRepository counterRepository;
+    private final HotelRepository hotelRepository;
+    // -1 tant que la table n'a pas été lue
+    private final AtomicLong known = new AtomicLong(-1);
+
+    public RevisionService(RevisionCounterRepository counterRepository, HotelRepository hotelRepository) {
+        this.counterRepository = counterRepository;
+        this.hotelRepository = hotelRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void initialize() {
+        if (!counterRepository.existsById(HOTELS)) {
+            counterRepository.save(new RevisionCounter(HOTELS, 0));
+        }
+        // Hôtels antérieurs au suivi des révisions
+        hotelRepository.initializeRevisions();
+        refresh();
+    }
+
+    /**
+     * Réserver la révision suivante, dans la transaction d'écriture de l'appelant
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public long next() {
+        counterRepository.increment(HOTELS);
+        return counterRepository.currentValue(HOTELS)
+                .orElseThrow(() -> new IllegalStateException("Revision counter not initialized"));
+    }
+
+    /**
+     * Dernière révision connue de cette instance, sans accès à la base
+     */
+    public long current() {
+        long revision = known.get();
+        return revision < 0 ? refresh() : revision;
+    }
+
+    /**
+     * Relire le compteur en base (démarrage, événement sans révision)
+     */
+    public long refresh() {
+        return advanceTo(counterRepository.currentValue(HOTELS).orElse(0L));
+    }
+
+    /**
+     * Prendre en compte une révision commitée, ici ou sur une autre instance ;
+     * la révision connue ne recule jamais
+     */
+    public long advanceTo(long revision) {
+        return known.accumulateAndGet(revision, Math::max);
+    }
+}
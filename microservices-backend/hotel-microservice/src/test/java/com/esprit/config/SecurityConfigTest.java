@@ -0,0 +1,81 @@
+package com.esprit.config;
+
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.crypto.RSASSASigner;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.RSAKey;
+import com.nimbusds.jose.jwk.gen.RSAKeyGenerator;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtException;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class SecurityConfigTest {
+
+    private static final String ISSUER = "http://localhost:8080/realms/microservices-realm";
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private RSAKey key;
+    private RefreshingJwkSource jwkSource;
+    private JwtDecoder decoder;
+
+    @BeforeEach
+    void wire() throws Exception {
+        key = new RSAKeyGenerator(2048).keyID("k1").generate();
+        JWKSet published = new JWKSet(key.toPublicJWK());
+        jwkSource = new RefreshingJwkSource(() -> published, Duration.ofHours(1), Duration.ofSeconds(10),
+                Duration.ofSeconds(5), System::currentTimeMillis);
+        decoder = new SecurityConfig().jwtDecoder(jwkSource, registry, ISSUER, 100, Duration.ofMinutes(15));
+    }
+
+    @AfterEach
+    void close() {
+        jwkSource.close();
+    }
+
+    @Test
+    void decoderCachesTokensVerifiedWithTheRefreshedKeys() throws Exception {
+        assertInstanceOf(CachingJwtDecoder.class, decoder);
+        String token = sign(key, ISSUER, Instant.now().plusSeconds(300));
+
+        assertEquals("alice", decoder.decode(token).getSubject());
+        assertEquals("alice", decoder.decode(token).getSubject());
+
+        assertEquals(1.0, registry.get("cache.gets").tags("cache", "jwt.validated", "result", "hit")
+                .functionCounter().count());
+    }
+
+    @Test
+    void decoderKeepsTheIssuerValidation() throws Exception {
+        String foreign = sign(key, "http://localhost:8080/realms/other", Instant.now().plusSeconds(300));
+
+        assertThrows(JwtException.class, () -> decoder.decode(foreign));
+        assertThrows(JwtException.class, () -> decoder.decode(sign(key, ISSUER, Instant.now().minusSeconds(300))));
+    }
+
+    private static String sign(RSAKey key, String issuer, Instant expiresAt) throws JOSEException {
+        JWTClaimsSet claims = new JWTClaimsSet.Builder()
+                .issuer(issuer)
+                .subject("alice")
+                .issueTime(new Date())
+                .expirationTime(Date.from(expiresAt))
+                .build();
+        SignedJWT jwt = new SignedJWT(new JWSHeader.Builder(JWSAlgorithm.RS256).keyID(key.getKeyID()).build(), claims);
+        jwt.sign(new RSASSASigner(key));
+        return jwt.serialize();
+    }
+}
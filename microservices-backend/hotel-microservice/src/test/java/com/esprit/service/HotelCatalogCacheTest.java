@@ -0,0 +1,112 @@
+package com.esprit.service;
+
+import com.esprit.entities.Hotel;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class HotelCatalogCacheTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final HotelCatalogCache cache = new HotelCatalogCache(registry, 100, 300);
+
+    @Test
+    void readsAreServedFromCacheUntilInvalidated() {
+        AtomicInteger loads = new AtomicInteger();
+        Hotel hotel = new Hotel("Dar", "Tunis", "Rue 1", 120, 4, true);
+        hotel.setId(1L);
+
+        for (int i = 0; i < 5; i++) {
+            cache.getHotel(1L, id -> {
+                loads.incrementAndGet();
+                return Optional.of(hotel);
+            });
+            cache.getAll(0, () -> {
+                loads.incrementAndGet();
+                return List.of(hotel);
+            });
+        }
+        assertEquals(2, loads.get());
+
+        cache.invalidate(1L);
+        cache.getHotel(1L, id -> {
+            loads.incrementAndGet();
+            return Optional.of(hotel);
+        });
+        cache.getAll(0, () -> {
+            loads.incrementAndGet();
+            return List.of(hotel);
+        });
+        assertEquals(4, loads.get());
+        assertEquals(4.0 / 6, registry.get("hotel.cache.hit.ratio").tag("cache", "hotels.byId").gauge().value(), 1e-9);
+    }
+
+    @Test
+    void staleListIsReloadedWhenTheCatalogRevisionMovedOn() {
+        AtomicInteger loads = new AtomicInteger();
+        cache.getAll(3, () -> {
+            loads.incrementAndGet();
+            return List.of();
+        });
+        cache.getAll(3, () -> {
+            loads.incrementAndGet();
+            return List.of();
+        });
+        // Révision avancée par une écriture (locale ou reçue via hotel-events) sans invalidation de la liste
+        cache.getAll(4, () -> {
+            loads.incrementAndGet();
+            return List.of();
+        });
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void availableAndCityListsAlsoFollowTheCatalogRevision() {
+        AtomicInteger loads = new AtomicInteger();
+        for (long revision : new long[]{3, 3, 4}) {
+            cache.getAvailable(revision, () -> {
+                loads.incrementAndGet();
+                return List.of();
+            });
+            cache.getByCity("Tunis", revision, () -> {
+                loads.incrementAndGet();
+                return List.of();
+            });
+        }
+        assertEquals(4, loads.get());
+    }
+
+    @Test
+    void missingHotelsAreNotCached() {
+        AtomicInteger loads = new AtomicInteger();
+        assertTrue(cache.getHotel(42L, id -> {
+            loads.incrementAndGet();
+            return Optional.empty();
+        }).isEmpty());
+        cache.getHotel(42L, id -> {
+            loads.incrementAndGet();
+            return Optional.empty();
+        });
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void cityListsAreCaseInsensitive() {
+        AtomicInteger loads = new AtomicInteger();
+        cache.getByCity("Tunis", 0, () -> {
+            loads.incrementAndGet();
+            return List.of();
+        });
+        cache.getByCity("TUNIS", 0, () -> {
+            loads.incrementAndGet();
+            return List.of();
+        });
+        assertEquals(1, loads.get());
+    }
+}
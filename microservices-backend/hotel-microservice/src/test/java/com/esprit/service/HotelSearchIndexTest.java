@@ -0,0 +1,217 @@
+package com.esprit.service;
+
+import com.esprit.dto.HotelSearchResponse;
+import com.esprit.entities.Hotel;
+import com.esprit.repository.HotelRepository;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Random;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class HotelSearchIndexTest {
+
+    private static final Logger BENCHMARK_LOG = LoggerFactory.getLogger("benchmark");
+
+    private static final String[] CITIES = {"Tunis", "Sousse", "Paris", "Lyon", "Rome", "Madrid", "Berlin", "Oslo"};
+
+    @Test
+    void searchMatchesANaiveScan() {
+        List<Hotel> hotels = generate(5_000, new Random(7));
+        HotelSearchIndex index = indexOf(hotels);
+        Random random = new Random(11);
+
+        for (int i = 0; i < 500; i++) {
+            assertMatchesNaiveScan(index, hotels, 1, random);
+        }
+    }
+
+    @Test
+    void singleHotelWritesKeepTheIndexInLineWithANaiveScan() {
+        List<Hotel> initial = generate(300, new Random(13));
+        HotelRepository repository = mock(HotelRepository.class);
+        when(repository.findAll()).thenReturn(initial);
+        HotelSearchIndex index = new HotelSearchIndex(repository);
+        Map<Long, Hotel> hotels = new TreeMap<>();
+        initial.forEach(h -> hotels.put(h.getId(), h));
+        Random random = new Random(17);
+        assertMatchesNaiveScan(index, List.copyOf(hotels.values()), 0, random);
+
+        for (int i = 0; i < 600; i++) {
+            // Ids tirés au hasard dans une plage plus large : insertions en tête, au milieu et en queue
+            long id = 1 + random.nextInt(400);
+            if (random.nextInt(3) == 0) {
+                hotels.remove(id);
+                index.remove(id);
+            } else {
+                Hotel hotel = generate(1, random).get(0);
+                hotel.setId(id);
+                hotels.put(id, hotel);
+                index.put(hotel);
+            }
+            assertMatchesNaiveScan(index, List.copyOf(hotels.values()), 0, random);
+        }
+        verify(repository, times(1)).findAll();
+    }
+
+    @Test
+    void lateOlderVersionDoesNotReplaceTheIndexedHotel() {
+        Hotel current = new Hotel("Dar", "Tunis", "Rue 1", 120, 4, true);
+        current.setId(1L);
+        current.setRevision(5L);
+        HotelSearchIndex index = indexOf(List.of(current));
+        index.search(null, null, null, null, null, null, 0, 10);
+
+        Hotel older = new Hotel("Dar", "Sousse", "Rue 1", 120, 4, true);
+        older.setId(1L);
+        older.setRevision(4L);
+        index.put(older);
+
+        assertEquals(1, index.search("Tunis", null, null, null, null, null, 0, 10).getTotalElements());
+    }
+
+    @Test
+    void changesFromAnotherInstanceReloadOnlyThatHotel() {
+        List<Hotel> hotels = new ArrayList<>(generate(10, new Random(1)));
+        HotelRepository repository = mock(HotelRepository.class);
+        when(repository.findAll()).thenReturn(hotels);
+        HotelSearchIndex index = new HotelSearchIndex(repository);
+        index.search(null, null, null, null, null, null, 0, 10);
+
+        Hotel moved = new Hotel("Hotel 3", "Nowhere", "Rue 3", 99, 3, true);
+        moved.setId(3L);
+        when(repository.findById(3L)).thenReturn(Optional.of(moved));
+        when(repository.findById(4L)).thenReturn(Optional.empty());
+        index.refresh(3L);
+        index.refresh(4L);
+
+        assertEquals(1, index.search("Nowhere", null, null, null, null, null, 0, 10).getTotalElements());
+        assertEquals(9, index.search(null, null, null, null, null, null, 0, 10).getTotalElements());
+        verify(repository, times(1)).findAll();
+    }
+
+    @Test
+    void writesAreVisibleAfterInvalidation() {
+        List<Hotel> hotels = new ArrayList<>(generate(10, new Random(1)));
+        HotelRepository repository = mock(HotelRepository.class);
+        when(repository.findAll()).thenAnswer(inv -> new ArrayList<>(hotels));
+        HotelSearchIndex index = new HotelSearchIndex(repository);
+
+        long before = index.search("Nowhere", null, null, null, null, null, 0, 10).getTotalElements();
+        Hotel created = new Hotel("New", "Nowhere", "Rue 9", 99, 3, true);
+        created.setId(1_000L);
+        hotels.add(created);
+        index.invalidate();
+
+        assertEquals(0, before);
+        assertEquals(1, index.search("nowhere", null, null, null, null, null, 0, 10).getTotalElements());
+    }
+
+    @Test
+    void invalidParametersAreRejected() {
+        HotelSearchIndex index = indexOf(generate(10, new Random(1)));
+        assertThrows(IllegalArgumentException.class, () -> index.search(null, 200.0, 100.0, null, null, null, 0, 10));
+        assertThrows(IllegalArgumentException.class, () -> index.search(null, null, null, null, null, "name", 0, 10));
+        assertThrows(IllegalArgumentException.class, () -> index.search(null, null, null, null, null, null, 0, 1_000));
+    }
+
+    /**
+     * Latence de recherche sur 100 000 hôtels :
+     * mvn test -Dtest=HotelSearchIndexTest -Dsearch.bench=true
+     */
+    @Test
+    @Tag("benchmark")
+    @EnabledIfSystemProperty(named = "search.bench", matches = "true")
+    void searchLatencyAt100kHotels() {
+        int hotelCount = Integer.getInteger("search.bench.hotels", 100_000);
+        HotelSearchIndex index = indexOf(generate(hotelCount, new Random(3)));
+        Random random = new Random(5);
+        int queries = 20_000;
+        long[] latencies = new long[queries];
+
+        for (int round = 0; round < 2; round++) {
+            for (int i = 0; i < queries; i++) {
+                String city = CITIES[random.nextInt(CITIES.length)];
+                double minPrice = random.nextInt(250);
+                long start = System.nanoTime();
+                index.search(random.nextBoolean() ? city : null, minPrice, minPrice + 50, 3, true, "price", 0, 20);
+                latencies[i] = System.nanoTime() - start;
+            }
+        }
+
+        Arrays.sort(latencies);
+        BENCHMARK_LOG.info(String.format(Locale.ROOT, "%,d hotels: p50 %.1f µs, p99 %.1f µs, max %.1f µs", hotelCount,
+                latencies[queries / 2] / 1e3, latencies[(int) (queries * 0.99)] / 1e3, latencies[queries - 1] / 1e3));
+    }
+
+    private static void assertMatchesNaiveScan(HotelSearchIndex index, List<Hotel> hotels, int page, Random random) {
+        String city = random.nextBoolean() ? CITIES[random.nextInt(CITIES.length)] : null;
+        Double minPrice = random.nextBoolean() ? (double) random.nextInt(300) : null;
+        Double maxPrice = random.nextBoolean() ? (minPrice != null ? minPrice : 0) + random.nextInt(300) : null;
+        Integer minRating = random.nextBoolean() ? random.nextInt(6) : null;
+        Boolean available = random.nextBoolean() ? random.nextBoolean() : null;
+        String sort = new String[]{null, "price", "-price", "rating", "-rating"}[random.nextInt(5)];
+
+        HotelSearchResponse result = index.search(city, minPrice, maxPrice, minRating, available, sort, page, 25);
+
+        List<Hotel> expected = hotels.stream()
+                .filter(h -> city == null || city.equalsIgnoreCase(h.getCity()))
+                .filter(h -> minPrice == null || h.getPricePerNight() >= minPrice)
+                .filter(h -> maxPrice == null || h.getPricePerNight() <= maxPrice)
+                .filter(h -> minRating == null || h.getRating() >= minRating)
+                .filter(h -> available == null || h.isAvailable() == available)
+                .sorted(comparator(sort))
+                .toList();
+        assertEquals(expected.size(), result.getTotalElements());
+        assertEquals(expected.stream().skip(page * 25L).limit(25).map(Hotel::getId).toList(),
+                result.getContent().stream().map(Hotel::getId).toList());
+    }
+
+    private static HotelSearchIndex indexOf(List<Hotel> hotels) {
+        HotelRepository repository = mock(HotelRepository.class);
+        when(repository.findAll()).thenReturn(hotels);
+        return new HotelSearchIndex(repository);
+    }
+
+    private static List<Hotel> generate(int count, Random random) {
+        List<Hotel> hotels = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Hotel hotel = new Hotel("Hotel " + i, CITIES[random.nextInt(CITIES.length)], "Rue " + i,
+                    20 + random.nextInt(480) + random.nextInt(100) / 100.0, random.nextInt(6), random.nextInt(4) != 0);
+            hotel.setId((long) i + 1);
+            hotels.add(hotel);
+        }
+        return hotels;
+    }
+
+    private static Comparator<Hotel> comparator(String sort) {
+        Comparator<Hotel> byId = Comparator.comparing(Hotel::getId);
+        if (sort == null) {
+            return byId;
+        }
+        return switch (sort) {
+            case "price" -> Comparator.comparingDouble(Hotel::getPricePerNight).thenComparing(byId);
+            case "-price" -> Comparator.comparingDouble(Hotel::getPricePerNight).thenComparing(byId).reversed();
+            case "rating" -> Comparator.comparingInt(Hotel::getRating).thenComparing(byId);
+            case "-rating" -> Comparator.comparingInt(Hotel::getRating).thenComparing(byId).reversed();
+            default -> throw new IllegalArgumentException(sort);
+        };
+    }
+}
@@ -0,0 +1,43 @@
+package com.esprit.service;
+
+import com.esprit.repository.HotelRepository;
+import com.esprit.repository.RevisionCounterRepository;
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class RevisionServiceTest {
+
+    private final RevisionCounterRepository counterRepository = mock(RevisionCounterRepository.class);
+    private final RevisionService revisionService =
+            new RevisionService(counterRepository, mock(HotelRepository.class));
+
+    @Test
+    void counterIsReadOnceThenServedFromMemory() {
+        when(counterRepository.currentValue(RevisionService.HOTELS)).thenReturn(Optional.of(7L));
+
+        for (int i = 0; i < 5; i++) {
+            assertEquals(7, revisionService.current());
+        }
+        verify(counterRepository, times(1)).currentValue(RevisionService.HOTELS);
+    }
+
+    @Test
+    void committedRevisionsMoveTheKnownRevisionForwardOnly() {
+        when(counterRepository.currentValue(RevisionService.HOTELS)).thenReturn(Optional.of(7L));
+        revisionService.refresh();
+
+        revisionService.advanceTo(9);
+        // Événement d'une autre instance reçu en retard
+        revisionService.advanceTo(8);
+
+        assertEquals(9, revisionService.current());
+        verify(counterRepository, times(1)).currentValue(RevisionService.HOTELS);
+    }
+}